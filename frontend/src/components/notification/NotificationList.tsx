@@ -18,7 +18,7 @@ import {
 import NotificationsIcon from '@mui/icons-material/Notifications';
 import { useNavigate } from 'react-router-dom';
 import api from '../../services/api';
-import {Notification, NotificationType, NotificationTypeStrings} from '../../types/notification'; // 공통 타입 사용
+import {Notification, NotificationType, NotificationTypeStrings, NOTIFICATIONS_RESYNC_EVENT} from '../../types/notification'; // 공통 타입 사용
 
 // NotificationPage와 동일한 그룹화된 알림 타입을 사용
 interface GroupedNotification extends Notification {
@@ -111,6 +111,11 @@ const NotificationList: React.FC = () => {
     fetchAllData();
   }, [fetchAllData]); // fetchAllData 참조가 변경될 때만 (사실상 마운트 시 1회)
 
+  useEffect(() => {
+    window.addEventListener(NOTIFICATIONS_RESYNC_EVENT, fetchAllData);
+    return () => window.removeEventListener(NOTIFICATIONS_RESYNC_EVENT, fetchAllData);
+  }, [fetchAllData]);
+
   const handleClick = (event: React.MouseEvent<HTMLElement>) => {
     setAnchorEl(event.currentTarget);
     fetchAllData(); // 메뉴 열 때마다 최신 정보로 갱신
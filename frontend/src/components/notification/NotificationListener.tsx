@@ -2,7 +2,7 @@ import React, { useEffect } from 'react';
 import { useAuth } from '../../contexts/AuthContext';
 import {useSnackbar, closeSnackbar, SnackbarKey} from 'notistack';
 import {useLocation, useNavigate} from 'react-router-dom';
-import { Notification, NotificationType } from '../../types/notification';
+import { Notification, NotificationType, NOTIFICATIONS_RESYNC_EVENT } from '../../types/notification';
 import { Button } from '@mui/material';
 
 // --- 알림 그룹화를 위한 상태를 컴포넌트 외부에서 관리 (useRef 사용) ---
@@ -62,6 +62,11 @@ const NotificationListener: React.FC = () => {
 
             eventSource.onopen = () => console.log('SSE: Connection opened.');
 
+            // 끊겨 있던 동안의 알림 일부가 서버 재전송 버퍼에서 밀려난 경우: 목록을 다시 조회하도록 알림
+            eventSource.addEventListener('resync', () => {
+                window.dispatchEvent(new Event(NOTIFICATIONS_RESYNC_EVENT));
+            });
+
             eventSource.addEventListener('new-notification', (event) => {
                 try {
                     const notificationData: Notification = JSON.parse(event.data);
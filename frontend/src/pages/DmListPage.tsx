@@ -1,7 +1,7 @@
 import React, { useState, useEffect, useCallback } from 'react';
 import {
     Container, Typography, List, ListItem, ListItemButton, ListItemAvatar, ListItemText,
-    Avatar, Box, CircularProgress, Fab, Divider, Alert
+    Avatar, Box, CircularProgress, Fab, Divider, Alert, Button
 } from '@mui/material';
 import AddIcon from '@mui/icons-material/Add';
 import { useNavigate } from 'react-router-dom';
@@ -10,31 +10,55 @@ import { useAuth } from '../contexts/AuthContext';
 import { DmRoomInfo } from '../types/dm';
 import NewDmModal from '../components/dm/NewDmModal';
 
+// 서버의 최대 페이지 크기(100) 이하여야 함
+const ROOM_PAGE_SIZE = 30;
+
 const DmListPage: React.FC = () => {
     const [rooms, setRooms] = useState<DmRoomInfo[]>([]);
     const [loading, setLoading] = useState(true);
     const [error, setError] = useState<string | null>(null);
+    const [currentPage, setCurrentPage] = useState(0);
+    const [hasMore, setHasMore] = useState(false);
+    const [isLoadingMore, setIsLoadingMore] = useState(false);
     const [isModalOpen, setIsModalOpen] = useState(false);
     const { isLoggedIn } = useAuth();
     const navigate = useNavigate();
 
-    const fetchDmRooms = useCallback(async () => {
+    // 최근 메시지 순 목록이라, 그 사이 새 메시지가 온 채팅방은 다음 페이지에 다시 나올 수 있으므로 중복 제거
+    const fetchDmRooms = useCallback(async (page: number, isNewFetch: boolean) => {
         if (!isLoggedIn) return;
-        setLoading(true);
+        if (isNewFetch) setLoading(true);
+        else setIsLoadingMore(true);
         try {
-            const response = await api.get<DmRoomInfo[]>('/api/dm/rooms');
-            setRooms(response.data);
+            const response = await api.get<DmRoomInfo[]>('/api/dm/rooms', {
+                params: { page, size: ROOM_PAGE_SIZE }
+            });
+            const fetched = response.data;
+            setRooms(prev => {
+                if (isNewFetch) return fetched;
+                const known = new Set(prev.map(room => room.roomId));
+                return [...prev, ...fetched.filter(room => !known.has(room.roomId))];
+            });
+            setHasMore(fetched.length === ROOM_PAGE_SIZE);
+            setCurrentPage(page);
         } catch (err: any) {
             setError(err.response?.data?.message || 'DM 목록을 불러오는데 실패했습니다.');
         } finally {
             setLoading(false);
+            setIsLoadingMore(false);
         }
     }, [isLoggedIn]);
 
     useEffect(() => {
-        fetchDmRooms();
+        fetchDmRooms(0, true);
     }, [fetchDmRooms]);
 
+    const handleLoadMore = () => {
+        if (hasMore && !isLoadingMore) {
+            fetchDmRooms(currentPage + 1, false);
+        }
+    };
+
     if (loading) {
         return <Box sx={{ display: 'flex', justifyContent: 'center', mt: 4 }}><CircularProgress /></Box>;
     }
@@ -79,6 +103,13 @@ const DmListPage: React.FC = () => {
                     </Typography>
                 )}
             </List>
+            {hasMore && (
+                <Box sx={{ textAlign: 'center', mt: 2, mb: 4 }}>
+                    <Button onClick={handleLoadMore} disabled={isLoadingMore} variant="outlined">
+                        {isLoadingMore ? <CircularProgress size={20} /> : '더보기'}
+                    </Button>
+                </Box>
+            )}
 
             <Fab
                 color="primary"
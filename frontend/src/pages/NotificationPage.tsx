@@ -15,7 +15,7 @@ import {
 } from '@mui/material';
 import { useNavigate } from 'react-router-dom';
 import api from '../services/api';
-import {Notification, NotificationType, NotificationTypeStrings} from '../types/notification'; // 공통 타입 사용
+import {Notification, NotificationType, NotificationTypeStrings, NOTIFICATIONS_RESYNC_EVENT} from '../types/notification'; // 공통 타입 사용
 import MarkChatReadIcon from '@mui/icons-material/MarkChatRead'; // '모두 읽음' 아이콘
 
 // 그룹화된 알림을 위한 새로운 타입 정의
@@ -146,6 +146,11 @@ const NotificationPage: React.FC = () => {
     fetchNotifications();
   }, [fetchNotifications]);
 
+  useEffect(() => {
+    window.addEventListener(NOTIFICATIONS_RESYNC_EVENT, fetchNotifications);
+    return () => window.removeEventListener(NOTIFICATIONS_RESYNC_EVENT, fetchNotifications);
+  }, [fetchNotifications]);
+
   const handleNotificationAction = async (notificationToHandle: Notification, accept: boolean) => {
     const currentNotification = notifications.find(n => n.id === notificationToHandle.id);
 
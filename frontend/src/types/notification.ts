@@ -44,4 +44,7 @@ export enum NotificationType {
     FRIEND_REQUEST = 'FRIEND_REQUEST',
     FRIEND_ACCEPTED = 'FRIEND_ACCEPTED',
     NEW_FEED = 'NEW_FEED'
-}
\ No newline at end of file
+}
+
+// 서버가 SSE 'resync' 이벤트를 보내면 알림 목록을 표시하는 컴포넌트들이 다시 조회하도록 발생시키는 window 이벤트
+export const NOTIFICATIONS_RESYNC_EVENT = 'notifications-resync';
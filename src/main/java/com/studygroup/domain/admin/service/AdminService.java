@@ -2,6 +2,7 @@ package com.studygroup.domain.admin.service;
 
 import com.studygroup.domain.admin.dto.ReportDetailDto;
 import com.studygroup.domain.admin.dto.StatisticsResponseDto;
+import com.studygroup.domain.board.dto.BoardPostChangedEvent;
 import com.studygroup.domain.board.entity.BoardComment;
 import com.studygroup.domain.board.entity.BoardPost;
 import com.studygroup.domain.board.repository.BoardCommentRepository;
@@ -10,11 +11,13 @@ import com.studygroup.domain.report.dto.ReportProcessDto;
 import com.studygroup.domain.report.entity.Report;
 import com.studygroup.domain.report.entity.ReportType;
 import com.studygroup.domain.report.repository.ReportRepository;
+import com.studygroup.domain.study.dto.StudyGroupChangedEvent;
 import com.studygroup.domain.study.entity.StudyGroup;
 import com.studygroup.domain.study.repository.StudyGroupRepository;
 import com.studygroup.domain.study.repository.TagRepository;
 import com.studygroup.domain.user.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -36,6 +39,7 @@ public class AdminService {
     private final UserRepository userRepository;
     private final StudyGroupRepository studyGroupRepository;
     private final TagRepository tagRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional(readOnly = true)
     public Page<ReportDetailDto> getReports(Pageable pageable) {
@@ -89,6 +93,7 @@ public class AdminService {
 
     public void deletePost(Long postId) {
         boardPostRepository.deleteById(postId);
+        eventPublisher.publishEvent(new BoardPostChangedEvent(postId, BoardPostChangedEvent.ChangeType.DELETED));
     }
 
     // TODO: 통계 서비스 로직, 사용자 관리 로직 추가
@@ -130,6 +135,7 @@ public class AdminService {
     // --- 게시글 블라인드 처리 메소드 추가 ---
     public void blindPost(Long postId) {
         boardPostRepository.blindById(postId);
+        eventPublisher.publishEvent(new BoardPostChangedEvent(postId, BoardPostChangedEvent.ChangeType.BLINDED));
     }
 
     // --- 댓글 블라인드 처리 메소드 추가 ---
@@ -140,5 +146,6 @@ public class AdminService {
     // --- 스터디 블라인드 처리 메소드 추가 ---
     public void blindStudyGroup(Long studyGroupId) {
         studyGroupRepository.blindById(studyGroupId);
+        eventPublisher.publishEvent(new StudyGroupChangedEvent(studyGroupId, StudyGroupChangedEvent.ChangeType.BLINDED));
     }
 }
@@ -0,0 +1,17 @@
+package com.studygroup.domain.board.dto;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+// 게시글이 변경되었음을 알리는 이벤트 (검색 색인 등 파생 데이터 갱신용)
+@Getter
+@RequiredArgsConstructor
+public class BoardPostChangedEvent {
+
+    public enum ChangeType {
+        CREATED, UPDATED, DELETED, BLINDED
+    }
+
+    private final Long postId;
+    private final ChangeType changeType;
+}
@@ -25,6 +25,12 @@ public class BoardPostResponse {
     private boolean dislikedByCurrentUser;
 
     public static BoardPostResponse from(BoardPost post, boolean likedByCurrentUser, boolean dislikedByCurrentUser) {
+        return from(post, likedByCurrentUser, dislikedByCurrentUser, 0L);
+    }
+
+    // pendingViewCount: 아직 DB에 반영되지 않은 조회수 증가분 (ViewCountService)
+    public static BoardPostResponse from(BoardPost post, boolean likedByCurrentUser, boolean dislikedByCurrentUser,
+                                         long pendingViewCount) {
         return BoardPostResponse.builder()
                 .id(post.getId())
                 .category(post.getCategory())
@@ -33,7 +39,7 @@ public class BoardPostResponse {
                 .author(UserSummaryDto.from(post.getAuthor())) // User 객체를 UserSummaryDto로 변환하여 할당
                 .createdAt(post.getCreatedAt())
                 .modifiedAt(post.getModifiedAt())
-                .viewCount(post.getViewCount())
+                .viewCount((int) (post.getViewCount() + pendingViewCount))
                 .likeCount(post.getLikeCount())
                 .dislikeCount(post.getDislikeCount()) // 추가
                 .commentCount(post.getComments() != null ? // comments 필드가 BoardPost 엔티티에 있다면
@@ -22,6 +22,11 @@ public class BoardPostSummaryResponse {
     // private boolean likedByCurrentUser; // 현재 사용자의 좋아요 여부 (추가 구현 시)
 
     public static BoardPostSummaryResponse from(BoardPost post /*, boolean liked, int commentCount */) {
+        return from(post, 0L);
+    }
+
+    // pendingViewCount: 아직 DB에 반영되지 않은 조회수 증가분 (ViewCountService)
+    public static BoardPostSummaryResponse from(BoardPost post, long pendingViewCount) {
         return BoardPostSummaryResponse.builder()
                 .id(post.getId())
                 .category(post.getCategory())
@@ -29,7 +34,7 @@ public class BoardPostSummaryResponse {
                 .authorName(post.getAuthor().getName())
                 .authorProfileImageUrl(post.getAuthor().getProfile()) // 추가
                 .createdAt(post.getCreatedAt())
-                .viewCount(post.getViewCount())
+                .viewCount((int) (post.getViewCount() + pendingViewCount))
                 .likeCount(post.getLikeCount())
                 .commentCount(0) // 임시: post.getComments().size() // 댓글 기능 구현 후
                 // .likedByCurrentUser(liked)
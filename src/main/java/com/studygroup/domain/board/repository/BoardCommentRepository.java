@@ -35,4 +35,12 @@ public interface BoardCommentRepository extends JpaRepository<BoardComment, Long
     @Modifying(clearAutomatically = true) // ★★★ clearAutomatically = true 추가 ★★★
     @Query("UPDATE BoardComment c SET c.isBlinded = true, c.content = '관리자에 의해 숨김 처리된 댓글입니다.' WHERE c.id = :id")
     void blindById(@Param("id") Long id);
+
+    // 추천/비추천 수를 DB에서 원자적으로 증감
+    @Modifying
+    @Query("UPDATE BoardComment c SET " +
+            "c.likeCount = CASE WHEN c.likeCount + :likeDelta < 0 THEN 0 ELSE c.likeCount + :likeDelta END, " +
+            "c.dislikeCount = CASE WHEN c.dislikeCount + :dislikeDelta < 0 THEN 0 ELSE c.dislikeCount + :dislikeDelta END " +
+            "WHERE c.id = :id")
+    int addVoteCounts(@Param("id") Long id, @Param("likeDelta") int likeDelta, @Param("dislikeDelta") int dislikeDelta);
 }
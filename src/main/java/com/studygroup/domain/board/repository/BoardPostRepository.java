@@ -36,4 +36,31 @@ public interface BoardPostRepository extends JpaRepository<BoardPost, Long>, Jpa
     @Modifying(clearAutomatically = true) // ★★★ clearAutomatically = true 추가 ★★★
     @Query("UPDATE BoardPost p SET p.isBlinded = true WHERE p.id = :id")
     void blindById(@Param("id") Long id);
+
+    // 추천/비추천 수를 DB에서 원자적으로 증감 (엔티티를 읽고 쓰는 사이에 다른 요청의 변경이 덮어써지지 않도록)
+    @Modifying
+    @Query("UPDATE BoardPost p SET " +
+            "p.likeCount = CASE WHEN p.likeCount + :likeDelta < 0 THEN 0 ELSE p.likeCount + :likeDelta END, " +
+            "p.dislikeCount = CASE WHEN p.dislikeCount + :dislikeDelta < 0 THEN 0 ELSE p.dislikeCount + :dislikeDelta END " +
+            "WHERE p.id = :id")
+    int addVoteCounts(@Param("id") Long id, @Param("likeDelta") int likeDelta, @Param("dislikeDelta") int dislikeDelta);
+
+    // --- 검색 색인 구성을 위한 조회 (id, category, title, content) ---
+    @Query("SELECT p.id, p.category, p.title, p.content FROM BoardPost p " +
+            "WHERE p.isBlinded = false AND p.id > :afterId ORDER BY p.id")
+    List<Object[]> findSearchDocuments(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT p.id, p.category, p.title, p.content FROM BoardPost p " +
+            "WHERE p.isBlinded = false AND p.modifiedAt >= :since AND p.id > :afterId ORDER BY p.id")
+    List<Object[]> findSearchDocumentsModifiedSince(@Param("since") LocalDateTime since,
+                                                    @Param("afterId") Long afterId,
+                                                    Pageable pageable);
+
+    // 검색 색인 대상(블라인드되지 않은) ID 목록 - 스냅샷 로드 후 삭제/블라인드된 문서를 찾기 위함
+    @Query("SELECT p.id FROM BoardPost p WHERE p.isBlinded = false AND p.id > :afterId ORDER BY p.id")
+    List<Long> findSearchableIds(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT p.id, p.category, p.title, p.content FROM BoardPost p " +
+            "WHERE p.id = :id AND p.isBlinded = false")
+    List<Object[]> findSearchDocumentById(@Param("id") Long id);
 }
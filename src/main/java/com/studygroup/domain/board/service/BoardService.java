@@ -5,15 +5,18 @@ import com.studygroup.domain.board.entity.*;
 import com.studygroup.domain.board.repository.*;
 import com.studygroup.domain.notification.entity.NotificationType;
 import com.studygroup.domain.notification.service.NotificationService;
+import com.studygroup.domain.search.service.SearchIndexService;
 import com.studygroup.domain.user.dto.UserActivityEvent;
 import com.studygroup.domain.user.entity.ActivityType;
 import com.studygroup.domain.user.entity.User;
 import com.studygroup.domain.user.repository.UserRepository;
 import com.studygroup.global.security.UserPrincipal;
+import com.studygroup.global.service.ViewCountService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
@@ -21,6 +24,7 @@ import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.data.redis.core.ZSetOperations;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 
 import java.time.DayOfWeek;
 import java.time.LocalDate;
@@ -28,8 +32,11 @@ import java.time.LocalDateTime;
 import java.time.temporal.TemporalAdjusters;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -46,6 +53,8 @@ public class BoardService {
     private final ApplicationEventPublisher eventPublisher; // 이벤트 발행기 주입
     private final NotificationService notificationService;
     private final StringRedisTemplate redisTemplate;
+    private final ViewCountService viewCountService;
+    private final SearchIndexService searchIndexService;
     private static final String HOT_POSTS_KEY = "hot_posts";
     private static final int HOT_POST_COUNT_TO_SHOW = 3; // 실제로 보여줄 개수
 
@@ -66,6 +75,7 @@ public class BoardService {
 
         // --- 게시글 작성 이벤트 발행 ---
         //eventPublisher.publishEvent(new UserActivityEvent(author, ActivityType.CREATE_POST, savedPost.getId()));
+        eventPublisher.publishEvent(new BoardPostChangedEvent(savedPost.getId(), BoardPostChangedEvent.ChangeType.CREATED));
         eventPublisher.publishEvent(new UserActivityEvent(
                 author,
                 ActivityType.CREATE_POST,
@@ -80,6 +90,13 @@ public class BoardService {
     public Page<BoardPostSummaryResponse> getBoardPosts(
             String categoryString, String keyword, Pageable pageable, UserPrincipal currentUserPrincipal) {
 
+        // 검색 색인이 준비되어 있으면 키워드 검색은 역색인으로 관련도 순 조회
+        if (StringUtils.hasText(keyword) && searchIndexService.isReady()) {
+            return searchBoardPosts(categoryString, keyword.trim(), pageable)
+                    .map(post -> BoardPostSummaryResponse.from(post,
+                            viewCountService.getPendingCount(ViewCountService.Target.BOARD_POST, post.getId())));
+        }
+
         // Specification을 사용하여 동적 쿼리 생성
         Specification<BoardPost> spec = BoardPostSpecification.withFilter(categoryString, keyword);
 
@@ -94,21 +111,57 @@ public class BoardService {
             //    // isLiked = postLikeRepository.existsByUserAndBoardPost(finalCurrentUser, post); // PostLike 기능 추가 시
             // }
             // BoardPostSummaryResponse.from(post, isLiked, commentCount) 와 같이 변환
-            return BoardPostSummaryResponse.from(post); // 임시: BoardPostSummaryResponse.from 수정 필요
+            return BoardPostSummaryResponse.from(post,
+                    viewCountService.getPendingCount(ViewCountService.Target.BOARD_POST, post.getId()));
         });
     }
 
+    private Page<BoardPost> searchBoardPosts(String categoryString, String keyword, Pageable pageable) {
+        String category = null;
+        if (StringUtils.hasText(categoryString) && !"ALL".equalsIgnoreCase(categoryString)) {
+            try {
+                category = BoardCategory.valueOf(categoryString.toUpperCase()).name();
+            } catch (IllegalArgumentException e) {
+                // 잘못된 카테고리 값일 경우 빈 결과 (Specification 검색과 동일한 동작)
+                return Page.empty(pageable);
+            }
+        }
+
+        List<Long> rankedIds = searchIndexService.searchBoardPosts(keyword, category);
+        int from = (int) Math.min(pageable.getOffset(), rankedIds.size());
+        int to = Math.min(from + pageable.getPageSize(), rankedIds.size());
+        List<Long> pageIds = rankedIds.subList(from, to);
+        if (pageIds.isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, rankedIds.size());
+        }
+
+        Map<Long, BoardPost> postsById = boardPostRepository.findAllById(pageIds).stream()
+                .filter(post -> !post.isBlinded())
+                .collect(Collectors.toMap(BoardPost::getId, Function.identity()));
+        List<BoardPost> content = pageIds.stream()
+                .map(postsById::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        // 조회되지 않은(삭제/블라인드된) ID 는 색인에서 지우고 전체 개수에서도 뺀다
+        List<Long> staleIds = pageIds.stream().filter(id -> !postsById.containsKey(id)).toList();
+        if (!staleIds.isEmpty()) {
+            searchIndexService.removeStaleBoardPosts(staleIds);
+        }
+        return new PageImpl<>(content, pageable, rankedIds.size() - staleIds.size());
+    }
+
     // 조회수 증가 로직을 별도 메소드로 분리
-    @Transactional
+    // 행 잠금 없이 메모리 카운터만 증가시키고, DB 반영은 ViewCountService가 주기적으로 일괄 처리
+    @Transactional(readOnly = true)
     public void incrementPostViewCount(Long postId) {
-        BoardPost post = boardPostRepository.findById(postId)
-                .orElseThrow(() -> new IllegalArgumentException("게시글을 찾을 수 없습니다. ID: " + postId));
-        post.incrementViewCount();
-        // 변경 감지로 저장됨
-        log.info("게시글 조회수 증가: postId={}", postId);
+        if (!boardPostRepository.existsById(postId)) {
+            throw new IllegalArgumentException("게시글을 찾을 수 없습니다. ID: " + postId);
+        }
+        viewCountService.increment(ViewCountService.Target.BOARD_POST, postId);
+        log.debug("게시글 조회수 증가: postId={}", postId);
     }
 
-    @Transactional // 조회수 증가로 인해 쓰기 트랜잭션 필요
+    @Transactional(readOnly = true)
     public BoardPostResponse getPostDetail(Long postId, UserPrincipal currentUserPrincipal) {
         BoardPost post = boardPostRepository.findById(postId)
                 .orElseThrow(() -> new IllegalArgumentException("게시글을 찾을 수 없습니다. ID: " + postId));
@@ -136,7 +189,8 @@ public class BoardService {
 
         // BoardPostResponse.from() 메소드를 수정하여 필요한 모든 정보를 담도록 함
         // 여기서는 isLikedByCurrentUser와 commentCount는 아직 구현되지 않았다고 가정
-        return BoardPostResponse.from(post, likedByCurrentUser, dislikedByCurrentUser);
+        return BoardPostResponse.from(post, likedByCurrentUser, dislikedByCurrentUser,
+                viewCountService.getPendingCount(ViewCountService.Target.BOARD_POST, postId));
     }
 
     @Transactional
@@ -149,31 +203,33 @@ public class BoardService {
         User postAuthor = post.getAuthor();
 
         Optional<PostLike> existingVoteOpt = postLikeRepository.findByUserAndBoardPost(user, post);
+        int likeDelta = 0;
+        int dislikeDelta = 0;
 
         if (existingVoteOpt.isPresent()) { // 이미 투표한 기록이 있는 경우
             PostLike existingVote = existingVoteOpt.get();
             if (existingVote.getVoteType() == requestedVoteType) { // 같은 타입으로 다시 클릭 -> 투표 취소
                 postLikeRepository.delete(existingVote);
                 if (requestedVoteType == VoteType.LIKE) {
-                    post.decrementLikeCount();
+                    likeDelta--;
                 } else {
-                    post.decrementDislikeCount();
+                    dislikeDelta--;
                 }
                 log.info("게시글 투표 취소: postId={}, userId={}, voteType={}", postId, userId, requestedVoteType);
             } else { // 다른 타입으로 변경 (예: 비추천 -> 추천, 또는 추천 -> 비추천)
                 // 이전 투표 카운트 감소
                 if (existingVote.getVoteType() == VoteType.LIKE) {
-                    post.decrementLikeCount();
+                    likeDelta--;
                 } else {
-                    post.decrementDislikeCount();
+                    dislikeDelta--;
                 }
                 // 새 투표 타입으로 변경 및 카운트 증가
                 existingVote.setVoteType(requestedVoteType);
                 // postLikeRepository.save(existingVote); // 변경 감지로 저장됨
                 if (requestedVoteType == VoteType.LIKE) {
-                    post.incrementLikeCount();
+                    likeDelta++;
                 } else {
-                    post.incrementDislikeCount();
+                    dislikeDelta++;
                 }
                 log.info("게시글 투표 변경: postId={}, userId={}, oldVote={}, newVote={}", postId, userId, existingVote.getVoteType(), requestedVoteType);
             }
@@ -186,7 +242,7 @@ public class BoardService {
             postLikeRepository.save(newVote);
 
             if (requestedVoteType == VoteType.LIKE) {
-                post.incrementLikeCount();
+                likeDelta++;
                 if (!postAuthor.getId().equals(userId)) {
                     // 포인트 부여 이벤트 발행
                     eventPublisher.publishEvent(new UserActivityEvent(postAuthor, ActivityType.GET_POST_LIKE));
@@ -203,11 +259,12 @@ public class BoardService {
                     // ------------------------------------
                 }
             } else {
-                post.incrementDislikeCount();
+                dislikeDelta++;
             }
             log.info("게시글 투표 추가: postId={}, userId={}, voteType={}", postId, userId, requestedVoteType);
         }
-        // boardPostRepository.save(post); // BoardPost의 likeCount, dislikeCount 변경사항 저장 (변경 감지)
+        // 추천/비추천 수는 원자적 UPDATE 로 반영 (행 잠금 시간을 줄이기 위해 트랜잭션의 마지막 쿼리로 실행)
+        boardPostRepository.addVoteCounts(postId, likeDelta, dislikeDelta);
     }
 
     // 댓글 생성
@@ -329,23 +386,25 @@ public class BoardService {
         }
 
         Optional<CommentLike> existingVoteOpt = commentLikeRepository.findByUserAndBoardComment(user, comment);
+        int likeDelta = 0;
+        int dislikeDelta = 0;
 
         if (existingVoteOpt.isPresent()) {
             CommentLike existingVote = existingVoteOpt.get();
             if (existingVote.getVoteType() == requestedVoteType) { // 같은 타입 다시 클릭 -> 취소
                 commentLikeRepository.delete(existingVote);
-                if (requestedVoteType == VoteType.LIKE) comment.decrementLikeCount();
-                else comment.decrementDislikeCount();
+                if (requestedVoteType == VoteType.LIKE) likeDelta--;
+                else dislikeDelta--;
                 log.info("댓글 투표 취소: commentId={}, userId={}, voteType={}", commentId, userId, requestedVoteType);
             } else { // 다른 타입으로 변경
-                if (existingVote.getVoteType() == VoteType.LIKE) comment.decrementLikeCount();
-                else comment.decrementDislikeCount();
+                if (existingVote.getVoteType() == VoteType.LIKE) likeDelta--;
+                else dislikeDelta--;
 
                 existingVote.setVoteType(requestedVoteType); // CommentLike 엔티티에 setVoteType 추가 필요
                 // commentLikeRepository.save(existingVote); // 변경 감지
 
-                if (requestedVoteType == VoteType.LIKE) comment.incrementLikeCount();
-                else comment.incrementDislikeCount();
+                if (requestedVoteType == VoteType.LIKE) likeDelta++;
+                else dislikeDelta++;
                 log.info("댓글 투표 변경: commentId={}, userId={}, newVote={}", commentId, userId, requestedVoteType);
             }
         } else { // 새로 투표
@@ -355,11 +414,12 @@ public class BoardService {
                     .voteType(requestedVoteType)
                     .build();
             commentLikeRepository.save(newVote);
-            if (requestedVoteType == VoteType.LIKE) comment.incrementLikeCount();
-            else comment.incrementDislikeCount();
+            if (requestedVoteType == VoteType.LIKE) likeDelta++;
+            else dislikeDelta++;
             log.info("댓글 투표 추가: commentId={}, userId={}, voteType={}", commentId, userId, requestedVoteType);
         }
-        // boardCommentRepository.save(comment); // BoardComment의 like/dislikeCount 변경사항 저장 (변경 감지)
+        // 추천/비추천 수는 원자적 UPDATE 로 반영 (행 잠금 시간을 줄이기 위해 트랜잭션의 마지막 쿼리로 실행)
+        boardCommentRepository.addVoteCounts(commentId, likeDelta, dislikeDelta);
     }
 
     // TODO: 게시글 목록 조회, 상세 조회, 수정, 삭제, 추천/비추천, 댓글 관련 서비스 메소드 추가
@@ -376,6 +436,7 @@ public class BoardService {
 
         post.update(request.getTitle(), request.getContent(), request.getCategory());
         // boardPostRepository.save(post); // 변경 감지로 저장
+        eventPublisher.publishEvent(new BoardPostChangedEvent(postId, BoardPostChangedEvent.ChangeType.UPDATED));
         log.info("게시글 수정 완료: postId={}", postId);
         // 수정 후 상세 정보를 다시 반환
         return BoardPostResponse.from(post, false, false); // 좋아요/싫어요 정보는 별도 조회 필요
@@ -392,6 +453,7 @@ public class BoardService {
 
         // 하드 삭제: 연관된 댓글, 좋아요 등도 함께 삭제됨 (Cascade 설정에 따라)
         boardPostRepository.delete(post);
+        eventPublisher.publishEvent(new BoardPostChangedEvent(postId, BoardPostChangedEvent.ChangeType.DELETED));
         log.info("게시글 삭제 완료: postId={}", postId);
         // 소프트 삭제: post.markAsDeleted(); (BoardPost 엔티티에 관련 필드 및 메소드 추가 필요)
     }
@@ -1,5 +1,6 @@
 package com.studygroup.domain.chat.controller;
 
+import com.studygroup.domain.chat.dto.ChatMessageCursorResponse;
 import com.studygroup.domain.chat.dto.ChatMessageResponse;
 import com.studygroup.domain.chat.dto.ChatRoomCreateRequest;
 import com.studygroup.domain.chat.dto.ChatRoomDetailResponse;
@@ -76,6 +77,29 @@ public class ChatController {
         return ResponseEntity.ok(messages);
     }
 
+    // 특정 채팅방의 메시지 커서 조회 (before: 이전 메시지, after: 재연결 시 놓친 메시지, 둘 다 없으면 최신)
+    @GetMapping("/rooms/{chatRoomId}/messages/cursor")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<ChatMessageCursorResponse> getChatMessagesByCursor(
+            @PathVariable Long chatRoomId,
+            @RequestParam(required = false) Long before,
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "30") int limit,
+            @CurrentUser UserPrincipal userPrincipal) {
+        return ResponseEntity.ok(chatService.getChatMessagesByCursor(chatRoomId, userPrincipal.getId(), before, after, limit));
+    }
+
+    // 채팅방 읽음 처리 (lastMessageId: 화면에 표시된 마지막 메시지 ID)
+    @PatchMapping("/rooms/{chatRoomId}/read")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<Void> markChatRoomAsRead(
+            @PathVariable Long chatRoomId,
+            @RequestParam(required = false) Long lastMessageId,
+            @CurrentUser UserPrincipal userPrincipal) {
+        chatService.markChatRoomAsRead(chatRoomId, userPrincipal.getId(), lastMessageId);
+        return ResponseEntity.noContent().build();
+    }
+
     // 채팅방 초대 응답 (수락/거절)
     @PostMapping("/rooms/{chatRoomId}/invites/respond")
     @PreAuthorize("isAuthenticated()")
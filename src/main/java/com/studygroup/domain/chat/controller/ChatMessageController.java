@@ -1,7 +1,10 @@
 package com.studygroup.domain.chat.controller;
 
 import com.studygroup.domain.chat.dto.ChatMessageSendRequest;
-import com.studygroup.domain.chat.service.ChatService;
+import com.studygroup.domain.chat.dto.ChatTypingRequest;
+import com.studygroup.domain.chat.service.ChatMessagePipeline;
+import com.studygroup.domain.chat.service.ChatSessionAcl;
+import com.studygroup.domain.chat.service.ChatTypingService;
 import com.studygroup.global.security.UserPrincipal;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -18,7 +21,9 @@ import java.security.Principal;
 @RequiredArgsConstructor
 public class ChatMessageController {
 
-    private final ChatService chatService;
+    private final ChatMessagePipeline chatMessagePipeline;
+    private final ChatSessionAcl chatSessionAcl;
+    private final ChatTypingService chatTypingService;
 
     // 클라이언트가 /pub/chat/room/{roomId}/message 로 메시지를 보내면 이 핸들러가 처리
     @MessageMapping("/chat/room/{roomId}/message")
@@ -38,18 +43,37 @@ public class ChatMessageController {
         UserPrincipal userPrincipal = (UserPrincipal) ((org.springframework.security.authentication.UsernamePasswordAuthenticationToken) principal).getPrincipal();
         Long senderId = userPrincipal.getId();
 
-        log.info("Received message for room {}: {} from user {}", roomId, messageDto.getContent(), senderId);
-        chatService.processAndSendMessage(roomId, messageDto, senderId);
+        // 세션 권한 캐시로 확인 (구독 시 이미 확인된 채팅방이면 DB 조회 없음)
+        if (!chatSessionAcl.canSend(headerAccessor.getSessionId(), senderId, roomId)) {
+            throw new IllegalStateException("채팅방에 참여한 멤버만 메시지를 보낼 수 있습니다.");
+        }
+
+        log.debug("Received message for room {} from user {}", roomId, senderId);
+        chatMessagePipeline.send(roomId, messageDto, senderId);
+        chatTypingService.stopTyping(roomId, senderId);
     }
 
-    // (선택) 사용자가 타이핑 중임을 알리는 메시지 핸들러
+    // 사용자가 입력 중임을 알리는 메시지 핸들러 (집계된 목록은 ChatTypingService 가 /sub/chat/room/{roomId}/typing 으로 전송)
     @MessageMapping("/chat/room/{roomId}/typing")
     public void sendTypingIndicator(
             @DestinationVariable Long roomId,
+            @Payload(required = false) ChatTypingRequest typingDto,
             SimpMessageHeaderAccessor headerAccessor) {
-        // Principal principal = headerAccessor.getUser();
-        // UserPrincipal userPrincipal = (UserPrincipal) ((org.springframework.security.authentication.UsernamePasswordAuthenticationToken) principal).getPrincipal();
-        // String username = userPrincipal.getName();
-        // messagingTemplate.convertAndSend("/sub/chat/room/" + roomId + "/typing", username + " is typing...");
+
+        Principal principal = headerAccessor.getUser();
+        if (!(principal instanceof org.springframework.security.authentication.UsernamePasswordAuthenticationToken token)) {
+            return;
+        }
+        Long userId = ((UserPrincipal) token.getPrincipal()).getId();
+
+        // 키 입력마다 오는 프레임이므로 권한이 없으면 예외 없이 무시
+        if (!chatSessionAcl.canSend(headerAccessor.getSessionId(), userId, roomId)) {
+            return;
+        }
+        if (typingDto == null || typingDto.isTyping()) {
+            chatTypingService.typing(roomId, userId, headerAccessor.getSessionId());
+        } else {
+            chatTypingService.stopTyping(roomId, userId);
+        }
     }
 }
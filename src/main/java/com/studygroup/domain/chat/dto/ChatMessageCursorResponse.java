@@ -0,0 +1,17 @@
+package com.studygroup.domain.chat.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+// 커서 기반 채팅 메시지 응답 (GET /api/chat/rooms/{id}/messages/cursor?before=...|after=...)
+@Getter
+@Builder
+public class ChatMessageCursorResponse {
+    private List<ChatMessageResponse> content; // 항상 오래된 메시지 -> 최신 메시지 순
+    // 다음 요청에 사용할 커서, 더 없으면 null
+    // (before/최신 조회: 가장 오래된 메시지 ID를 before 로, after 조회: 가장 최신 메시지 ID를 after 로 전달)
+    private Long nextCursor;
+    private boolean hasNext;
+}
@@ -2,10 +2,13 @@ package com.studygroup.domain.chat.dto;
 
 import com.studygroup.domain.chat.entity.ChatMessage;
 import com.studygroup.domain.chat.entity.MessageType;
+import com.studygroup.global.websocket.CompactFrames;
 import lombok.Builder;
 import lombok.Getter;
 
 import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
 
 @Getter
 @Builder
@@ -28,4 +31,10 @@ public class ChatMessageResponse {
                 .sentAt(message.getCreatedAt())
                 .build();
     }
+
+    // 압축 전송 형식: [messageId, chatRoomId, senderId, messageType, sentAt(epoch ms), content]
+    public List<Object> toCompactFrame() {
+        return Arrays.asList(messageId, chatRoomId, sender.getId(), messageType,
+                CompactFrames.epochMillis(sentAt), content);
+    }
 }
@@ -0,0 +1,19 @@
+package com.studygroup.domain.chat.dto;
+
+import com.studygroup.domain.chat.entity.ChatRoomMemberStatus;
+
+import java.time.LocalDateTime;
+
+// 채팅방 목록 조회용 프로젝션 (JPQL 생성자 표현식, 엔티티/멤버 컬렉션을 로딩하지 않음)
+public record ChatRoomListRow(
+        Long id,
+        String name,
+        Long studyGroupId,
+        String studyGroupName,
+        LocalDateTime createdAt,
+        String lastMessageContent,
+        LocalDateTime lastMessageAt,
+        Long memberCount, // JOINED 멤버 수
+        ChatRoomMemberStatus membershipStatus // 조회한 사용자의 멤버 상태
+) {
+}
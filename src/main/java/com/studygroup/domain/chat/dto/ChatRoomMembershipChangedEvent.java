@@ -0,0 +1,13 @@
+package com.studygroup.domain.chat.dto;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+// 채팅방 멤버 상태(초대, 수락, 나가기, 내보내기)가 바뀌었음을 알리는 이벤트 (권한 캐시 무효화용)
+@Getter
+@RequiredArgsConstructor
+public class ChatRoomMembershipChangedEvent {
+
+    private final Long chatRoomId;
+    private final Long userId; // null 이면 채팅방 전체 (채팅방 생성 등)
+}
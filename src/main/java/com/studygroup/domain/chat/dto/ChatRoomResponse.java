@@ -1,6 +1,6 @@
 package com.studygroup.domain.chat.dto;
 
-import com.studygroup.domain.chat.entity.ChatRoom;
+import com.studygroup.domain.chat.entity.ChatRoomMemberStatus;
 import lombok.Builder;
 import lombok.Getter;
 
@@ -18,18 +18,21 @@ public class ChatRoomResponse {
     private String lastMessageContent;
     private LocalDateTime lastMessageAt;
     private int memberCount;
-    // private int unreadCount; // 현재 사용자의 안 읽은 메시지 수 (추가 구현 필요)
+    private int unreadCount; // 현재 사용자의 안 읽은 메시지 수
+    private ChatRoomMemberStatus membershipStatus; // 현재 사용자의 멤버 상태 (JOINED / INVITED)
 
-    public static ChatRoomResponse from(ChatRoom chatRoom) {
+    public static ChatRoomResponse of(ChatRoomListRow row, int unreadCount) {
         return ChatRoomResponse.builder()
-                .id(chatRoom.getId())
-                .name(chatRoom.getName())
-                .studyGroupId(chatRoom.getStudyGroup().getId())
-                .studyGroupName(chatRoom.getStudyGroup().getTitle())
-                .createdAt(chatRoom.getCreatedAt())
-                .lastMessageContent(chatRoom.getLastMessageContent())
-                .lastMessageAt(chatRoom.getLastMessageAt())
-                .memberCount(chatRoom.getMembers().size()) // JOINED 상태 멤버만 카운트하도록 수정 필요
+                .id(row.id())
+                .name(row.name())
+                .studyGroupId(row.studyGroupId())
+                .studyGroupName(row.studyGroupName())
+                .createdAt(row.createdAt())
+                .lastMessageContent(row.lastMessageContent())
+                .lastMessageAt(row.lastMessageAt())
+                .memberCount(row.memberCount().intValue())
+                .unreadCount(unreadCount)
+                .membershipStatus(row.membershipStatus())
                 .build();
     }
 }
@@ -0,0 +1,13 @@
+package com.studygroup.domain.chat.dto;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class ChatTypingRequest {
+
+    private boolean typing = true; // false 면 입력 중단 (입력창을 비웠거나 메시지를 보냈을 때)
+}
@@ -0,0 +1,14 @@
+package com.studygroup.domain.chat.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+// 채팅방의 현재 입력 중인 사용자 목록 (/sub/chat/room/{id}/typing, 변경이 있을 때만 최대 0.5초에 한 번)
+@Getter
+@Builder
+public class ChatTypingResponse {
+    private Long chatRoomId;
+    private List<UserSummaryDto> users; // 비어 있으면 아무도 입력 중이 아님
+}
@@ -10,10 +10,14 @@ import lombok.*;
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @AllArgsConstructor
 @Builder
+@Table(indexes = {
+        // 커서 기반 메시지 조회용: WHERE chat_room_id = ? AND chat_message_id < / > ? ORDER BY chat_message_id
+        @Index(name = "idx_chat_message_room_id", columnList = "chat_room_id, chat_message_id")
+})
 public class ChatMessage extends BaseTimeEntity { // createdAt이 sentAt 역할
 
+    // ID는 ChatMessageIdAllocator 가 미리 발급 (저장 전에 브로드캐스트하기 위함)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(name = "chat_message_id")
     private Long id;
 
@@ -5,6 +5,8 @@ import com.studygroup.domain.chat.entity.ChatRoom;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
@@ -14,4 +16,17 @@ public interface ChatMessageRepository extends JpaRepository<ChatMessage, Long>
     Page<ChatMessage> findByChatRoomOrderByCreatedAtDesc(ChatRoom chatRoom, Pageable pageable);
 
     List<ChatMessage> findByChatRoomIdOrderByCreatedAtAsc(Long chatRoomId); // 테스트용 또는 특정 상황
+
+    // --- 커서(메시지 ID) 기반 조회: (chat_room_id, chat_message_id) 인덱스를 타며 count 쿼리가 없다 ---
+    @Query("SELECT m FROM ChatMessage m JOIN FETCH m.sender " +
+            "WHERE m.chatRoom.id = :chatRoomId ORDER BY m.id DESC")
+    List<ChatMessage> findLatestByChatRoomId(@Param("chatRoomId") Long chatRoomId, Pageable pageable);
+
+    @Query("SELECT m FROM ChatMessage m JOIN FETCH m.sender " +
+            "WHERE m.chatRoom.id = :chatRoomId AND m.id < :before ORDER BY m.id DESC")
+    List<ChatMessage> findByChatRoomIdBefore(@Param("chatRoomId") Long chatRoomId, @Param("before") Long before, Pageable pageable);
+
+    @Query("SELECT m FROM ChatMessage m JOIN FETCH m.sender " +
+            "WHERE m.chatRoom.id = :chatRoomId AND m.id > :after ORDER BY m.id ASC")
+    List<ChatMessage> findByChatRoomIdAfter(@Param("chatRoomId") Long chatRoomId, @Param("after") Long after, Pageable pageable);
 }
@@ -1,10 +1,14 @@
 package com.studygroup.domain.chat.repository;
 
+import com.studygroup.domain.chat.dto.ChatRoomListRow;
 import com.studygroup.domain.chat.entity.ChatRoom;
 import com.studygroup.domain.chat.entity.ChatRoomMember;
 import com.studygroup.domain.chat.entity.ChatRoomMemberStatus;
 import com.studygroup.domain.user.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
@@ -16,4 +20,39 @@ public interface ChatRoomMemberRepository extends JpaRepository<ChatRoomMember,
     List<ChatRoomMember> findByChatRoom(ChatRoom chatRoom);
 
     List<ChatRoomMember> findByUserAndStatus(User user, ChatRoomMemberStatus status); // 특정 유저의 특정 상태 채팅방 멤버 정보
+
+    // 권한 캐시용: 채팅방 멤버의 (user_id, status) 만 조회
+    @Query("SELECT m.user.id, m.status FROM ChatRoomMember m WHERE m.chatRoom.id = :chatRoomId")
+    List<Object[]> findUserIdAndStatusByChatRoomId(@Param("chatRoomId") Long chatRoomId);
+
+    // 채팅방 목록 공통 SELECT: 채팅방/스터디 정보 + JOINED 멤버 수(상관 서브쿼리) + 조회한 사용자의 멤버 상태
+    String CHAT_ROOM_LIST_SELECT =
+            "SELECT new com.studygroup.domain.chat.dto.ChatRoomListRow(" +
+            "c.id, c.name, sg.id, sg.title, c.createdAt, c.lastMessageContent, c.lastMessageAt, " +
+            "(SELECT COUNT(j) FROM ChatRoomMember j WHERE j.chatRoom = c AND j.status = :joined), m.status) " +
+            "FROM ChatRoomMember m JOIN m.chatRoom c JOIN c.studyGroup sg ";
+
+    // 사용자가 특정 상태인 채팅방 목록 (최근 메시지 순)
+    @Query(CHAT_ROOM_LIST_SELECT +
+            "WHERE m.user.id = :userId AND m.status = :joined " +
+            "ORDER BY c.lastMessageAt DESC, c.id DESC")
+    List<ChatRoomListRow> findJoinedChatRoomList(@Param("userId") Long userId,
+                                                 @Param("joined") ChatRoomMemberStatus joined);
+
+    // 스터디 그룹의 채팅방 중 사용자가 statuses 상태인 채팅방 목록
+    @Query(CHAT_ROOM_LIST_SELECT +
+            "WHERE sg.id = :studyGroupId AND m.user.id = :userId AND m.status IN :statuses " +
+            "ORDER BY c.id")
+    List<ChatRoomListRow> findChatRoomListByStudyGroup(@Param("studyGroupId") Long studyGroupId,
+                                                       @Param("userId") Long userId,
+                                                       @Param("statuses") List<ChatRoomMemberStatus> statuses,
+                                                       @Param("joined") ChatRoomMemberStatus joined);
+
+    // 마지막으로 읽은 메시지 ID 는 앞으로만 이동
+    @Modifying
+    @Query("UPDATE ChatRoomMember m SET m.lastReadMessageId = :messageId " +
+            "WHERE m.chatRoom.id = :chatRoomId AND m.user.id = :userId " +
+            "AND (m.lastReadMessageId IS NULL OR m.lastReadMessageId < :messageId)")
+    int updateLastReadMessageId(@Param("chatRoomId") Long chatRoomId, @Param("userId") Long userId,
+                                @Param("messageId") Long messageId);
 }
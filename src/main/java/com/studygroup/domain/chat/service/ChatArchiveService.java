@@ -0,0 +1,160 @@
+package com.studygroup.domain.chat.service;
+
+import com.studygroup.domain.chat.entity.MessageType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 오래된 채팅 메시지를 chat_message 테이블에서 보관 파일(ChatArchiveStore)로 옮긴다.
+ * 보관 기간(app.chat.archive.retention-days)이 지난 메시지를 채팅방별로 BLOCK_SIZE 개씩 파일에 추가한 뒤 테이블에서 삭제하므로,
+ * 테이블에는 최근 메시지만 남아 인덱스가 메모리에 머문다. 보관된 메시지는 커서 조회 API 에서 그대로 이어서 조회된다.
+ * 각 채팅방의 가장 최신 메시지는 옮기지 않는다. (ID 카운터를 DB 의 MAX(chat_message_id) 로 맞추므로 최댓값이 사라지지 않도록)
+ * 파일 추가 후 삭제 전에 중단되어도, 다음 실행 때 이미 보관된 ID 까지를 먼저 삭제하므로 중복 보관되지 않는다.
+ * 보관 파일은 모든 서버가 읽을 수 있어야 하므로 app.chat.archive.shared-storage=true (공유 스토리지 또는 단일 서버)일 때만
+ * 테이블에서 삭제하고, 여러 서버가 동시에 같은 행을 옮기지 않도록 Redis 락(SET NX PX)을 잡은 서버 하나만 실행한다.
+ */
+@Slf4j
+@Service
+public class ChatArchiveService {
+
+    private static final String FIND_ROOMS_SQL =
+            "SELECT DISTINCT chat_room_id FROM chat_message WHERE created_at < ?";
+
+    private static final String FIND_CUTOFF_ID_SQL =
+            "SELECT MAX(chat_message_id) FROM chat_message WHERE chat_room_id = ? AND created_at < ? " +
+            "AND chat_message_id < (SELECT MAX(chat_message_id) FROM chat_message WHERE chat_room_id = ?)";
+
+    private static final String FIND_BLOCK_SQL =
+            "SELECT chat_message_id, sender_id, content, message_type, created_at FROM chat_message " +
+            "WHERE chat_room_id = ? AND chat_message_id > ? AND chat_message_id <= ? " +
+            "ORDER BY chat_message_id LIMIT ?";
+
+    private static final String DELETE_ARCHIVED_SQL =
+            "DELETE FROM chat_message WHERE chat_room_id = ? AND chat_message_id > ? AND chat_message_id <= ?";
+
+    private static final String LOCK_KEY = "chat:archive:lock";
+    private static final long LOCK_TTL_MS = TimeUnit.MINUTES.toMillis(10); // 채팅방 하나를 옮길 때마다 연장
+
+    // 내가 잡은 락일 때만 연장 / 해제
+    private static final RedisScript<Long> EXTEND_LOCK_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then " +
+            "  return redis.call('PEXPIRE', KEYS[1], ARGV[2]) " +
+            "end " +
+            "return 0", Long.class);
+    private static final RedisScript<Long> RELEASE_LOCK_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then " +
+            "  return redis.call('DEL', KEYS[1]) " +
+            "end " +
+            "return 0", Long.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ChatArchiveStore archiveStore;
+    private final StringRedisTemplate redisTemplate;
+    private final int retentionDays;
+    private final boolean sharedStorage;
+
+    public ChatArchiveService(JdbcTemplate jdbcTemplate,
+                              ChatArchiveStore archiveStore,
+                              StringRedisTemplate redisTemplate,
+                              @Value("${app.chat.archive.retention-days:0}") int retentionDays,
+                              @Value("${app.chat.archive.shared-storage:false}") boolean sharedStorage) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.archiveStore = archiveStore;
+        this.redisTemplate = redisTemplate;
+        this.retentionDays = retentionDays;
+        this.sharedStorage = sharedStorage;
+        if (retentionDays > 0 && !sharedStorage) {
+            log.warn("app.chat.archive.shared-storage=false 이므로 채팅 메시지 보관을 실행하지 않습니다. " +
+                    "보관 디렉터리가 모든 서버에서 공유될 때(또는 단일 서버일 때)만 true 로 설정하세요.");
+        }
+    }
+
+    // 매일 새벽 4시 30분 실행
+    @Scheduled(cron = "${app.chat.archive.cron:0 30 4 * * *}")
+    public void archiveOldMessages() {
+        if (retentionDays <= 0 || !sharedStorage) {
+            return; // 보관 비활성화 (다른 서버가 읽을 수 없는 파일로 옮긴 뒤 테이블에서 삭제하지 않도록)
+        }
+        String lockToken = UUID.randomUUID().toString();
+        if (!Boolean.TRUE.equals(redisTemplate.opsForValue()
+                .setIfAbsent(LOCK_KEY, lockToken, LOCK_TTL_MS, TimeUnit.MILLISECONDS))) {
+            log.info("다른 서버가 채팅 메시지 보관을 실행 중이므로 건너뜁니다.");
+            return;
+        }
+        try {
+            archiveStore.recoverAll(); // 지난 실행에서 추가 도중 중단된 꼬리 정리 (락 안에서만 안전)
+            Timestamp cutoff = Timestamp.valueOf(LocalDateTime.now().minusDays(retentionDays));
+            List<Long> chatRoomIds = jdbcTemplate.queryForList(FIND_ROOMS_SQL, Long.class, cutoff);
+            long archived = 0;
+            for (Long chatRoomId : chatRoomIds) {
+                if (!extendLock(lockToken)) {
+                    log.warn("채팅 메시지 보관 락을 잃어 중단합니다: archived={}", archived);
+                    return;
+                }
+                try {
+                    archived += archiveRoom(chatRoomId, cutoff);
+                } catch (Exception e) {
+                    log.error("채팅 메시지 보관 실패: chatRoomId={}", chatRoomId, e);
+                }
+            }
+            if (archived > 0) {
+                log.info("오래된 채팅 메시지 보관 완료: rooms={}, messages={}", chatRoomIds.size(), archived);
+            }
+        } catch (IOException e) {
+            log.error("채팅 보관 파일 복구 실패로 보관을 건너뜁니다.", e);
+        } finally {
+            redisTemplate.execute(RELEASE_LOCK_SCRIPT, List.of(LOCK_KEY), lockToken);
+        }
+    }
+
+    private boolean extendLock(String lockToken) {
+        Long extended = redisTemplate.execute(EXTEND_LOCK_SCRIPT, List.of(LOCK_KEY), lockToken, String.valueOf(LOCK_TTL_MS));
+        return extended != null && extended == 1L;
+    }
+
+    private long archiveRoom(Long chatRoomId, Timestamp cutoff) throws IOException {
+        long lastArchivedId = archiveStore.getLastArchivedId(chatRoomId);
+        // 지난 실행에서 파일에는 추가했지만 삭제하지 못한 메시지 정리
+        jdbcTemplate.update(DELETE_ARCHIVED_SQL, chatRoomId, 0L, lastArchivedId);
+
+        Long cutoffId = jdbcTemplate.queryForObject(FIND_CUTOFF_ID_SQL, Long.class, chatRoomId, cutoff, chatRoomId);
+        if (cutoffId == null || cutoffId <= lastArchivedId) {
+            return 0;
+        }
+
+        long archived = 0;
+        while (true) {
+            List<PendingChatMessage> block = jdbcTemplate.query(FIND_BLOCK_SQL,
+                    (rs, rowNum) -> new PendingChatMessage(
+                            rs.getLong("chat_message_id"),
+                            chatRoomId,
+                            rs.getLong("sender_id"),
+                            rs.getString("content"),
+                            MessageType.valueOf(rs.getString("message_type")),
+                            rs.getTimestamp("created_at").toLocalDateTime(),
+                            false),
+                    chatRoomId, lastArchivedId, cutoffId, ChatArchiveStore.BLOCK_SIZE);
+            if (block.isEmpty()) {
+                return archived;
+            }
+            archiveStore.append(chatRoomId, block);
+            long blockLastId = block.get(block.size() - 1).id();
+            jdbcTemplate.update(DELETE_ARCHIVED_SQL, chatRoomId, lastArchivedId, blockLastId);
+            lastArchivedId = blockLastId;
+            archived += block.size();
+        }
+    }
+}
@@ -0,0 +1,351 @@
+package com.studygroup.domain.chat.service;
+
+import com.studygroup.domain.chat.entity.MessageType;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * 오래된 채팅 메시지 보관 파일 (채팅방마다 1쌍, 추가만 가능).
+ * - {roomId}.seg: 메시지를 최대 BLOCK_SIZE 개씩 묶어 압축한 블록을 이어 붙인 파일
+ * - {roomId}.idx: 블록마다 (첫 ID, 마지막 ID, 오프셋, 길이, 개수) 한 항목만 두는 희소 인덱스
+ * 조회 시 인덱스를 이진 탐색해 필요한 블록만 메모리 매핑된 .seg 에서 읽어 압축을 푼다.
+ * 추가는 .seg 를 먼저 기록(fsync)한 뒤 인덱스를 기록하므로, 중간에 중단되어도 인덱스에 없는 꼬리만 남고
+ * 다음 보관 작업 시작 시 잘라낸다. (recoverAll)
+ * 디렉터리는 여러 서버가 함께 쓸 수 있다. 추가와 복구는 보관 작업(클러스터 락 보유)에서만 하고,
+ * 조회 시에는 인덱스 파일 크기로 다른 서버가 블록을 추가했는지 확인해 캐시를 갱신한다.
+ */
+@Slf4j
+@Service
+public class ChatArchiveStore {
+
+    public static final int BLOCK_SIZE = 256;
+
+    private static final int INDEX_ENTRY_BYTES = 8 + 8 + 8 + 4 + 4; // firstId, lastId, offset, length, count
+    private static final int MAX_CACHED_SEGMENTS = 256;
+    private static final String DATA_SUFFIX = ".seg";
+    private static final String INDEX_SUFFIX = ".idx";
+
+    // 한 채팅방의 보관 파일 (인덱스는 배열로, 데이터는 읽기 전용 매핑으로 보관)
+    private record Segment(long indexBytes, MappedByteBuffer data, long[] firstIds, long[] lastIds, long[] offsets, int[] lengths, int[] counts) {
+        int blockCount() {
+            return firstIds.length;
+        }
+    }
+
+    private final Path archiveDirectory;
+
+    // Key: 채팅방 ID (접근 순서 LRU)
+    private final Map<Long, Segment> segments = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Segment> eldest) {
+            return size() > MAX_CACHED_SEGMENTS;
+        }
+    };
+    // 블록이 추가될 때마다 증가. 추가 전에 읽기 시작한 Segment 가 캐시에 들어가지 않도록 한다
+    private final AtomicLong generation = new AtomicLong();
+
+    public ChatArchiveStore(@Value("${app.chat.archive.dir:./chat-archive/}") String archiveDir) {
+        this.archiveDirectory = Paths.get(archiveDir).toAbsolutePath().normalize();
+    }
+
+    @PostConstruct
+    public void init() {
+        try {
+            Files.createDirectories(archiveDirectory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("채팅 보관 디렉터리를 준비할 수 없습니다: " + archiveDirectory, e);
+        }
+    }
+
+    /**
+     * 모든 채팅방의 보관 파일에서 추가 도중 중단된 꼬리를 잘라낸다.
+     * 공유 디렉터리에서는 다른 서버가 추가 중인 파일을 자르지 않도록 보관 작업의 클러스터 락 안에서만 호출한다.
+     */
+    public synchronized void recoverAll() throws IOException {
+        try (DirectoryStream<Path> indexFiles = Files.newDirectoryStream(archiveDirectory, "*" + INDEX_SUFFIX)) {
+            for (Path indexFile : indexFiles) {
+                recover(indexFile);
+            }
+        }
+    }
+
+    // 추가 도중 중단되어 인덱스와 맞지 않는 꼬리를 잘라낸다
+    private void recover(Path indexFile) throws IOException {
+        String fileName = indexFile.getFileName().toString();
+        Path dataFile = indexFile.resolveSibling(fileName.substring(0, fileName.length() - INDEX_SUFFIX.length()) + DATA_SUFFIX);
+        try (FileChannel index = FileChannel.open(indexFile, StandardOpenOption.READ, StandardOpenOption.WRITE);
+             FileChannel data = FileChannel.open(dataFile, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long entries = index.size() / INDEX_ENTRY_BYTES; // 일부만 기록된 항목은 버린다
+            long dataEnd = 0;
+            while (entries > 0) {
+                ByteBuffer entry = ByteBuffer.allocate(INDEX_ENTRY_BYTES);
+                index.read(entry, (entries - 1) * INDEX_ENTRY_BYTES);
+                entry.flip();
+                long end = entry.getLong(16) + entry.getInt(24);
+                if (end <= data.size()) {
+                    dataEnd = end;
+                    break;
+                }
+                entries--; // 데이터가 모두 기록되지 않은 블록의 인덱스 항목
+            }
+            if (index.size() != entries * INDEX_ENTRY_BYTES || data.size() != dataEnd) {
+                log.warn("채팅 보관 파일 복구: file={}, blocks={}, dataBytes={} -> {}", fileName, entries, data.size(), dataEnd);
+                index.truncate(entries * INDEX_ENTRY_BYTES);
+                data.truncate(dataEnd);
+            }
+        }
+    }
+
+    // 보관된 마지막 메시지 ID (없으면 0)
+    public long getLastArchivedId(Long chatRoomId) {
+        Path indexFile = indexPath(chatRoomId);
+        if (!Files.exists(indexFile)) {
+            return 0L;
+        }
+        try (FileChannel index = FileChannel.open(indexFile, StandardOpenOption.READ)) {
+            long entries = index.size() / INDEX_ENTRY_BYTES;
+            if (entries == 0) {
+                return 0L;
+            }
+            ByteBuffer entry = ByteBuffer.allocate(INDEX_ENTRY_BYTES);
+            index.read(entry, (entries - 1) * INDEX_ENTRY_BYTES);
+            return entry.getLong(8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("채팅 보관 인덱스를 읽을 수 없습니다: chatRoomId=" + chatRoomId, e);
+        }
+    }
+
+    /**
+     * 메시지 블록 추가. messages 는 ID 오름차순이고 모두 getLastArchivedId 보다 커야 한다.
+     * 반환 시점에 데이터와 인덱스가 모두 디스크에 기록되어 있다.
+     */
+    public synchronized void append(Long chatRoomId, List<PendingChatMessage> messages) throws IOException {
+        if (messages.isEmpty()) {
+            return;
+        }
+        byte[] block = encode(messages);
+        long offset;
+        try (FileChannel data = FileChannel.open(dataPath(chatRoomId),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            offset = data.size();
+            if (offset + block.length > Integer.MAX_VALUE) {
+                // 파일 전체를 한 번에 매핑하므로 2GB 를 넘길 수 없음
+                throw new IllegalStateException("채팅 보관 파일 크기 한도를 초과했습니다: chatRoomId=" + chatRoomId);
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(block);
+            while (buffer.hasRemaining()) {
+                data.write(buffer, offset + buffer.position());
+            }
+            data.force(false);
+        }
+
+        ByteBuffer entry = ByteBuffer.allocate(INDEX_ENTRY_BYTES);
+        entry.putLong(messages.get(0).id())
+                .putLong(messages.get(messages.size() - 1).id())
+                .putLong(offset)
+                .putInt(block.length)
+                .putInt(messages.size())
+                .flip();
+        try (FileChannel index = FileChannel.open(indexPath(chatRoomId),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            while (entry.hasRemaining()) {
+                index.write(entry);
+            }
+            index.force(false);
+        }
+
+        generation.incrementAndGet();
+        synchronized (segments) {
+            segments.remove(chatRoomId);
+        }
+    }
+
+    // beforeId 보다 오래된 보관 메시지를 최신 쪽부터 최대 limit 개 (beforeId 가 null 이면 가장 최신부터)
+    public List<PendingChatMessage> findBefore(Long chatRoomId, Long beforeId, int limit) {
+        Segment segment = load(chatRoomId);
+        List<PendingChatMessage> result = new ArrayList<>();
+        if (segment == null) {
+            return result;
+        }
+        long upper = beforeId != null ? beforeId : Long.MAX_VALUE;
+        // upper 보다 작은 ID 를 포함할 수 있는 마지막 블록부터 거꾸로 읽는다
+        for (int block = lastBlockStartingBelow(segment, upper); block >= 0 && result.size() < limit; block--) {
+            List<PendingChatMessage> messages = decode(chatRoomId, segment, block);
+            for (int i = messages.size() - 1; i >= 0 && result.size() < limit; i--) {
+                if (messages.get(i).id() < upper) {
+                    result.add(messages.get(i));
+                }
+            }
+        }
+        return result;
+    }
+
+    // afterId 보다 새로운 보관 메시지를 오래된 쪽부터 최대 limit 개
+    public List<PendingChatMessage> findAfter(Long chatRoomId, long afterId, int limit) {
+        Segment segment = load(chatRoomId);
+        List<PendingChatMessage> result = new ArrayList<>();
+        if (segment == null) {
+            return result;
+        }
+        for (int block = firstBlockEndingAbove(segment, afterId); block < segment.blockCount() && result.size() < limit; block++) {
+            for (PendingChatMessage message : decode(chatRoomId, segment, block)) {
+                if (message.id() > afterId && result.size() < limit) {
+                    result.add(message);
+                }
+            }
+        }
+        return result;
+    }
+
+    private static int lastBlockStartingBelow(Segment segment, long upper) {
+        int low = 0;
+        int high = segment.blockCount() - 1;
+        int found = -1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (segment.firstIds()[mid] < upper) {
+                found = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return found;
+    }
+
+    private static int firstBlockEndingAbove(Segment segment, long lower) {
+        int low = 0;
+        int high = segment.blockCount() - 1;
+        int found = segment.blockCount();
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (segment.lastIds()[mid] > lower) {
+                found = mid;
+                high = mid - 1;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return found;
+    }
+
+    private Segment load(Long chatRoomId) {
+        Path indexFile = indexPath(chatRoomId);
+        long loadGeneration = generation.get();
+        try {
+            if (!Files.exists(indexFile)) {
+                return null;
+            }
+            // 다른 서버가 블록을 추가했으면 인덱스 파일이 커져 있으므로 다시 읽는다
+            long indexBytes = Files.size(indexFile);
+            synchronized (segments) {
+                Segment cached = segments.get(chatRoomId);
+                if (cached != null && cached.indexBytes() == indexBytes) {
+                    return cached;
+                }
+            }
+
+            ByteBuffer index = ByteBuffer.wrap(Files.readAllBytes(indexFile));
+            int blocks = index.capacity() / INDEX_ENTRY_BYTES;
+            long[] firstIds = new long[blocks];
+            long[] lastIds = new long[blocks];
+            long[] offsets = new long[blocks];
+            int[] lengths = new int[blocks];
+            int[] counts = new int[blocks];
+            for (int i = 0; i < blocks; i++) {
+                firstIds[i] = index.getLong();
+                lastIds[i] = index.getLong();
+                offsets[i] = index.getLong();
+                lengths[i] = index.getInt();
+                counts[i] = index.getInt();
+            }
+            long dataEnd = blocks == 0 ? 0 : offsets[blocks - 1] + lengths[blocks - 1];
+            MappedByteBuffer data;
+            try (FileChannel channel = FileChannel.open(dataPath(chatRoomId), StandardOpenOption.READ)) {
+                data = channel.map(FileChannel.MapMode.READ_ONLY, 0, dataEnd); // 매핑은 채널을 닫아도 유지됨
+            }
+            Segment segment = new Segment(index.capacity(), data, firstIds, lastIds, offsets, lengths, counts);
+            synchronized (segments) {
+                if (generation.get() == loadGeneration) {
+                    segments.put(chatRoomId, segment);
+                }
+            }
+            return segment;
+        } catch (IOException e) {
+            throw new UncheckedIOException("채팅 보관 파일을 읽을 수 없습니다: chatRoomId=" + chatRoomId, e);
+        }
+    }
+
+    // --- 블록 형식: 메시지마다 (id, senderId, messageType, createdAt 초/나노, content 길이 + UTF-8) 를 deflate 압축 ---
+    private static byte[] encode(List<PendingChatMessage> messages) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(new DeflaterOutputStream(bytes))) {
+            for (PendingChatMessage message : messages) {
+                byte[] content = message.content() != null ? message.content().getBytes(StandardCharsets.UTF_8) : new byte[0];
+                out.writeLong(message.id());
+                out.writeLong(message.senderId());
+                out.writeUTF(message.messageType().name());
+                out.writeLong(message.createdAt().toEpochSecond(ZoneOffset.UTC));
+                out.writeInt(message.createdAt().getNano());
+                out.writeInt(content.length);
+                out.write(content);
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private static List<PendingChatMessage> decode(Long chatRoomId, Segment segment, int block) {
+        byte[] compressed = new byte[segment.lengths()[block]];
+        segment.data().slice((int) segment.offsets()[block], compressed.length).get(compressed);
+        List<PendingChatMessage> messages = new ArrayList<>(segment.counts()[block]);
+        try (DataInputStream in = new DataInputStream(new InflaterInputStream(new ByteArrayInputStream(compressed)))) {
+            for (int i = 0; i < segment.counts()[block]; i++) {
+                long id = in.readLong();
+                long senderId = in.readLong();
+                MessageType messageType = MessageType.valueOf(in.readUTF());
+                LocalDateTime createdAt = LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC);
+                byte[] content = in.readNBytes(in.readInt());
+                messages.add(new PendingChatMessage(id, chatRoomId, senderId,
+                        new String(content, StandardCharsets.UTF_8), messageType, createdAt, false));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("채팅 보관 블록이 손상되었습니다: chatRoomId=" + chatRoomId + ", block=" + block, e);
+        }
+        return messages;
+    }
+
+    private Path dataPath(Long chatRoomId) {
+        return archiveDirectory.resolve(chatRoomId + DATA_SUFFIX);
+    }
+
+    private Path indexPath(Long chatRoomId) {
+        return archiveDirectory.resolve(chatRoomId + INDEX_SUFFIX);
+    }
+}
@@ -0,0 +1,128 @@
+package com.studygroup.domain.chat.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 채팅 메시지 ID 발급기.
+ * 메시지를 DB에 저장하기 전에 브로드캐스트해야 하므로 IDENTITY 대신 Redis INCR 로 ID를 미리 발급한다.
+ * 모든 서버가 같은 카운터를 쓰므로 ID는 전역적으로 증가하고, 한 채팅방 안에서도 전송 순서와 같다. (방별 순번 역할)
+ * 서버가 뜰 때 카운터가 DB의 최대 ID보다 작으면(Redis 초기화 등) 최대 ID까지 끌어올린다.
+ *
+ * 발급한 ID는 커밋될 때까지 채팅방별 Redis ZSET "chat:message:pending:{roomId}" (score = 발급 시각)에 둔다.
+ * 여러 서버가 저장하므로 ID 순서와 커밋 순서가 다를 수 있어, 커서 조회는 visibleBefore 보다 작은 ID 만 반환한다.
+ * (더 큰 ID가 먼저 커밋되어 클라이언트 커서가 아직 커밋되지 않은 메시지를 건너뛰지 않도록)
+ * 서버가 비정상 종료되어 커밋되지 못한 ID는 PENDING_TIMEOUT_MS 가 지나면 무시한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ChatMessageIdAllocator {
+
+    private static final String SEQUENCE_KEY = "chat:message:id";
+
+    // 현재 값보다 클 때만 SET (여러 서버가 동시에 시작해도 카운터가 뒤로 가지 않음)
+    private static final DefaultRedisScript<Long> RAISE_SCRIPT = new DefaultRedisScript<>(
+            "local current = tonumber(redis.call('GET', KEYS[1]) or '0') " +
+            "if current < tonumber(ARGV[1]) then redis.call('SET', KEYS[1], ARGV[1]) return tonumber(ARGV[1]) end " +
+            "return current",
+            Long.class);
+
+    private static final String PENDING_KEY_PREFIX = "chat:message:pending:";
+    private static final long PENDING_TIMEOUT_MS = 30_000;
+
+    // ID 발급과 미커밋 목록 등록을 한 번에 (등록 전에 조회가 끼어들어 발급된 ID를 놓치지 않도록)
+    private static final DefaultRedisScript<Long> ALLOCATE_SCRIPT = new DefaultRedisScript<>(
+            "local id = redis.call('INCR', KEYS[1]) " +
+            "redis.call('ZADD', KEYS[2], ARGV[1], id) " +
+            "redis.call('PEXPIRE', KEYS[2], ARGV[2]) " +
+            "return id",
+            Long.class);
+
+    // 이 값보다 작은 ID는 모두 커밋되었거나 버려졌다 = min(미커밋 ID 중 최솟값, 현재 카운터 + 1). 알 수 없으면 -1
+    private static final DefaultRedisScript<Long> VISIBLE_BEFORE_SCRIPT = new DefaultRedisScript<>(
+            "redis.call('ZREMRANGEBYSCORE', KEYS[2], '-inf', '(' .. ARGV[1]) " +
+            "local sequence = redis.call('GET', KEYS[1]) " +
+            "local bound = sequence and (tonumber(sequence) + 1) or -1 " +
+            "for _, id in ipairs(redis.call('ZRANGE', KEYS[2], 0, -1)) do " +
+            "  local value = tonumber(id) " +
+            "  if bound < 0 or value < bound then bound = value end " +
+            "end " +
+            "return bound",
+            Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile boolean synced = false;
+
+    // ChatMessageWriter 가 저널을 재처리한 뒤 호출 (저널에만 있던 ID까지 반영)
+    public synchronized void synchronizeWithDatabase() {
+        Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(chat_message_id), 0) FROM chat_message", Long.class);
+        Long current = redisTemplate.execute(RAISE_SCRIPT, List.of(SEQUENCE_KEY), String.valueOf(maxId));
+        synced = true;
+        log.info("채팅 메시지 ID 카운터 동기화: dbMax={}, current={}", maxId, current);
+    }
+
+    public long next(Long chatRoomId) {
+        if (!synced) {
+            synchronizeWithDatabase(); // 시작 시 Redis 에 연결하지 못했던 경우
+        }
+        Long id = redisTemplate.execute(ALLOCATE_SCRIPT, List.of(SEQUENCE_KEY, PENDING_KEY_PREFIX + chatRoomId),
+                String.valueOf(System.currentTimeMillis()), String.valueOf(PENDING_TIMEOUT_MS));
+        if (id == null) {
+            throw new IllegalStateException("채팅 메시지 ID를 발급하지 못했습니다.");
+        }
+        return id;
+    }
+
+    // 커밋되었거나(ChatMessageWriter) 저장 큐에 넣지 못해 버린 메시지의 ID를 미커밋 목록에서 제거 (파이프라인 1회)
+    public void release(Collection<PendingChatMessage> messages) {
+        if (messages.isEmpty()) {
+            return;
+        }
+        Map<Long, List<String>> idsByRoom = new HashMap<>();
+        for (PendingChatMessage message : messages) {
+            idsByRoom.computeIfAbsent(message.chatRoomId(), key -> new ArrayList<>()).add(String.valueOf(message.id()));
+        }
+        try {
+            redisTemplate.executePipelined((RedisCallback<Object>) (RedisConnection connection) -> {
+                StringRedisConnection stringConnection = (StringRedisConnection) connection;
+                idsByRoom.forEach((chatRoomId, ids) ->
+                        stringConnection.zRem(PENDING_KEY_PREFIX + chatRoomId, ids.toArray(String[]::new)));
+                return null;
+            });
+        } catch (Exception e) {
+            // 제거하지 못한 ID는 PENDING_TIMEOUT_MS 후 무시되므로 그동안 커서 조회가 조금 늦어질 뿐
+            log.warn("미커밋 채팅 메시지 ID 제거 실패: rooms={}", idsByRoom.size(), e);
+        }
+    }
+
+    /**
+     * 커서 조회에서 반환해도 되는 ID 의 상한 (이 값 미만). DB 조회보다 먼저 호출해야 한다.
+     * Redis 를 사용할 수 없으면 null (상한 없이 조회)
+     */
+    public Long visibleBefore(Long chatRoomId) {
+        try {
+            Long bound = redisTemplate.execute(VISIBLE_BEFORE_SCRIPT, List.of(SEQUENCE_KEY, PENDING_KEY_PREFIX + chatRoomId),
+                    String.valueOf(System.currentTimeMillis() - PENDING_TIMEOUT_MS));
+            return bound == null || bound < 0 ? null : bound;
+        } catch (Exception e) {
+            log.warn("채팅 메시지 조회 상한 계산 실패: chatRoomId={}", chatRoomId, e);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.studygroup.domain.chat.service;
+
+import com.studygroup.domain.chat.dto.ChatMessageResponse;
+import com.studygroup.domain.chat.dto.ChatMessageSendRequest;
+import com.studygroup.domain.chat.dto.UserSummaryDto;
+import com.studygroup.domain.chat.entity.MessageType;
+import com.studygroup.domain.user.entity.User;
+import com.studygroup.global.websocket.ClusterBroadcaster;
+import com.studygroup.global.websocket.CompactFrames;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.StringUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 채팅 메시지 수신 파이프라인.
+ * ID 발급(Redis INCR) -> WAL 기록 + 저장 큐 등록 -> 즉시 브로드캐스트 순으로 처리하고,
+ * DB 저장은 ChatMessageWriter 가 모아서 처리한다. 메시지 한 건당 DB 조회/트랜잭션이 없다.
+ * 브로드캐스트는 WAL 이 디스크에 기록된 뒤에 하므로, 서버가 비정상 종료되어도 클라이언트가 받은 메시지는 재시작 시 저장된다.
+ * 저장 큐가 가득 차면 브로드캐스트하지 않고 IllegalStateException 으로 전송을 거절한다.
+ * 발신자의 전송 권한은 호출 측(ChatMessageController)에서 ChatSessionAcl 로 확인한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ChatMessagePipeline {
+
+    private final ChatSenderCache chatSenderCache;
+    private final ChatMessageIdAllocator idAllocator;
+    private final ChatMessageWriter chatMessageWriter;
+    private final ClusterBroadcaster clusterBroadcaster;
+    private final ChatUnreadCounter chatUnreadCounter;
+
+    // 사용자가 보낸 메시지 (STOMP 핸들러에서 권한 확인 후 호출)
+    public ChatMessageResponse send(Long chatRoomId, ChatMessageSendRequest request, Long senderId) {
+        if (!StringUtils.hasText(request.getContent())) {
+            throw new IllegalArgumentException("메시지 내용이 비어 있습니다.");
+        }
+        MessageType messageType = request.getMessageType() != null ? request.getMessageType() : MessageType.TALK;
+        ChatMessageResponse response = publish(chatRoomId, chatSenderCache.get(senderId), request.getContent(), messageType, true);
+        chatUnreadCounter.recordMessage(chatRoomId, senderId);
+        return response;
+    }
+
+    /**
+     * 입장/퇴장 같은 시스템 메시지.
+     * 트랜잭션 안에서 호출되면 커밋된 뒤에 발송한다. (롤백된 멤버 변경에 대한 메시지가 남지 않도록)
+     */
+    public void sendSystemMessage(Long chatRoomId, User sender, String content, MessageType messageType) {
+        UserSummaryDto senderSummary = UserSummaryDto.from(sender);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publish(chatRoomId, senderSummary, content, messageType, false);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                try {
+                    publish(chatRoomId, senderSummary, content, messageType, false);
+                } catch (Exception e) {
+                    log.error("시스템 메시지 발송 실패: chatRoomId={}, content={}", chatRoomId, content, e);
+                }
+            }
+        });
+    }
+
+    private ChatMessageResponse publish(Long chatRoomId, UserSummaryDto sender, String content,
+                                        MessageType messageType, boolean updatesLastMessage) {
+        PendingChatMessage message = new PendingChatMessage(idAllocator.next(chatRoomId), chatRoomId, sender.getId(),
+                content, messageType, LocalDateTime.now(), updatesLastMessage);
+        if (!chatMessageWriter.enqueue(message)) {
+            idAllocator.release(List.of(message)); // 저장되지 않을 ID 가 커서 조회를 막지 않도록
+            log.warn("채팅 메시지 저장 큐 포화로 전송 거절: chatRoomId={}, senderId={}", chatRoomId, sender.getId());
+            throw new IllegalStateException("메시지가 많아 전송하지 못했습니다. 잠시 후 다시 시도해주세요.");
+        }
+
+        ChatMessageResponse response = toResponse(message, sender);
+        // 해당 채팅방을 구독 중인 클라이언트에게 메시지 브로드캐스트 (JSON / 압축 형식 구독자 각각 한 번씩)
+        String destination = "/sub/chat/room/" + chatRoomId;
+        clusterBroadcaster.broadcast(destination, response);
+        String compactDestination = CompactFrames.destination(destination);
+        if (clusterBroadcaster.hasSubscribers(compactDestination)) { // 압축 형식 구독자가 없으면 직렬화/전송 생략
+            clusterBroadcaster.broadcast(compactDestination, response.toCompactFrame());
+        }
+        log.debug("Message sent to /sub/chat/room/{}: messageId={}", chatRoomId, message.id());
+        return response;
+    }
+
+    static ChatMessageResponse toResponse(PendingChatMessage message, UserSummaryDto sender) {
+        return ChatMessageResponse.builder()
+                .messageId(message.id())
+                .chatRoomId(message.chatRoomId())
+                .sender(sender)
+                .content(message.content())
+                .messageType(message.messageType())
+                .sentAt(message.createdAt())
+                .build();
+    }
+}
@@ -0,0 +1,641 @@
+package com.studygroup.domain.chat.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.Timestamp;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 채팅 메시지 쓰기 지연(write-behind) 저장기.
+ * - 메시지를 로컬 WAL 파일에 한 줄씩 기록(fsync)한 뒤 제한된 크기의 큐에 넣고, 그 다음에 호출 측이 브로드캐스트한다.
+ *   fsync 는 동시에 기다리는 메시지들을 한 번에 묶어 처리하므로(그룹 fsync) 메시지마다 디스크 동기화가 일어나지 않는다.
+ * - 전용 스레드가 큐에서 최대 MAX_BATCH_SIZE 개씩 꺼내 한 트랜잭션에서 배치 INSERT 1회 + 채팅방별 마지막 메시지 UPDATE 1회로 저장한다. (그룹 커밋)
+ *   WAL 은 세그먼트 단위로 나뉘며, 담긴 메시지가 모두 커밋(또는 저널 기록)된 세그먼트는 지운다.
+ * - 큐가 가득 차면 OFFER_TIMEOUT_MS 만큼만 기다린 뒤 거절한다. (호출 측에서 전송 실패로 처리 = 역압)
+ * - 저장이 MAX_ATTEMPTS 번 실패한 배치는 저널 파일에 기록하고, 시작 시와 주기적으로 다시 저장한다.
+ *   ID가 미리 정해져 있고 중복 키만 무시하므로(ON DUPLICATE KEY UPDATE) 같은 메시지를 여러 번 저장해도 중복되지 않는다.
+ *   INSERT IGNORE 와 달리 외래 키/데이터 오류는 무시되지 않고 저장 실패로 처리된다.
+ * - 프로세스가 비정상 종료되어 큐에 있던 메시지는 다음 시작 시 WAL 에서 다시 저장한다.
+ *   따라서 전송이 수락되어 브로드캐스트된 메시지는 서버 디스크가 유실되지 않는 한 저장된다.
+ */
+@Slf4j
+@Service
+public class ChatMessageWriter {
+
+    private static final int QUEUE_CAPACITY = 20_000;
+    private static final int MAX_BATCH_SIZE = 500;
+    private static final long OFFER_TIMEOUT_MS = 200;
+    private static final long IDLE_WAIT_MS = 50;
+    private static final int MAX_ATTEMPTS = 3;
+    private static final long RETRY_BACKOFF_MS = 200;
+    private static final long SHUTDOWN_TIMEOUT_MS = 10_000;
+    private static final String JOURNAL_FILE = "chat-messages.journal";
+    private static final String REPLAYING_FILE = "chat-messages.journal.replaying";
+    private static final String WAL_PREFIX = "chat-messages.wal.";
+    private static final long WAL_SEGMENT_BYTES = 16L * 1024 * 1024;
+    private static final long FULL_QUEUE_WAIT_MS = 5;
+
+    // 같은 ID의 행이 이미 있으면 아무것도 바꾸지 않음 (저널 재처리 등으로 다시 저장되는 경우)
+    private static final String INSERT_MESSAGE_SQL =
+            "INSERT INTO chat_message " +
+            "(chat_message_id, chat_room_id, sender_id, content, message_type, created_at, modified_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE chat_message_id = chat_message_id";
+
+    // 순서가 뒤바뀐 배치(저널 재처리 등)가 더 최신 메시지를 덮어쓰지 않도록 시간 조건을 둔다
+    private static final String UPDATE_LAST_MESSAGE_SQL =
+            "UPDATE chat_room SET last_message_content = ?, last_message_at = ? " +
+            "WHERE chat_room_id = ? AND (last_message_at IS NULL OR last_message_at <= ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final ChatMessageIdAllocator idAllocator;
+    private final Path journalDirectory;
+
+    // 큐 항목: 메시지 + WAL 에서 그 메시지가 끝나는 위치 (세그먼트를 이어 붙인 전체 바이트 기준)
+    private record Queued(PendingChatMessage message, long walEnd) {
+    }
+
+    // 다 쓴 WAL 세그먼트와 그 끝 위치
+    private record WalSegment(Path path, long end) {
+    }
+
+    private final BlockingQueue<Queued> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final Object journalLock = new Object();
+    // WAL 기록과 큐 등록을 같은 순서로 묶는 잠금 (큐 순서 = WAL 순서이므로, 꺼낸 위치까지의 WAL 은 모두 처리된 것)
+    private final Object walLock = new Object();
+    // fsync 는 한 번에 한 스레드만. 기다리던 스레드는 앞선 fsync 에 자기 메시지가 포함되었으면 바로 돌아간다
+    private final Object walSyncLock = new Object();
+    private FileChannel walChannel;            // walLock
+    private long walSegmentNumber;             // walLock
+    private long walSegmentStart;              // walLock, 현재 세그먼트가 시작하는 전체 위치
+    private long walWritten;                   // walLock, 지금까지 기록한 전체 위치
+    private final Deque<WalSegment> closedWalSegments = new ArrayDeque<>(); // walLock
+    private final AtomicLong walSynced = new AtomicLong();
+    // 저장 스레드가 처리(커밋 또는 저널 기록)를 마친 WAL 위치
+    private volatile long walCheckpoint;
+    // 처리 결과를 알 수 없는 배치가 있으면 WAL 을 지우지 않고 다음 시작 시 다시 저장한다
+    private volatile boolean walPinned = false;
+    // 큐에서 꺼내는 동작과 inFlight 교체를 findUnwritten 조회와 원자적으로 묶기 위한 잠금
+    private final Object handoffLock = new Object();
+    // 큐에서 꺼내 저장 중인 배치 (커밋 전까지는 DB에서도 큐에서도 보이지 않으므로 따로 노출)
+    private volatile List<PendingChatMessage> inFlight = List.of();
+    private volatile boolean accepting = false;
+    private volatile boolean running = false;
+    private Thread worker;
+
+    public ChatMessageWriter(JdbcTemplate jdbcTemplate,
+                             TransactionTemplate transactionTemplate,
+                             ObjectMapper objectMapper,
+                             ChatMessageIdAllocator idAllocator,
+                             @Value("${app.chat.journal-dir:./chat-journal/}") String journalDir) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.idAllocator = idAllocator;
+        this.journalDirectory = Paths.get(journalDir).toAbsolutePath().normalize();
+    }
+
+    @PostConstruct
+    public void start() {
+        // 지난 실행에서 저장하지 못한 메시지를 먼저 반영한 뒤 ID 카운터를 맞춘다 (WAL/저널에만 있던 ID와 겹치지 않도록)
+        long nextSegment = replayWal();
+        replayJournal();
+        try {
+            idAllocator.synchronizeWithDatabase();
+        } catch (Exception e) {
+            log.warn("채팅 메시지 ID 카운터 동기화 실패. 첫 메시지 전송 시 다시 시도합니다.", e);
+        }
+
+        synchronized (walLock) {
+            try {
+                openWalSegment(nextSegment);
+            } catch (IOException e) {
+                throw new UncheckedIOException("채팅 메시지 WAL 을 열 수 없습니다: " + journalDirectory, e);
+            }
+        }
+        running = true;
+        accepting = true;
+        worker = new Thread(this::runLoop, "chat-message-writer");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * 메시지를 WAL 에 기록하고 저장 큐에 넣는다. true 를 반환하면 WAL 이 디스크에 기록(fsync)된 상태다.
+     *
+     * @return 큐가 가득 차 OFFER_TIMEOUT_MS 안에 넣지 못했거나, WAL 기록에 실패했거나, 종료 중이면 false
+     */
+    public boolean enqueue(PendingChatMessage message) {
+        if (!accepting) {
+            return false;
+        }
+        byte[] line;
+        try {
+            line = (objectMapper.writeValueAsString(message) + "\n").getBytes(StandardCharsets.UTF_8);
+        } catch (JsonProcessingException e) {
+            log.error("채팅 메시지 직렬화 실패: id={}", message.id(), e);
+            return false;
+        }
+
+        long deadline = System.currentTimeMillis() + OFFER_TIMEOUT_MS;
+        Queued queued = null;
+        while (queued == null) {
+            synchronized (walLock) {
+                if (!accepting) {
+                    return false;
+                }
+                // 큐에 넣는 쪽은 모두 이 잠금 안에서 넣으므로, 남은 자리가 있으면 아래 add 는 실패하지 않는다
+                if (queue.remainingCapacity() > 0) {
+                    long walEnd = appendToWal(line);
+                    if (walEnd < 0) {
+                        return false;
+                    }
+                    queued = new Queued(message, walEnd);
+                    queue.add(queued);
+                }
+            }
+            if (queued == null) {
+                if (System.currentTimeMillis() >= deadline) {
+                    return false;
+                }
+                try {
+                    Thread.sleep(FULL_QUEUE_WAIT_MS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+        }
+
+        if (!syncWal(queued.walEnd())) {
+            // 디스크에 남았는지 알 수 없으면 거절. 저장 스레드가 이미 가져갔으면 DB 에 저장되므로 수락으로 처리
+            return !queue.remove(queued);
+        }
+        return true;
+    }
+
+    public int getPendingCount() {
+        return queue.size();
+    }
+
+    /**
+     * 이 서버에서 아직 DB에 커밋되지 않은 채팅방의 메시지 (ID 오름차순 아님).
+     * inFlight 는 커밋 후에 비워지므로, 이 메서드를 호출한 뒤 DB를 조회하면 어느 한쪽에서는 반드시 보인다.
+     * 다른 서버의 큐는 보이지 않으므로, 커서 조회는 ChatMessageIdAllocator.visibleBefore 로 상한을 함께 둔다.
+     */
+    public List<PendingChatMessage> findUnwritten(Long chatRoomId) {
+        List<PendingChatMessage> result = new ArrayList<>();
+        synchronized (handoffLock) {
+            for (Queued queued : queue) {
+                if (queued.message().chatRoomId() == chatRoomId) {
+                    result.add(queued.message());
+                }
+            }
+            for (PendingChatMessage message : inFlight) {
+                if (message.chatRoomId() == chatRoomId) {
+                    result.add(message);
+                }
+            }
+        }
+        return result;
+    }
+
+    @PreDestroy
+    public void stop() {
+        synchronized (walLock) {
+            accepting = false; // 이후에는 큐에 들어오는 메시지가 없음
+        }
+        running = false;
+        if (worker != null) {
+            try {
+                worker.join(SHUTDOWN_TIMEOUT_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        // 제한 시간 안에 비우지 못한 메시지는 저널로 보낸다
+        List<Queued> drained = new ArrayList<>();
+        queue.drainTo(drained);
+        List<PendingChatMessage> remaining = drained.stream().map(Queued::message).toList();
+        boolean journaled = true;
+        if (!remaining.isEmpty()) {
+            log.warn("종료 시 저장하지 못한 채팅 메시지를 저널에 기록합니다: count={}", remaining.size());
+            journaled = appendToJournal(remaining);
+        }
+        // 모든 메시지가 커밋 또는 저널 기록되었으면 WAL 은 더 필요 없음
+        boolean workerDone = worker == null || !worker.isAlive();
+        closeWal(journaled && workerDone && !walPinned);
+    }
+
+    private void runLoop() {
+        List<Queued> drained = new ArrayList<>(MAX_BATCH_SIZE);
+        List<PendingChatMessage> batch = new ArrayList<>(MAX_BATCH_SIZE);
+        while (running || !queue.isEmpty()) {
+            try {
+                synchronized (handoffLock) {
+                    queue.drainTo(drained, MAX_BATCH_SIZE);
+                    drained.forEach(queued -> batch.add(queued.message()));
+                    inFlight = List.copyOf(batch);
+                }
+                if (batch.isEmpty()) {
+                    truncateWalIfIdle();
+                    Thread.sleep(IDLE_WAIT_MS);
+                    continue;
+                }
+                if (!writeOrJournal(batch)) {
+                    walPinned = true; // 저널 기록도 실패: 다음 시작 시 WAL 에서 다시 저장
+                }
+                walCheckpoint = drained.get(drained.size() - 1).walEnd();
+                deleteProcessedWalSegments();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                walPinned = true;
+                log.error("채팅 메시지 저장 스레드 오류. WAL 을 다음 시작 시 다시 저장하도록 보존합니다.", e);
+            } finally {
+                inFlight = List.of(); // 커밋(또는 저널 기록)이 끝난 뒤에 비움
+                batch.clear();
+                drained.clear();
+            }
+        }
+        log.info("채팅 메시지 저장 스레드 종료");
+    }
+
+    // 저장 또는 저널 기록에 성공하면 true
+    private boolean writeOrJournal(List<PendingChatMessage> batch) throws InterruptedException {
+        for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+            try {
+                writeSkippingInvalid(batch);
+                return true;
+            } catch (Exception e) {
+                log.warn("채팅 메시지 배치 저장 실패 ({}/{}): size={}", attempt, MAX_ATTEMPTS, batch.size(), e);
+                if (attempt < MAX_ATTEMPTS) {
+                    Thread.sleep(RETRY_BACKOFF_MS * attempt);
+                }
+            }
+        }
+        return appendToJournal(batch);
+    }
+
+    // 외래 키 오류 같은 데이터 오류가 있는 배치는 한 건씩 다시 저장하고, 저장할 수 없는 메시지만 버린다
+    // (한 건 때문에 배치 전체가 재시도/저널 재처리를 반복하지 않도록)
+    private void writeSkippingInvalid(List<PendingChatMessage> batch) {
+        try {
+            writeBatch(batch);
+        } catch (DataIntegrityViolationException e) {
+            for (PendingChatMessage message : batch) {
+                try {
+                    writeBatch(List.of(message));
+                } catch (DataIntegrityViolationException rowError) {
+                    log.error("저장할 수 없는 채팅 메시지를 버립니다: id={}, chatRoomId={}",
+                            message.id(), message.chatRoomId(), rowError);
+                }
+            }
+        }
+        idAllocator.release(batch); // 커밋 후 미커밋 목록에서 제거 (커서 조회 상한이 올라감)
+    }
+
+    private void writeBatch(List<PendingChatMessage> batch) {
+        // 채팅방별로 가장 마지막 메시지만 목록 미리보기에 반영
+        Map<Long, PendingChatMessage> latestByRoom = new LinkedHashMap<>();
+        List<Object[]> insertArgs = new ArrayList<>(batch.size());
+        for (PendingChatMessage message : batch) {
+            Timestamp createdAt = Timestamp.valueOf(message.createdAt());
+            insertArgs.add(new Object[]{message.id(), message.chatRoomId(), message.senderId(), message.content(),
+                    message.messageType().name(), createdAt, createdAt});
+            if (message.updatesLastMessage()) {
+                latestByRoom.merge(message.chatRoomId(), message,
+                        (previous, current) -> current.id() > previous.id() ? current : previous);
+            }
+        }
+        List<Object[]> updateArgs = latestByRoom.values().stream()
+                .map(message -> {
+                    Timestamp createdAt = Timestamp.valueOf(message.createdAt());
+                    return new Object[]{message.content(), createdAt, message.chatRoomId(), createdAt};
+                })
+                .toList();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(INSERT_MESSAGE_SQL, insertArgs);
+            if (!updateArgs.isEmpty()) {
+                jdbcTemplate.batchUpdate(UPDATE_LAST_MESSAGE_SQL, updateArgs);
+            }
+        });
+        log.debug("채팅 메시지 배치 저장: messages={}, rooms={}", batch.size(), latestByRoom.size());
+    }
+
+    // --- 저널 (저장에 실패한 메시지를 한 줄에 하나씩 JSON 으로 기록) ---
+    private boolean appendToJournal(List<PendingChatMessage> messages) {
+        synchronized (journalLock) {
+            try {
+                Files.createDirectories(journalDirectory);
+                List<String> lines = new ArrayList<>(messages.size());
+                for (PendingChatMessage message : messages) {
+                    lines.add(objectMapper.writeValueAsString(message));
+                }
+                Files.write(journalDirectory.resolve(JOURNAL_FILE), lines, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.DSYNC);
+                log.warn("채팅 메시지를 저널에 기록했습니다: count={}", messages.size());
+                return true;
+            } catch (IOException e) {
+                log.error("채팅 메시지 저널 기록 실패: ids={}",
+                        messages.stream().map(PendingChatMessage::id).toList(), e);
+                return false;
+            }
+        }
+    }
+
+    // 5분마다 저널에 남은 메시지 저장 재시도
+    @Scheduled(fixedDelay = 300000, initialDelay = 300000)
+    public void replayJournal() {
+        synchronized (journalLock) {
+            Path journal = journalDirectory.resolve(JOURNAL_FILE);
+            Path replaying = journalDirectory.resolve(REPLAYING_FILE);
+            try {
+                // 이전 재처리 도중 종료되었다면 .replaying 파일이 남아 있으므로 그것부터 처리
+                if (!Files.exists(replaying)) {
+                    if (!Files.exists(journal)) {
+                        return;
+                    }
+                    Files.move(journal, replaying, StandardCopyOption.ATOMIC_MOVE);
+                }
+
+                List<PendingChatMessage> messages = new ArrayList<>();
+                for (String line : Files.readAllLines(replaying, StandardCharsets.UTF_8)) {
+                    if (!line.isBlank()) {
+                        messages.add(objectMapper.readValue(line, PendingChatMessage.class));
+                    }
+                }
+
+                int written = 0;
+                try {
+                    for (; written < messages.size(); written += MAX_BATCH_SIZE) {
+                        List<PendingChatMessage> batch = messages.subList(written, Math.min(written + MAX_BATCH_SIZE, messages.size()));
+                        writeSkippingInvalid(batch);
+                    }
+                } catch (Exception e) {
+                    log.warn("저널 재처리 실패. 다음 주기에 다시 시도합니다: remaining={}", messages.size() - written, e);
+                    appendToJournal(messages.subList(written, messages.size()));
+                }
+                Files.delete(replaying);
+                log.info("채팅 메시지 저널 재처리 완료: total={}, written={}", messages.size(), Math.min(written, messages.size()));
+            } catch (IOException e) {
+                log.error("채팅 메시지 저널 읽기 실패: dir={}", journalDirectory, e);
+            }
+        }
+    }
+
+    // --- WAL (수락한 메시지를 큐에 넣기 전에 한 줄에 하나씩 JSON 으로 기록) ---
+
+    // walLock 안에서 호출. 기록한 줄의 끝 위치를 반환 (실패 시 -1)
+    private long appendToWal(byte[] line) {
+        try {
+            if (walWritten - walSegmentStart >= WAL_SEGMENT_BYTES) {
+                closedWalSegments.addLast(new WalSegment(walSegmentPath(walSegmentNumber), walWritten));
+                walChannel.force(false);
+                walChannel.close();
+                walSynced.accumulateAndGet(walWritten, Math::max);
+                openWalSegment(walSegmentNumber + 1);
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(line);
+            while (buffer.hasRemaining()) {
+                walChannel.write(buffer);
+            }
+            walWritten += line.length;
+            return walWritten;
+        } catch (IOException e) {
+            log.error("채팅 메시지 WAL 기록 실패: dir={}", journalDirectory, e);
+            try {
+                walChannel.truncate(walWritten - walSegmentStart); // 일부만 기록된 줄이 다음 줄과 섞이지 않도록
+            } catch (IOException truncateError) {
+                log.warn("채팅 메시지 WAL 정리 실패", truncateError);
+            }
+            return -1;
+        }
+    }
+
+    // walEnd 까지 디스크에 기록되었으면 true. 기다리는 동안 다른 스레드가 더 뒤까지 fsync 했으면 바로 반환 (그룹 fsync)
+    private boolean syncWal(long walEnd) {
+        synchronized (walSyncLock) {
+            if (walSynced.get() >= walEnd) {
+                return true;
+            }
+            FileChannel channel;
+            long target;
+            synchronized (walLock) {
+                channel = walChannel;
+                target = walWritten;
+            }
+            try {
+                channel.force(false);
+                walSynced.accumulateAndGet(target, Math::max);
+                return true;
+            } catch (ClosedChannelException e) {
+                return walSynced.get() >= walEnd; // 세그먼트 교체/종료 시 이미 fsync 됨
+            } catch (IOException e) {
+                log.error("채팅 메시지 WAL fsync 실패: dir={}", journalDirectory, e);
+                return false;
+            }
+        }
+    }
+
+    // walLock 안에서 호출
+    private void openWalSegment(long segmentNumber) throws IOException {
+        Files.createDirectories(journalDirectory);
+        walChannel = FileChannel.open(walSegmentPath(segmentNumber),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        walSegmentNumber = segmentNumber;
+        walSegmentStart = walWritten - walChannel.size();
+    }
+
+    // 처리가 끝난 세그먼트 삭제
+    private void deleteProcessedWalSegments() {
+        if (walPinned) {
+            return;
+        }
+        List<Path> processed = new ArrayList<>();
+        synchronized (walLock) {
+            while (!closedWalSegments.isEmpty() && closedWalSegments.peekFirst().end() <= walCheckpoint) {
+                processed.add(closedWalSegments.pollFirst().path());
+            }
+        }
+        for (Path segment : processed) {
+            try {
+                Files.deleteIfExists(segment);
+            } catch (IOException e) {
+                log.warn("채팅 메시지 WAL 세그먼트 삭제 실패: file={}", segment, e);
+            }
+        }
+    }
+
+    // 큐가 비어 있고 기록된 메시지가 모두 처리되었으면 현재 세그먼트를 비운다 (재시작 시 다시 저장할 양을 줄임)
+    private void truncateWalIfIdle() {
+        if (walPinned) {
+            return;
+        }
+        synchronized (walLock) {
+            if (walChannel == null || walWritten == walSegmentStart || walWritten != walCheckpoint) {
+                return;
+            }
+            try {
+                walChannel.truncate(0);
+                walSegmentStart = walWritten;
+                walSynced.accumulateAndGet(walWritten, Math::max); // 이미 DB 에 커밋됨
+            } catch (IOException e) {
+                log.warn("채팅 메시지 WAL 정리 실패: dir={}", journalDirectory, e);
+            }
+        }
+        deleteProcessedWalSegments();
+    }
+
+    private void closeWal(boolean delete) {
+        synchronized (walLock) {
+            if (walChannel == null) {
+                return;
+            }
+            try {
+                walChannel.force(false);
+                walChannel.close();
+            } catch (IOException e) {
+                log.warn("채팅 메시지 WAL 닫기 실패: dir={}", journalDirectory, e);
+            }
+            walChannel = null;
+        }
+        if (!delete) {
+            return;
+        }
+        try {
+            for (Path segment : listWalSegments()) {
+                Files.deleteIfExists(segment);
+            }
+        } catch (IOException e) {
+            log.warn("채팅 메시지 WAL 삭제 실패: dir={}", journalDirectory, e);
+        }
+    }
+
+    /**
+     * 비정상 종료로 남은 WAL 의 메시지를 다시 저장한다. (대부분은 이미 커밋된 메시지이며, 중복 키는 무시된다)
+     * 저장하지 못한 메시지는 저널로 보내고 WAL 을 지운다. 저널 기록도 실패하면 WAL 을 남겨 두고 다음 세그먼트 번호부터 쓴다.
+     *
+     * @return 새로 쓸 세그먼트 번호
+     */
+    private long replayWal() {
+        List<Path> segments;
+        try {
+            segments = listWalSegments();
+        } catch (IOException e) {
+            throw new UncheckedIOException("채팅 메시지 WAL 을 읽을 수 없습니다: " + journalDirectory, e);
+        }
+        if (segments.isEmpty()) {
+            return 0L;
+        }
+        long nextSegment = segmentNumber(segments.get(segments.size() - 1)) + 1;
+
+        List<PendingChatMessage> messages = new ArrayList<>();
+        for (Path segment : segments) {
+            try {
+                for (String line : Files.readAllLines(segment, StandardCharsets.UTF_8)) {
+                    if (line.isBlank()) {
+                        continue;
+                    }
+                    try {
+                        messages.add(objectMapper.readValue(line, PendingChatMessage.class));
+                    } catch (JsonProcessingException e) {
+                        log.warn("채팅 메시지 WAL 의 손상된 줄을 건너뜁니다 (기록 도중 종료): file={}", segment);
+                    }
+                }
+            } catch (IOException e) {
+                log.error("채팅 메시지 WAL 읽기 실패. 다음 시작 시 다시 시도합니다: file={}", segment, e);
+                walPinned = true;
+                return nextSegment;
+            }
+        }
+
+        log.info("채팅 메시지 WAL 재처리: segments={}, messages={}", segments.size(), messages.size());
+        int written = 0;
+        boolean saved = true;
+        try {
+            for (; written < messages.size(); written += MAX_BATCH_SIZE) {
+                writeSkippingInvalid(messages.subList(written, Math.min(written + MAX_BATCH_SIZE, messages.size())));
+            }
+        } catch (Exception e) {
+            log.warn("채팅 메시지 WAL 재처리 실패. 남은 메시지를 저널에 기록합니다: remaining={}", messages.size() - written, e);
+            saved = appendToJournal(messages.subList(written, messages.size()));
+        }
+        if (!saved) {
+            walPinned = true;
+            return nextSegment;
+        }
+        for (Path segment : segments) {
+            try {
+                Files.deleteIfExists(segment);
+            } catch (IOException e) {
+                log.warn("채팅 메시지 WAL 세그먼트 삭제 실패: file={}", segment, e);
+            }
+        }
+        return nextSegment;
+    }
+
+    // 세그먼트 번호 순
+    private List<Path> listWalSegments() throws IOException {
+        List<Path> segments = new ArrayList<>();
+        if (!Files.isDirectory(journalDirectory)) {
+            return segments;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(journalDirectory, WAL_PREFIX + "*")) {
+            for (Path file : files) {
+                if (segmentNumber(file) >= 0) {
+                    segments.add(file);
+                }
+            }
+        }
+        segments.sort(Comparator.comparingLong(ChatMessageWriter::segmentNumber));
+        return segments;
+    }
+
+    private Path walSegmentPath(long segmentNumber) {
+        return journalDirectory.resolve(WAL_PREFIX + segmentNumber);
+    }
+
+    private static long segmentNumber(Path segment) {
+        try {
+            return Long.parseLong(segment.getFileName().toString().substring(WAL_PREFIX.length()));
+        } catch (NumberFormatException e) {
+            return -1L;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.studygroup.domain.chat.service;
+
+import com.studygroup.domain.chat.dto.ChatRoomMembershipChangedEvent;
+import com.studygroup.domain.chat.entity.ChatRoomMemberStatus;
+import com.studygroup.domain.chat.repository.ChatRoomMemberRepository;
+import com.studygroup.global.util.LongSet;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 채팅방별 참여(JOINED) / 초대(INVITED) 멤버 ID 캐시.
+ * 메시지 전송·구독 권한 확인을 위해 매번 채팅방/사용자/멤버 행을 조회하지 않도록 user_id 목록만 LongSet 으로 보관한다.
+ * 멤버 상태가 바뀌면(ChatRoomMembershipChangedEvent) 커밋 직후 해당 채팅방을 버린다.
+ */
+@Service
+@RequiredArgsConstructor
+public class ChatRoomMemberCache {
+
+    private static final int MAX_ENTRIES = 5_000;
+    private static final long TTL_MILLIS = 30 * 1000; // 무효화 누락에 대비한 최대 보관 시간
+
+    private record Entry(LongSet joined, LongSet invited, long loadedAt) {
+    }
+
+    private final ChatRoomMemberRepository chatRoomMemberRepository;
+
+    // 무효화가 일어날 때마다 증가. 조회 도중 무효화가 있었다면 조회 결과를 캐시에 넣지 않음
+    private final AtomicLong invalidations = new AtomicLong();
+
+    private final Map<Long, Entry> cache = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    // 메시지를 보낼 수 있는지 (JOINED)
+    public boolean isJoined(Long chatRoomId, Long userId) {
+        return userId != null && get(chatRoomId).joined().contains(userId);
+    }
+
+    // 메시지를 읽을 수 있는지 (JOINED 또는 INVITED, 기존 메시지 조회 API 와 같은 기준)
+    public boolean canRead(Long chatRoomId, Long userId) {
+        if (userId == null) {
+            return false;
+        }
+        Entry entry = get(chatRoomId);
+        return entry.joined().contains(userId) || entry.invited().contains(userId);
+    }
+
+    public LongSet getJoinedUserIds(Long chatRoomId) {
+        return get(chatRoomId).joined();
+    }
+
+    // 다른 권한 캐시(ChatSessionAcl)보다 먼저 무효화되어야 하므로 순서를 지정
+    @Order(0)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handleMembershipChanged(ChatRoomMembershipChangedEvent event) {
+        invalidate(event.getChatRoomId());
+    }
+
+    public void invalidate(Long chatRoomId) {
+        synchronized (cache) {
+            invalidations.incrementAndGet();
+            cache.remove(chatRoomId);
+        }
+    }
+
+    private Entry get(Long chatRoomId) {
+        Entry entry;
+        synchronized (cache) {
+            entry = cache.get(chatRoomId);
+        }
+        if (entry != null && System.currentTimeMillis() - entry.loadedAt() < TTL_MILLIS) {
+            return entry;
+        }
+
+        long invalidationsBefore = invalidations.get();
+        entry = load(chatRoomId);
+        synchronized (cache) {
+            if (invalidations.get() == invalidationsBefore) {
+                cache.put(chatRoomId, entry);
+            }
+        }
+        return entry;
+    }
+
+    private Entry load(Long chatRoomId) {
+        // row: userId, status
+        List<Long> joined = new ArrayList<>();
+        List<Long> invited = new ArrayList<>();
+        for (Object[] row : chatRoomMemberRepository.findUserIdAndStatusByChatRoomId(chatRoomId)) {
+            ChatRoomMemberStatus status = (ChatRoomMemberStatus) row[1];
+            if (status == ChatRoomMemberStatus.JOINED) {
+                joined.add((Long) row[0]);
+            } else if (status == ChatRoomMemberStatus.INVITED) {
+                invited.add((Long) row[0]);
+            }
+        }
+        return new Entry(LongSet.of(joined), LongSet.of(invited), System.currentTimeMillis());
+    }
+}
@@ -0,0 +1,59 @@
+package com.studygroup.domain.chat.service;
+
+import com.studygroup.domain.chat.dto.UserSummaryDto;
+import com.studygroup.domain.user.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 채팅 메시지 발신자 요약 정보(ID, 이름, 프로필 이미지) 캐시.
+ * 메시지마다 User 엔티티를 조회하지 않도록 최근 발신자의 요약 정보를 보관한다.
+ * 프로필 수정 시 invalidate 되며, 그 외 변경은 TTL 이 지나면 반영된다.
+ */
+@Service
+@RequiredArgsConstructor
+public class ChatSenderCache {
+
+    private static final int MAX_ENTRIES = 10_000;
+    private static final long TTL_MILLIS = 5 * 60 * 1000;
+
+    private record Entry(UserSummaryDto sender, long loadedAt) {
+    }
+
+    private final UserRepository userRepository;
+
+    // 접근 순서 기반 LRU (최대 MAX_ENTRIES 명)
+    private final Map<Long, Entry> cache = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    public UserSummaryDto get(Long userId) {
+        Entry entry;
+        synchronized (cache) {
+            entry = cache.get(userId);
+        }
+        if (entry != null && System.currentTimeMillis() - entry.loadedAt() < TTL_MILLIS) {
+            return entry.sender();
+        }
+
+        UserSummaryDto sender = userRepository.findById(userId)
+                .map(UserSummaryDto::from)
+                .orElseThrow(() -> new IllegalArgumentException("메시지 발신자를 찾을 수 없습니다."));
+        synchronized (cache) {
+            cache.put(userId, new Entry(sender, System.currentTimeMillis()));
+        }
+        return sender;
+    }
+
+    public void invalidate(Long userId) {
+        synchronized (cache) {
+            cache.remove(userId);
+        }
+    }
+}
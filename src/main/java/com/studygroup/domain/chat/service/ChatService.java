@@ -11,17 +11,23 @@ import com.studygroup.domain.notification.repository.NotificationRepository;
 import com.studygroup.domain.notification.service.NotificationService;
 import com.studygroup.domain.study.entity.StudyGroup;
 import com.studygroup.domain.study.repository.StudyGroupRepository;
+import com.studygroup.domain.study.service.StudyMembershipIndex;
 import com.studygroup.domain.user.entity.User;
 import com.studygroup.domain.user.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.messaging.simp.SimpMessageSendingOperations;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -30,25 +36,35 @@ import java.util.stream.Collectors;
 @Transactional
 public class ChatService {
 
+    private static final int MAX_CURSOR_LIMIT = 100;
+
     private final ChatRoomRepository chatRoomRepository;
     private final ChatMessageRepository chatMessageRepository;
     private final ChatRoomMemberRepository chatRoomMemberRepository;
     private final UserRepository userRepository;
     private final StudyGroupRepository studyGroupRepository;
     private final NotificationService notificationService;
-    private final SimpMessageSendingOperations messagingTemplate; // STOMP 메시지 발송
     private final NotificationRepository notificationRepository;
+    private final StudyMembershipIndex studyMembershipIndex;
+    private final ChatMessagePipeline chatMessagePipeline;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ChatRoomMemberCache chatRoomMemberCache;
+    private final ChatMessageWriter chatMessageWriter;
+    private final ChatSenderCache chatSenderCache;
+    private final ChatUnreadCounter chatUnreadCounter;
+    private final ChatArchiveStore chatArchiveStore;
+    private final ChatMessageIdAllocator chatMessageIdAllocator;
 
     @Transactional
     public ChatRoomDetailResponse createChatRoom(Long studyGroupId, ChatRoomCreateRequest request, Long creatorUserId) {
         User creator = userRepository.findById(creatorUserId)
                 .orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다. ID: " + creatorUserId));
-        StudyGroup studyGroup = studyGroupRepository.findById(studyGroupId)
+        // 멤버 확인은 StudyMembershipIndex 로 하므로 멤버/태그 컬렉션은 불러오지 않음
+        StudyGroup studyGroup = studyGroupRepository.findWithLeaderById(studyGroupId)
                 .orElseThrow(() -> new IllegalArgumentException("스터디 그룹을 찾을 수 없습니다. ID: " + studyGroupId));
 
-        boolean isMemberOfStudyGroup = studyGroup.getMembers().stream()
-                .anyMatch(sm -> sm.getUser().getId().equals(creatorUserId) && sm.getStatus() == com.studygroup.domain.study.entity.StudyMemberStatus.APPROVED);
-        if (!isMemberOfStudyGroup) {
+        StudyMembershipIndex.Membership membership = studyMembershipIndex.get(studyGroupId);
+        if (!membership.isApprovedMember(creatorUserId)) {
             throw new IllegalStateException("스터디 그룹의 멤버만 채팅방을 생성할 수 있습니다.");
         }
 
@@ -85,9 +101,7 @@ public class ChatService {
             User invitedUser = userRepository.findById(invitedUserId)
                     .orElseThrow(() -> new IllegalArgumentException("초대할 사용자를 찾을 수 없습니다. ID: " + invitedUserId));
 
-            boolean isInvitedUserMemberOfStudyGroup = studyGroup.getMembers().stream()
-                    .anyMatch(sm -> sm.getUser().getId().equals(invitedUserId) && sm.getStatus() == com.studygroup.domain.study.entity.StudyMemberStatus.APPROVED);
-            if (!isInvitedUserMemberOfStudyGroup) {
+            if (!membership.isApprovedMember(invitedUserId)) {
                 log.warn("스터디 그룹 멤버가 아닌 사용자 초대 시도: studyGroupId={}, invitedUserId={}", studyGroupId, invitedUserId);
                 continue;
             }
@@ -105,6 +119,7 @@ public class ChatService {
         //    ChatRoom의 members 필드에 CascadeType.ALL, orphanRemoval=true가 설정되어 있으므로
         //    chatRoom을 저장하면 ChatRoomMember도 함께 저장됩니다.
         ChatRoom savedChatRoom = chatRoomRepository.save(chatRoom);
+        eventPublisher.publishEvent(new ChatRoomMembershipChangedEvent(savedChatRoom.getId(), null));
         log.info("채팅방 생성 완료: ID={}, 이름={}", savedChatRoom.getId(), savedChatRoom.getName());
 
 
@@ -116,9 +131,7 @@ public class ChatService {
             User invitedUser = userRepository.findById(invitedUserId).orElse(null);
             if (invitedUser == null) continue;
 
-            boolean isInvitedUserMemberOfStudyGroup = studyGroup.getMembers().stream()
-                    .anyMatch(sm -> sm.getUser().getId().equals(invitedUserId) && sm.getStatus() == com.studygroup.domain.study.entity.StudyMemberStatus.APPROVED);
-            if (!isInvitedUserMemberOfStudyGroup) continue;
+            if (!membership.isApprovedMember(invitedUserId)) continue;
 
 
             String message = String.format("'%s'님이 '%s' 스터디의 '%s' 채팅방으로 초대했습니다.",
@@ -136,36 +149,41 @@ public class ChatService {
         return ChatRoomDetailResponse.from(savedChatRoom);
     }
 
-    // 사용자가 참여하고 있는 채팅방 목록 조회
+    /**
+     * 사용자가 참여하고 있는 채팅방 목록 조회.
+     * 채팅방 정보·JOINED 멤버 수를 프로젝션 쿼리 1회로 읽고, 안 읽은 수는 HMGET 1회로 읽는다.
+     * (채팅방마다 엔티티/멤버 컬렉션을 로딩하지 않음)
+     */
     @Transactional(readOnly = true)
     public List<ChatRoomResponse> getMyChatRooms(Long userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다."));
-        // 사용자가 JOINED 상태인 ChatRoomMember 정보를 조회
-        List<ChatRoomMember> joinedMemberships = chatRoomMemberRepository.findByUserAndStatus(user, ChatRoomMemberStatus.JOINED);
-        return joinedMemberships.stream()
-                .map(ChatRoomMember::getChatRoom)
-                .map(ChatRoomResponse::from) // ChatRoom을 ChatRoomResponse로 변환
-                .collect(Collectors.toList());
+        List<ChatRoomListRow> rows = chatRoomMemberRepository.findJoinedChatRoomList(userId, ChatRoomMemberStatus.JOINED);
+        return toChatRoomResponses(userId, rows);
     }
 
-    // 특정 스터디 그룹의 채팅방 목록 조회
+    // 특정 스터디 그룹에서 사용자가 참여(JOINED)하거나 초대(INVITED)된 채팅방 목록 조회
     @Transactional(readOnly = true)
     public List<ChatRoomResponse> getChatRoomsByStudyGroup(Long studyGroupId, Long userId) {
-        StudyGroup studyGroup = studyGroupRepository.findById(studyGroupId)
-                .orElseThrow(() -> new IllegalArgumentException("스터디 그룹을 찾을 수 없습니다."));
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다."));
-
-        // 해당 스터디 그룹의 모든 채팅방을 가져옴
-        List<ChatRoom> allChatRoomsInStudy = chatRoomRepository.findByStudyGroup(studyGroup);
+        List<ChatRoomListRow> rows = chatRoomMemberRepository.findChatRoomListByStudyGroup(studyGroupId, userId,
+                List.of(ChatRoomMemberStatus.JOINED, ChatRoomMemberStatus.INVITED), ChatRoomMemberStatus.JOINED);
+        // 결과가 없을 때만 스터디 그룹 존재 여부 확인 (없는 그룹은 기존처럼 예외)
+        if (rows.isEmpty() && !studyGroupRepository.existsById(studyGroupId)) {
+            throw new IllegalArgumentException("스터디 그룹을 찾을 수 없습니다.");
+        }
+        return toChatRoomResponses(userId, rows);
+    }
 
-        // 사용자가 참여(JOINED)하거나 초대(INVITED)된 채팅방만 필터링
-        return allChatRoomsInStudy.stream()
-                .filter(chatRoom -> chatRoom.getMembers().stream()
-                        .anyMatch(member -> member.getUser().getId().equals(userId) &&
-                                (member.getStatus() == ChatRoomMemberStatus.JOINED || member.getStatus() == ChatRoomMemberStatus.INVITED)))
-                .map(ChatRoomResponse::from)
+    private List<ChatRoomResponse> toChatRoomResponses(Long userId, List<ChatRoomListRow> rows) {
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+        // 안 읽은 수는 참여 중인 채팅방에만 있음
+        List<Long> joinedRoomIds = rows.stream()
+                .filter(row -> row.membershipStatus() == ChatRoomMemberStatus.JOINED)
+                .map(ChatRoomListRow::id)
+                .toList();
+        Map<Long, Integer> unreadCounts = chatUnreadCounter.getUnreadCounts(userId, joinedRoomIds);
+        return rows.stream()
+                .map(row -> ChatRoomResponse.of(row, unreadCounts.getOrDefault(row.id(), 0)))
                 .collect(Collectors.toList());
     }
 
@@ -202,44 +220,6 @@ public class ChatService {
         return ChatRoomDetailResponse.from(chatRoom); // 이 DTO는 모든 멤버 정보를 포함해야 함 (이전 답변 참고)
     }
 
-    // 채팅 메시지 전송 및 저장 (STOMP 핸들러에서 호출)
-    @Transactional
-    public ChatMessageResponse processAndSendMessage(Long chatRoomId, ChatMessageSendRequest messageDto, Long senderId) {
-        User sender = userRepository.findById(senderId)
-                .orElseThrow(() -> new IllegalArgumentException("메시지 발신자를 찾을 수 없습니다."));
-        ChatRoom chatRoom = chatRoomRepository.findById(chatRoomId)
-                .orElseThrow(() -> new IllegalArgumentException("채팅방을 찾을 수 없습니다."));
-
-        // 발신자가 해당 채팅방의 멤버(JOINED)인지 확인
-        ChatRoomMember senderMembership = chatRoomMemberRepository.findByChatRoomAndUser(chatRoom, sender)
-                .orElseThrow(() -> new IllegalStateException("해당 채팅방의 멤버가 아닙니다."));
-        if (senderMembership.getStatus() != ChatRoomMemberStatus.JOINED) {
-            throw new IllegalStateException("채팅방에 참여한 멤버만 메시지를 보낼 수 있습니다.");
-        }
-
-        ChatMessage chatMessage = ChatMessage.builder()
-                .chatRoom(chatRoom)
-                .sender(sender)
-                .content(messageDto.getContent())
-                .messageType(messageDto.getMessageType()) // DTO에서 받은 타입 사용
-                .build();
-        ChatMessage savedMessage = chatMessageRepository.save(chatMessage);
-
-        // 채팅방의 마지막 메시지 정보 업데이트
-        chatRoom.setLastMessageContent(savedMessage.getContent());
-        chatRoom.setLastMessageAt(savedMessage.getCreatedAt());
-        chatRoomRepository.save(chatRoom); // 변경 감지로 자동 업데이트될 수도 있지만 명시적 저장
-
-        ChatMessageResponse responseDto = ChatMessageResponse.from(savedMessage);
-
-        // 해당 채팅방을 구독 중인 클라이언트에게 메시지 브로드캐스트
-        // /sub/chat/room/{chatRoomId} 경로로 메시지 발송
-        messagingTemplate.convertAndSend("/sub/chat/room/" + chatRoomId, responseDto);
-        log.info("Message sent to /sub/chat/room/{}: {}", chatRoomId, responseDto.getContent());
-
-        return responseDto;
-    }
-
     // 특정 채팅방의 이전 메시지 목록 페이징 조회
     @Transactional(readOnly = true)
     public Page<ChatMessageResponse> getChatMessages(Long chatRoomId, Long userId, Pageable pageable) {
@@ -262,10 +242,111 @@ public class ChatService {
                         // chatRoomMemberRepository.save(member); // 변경 감지 또는 명시적 저장
                     }
                 });
+        if (pageable.getPageNumber() == 0) {
+            chatUnreadCounter.reset(chatRoomId, userId); // 최신 페이지를 조회하면 모두 읽은 것으로 처리
+        }
 
         return messagesPage.map(ChatMessageResponse::from);
     }
 
+    /**
+     * 메시지 ID 커서 기반 조회 (count 쿼리 없음).
+     * - before: 해당 ID보다 오래된 메시지 (위로 스크롤)
+     * - after: 해당 ID보다 새로운 메시지 (재연결 시 마지막으로 받은 메시지 이후의 공백만 조회)
+     * - 둘 다 없으면 최신 메시지
+     * 여러 서버가 각자 쓰기 지연 저장을 하므로 ID 순서와 커밋 순서가 다를 수 있다. 아직 커밋되지 않은 ID 가 있으면
+     * 그보다 큰 ID 는 반환하지 않는다. (ChatMessageIdAllocator.visibleBefore, 더 큰 ID 로 커서가 넘어가 메시지를 건너뛰지 않도록)
+     * 그 메시지들은 이미 브로드캐스트되었고, 커밋된 뒤의 after 조회에서 이어서 반환된다.
+     * 보관 파일로 옮겨진 오래된 메시지도 같은 커서로 이어서 조회된다.
+     */
+    @Transactional(readOnly = true)
+    public ChatMessageCursorResponse getChatMessagesByCursor(Long chatRoomId, Long userId, Long before, Long after, int limit) {
+        if (before != null && after != null) {
+            throw new IllegalArgumentException("before 와 after 는 함께 사용할 수 없습니다.");
+        }
+        if (!chatRoomMemberCache.canRead(chatRoomId, userId)) {
+            throw new IllegalStateException("해당 채팅방의 메시지를 조회할 권한이 없습니다.");
+        }
+        int size = Math.min(Math.max(limit, 1), MAX_CURSOR_LIMIT);
+        Pageable window = PageRequest.of(0, size + 1); // 다음 페이지 존재 여부 확인용으로 1개 더 조회
+
+        // 조회 상한과 저장 대기 중인 메시지를 DB 보다 먼저 읽어야 그 사이에 커밋된 메시지를 놓치지 않음
+        Long visibleBefore = chatMessageIdAllocator.visibleBefore(chatRoomId);
+        List<PendingChatMessage> unwritten = chatMessageWriter.findUnwritten(chatRoomId);
+        // before / 최신 조회는 상한을 DB 조회 조건에 넣고, after 조회는 합친 뒤 잘라낸다
+        Long upper = before;
+        if (after == null && visibleBefore != null && (upper == null || visibleBefore < upper)) {
+            upper = visibleBefore;
+        }
+        List<ChatMessage> stored;
+        if (after != null) {
+            stored = chatMessageRepository.findByChatRoomIdAfter(chatRoomId, after, window);
+        } else if (upper != null) {
+            stored = chatMessageRepository.findByChatRoomIdBefore(chatRoomId, upper, window);
+        } else {
+            stored = chatMessageRepository.findLatestByChatRoomId(chatRoomId, window);
+        }
+        if (before == null) {
+            chatUnreadCounter.reset(chatRoomId, userId); // 최신 메시지까지 조회하면 모두 읽은 것으로 처리
+        }
+
+        TreeMap<Long, ChatMessageResponse> merged = new TreeMap<>();
+        stored.forEach(message -> merged.put(message.getId(), ChatMessageResponse.from(message)));
+        for (PendingChatMessage message : unwritten) {
+            if ((after == null || message.id() > after) && (upper == null || message.id() < upper)) {
+                merged.putIfAbsent(message.id(), ChatMessagePipeline.toResponse(message, chatSenderCache.get(message.senderId())));
+            }
+        }
+        // 테이블에서 옮겨진 오래된 메시지는 보관 파일에서 이어서 조회 (테이블 결과가 모자랄 때만)
+        List<PendingChatMessage> archived;
+        if (after != null) {
+            archived = chatArchiveStore.findAfter(chatRoomId, after, size + 1);
+        } else if (stored.size() <= size) {
+            Long archiveUpper = stored.isEmpty() ? upper : stored.stream().mapToLong(ChatMessage::getId).min().getAsLong();
+            archived = chatArchiveStore.findBefore(chatRoomId, archiveUpper, size + 1 - stored.size());
+        } else {
+            archived = List.of();
+        }
+        for (PendingChatMessage message : archived) {
+            merged.putIfAbsent(message.id(), ChatMessagePipeline.toResponse(message, chatSenderCache.get(message.senderId())));
+        }
+        if (after != null && visibleBefore != null) {
+            merged.tailMap(visibleBefore, true).clear(); // 아직 커밋되지 않은 ID 이후는 다음 after 조회에서
+        }
+
+        // after 조회는 가장 오래된 쪽부터, 그 외에는 가장 최신 쪽부터 size 개
+        boolean hasNext = merged.size() > size;
+        List<ChatMessageResponse> content = new ArrayList<>(after != null ? merged.values() : merged.descendingMap().values());
+        if (hasNext) {
+            content = new ArrayList<>(content.subList(0, size));
+        }
+        if (after == null) {
+            Collections.reverse(content); // 응답은 항상 오래된 순
+        }
+
+        Long nextCursor = null;
+        if (hasNext) {
+            nextCursor = after != null ? content.get(content.size() - 1).getMessageId() : content.get(0).getMessageId();
+        }
+        return ChatMessageCursorResponse.builder()
+                .content(content)
+                .nextCursor(nextCursor)
+                .hasNext(hasNext)
+                .build();
+    }
+
+    // 채팅방 읽음 처리 (안 읽은 수 초기화, 마지막으로 읽은 메시지 ID 갱신)
+    @Transactional
+    public void markChatRoomAsRead(Long chatRoomId, Long userId, Long lastMessageId) {
+        if (!chatRoomMemberCache.isJoined(chatRoomId, userId)) {
+            throw new IllegalStateException("참여 중인 채팅방이 아닙니다.");
+        }
+        if (lastMessageId != null) {
+            chatRoomMemberRepository.updateLastReadMessageId(chatRoomId, userId, lastMessageId);
+        }
+        chatUnreadCounter.reset(chatRoomId, userId);
+    }
+
 
     // 채팅방 초대 수락/거절
     @Transactional
@@ -303,23 +384,9 @@ public class ChatService {
 
             log.info("멤버 상태 JOINED로 변경 완료: memberId={}", member.getId());
 
-            // 시스템 메시지: OO님이 입장했습니다.
-            ChatMessage systemMessage = ChatMessage.builder()
-                    .chatRoom(chatRoom) // <--- 4. chatRoom 객체가 null이 아닌지 확인 (위에서 orElseThrow로 처리됨)
-                    .sender(user)       // <--- 5. user 객체가 null이 아닌지 확인 (위에서 orElseThrow로 처리됨)
-                    .content(user.getName() + "님이 채팅방에 참여했습니다.")
-                    .messageType(MessageType.ENTER)
-                    .build();
-            chatMessageRepository.save(systemMessage); // <--- 6. 메시지 저장 시 예외 발생 가능성
-            log.info("입장 시스템 메시지 저장 완료: chatRoomId={}, senderId={}", chatRoomId, user.getId());
-
-            // messagingTemplate이 null이 아닌지 확인 (주입 문제)
-            if (messagingTemplate == null) {
-                log.error("respondToChatInvite: SimpMessageSendingOperations (messagingTemplate) is null!");
-            } else {
-                messagingTemplate.convertAndSend("/sub/chat/room/" + chatRoomId, ChatMessageResponse.from(systemMessage));
-                log.info("입장 시스템 메시지 브로드캐스트 완료: /sub/chat/room/{}", chatRoomId);
-            }
+            // 시스템 메시지: OO님이 입장했습니다. (커밋 후 발송, 저장은 ChatMessageWriter 가 처리)
+            chatMessagePipeline.sendSystemMessage(chatRoomId, user,
+                    user.getName() + "님이 채팅방에 참여했습니다.", MessageType.ENTER);
 
         } else {
             log.info("초대 거절 처리: chatRoomId={}, userId={}", chatRoomId, userId);
@@ -327,6 +394,7 @@ public class ChatService {
             // 또는 member.setStatus(ChatRoomMemberStatus.REJECTED_INVITE); // 상태 변경으로 처리할 수도 있음
             log.info("멤버 정보 삭제 (초대 거절): memberId={}", member.getId());
         }
+        eventPublisher.publishEvent(new ChatRoomMembershipChangedEvent(chatRoomId, userId));
 
         // 관련된 CHAT_INVITE 알림을 찾아 isRead = true로 변경
         List<Notification> chatInviteNotifications = notificationRepository
@@ -361,16 +429,12 @@ public class ChatService {
         // ChatRoomMember 엔티티 삭제 또는 상태 변경 (LEFT)
         chatRoomMemberRepository.delete(member);
         // 또는 member.setStatus(ChatRoomMemberStatus.LEFT);
+        eventPublisher.publishEvent(new ChatRoomMembershipChangedEvent(chatRoomId, userId));
+        chatUnreadCounter.reset(chatRoomId, userId);
 
         // 시스템 메시지: OO님이 나갔습니다.
-        ChatMessage systemMessage = ChatMessage.builder()
-                .chatRoom(chatRoom)
-                .sender(user)
-                .content(user.getName() + "님이 채팅방을 나갔습니다.")
-                .messageType(MessageType.LEAVE)
-                .build();
-        chatMessageRepository.save(systemMessage);
-        messagingTemplate.convertAndSend("/sub/chat/room/" + chatRoomId, ChatMessageResponse.from(systemMessage));
+        chatMessagePipeline.sendSystemMessage(chatRoomId, user,
+                user.getName() + "님이 채팅방을 나갔습니다.", MessageType.LEAVE);
 
         // (선택) 방장에게 알림 (방장이 아닌 멤버가 나갔을 경우)
         if (!chatRoom.getStudyGroup().getLeader().getId().equals(userId)) {
@@ -416,6 +480,8 @@ public class ChatService {
 
         // 3. 멤버 제거
         chatRoomMemberRepository.delete(memberEntityToRemove); // ChatRoomMember에서 직접 삭제
+        eventPublisher.publishEvent(new ChatRoomMembershipChangedEvent(chatRoomId, memberUserIdToRemove));
+        chatUnreadCounter.reset(chatRoomId, memberUserIdToRemove);
         // chatRoom.removeMember(memberEntityToRemove); // ChatRoom 엔티티의 컬렉션에서도 제거 (CascadeType.ALL, orphanRemoval=true면 불필요)
         // chatRoomRepository.save(chatRoom); // removeMember가 컬렉션만 변경 시 필요
 
@@ -424,14 +490,8 @@ public class ChatService {
 
         // 4. 시스템 메시지 전송
         String systemMessageContent = String.format("%s님이 %s님을 채팅방에서 내보냈습니다.", creator.getName(), memberToRemoveUser.getName());
-        ChatMessage systemMessage = ChatMessage.builder()
-                .chatRoom(chatRoom)
-                .sender(creator) // 시스템 메시지의 sender는 조치를 취한 사람
-                .content(systemMessageContent)
-                .messageType(MessageType.LEAVE) // 또는 MEMBER_REMOVED 타입 추가
-                .build();
-        chatMessageRepository.save(systemMessage);
-        messagingTemplate.convertAndSend("/sub/chat/room/" + chatRoomId, ChatMessageResponse.from(systemMessage));
+        // 시스템 메시지의 sender는 조치를 취한 사람, 타입은 LEAVE (또는 MEMBER_REMOVED 타입 추가)
+        chatMessagePipeline.sendSystemMessage(chatRoomId, creator, systemMessageContent, MessageType.LEAVE);
 
         // 5. (선택) 내보내진 멤버에게 알림
         notificationService.createNotification(
@@ -456,15 +516,14 @@ public class ChatService {
             // 또는 ChatRoom의 생성자(첫 멤버)인지 확인
             throw new IllegalStateException("채팅방 멤버 초대 권한이 없습니다.");
         }
+        StudyMembershipIndex.Membership membership = studyMembershipIndex.get(studyGroup.getId());
 
         for (Long userId : userIdsToInvite) {
             User userToInvite = userRepository.findById(userId)
                     .orElseThrow(() -> new IllegalArgumentException("초대 대상 사용자를 찾을 수 없습니다. ID: " + userId));
 
             // 1. 스터디 그룹의 멤버인지 확인
-            boolean isStudyMember = studyGroup.getMembers().stream()
-                    .anyMatch(sm -> sm.getUser().getId().equals(userId) && sm.getStatus() == com.studygroup.domain.study.entity.StudyMemberStatus.APPROVED);
-            if (!isStudyMember) {
+            if (!membership.isApprovedMember(userId)) {
                 log.warn("스터디 그룹 멤버가 아닌 사용자 채팅방 초대 시도: chatRoomId={}, userIdToInvite={}", chatRoomId, userId);
                 continue; // 스터디 멤버가 아니면 스킵
             }
@@ -483,6 +542,7 @@ public class ChatService {
                     .status(ChatRoomMemberStatus.INVITED)
                     .build();
             chatRoom.addMember(newChatMember); // ChatRoom 엔티티에 추가 (Cascade 저장)
+            eventPublisher.publishEvent(new ChatRoomMembershipChangedEvent(chatRoomId, userId));
 
             // 4. 초대 알림 생성
             String message = String.format("'%s'님이 '%s' 채팅방으로 초대했습니다.", inviter.getName(), chatRoom.getName());
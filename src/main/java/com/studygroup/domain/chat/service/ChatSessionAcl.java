@@ -0,0 +1,259 @@
+package com.studygroup.domain.chat.service;
+
+import com.studygroup.domain.chat.dto.ChatRoomMembershipChangedEvent;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * WebSocket 세션별 채팅방 권한 캐시.
+ * SUBSCRIBE 시 ChatRoomMemberCache 로 한 번 확인한 결과(구독 가능 / 전송 가능)를 세션에 저장해 두고,
+ * 이후 같은 세션의 SEND 는 이 맵만 확인한다. (정상 상태에서 메시지 전송 권한 확인에 DB 조회가 없음)
+ * 거부 결과는 저장하지 않으므로 초대를 받은 뒤 다시 구독하면 바로 허용된다.
+ * 멤버 상태가 바뀌면 해당 사용자의 모든 세션에서 그 채팅방 권한을 지우고, 더 이상 읽을 수 없으면 진행 중인 구독도 서버에서 해제한다.
+ * - 권한은 GRANT_TTL_MILLIS 가 지나면 다시 확인한다. (무효화 누락 대비)
+ * - app.websocket.fanout=redis 이면 권한 회수를 Redis 채널로 다른 서버에도 알린다. (다른 서버에 연결된 세션도 즉시 회수)
+ * - 회수 알림을 놓쳐도 GRANT_TTL_MILLIS 마다 만료된 권한으로 유지 중인 구독을 다시 확인한다.
+ */
+@Slf4j
+@Service
+public class ChatSessionAcl implements MessageListener {
+
+    private static final long GRANT_TTL_MILLIS = 30 * 1000; // ChatRoomMemberCache 의 최대 보관 시간과 같음
+    private static final String REVOKE_CHANNEL = "chat:acl:revoke";
+
+    private record Grant(boolean canSend, long grantedAt) {
+        boolean isExpired(long now) {
+            return now - grantedAt >= GRANT_TTL_MILLIS;
+        }
+    }
+
+    // rooms: Key 채팅방 ID / subscriptions: Key 채팅방 ID, Value 해당 채팅방 경로의 구독 ID (메시지, 입력 중, 압축 형식)
+    private record SessionEntry(Long userId, Map<Long, Grant> rooms, Map<Long, Set<String>> subscriptions) {
+    }
+
+    private final ChatRoomMemberCache chatRoomMemberCache;
+    private final MessageChannel brokerChannel;
+    private final ApplicationEventPublisher eventPublisher;
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final boolean clusterEnabled;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    // Key: WebSocket 세션 ID
+    private final Map<String, SessionEntry> sessions = new ConcurrentHashMap<>();
+    // Key: 사용자 ID, Value: 해당 사용자의 세션 ID (여러 탭/기기)
+    private final Map<Long, Set<String>> sessionsByUser = new ConcurrentHashMap<>();
+
+    // brokerChannel 은 WebSocket 설정이 만드는 빈이고 그 설정이 이 클래스를 (인터셉터를 통해) 참조하므로 @Lazy 로 주입
+    public ChatSessionAcl(ChatRoomMemberCache chatRoomMemberCache,
+                          @Lazy @Qualifier("brokerChannel") MessageChannel brokerChannel,
+                          ApplicationEventPublisher eventPublisher,
+                          StringRedisTemplate redisTemplate,
+                          RedisMessageListenerContainer listenerContainer,
+                          @Value("${app.websocket.fanout:local}") String fanout) {
+        this.chatRoomMemberCache = chatRoomMemberCache;
+        this.brokerChannel = brokerChannel;
+        this.eventPublisher = eventPublisher;
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.clusterEnabled = "redis".equalsIgnoreCase(fanout);
+    }
+
+    @PostConstruct
+    public void init() {
+        if (clusterEnabled) {
+            listenerContainer.addMessageListener(this, new ChannelTopic(REVOKE_CHANNEL));
+        }
+    }
+
+    // 채팅방 구독 가능 여부 (JOINED 또는 INVITED). 허용하면 구독 ID 를 기억해 권한 회수 시 해제한다
+    public boolean canSubscribe(String sessionId, Long userId, Long chatRoomId, String subscriptionId) {
+        SessionEntry entry = session(sessionId, userId);
+        Grant grant = entry.rooms().get(chatRoomId);
+        if ((grant == null || grant.isExpired(System.currentTimeMillis())) && !authorize(entry.rooms(), userId, chatRoomId)) {
+            return false;
+        }
+        if (subscriptionId != null) {
+            entry.subscriptions().computeIfAbsent(chatRoomId, key -> ConcurrentHashMap.newKeySet()).add(subscriptionId);
+        }
+        return true;
+    }
+
+    // 메시지 전송 가능 여부 (JOINED)
+    public boolean canSend(String sessionId, Long userId, Long chatRoomId) {
+        Map<Long, Grant> rooms = session(sessionId, userId).rooms();
+        Grant grant = rooms.get(chatRoomId);
+        if (grant != null && !grant.isExpired(System.currentTimeMillis())) {
+            return grant.canSend();
+        }
+        if (!authorize(rooms, userId, chatRoomId)) {
+            return false;
+        }
+        grant = rooms.get(chatRoomId);
+        return grant != null && grant.canSend();
+    }
+
+    // 멤버 캐시가 먼저 무효화된 뒤 실행되어야 다시 확인할 때 변경된 상태를 읽는다
+    @Order(1)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handleMembershipChanged(ChatRoomMembershipChangedEvent event) {
+        revoke(event.getChatRoomId(), event.getUserId());
+        if (clusterEnabled) {
+            try {
+                String userId = event.getUserId() != null ? String.valueOf(event.getUserId()) : "";
+                redisTemplate.convertAndSend(REVOKE_CHANNEL, nodeId + "\n" + event.getChatRoomId() + ":" + userId);
+            } catch (Exception e) {
+                // 다른 서버는 권한 만료(GRANT_TTL_MILLIS) 후 다시 확인한다
+                log.warn("채팅방 권한 회수 알림 실패: chatRoomId={}, userId={}", event.getChatRoomId(), event.getUserId(), e);
+            }
+        }
+    }
+
+    // 다른 서버에서 멤버 상태가 바뀌었을 때 (본문: "{노드 ID}\n{채팅방 ID}:{사용자 ID 또는 빈 문자열}")
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = body.indexOf('\n');
+        if (separator < 0 || body.startsWith(nodeId + "\n")) {
+            return; // 형식 오류 또는 자기 자신이 보낸 알림 (이미 처리됨)
+        }
+        try {
+            String[] parts = body.substring(separator + 1).split(":", -1);
+            Long chatRoomId = Long.valueOf(parts[0]);
+            Long userId = parts[1].isEmpty() ? null : Long.valueOf(parts[1]);
+            chatRoomMemberCache.invalidate(chatRoomId); // 이 서버의 멤버 캐시도 변경 전 상태이므로 먼저 버림
+            revoke(chatRoomId, userId);
+        } catch (RuntimeException e) {
+            log.warn("채팅방 권한 회수 알림 처리 실패: body={}", body, e);
+        }
+    }
+
+    // 회수 알림을 놓친 경우 대비: 만료된 권한으로 유지 중인 구독을 다시 확인
+    @Scheduled(fixedDelay = GRANT_TTL_MILLIS)
+    public void revalidateSubscriptions() {
+        long now = System.currentTimeMillis();
+        sessions.forEach((sessionId, entry) -> entry.subscriptions().keySet().forEach(chatRoomId -> {
+            Grant grant = entry.rooms().get(chatRoomId);
+            if (grant == null || grant.isExpired(now)) {
+                revokeSession(sessionId, entry, chatRoomId);
+            }
+        }));
+    }
+
+    @EventListener
+    public void handleUnsubscribe(SessionUnsubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        SessionEntry entry = sessions.get(accessor.getSessionId());
+        if (entry == null || accessor.getSubscriptionId() == null) {
+            return;
+        }
+        entry.subscriptions().forEach((chatRoomId, subscriptionIds) -> subscriptionIds.remove(accessor.getSubscriptionId()));
+        entry.subscriptions().values().removeIf(Set::isEmpty);
+    }
+
+    @EventListener
+    public void handleSessionDisconnect(SessionDisconnectEvent event) {
+        SessionEntry entry = sessions.remove(event.getSessionId());
+        if (entry == null) {
+            return;
+        }
+        sessionsByUser.computeIfPresent(entry.userId(), (userId, sessionIds) -> {
+            sessionIds.remove(event.getSessionId());
+            return sessionIds.isEmpty() ? null : sessionIds;
+        });
+    }
+
+    // userId 가 null 이면 채팅방의 모든 세션
+    private void revoke(Long chatRoomId, Long userId) {
+        if (userId == null) {
+            sessions.forEach((sessionId, entry) -> revokeSession(sessionId, entry, chatRoomId));
+            return;
+        }
+        Set<String> sessionIds = sessionsByUser.get(userId);
+        if (sessionIds == null) {
+            return;
+        }
+        for (String sessionId : sessionIds) {
+            SessionEntry entry = sessions.get(sessionId);
+            if (entry != null) {
+                revokeSession(sessionId, entry, chatRoomId);
+            }
+        }
+    }
+
+    // 권한을 지우고, 진행 중인 구독이 있으면 다시 확인해 더 이상 읽을 수 없을 때 브로커에서 구독을 해제
+    private void revokeSession(String sessionId, SessionEntry entry, Long chatRoomId) {
+        entry.rooms().remove(chatRoomId);
+        if (!entry.subscriptions().containsKey(chatRoomId) || authorize(entry.rooms(), entry.userId(), chatRoomId)) {
+            return;
+        }
+        Set<String> subscriptionIds = entry.subscriptions().remove(chatRoomId);
+        if (subscriptionIds == null) {
+            return;
+        }
+        for (String subscriptionId : subscriptionIds) {
+            unsubscribe(sessionId, subscriptionId);
+        }
+        log.info("채팅방 권한 회수로 구독 해제: chatRoomId={}, userId={}, sessionId={}, subscriptions={}",
+                chatRoomId, entry.userId(), sessionId, subscriptionIds.size());
+    }
+
+    // 클라이언트가 보낸 UNSUBSCRIBE 와 같은 메시지를 SimpleBroker 에 직접 전달 (구독 레지스트리에서 제거됨)
+    // 구독 수를 세는 다른 컴포넌트(StompSubscriptionRegistry 등)도 반영하도록 구독 해제 이벤트를 함께 발행
+    private void unsubscribe(String sessionId, String subscriptionId) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.UNSUBSCRIBE);
+        accessor.setSessionId(sessionId);
+        accessor.setSubscriptionId(subscriptionId);
+        accessor.setLeaveMutable(true);
+        org.springframework.messaging.Message<byte[]> message = MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+        brokerChannel.send(message);
+        eventPublisher.publishEvent(new SessionUnsubscribeEvent(this, message));
+    }
+
+    private boolean authorize(Map<Long, Grant> rooms, Long userId, Long chatRoomId) {
+        if (!chatRoomMemberCache.canRead(chatRoomId, userId)) {
+            log.debug("채팅방 권한 없음: chatRoomId={}, userId={}", chatRoomId, userId);
+            return false;
+        }
+        rooms.put(chatRoomId, new Grant(chatRoomMemberCache.isJoined(chatRoomId, userId), System.currentTimeMillis()));
+        return true;
+    }
+
+    private SessionEntry session(String sessionId, Long userId) {
+        SessionEntry entry = sessions.get(sessionId);
+        if (entry != null) {
+            return entry;
+        }
+        entry = sessions.computeIfAbsent(sessionId,
+                key -> new SessionEntry(userId, new ConcurrentHashMap<>(), new ConcurrentHashMap<>()));
+        sessionsByUser.computeIfAbsent(userId, key -> ConcurrentHashMap.newKeySet()).add(sessionId);
+        return entry;
+    }
+}
@@ -0,0 +1,200 @@
+package com.studygroup.domain.chat.service;
+
+import com.studygroup.domain.chat.dto.ChatTypingResponse;
+import com.studygroup.domain.chat.dto.UserSummaryDto;
+import com.studygroup.global.websocket.ClusterBroadcaster;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 채팅방별 입력 중 상태.
+ * 키 입력마다 들어오는 typing 프레임은 메모리의 상태만 갱신하고, 0.5초마다 목록이 바뀐 채팅방에만
+ * 입력 중인 사용자 전체 목록(스냅샷)을 한 번 브로드캐스트한다. (브로커 트래픽이 타이핑 속도와 무관)
+ * 이미 입력 중인 사용자의 반복 프레임은 만료 시각만 연장하므로 브로드캐스트가 발생하지 않는다.
+ * 일정 시간 프레임이 없거나 세션이 끊기면 목록에서 제거된다.
+ * app.websocket.fanout=redis(다중 서버)이면 채팅방 참여자가 여러 서버에 나뉘어 있으므로, 각 서버의 입력 상태를
+ * Redis ZSET "chat:typing:{roomId}" (member = 사용자 ID, score = 만료 시각 ms)에 합치고 합쳐진 목록을 스냅샷으로 보낸다.
+ * (서버별 목록을 그대로 보내면 다른 서버의 스냅샷이 서로를 덮어씀)
+ */
+@Slf4j
+@Service
+public class ChatTypingService {
+
+    private static final long TYPING_TTL_MS = 3000;
+    private static final String SHARED_KEY_PREFIX = "chat:typing:";
+
+    // 만료된 사용자 정리 + 이 서버의 변경분 반영 + 합쳐진 목록 조회를 한 번에
+    // ARGV: now, ttl, 제거할 사용자 수 n, 제거할 사용자 ID n개, (사용자 ID, 만료 시각) 쌍...
+    private static final RedisScript<List> SYNC_SCRIPT = new DefaultRedisScript<>(
+            "redis.call('ZREMRANGEBYSCORE', KEYS[1], '-inf', ARGV[1]) " +
+            "local removals = tonumber(ARGV[3]) " +
+            "for i = 4, 3 + removals do redis.call('ZREM', KEYS[1], ARGV[i]) end " +
+            "for i = 4 + removals, #ARGV, 2 do redis.call('ZADD', KEYS[1], ARGV[i + 1], ARGV[i]) end " +
+            "if redis.call('EXISTS', KEYS[1]) == 1 then redis.call('PEXPIRE', KEYS[1], ARGV[2]) end " +
+            "return redis.call('ZRANGE', KEYS[1], 0, -1)", List.class);
+
+    private record Typist(String sessionId, long expiresAt) {
+    }
+
+    private final ClusterBroadcaster clusterBroadcaster;
+    private final ChatSenderCache chatSenderCache;
+    private final StringRedisTemplate redisTemplate;
+    private final boolean shared;
+
+    // Key: 채팅방 ID, Value: (사용자 ID -> 입력 상태)
+    private final Map<Long, Map<Long, Typist>> typistsByRoom = new ConcurrentHashMap<>();
+    // 다음 주기에 스냅샷을 보낼 채팅방
+    private final Set<Long> changedRooms = ConcurrentHashMap.newKeySet();
+    // 다중 서버: 다음 주기에 Redis 에서 지울 사용자 (Key: 채팅방 ID)
+    private final Map<Long, Set<Long>> pendingRemovals = new ConcurrentHashMap<>();
+
+    public ChatTypingService(ClusterBroadcaster clusterBroadcaster,
+                             ChatSenderCache chatSenderCache,
+                             StringRedisTemplate redisTemplate,
+                             @Value("${app.websocket.fanout:local}") String fanout) {
+        this.clusterBroadcaster = clusterBroadcaster;
+        this.chatSenderCache = chatSenderCache;
+        this.redisTemplate = redisTemplate;
+        this.shared = "redis".equalsIgnoreCase(fanout);
+    }
+
+    public void typing(Long chatRoomId, Long userId, String sessionId) {
+        Typist typist = new Typist(sessionId, System.currentTimeMillis() + TYPING_TTL_MS);
+        // 빈 목록 제거(publishChanges)와 겹치지 않도록 compute 안에서 갱신
+        typistsByRoom.compute(chatRoomId, (key, typists) -> {
+            Map<Long, Typist> current = typists != null ? typists : new ConcurrentHashMap<>();
+            if (current.put(userId, typist) == null) {
+                changedRooms.add(chatRoomId);
+            }
+            return current;
+        });
+    }
+
+    public void stopTyping(Long chatRoomId, Long userId) {
+        Map<Long, Typist> typists = typistsByRoom.get(chatRoomId);
+        if (typists != null && typists.remove(userId) != null) {
+            markRemoved(chatRoomId, userId);
+        }
+    }
+
+    // 0.5초마다 만료된 사용자를 정리하고, 목록이 바뀐 채팅방에 스냅샷 전송
+    @Scheduled(fixedDelay = 500)
+    public void publishChanges() {
+        long now = System.currentTimeMillis();
+        typistsByRoom.forEach((chatRoomId, typists) -> typists.entrySet().removeIf(entry -> {
+            if (entry.getValue().expiresAt() > now) {
+                return false;
+            }
+            markRemoved(chatRoomId, entry.getKey());
+            return true;
+        }));
+        if (shared) {
+            // 목록이 바뀌지 않은 채팅방도 반복 프레임으로 연장된 만료 시각을 Redis 에 반영
+            for (Long chatRoomId : typistsByRoom.keySet()) {
+                if (!changedRooms.contains(chatRoomId)) {
+                    syncShared(chatRoomId, now);
+                }
+            }
+        }
+        if (changedRooms.isEmpty()) {
+            return;
+        }
+
+        for (Long chatRoomId : List.copyOf(changedRooms)) {
+            changedRooms.remove(chatRoomId);
+            Collection<Long> userIds;
+            if (shared) {
+                userIds = syncShared(chatRoomId, now);
+                if (userIds == null) {
+                    changedRooms.add(chatRoomId); // Redis 오류: 다음 주기에 다시 시도
+                    continue;
+                }
+                typistsByRoom.computeIfPresent(chatRoomId, (key, current) -> current.isEmpty() ? null : current);
+            } else {
+                Map<Long, Typist> typists = typistsByRoom.computeIfPresent(chatRoomId,
+                        (key, current) -> current.isEmpty() ? null : current);
+                userIds = typists == null ? List.of() : typists.keySet();
+            }
+            List<UserSummaryDto> users = userIds.stream().map(chatSenderCache::get).toList();
+            try {
+                clusterBroadcaster.broadcast("/sub/chat/room/" + chatRoomId + "/typing",
+                        ChatTypingResponse.builder().chatRoomId(chatRoomId).users(users).build());
+            } catch (Exception e) {
+                log.warn("입력 중 상태 전송 실패: chatRoomId={}", chatRoomId, e);
+            }
+        }
+    }
+
+    // 세션이 끊기면 그 세션으로 입력 중이던 채팅방에서 제거
+    @EventListener
+    public void handleSessionDisconnect(SessionDisconnectEvent event) {
+        String sessionId = event.getSessionId();
+        typistsByRoom.forEach((chatRoomId, typists) -> typists.entrySet().removeIf(entry -> {
+            if (!entry.getValue().sessionId().equals(sessionId)) {
+                return false;
+            }
+            markRemoved(chatRoomId, entry.getKey());
+            return true;
+        }));
+    }
+
+    private void markRemoved(Long chatRoomId, Long userId) {
+        if (shared) {
+            pendingRemovals.computeIfAbsent(chatRoomId, key -> ConcurrentHashMap.newKeySet()).add(userId);
+        }
+        changedRooms.add(chatRoomId);
+    }
+
+    // 이 서버의 변경분을 Redis 에 반영하고 모든 서버의 입력 중 사용자 ID 를 반환 (실패 시 null)
+    private List<Long> syncShared(Long chatRoomId, long now) {
+        Map<Long, Typist> typists = typistsByRoom.getOrDefault(chatRoomId, Map.of());
+        Set<Long> removals = pendingRemovals.remove(chatRoomId);
+        List<String> removedIds = new ArrayList<>();
+        if (removals != null) {
+            for (Long userId : removals) {
+                if (!typists.containsKey(userId)) { // 그 사이 다시 입력을 시작한 사용자는 제외
+                    removedIds.add(String.valueOf(userId));
+                }
+            }
+        }
+        List<String> args = new ArrayList<>(3 + removedIds.size() + typists.size() * 2);
+        args.add(String.valueOf(now));
+        args.add(String.valueOf(TYPING_TTL_MS));
+        args.add(String.valueOf(removedIds.size()));
+        args.addAll(removedIds);
+        typists.forEach((userId, typist) -> {
+            args.add(String.valueOf(userId));
+            args.add(String.valueOf(typist.expiresAt()));
+        });
+        try {
+            List<?> members = redisTemplate.execute(SYNC_SCRIPT, List.of(SHARED_KEY_PREFIX + chatRoomId), args.toArray());
+            List<Long> userIds = new ArrayList<>();
+            if (members != null) {
+                for (Object member : members) {
+                    userIds.add(Long.valueOf(String.valueOf(member)));
+                }
+            }
+            return userIds;
+        } catch (Exception e) {
+            log.warn("입력 중 상태 동기화 실패: chatRoomId={}", chatRoomId, e);
+            if (removals != null) {
+                pendingRemovals.computeIfAbsent(chatRoomId, key -> ConcurrentHashMap.newKeySet()).addAll(removals);
+            }
+            return null;
+        }
+    }
+}
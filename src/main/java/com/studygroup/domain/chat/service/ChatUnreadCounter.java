@@ -0,0 +1,125 @@
+package com.studygroup.domain.chat.service;
+
+import com.studygroup.global.util.LongSet;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 채팅방별 안 읽은 메시지 수.
+ * Redis 해시 "chat:unread:{userId}" 의 필드(채팅방 ID)에 개수를 저장하므로, 내 채팅방 목록의 안 읽은 수를 HMGET 한 번으로 읽는다.
+ * 메시지 수신 시에는 채팅방별·발신자별 개수만 메모리에 모으고, 0.5초마다 참여 멤버별 증가분을 계산해
+ * 파이프라인 HINCRBY 로 한 번에 반영한다. (멤버 수 x 메시지 수 만큼 Redis 를 호출하지 않음)
+ * 사용자가 채팅방을 읽으면 해당 필드를 지운다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ChatUnreadCounter {
+
+    private static final String KEY_PREFIX = "chat:unread:";
+
+    private final StringRedisTemplate redisTemplate;
+    private final ChatRoomMemberCache chatRoomMemberCache;
+
+    // Key: 채팅방 ID, Value: (발신자 ID -> 아직 반영되지 않은 메시지 수). 내부 맵은 compute 안에서만 변경
+    private final ConcurrentHashMap<Long, Map<Long, Long>> pendingMessages = new ConcurrentHashMap<>();
+
+    public void recordMessage(Long chatRoomId, Long senderId) {
+        pendingMessages.compute(chatRoomId, (key, bySender) -> {
+            Map<Long, Long> counts = bySender != null ? bySender : new HashMap<>();
+            counts.merge(senderId, 1L, Long::sum);
+            return counts;
+        });
+    }
+
+    // 0.5초마다 누적된 메시지 수를 참여 멤버들의 안 읽은 수에 반영 (발신자 본인의 메시지는 제외)
+    @Scheduled(fixedDelay = 500)
+    public synchronized void flush() {
+        if (pendingMessages.isEmpty()) {
+            return;
+        }
+        Map<String, Map<String, Long>> increments = new HashMap<>(); // Redis 키 -> (채팅방 ID -> 증가분)
+        for (Long chatRoomId : pendingMessages.keySet()) {
+            Map<Long, Long> bySender = pendingMessages.remove(chatRoomId);
+            if (bySender == null) {
+                continue;
+            }
+            long total = bySender.values().stream().mapToLong(Long::longValue).sum();
+            LongSet members = chatRoomMemberCache.getJoinedUserIds(chatRoomId);
+            for (int i = 0; i < members.size(); i++) {
+                long userId = members.get(i);
+                long delta = total - bySender.getOrDefault(userId, 0L);
+                if (delta > 0) {
+                    increments.computeIfAbsent(KEY_PREFIX + userId, key -> new HashMap<>())
+                            .put(String.valueOf(chatRoomId), delta);
+                }
+            }
+        }
+        if (increments.isEmpty()) {
+            return;
+        }
+
+        try {
+            redisTemplate.executePipelined((RedisCallback<Object>) (RedisConnection connection) -> {
+                StringRedisConnection stringConnection = (StringRedisConnection) connection;
+                increments.forEach((key, fields) ->
+                        fields.forEach((field, delta) -> stringConnection.hIncrBy(key, field, delta)));
+                return null;
+            });
+            log.debug("안 읽은 메시지 수 반영: users={}", increments.size());
+        } catch (Exception e) {
+            // 안 읽은 수는 보조 정보이므로 재시도하지 않음 (다음에 읽으면 0으로 초기화됨)
+            log.warn("안 읽은 메시지 수 반영 실패: users={}", increments.size(), e);
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    // 채팅방을 읽었거나 나갔을 때
+    public void reset(Long chatRoomId, Long userId) {
+        try {
+            redisTemplate.opsForHash().delete(KEY_PREFIX + userId, String.valueOf(chatRoomId));
+        } catch (Exception e) {
+            log.warn("안 읽은 메시지 수 초기화 실패: chatRoomId={}, userId={}", chatRoomId, userId, e);
+        }
+    }
+
+    // 여러 채팅방의 안 읽은 수를 HMGET 한 번으로 조회 (없으면 0)
+    public Map<Long, Integer> getUnreadCounts(Long userId, Collection<Long> chatRoomIds) {
+        Map<Long, Integer> result = new HashMap<>();
+        if (chatRoomIds.isEmpty()) {
+            return result;
+        }
+        List<Long> ids = new ArrayList<>(chatRoomIds);
+        try {
+            List<Object> values = redisTemplate.opsForHash().multiGet(KEY_PREFIX + userId,
+                    ids.stream().map(id -> (Object) String.valueOf(id)).toList());
+            for (int i = 0; i < ids.size(); i++) {
+                Object value = values.get(i);
+                if (value != null) {
+                    result.put(ids.get(i), Integer.parseInt(value.toString()));
+                }
+            }
+        } catch (Exception e) {
+            log.warn("안 읽은 메시지 수 조회 실패: userId={}", userId, e);
+        }
+        return result;
+    }
+}
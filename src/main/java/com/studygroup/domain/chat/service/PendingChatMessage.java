@@ -0,0 +1,22 @@
+package com.studygroup.domain.chat.service;
+
+import com.studygroup.domain.chat.entity.MessageType;
+
+import java.time.LocalDateTime;
+
+/**
+ * 브로드캐스트는 끝났지만 아직 DB에 저장되지 않은 채팅 메시지.
+ * ID는 발급 시점에 확정되므로 같은 메시지를 여러 번 저장해도 한 행만 남는다. (WAL/저널 재처리 시 중복 방지)
+ *
+ * @param updatesLastMessage 채팅방 목록의 마지막 메시지로 반영할지 여부 (입장/퇴장 같은 시스템 메시지는 반영하지 않음)
+ */
+public record PendingChatMessage(
+        long id,
+        long chatRoomId,
+        long senderId,
+        String content,
+        MessageType messageType,
+        LocalDateTime createdAt,
+        boolean updatesLastMessage
+) {
+}
@@ -23,8 +23,11 @@ public class DmApiController {
 
     @GetMapping("/rooms")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<List<DmDto.RoomResponse>> getMyDmRooms(@CurrentUser UserPrincipal userPrincipal) {
-        return ResponseEntity.ok(dmService.getDmRooms(userPrincipal.getId()));
+    public ResponseEntity<List<DmDto.RoomResponse>> getMyDmRooms(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "100") int size,
+            @CurrentUser UserPrincipal userPrincipal) {
+        return ResponseEntity.ok(dmService.getDmRooms(userPrincipal.getId(), page, size));
     }
 
     @PostMapping("/rooms/find-or-create")
@@ -42,6 +45,18 @@ public class DmApiController {
         return ResponseEntity.ok(dmService.getMessages(roomId, userPrincipal.getId(), pageable));
     }
 
+    // 메시지 커서 조회 (before: 이전 메시지, after: 재연결 시 놓친 메시지, 둘 다 없으면 최신)
+    @GetMapping("/rooms/{roomId}/messages/cursor")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<DmDto.MessageCursorResponse> getMessagesByCursor(
+            @PathVariable Long roomId,
+            @RequestParam(required = false) Long before,
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "30") int limit,
+            @CurrentUser UserPrincipal userPrincipal) {
+        return ResponseEntity.ok(dmService.getMessagesByCursor(roomId, userPrincipal.getId(), before, after, limit));
+    }
+
     // --- 채팅방 상세 정보 조회 API 추가 ---
     @GetMapping("/rooms/{roomId}")
     @PreAuthorize("isAuthenticated()")
@@ -4,11 +4,14 @@ import com.studygroup.domain.chat.dto.UserSummaryDto;
 import com.studygroup.domain.dm.entity.DmMessage;
 import com.studygroup.domain.dm.entity.DmRoom;
 import com.studygroup.domain.user.entity.User;
+import com.studygroup.global.websocket.CompactFrames;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.Getter;
 
 import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
 
 public class DmDto {
 
@@ -29,6 +32,13 @@ public class DmDto {
             this.lastMessage = dmRoom.getLastMessage();
             this.lastMessageTime = dmRoom.getLastMessageTime();
         }
+
+        public RoomResponse(Long roomId, UserSummaryDto partner, String lastMessage, LocalDateTime lastMessageTime) {
+            this.roomId = roomId;
+            this.partner = partner;
+            this.lastMessage = lastMessage;
+            this.lastMessageTime = lastMessageTime;
+        }
     }
 
     // 메시지 전송 요청
@@ -58,5 +68,25 @@ public class DmDto {
             this.sentAt = dmMessage.getCreatedAt();
             this.isRead = dmMessage.isRead();
         }
+
+        // 압축 전송 형식: [messageId, roomId, senderId, sentAt(epoch ms), content, isRead]
+        public List<Object> toCompactFrame() {
+            return Arrays.asList(messageId, roomId, sender.getId(), CompactFrames.epochMillis(sentAt), content, isRead);
+        }
+    }
+
+    // 커서 기반 메시지 응답 (content 는 항상 오래된 메시지 -> 최신 메시지 순)
+    @Getter
+    public static class MessageCursorResponse {
+        private List<MessageResponse> content;
+        // 다음 요청에 사용할 커서, 더 없으면 null (before/최신 조회: 가장 오래된 ID, after 조회: 가장 최신 ID)
+        private Long nextCursor;
+        private boolean hasNext;
+
+        public MessageCursorResponse(List<MessageResponse> content, Long nextCursor, boolean hasNext) {
+            this.content = content;
+            this.nextCursor = nextCursor;
+            this.hasNext = hasNext;
+        }
     }
 }
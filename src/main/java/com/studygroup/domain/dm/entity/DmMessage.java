@@ -11,7 +11,10 @@ import lombok.NoArgsConstructor;
 @Entity
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
-@Table(name = "dm_message")
+@Table(name = "dm_message", indexes = {
+        // 커서 기반 메시지 조회용: WHERE dm_room_id = ? AND id < / > ? ORDER BY id
+        @Index(name = "idx_dm_message_room_id", columnList = "dm_room_id, id")
+})
 public class DmMessage extends BaseTimeEntity {
 
     @Id
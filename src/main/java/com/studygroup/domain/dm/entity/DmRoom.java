@@ -17,6 +17,10 @@ import java.time.LocalDateTime;
         uniqueConstraints = {
                 // 두 사용자 조합에 대해 유니크 제약조건 설정
                 @UniqueConstraint(columnNames = {"user1_id", "user2_id"})
+        },
+        indexes = {
+                // user1_id 는 유니크 제약조건 인덱스의 첫 컬럼으로 조회되므로 user2_id 만 추가
+                @Index(name = "idx_dm_room_user2_id", columnList = "user2_id")
         }
 )
 public class DmRoom extends BaseTimeEntity {
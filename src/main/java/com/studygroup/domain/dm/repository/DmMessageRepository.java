@@ -5,9 +5,26 @@ import com.studygroup.domain.dm.entity.DmRoom;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
 
 public interface DmMessageRepository extends JpaRepository<DmMessage, Long> {
 
     // 특정 채팅방의 메시지를 페이징하여 조회 (최신순)
     Page<DmMessage> findByDmRoomOrderByCreatedAtDesc(DmRoom dmRoom, Pageable pageable);
+
+    // --- 커서(메시지 ID) 기반 조회: (dm_room_id, id) 인덱스를 타며 count 쿼리가 없다 ---
+    @Query("SELECT m FROM DmMessage m JOIN FETCH m.sender " +
+            "WHERE m.dmRoom.id = :roomId ORDER BY m.id DESC")
+    List<DmMessage> findLatestByRoomId(@Param("roomId") Long roomId, Pageable pageable);
+
+    @Query("SELECT m FROM DmMessage m JOIN FETCH m.sender " +
+            "WHERE m.dmRoom.id = :roomId AND m.id < :before ORDER BY m.id DESC")
+    List<DmMessage> findByRoomIdBefore(@Param("roomId") Long roomId, @Param("before") Long before, Pageable pageable);
+
+    @Query("SELECT m FROM DmMessage m JOIN FETCH m.sender " +
+            "WHERE m.dmRoom.id = :roomId AND m.id > :after ORDER BY m.id ASC")
+    List<DmMessage> findByRoomIdAfter(@Param("roomId") Long roomId, @Param("after") Long after, Pageable pageable);
 }
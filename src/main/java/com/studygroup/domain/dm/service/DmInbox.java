@@ -0,0 +1,123 @@
+package com.studygroup.domain.dm.service;
+
+import com.studygroup.domain.dm.repository.DmRoomRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 사용자별 DM 받은편지함 (Redis ZSET "dm:inbox:{userId}", member = 채팅방 ID, score = 마지막 메시지 시각 epoch ms).
+ * 메시지가 오갈 때마다 두 사용자의 받은편지함 점수만 갱신하므로, 목록 조회는 ZREVRANGE 한 번으로 페이지 크기만큼의
+ * 채팅방 ID 를 얻는다. (user1_id OR user2_id 조회 + filesort 없음)
+ * 받은편지함이 없으면(처음 조회하거나 만료된 경우) user1_id / user2_id 인덱스를 각각 한 번씩 읽어 다시 만든다.
+ * 갱신은 받은편지함이 이미 있을 때만 하므로, 만들어지지 않은 받은편지함에 일부 채팅방만 들어가는 일이 없다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DmInbox {
+
+    private static final String KEY_PREFIX = "dm:inbox:";
+    private static final long TTL_DAYS = 7;
+
+    // 받은편지함이 있을 때만 점수 갱신 (ZADD GT: 더 오래된 시각으로 덮어쓰지 않음)
+    private static final RedisScript<Long> TOUCH_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[1]) == 1 then " +
+            "  redis.call('ZADD', KEYS[1], 'GT', ARGV[1], ARGV[2]) " +
+            "  return 1 " +
+            "end " +
+            "return 0", Long.class);
+
+    private record Entry(Long roomId, long score) {
+    }
+
+    private final StringRedisTemplate redisTemplate;
+    private final DmRoomRepository dmRoomRepository;
+
+    // 새 메시지: 두 사용자의 받은편지함에서 채팅방을 맨 위로
+    public void onMessage(Long roomId, Long user1Id, Long user2Id, LocalDateTime sentAt) {
+        touch(user1Id, roomId, score(sentAt));
+        touch(user2Id, roomId, score(sentAt));
+    }
+
+    // 새 채팅방: 메시지가 없으므로 맨 아래에 추가
+    public void onRoomCreated(Long roomId, Long user1Id, Long user2Id) {
+        touch(user1Id, roomId, 0L);
+        touch(user2Id, roomId, 0L);
+    }
+
+    // 최근 메시지 순으로 offset 부터 count 개의 채팅방 ID
+    public List<Long> getRoomIds(Long userId, int offset, int count) {
+        String key = KEY_PREFIX + userId;
+        try {
+            if (!Boolean.TRUE.equals(redisTemplate.hasKey(key))) {
+                rebuild(userId);
+            }
+            Set<String> members = redisTemplate.opsForZSet().reverseRange(key, offset, offset + count - 1L);
+            redisTemplate.expire(key, TTL_DAYS, TimeUnit.DAYS);
+            return members == null ? List.of() : members.stream().map(Long::valueOf).toList();
+        } catch (Exception e) {
+            // Redis 장애 시 DB 에서 직접 정렬
+            log.warn("DM 받은편지함 조회 실패, DB 에서 조회합니다: userId={}", userId, e);
+            List<Entry> entries = loadFromDatabase(userId);
+            return entries.subList(Math.min(offset, entries.size()), Math.min(offset + count, entries.size()))
+                    .stream().map(Entry::roomId).toList();
+        }
+    }
+
+    private void rebuild(Long userId) {
+        List<Entry> entries = loadFromDatabase(userId);
+        if (entries.isEmpty()) {
+            return;
+        }
+        String key = KEY_PREFIX + userId;
+        redisTemplate.executePipelined((RedisCallback<Object>) (RedisConnection connection) -> {
+            StringRedisConnection stringConnection = (StringRedisConnection) connection;
+            for (Entry entry : entries) {
+                stringConnection.zAdd(key, entry.score(), String.valueOf(entry.roomId()));
+            }
+            stringConnection.expire(key, TimeUnit.DAYS.toSeconds(TTL_DAYS));
+            return null;
+        });
+        log.debug("DM 받은편지함 생성: userId={}, rooms={}", userId, entries.size());
+    }
+
+    // user1_id / user2_id 인덱스를 각각 읽어 최근 메시지 순으로 정렬
+    private List<Entry> loadFromDatabase(Long userId) {
+        List<Entry> entries = new ArrayList<>();
+        for (Object[] row : dmRoomRepository.findInboxRowsByUser1Id(userId)) {
+            entries.add(new Entry((Long) row[0], score((LocalDateTime) row[1])));
+        }
+        for (Object[] row : dmRoomRepository.findInboxRowsByUser2Id(userId)) {
+            entries.add(new Entry((Long) row[0], score((LocalDateTime) row[1])));
+        }
+        entries.sort(Comparator.comparingLong(Entry::score).reversed().thenComparing(Entry::roomId, Comparator.reverseOrder()));
+        return entries;
+    }
+
+    private void touch(Long userId, Long roomId, long score) {
+        try {
+            redisTemplate.execute(TOUCH_SCRIPT, List.of(KEY_PREFIX + userId), String.valueOf(score), String.valueOf(roomId));
+        } catch (Exception e) {
+            log.warn("DM 받은편지함 갱신 실패: userId={}, roomId={}", userId, roomId, e);
+        }
+    }
+
+    private static long score(LocalDateTime time) {
+        return time == null ? 0L : time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,68 @@
+package com.studygroup.domain.dm.service;
+
+import com.studygroup.domain.notification.service.NotificationService;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 새 DM 알림 묶음 처리.
+ * 메시지마다 알림을 만들지 않고 (수신자, 채팅방)별로 메시지 수만 모아 두었다가 3초마다 한 번에 반영한다.
+ * 반영 시에는 읽지 않은 NEW_DM 알림이 있으면 그 알림의 개수/문구만 갱신하므로, 알림 행과 SSE 전송 수가
+ * 메시지 수가 아니라 대화 수에 비례한다.
+ * 수신자가 해당 채팅방을 보고 있으면(DmRoomViewerTracker) 메시지를 바로 확인하므로 알림을 만들지 않는다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DmNotificationCoalescer {
+
+    private record Key(Long receiverId, Long roomId) {
+    }
+
+    private record Pending(Long senderId, int count) {
+    }
+
+    private final NotificationService notificationService;
+    private final DmRoomViewerTracker viewerTracker;
+
+    // Key: (수신자 ID, 채팅방 ID), Value: 마지막 발신자 ID와 아직 반영되지 않은 메시지 수
+    private final Map<Key, Pending> pendingNotifications = new ConcurrentHashMap<>();
+
+    public void record(Long senderId, Long receiverId, Long roomId) {
+        if (viewerTracker.isViewing(receiverId, roomId)) {
+            return;
+        }
+        pendingNotifications.merge(new Key(receiverId, roomId), new Pending(senderId, 1),
+                (current, added) -> new Pending(added.senderId(), current.count() + added.count()));
+    }
+
+    // 3초마다 모인 메시지 수를 (수신자, 채팅방)별 알림 한 건으로 반영
+    @Scheduled(fixedDelay = 3000)
+    public synchronized void flush() {
+        if (pendingNotifications.isEmpty()) {
+            return;
+        }
+        for (Key key : pendingNotifications.keySet()) {
+            Pending pending = pendingNotifications.remove(key);
+            if (pending == null || viewerTracker.isViewing(key.receiverId(), key.roomId())) {
+                continue; // 그 사이 채팅방을 열었으면 알릴 필요 없음
+            }
+            try {
+                notificationService.upsertDmNotification(pending.senderId(), key.receiverId(), key.roomId(), pending.count());
+            } catch (Exception e) {
+                log.warn("DM 알림 반영 실패: receiverId={}, roomId={}, count={}", key.receiverId(), key.roomId(), pending.count(), e);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+}
@@ -0,0 +1,87 @@
+package com.studygroup.domain.dm.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 두 사용자 -> DM 채팅방 ID 조회.
+ * 사용자 쌍을 항상 (작은 ID, 큰 ID) 로 정규화하므로 dm_room 의 (user1_id, user2_id) 유니크 인덱스 한 번 탐색으로 찾고,
+ * 결과는 LRU 캐시에 두어 같은 DM 을 다시 열 때는 DB 조회가 없다. (DM 채팅방은 삭제되지 않으므로 TTL 없음)
+ * 채팅방 생성은 INSERT IGNORE 후 다시 읽는 방식이라, 동시에 첫 DM 을 열어도 채팅방이 하나만 만들어진다.
+ * 호출 측 트랜잭션 안에서 실행되므로 쓰기 가능한 트랜잭션에서 호출해야 한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DmRoomRegistry {
+
+    private static final int MAX_ENTRIES = 50_000;
+
+    private static final String FIND_ROOM_SQL =
+            "SELECT id FROM dm_room WHERE user1_id = ? AND user2_id = ?";
+    // 다른 트랜잭션이 방금 만든 채팅방도 보이도록 잠금 읽기 (일반 SELECT 는 트랜잭션 시작 시점 스냅샷을 읽을 수 있음)
+    private static final String FIND_ROOM_LOCKING_SQL =
+            FIND_ROOM_SQL + " LOCK IN SHARE MODE";
+    private static final String INSERT_ROOM_SQL =
+            "INSERT IGNORE INTO dm_room (user1_id, user2_id, created_at, modified_at) VALUES (?, ?, ?, ?)";
+
+    private record Pair(long low, long high) {
+        static Pair of(long userA, long userB) {
+            return userA < userB ? new Pair(userA, userB) : new Pair(userB, userA);
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DmInbox dmInbox;
+
+    // Key: 정규화된 사용자 쌍, Value: DM 채팅방 ID (접근 순서 LRU)
+    private final Map<Pair, Long> roomIds = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Pair, Long> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    // 두 사용자의 DM 채팅방 ID. 없으면 만든다
+    public Long findOrCreate(Long userA, Long userB) {
+        Pair pair = Pair.of(userA, userB);
+        synchronized (roomIds) {
+            Long cached = roomIds.get(pair);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        Long roomId = find(FIND_ROOM_SQL, pair);
+        if (roomId == null) {
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            // 같은 쌍을 동시에 만들면 한쪽은 유니크 제약으로 무시되고, 아래 잠금 읽기에서 상대가 만든 채팅방을 읽는다
+            jdbcTemplate.update(INSERT_ROOM_SQL, pair.low(), pair.high(), now, now);
+            roomId = find(FIND_ROOM_LOCKING_SQL, pair);
+            if (roomId == null) {
+                // INSERT IGNORE 는 외래 키 오류도 무시하므로, 존재하지 않는 사용자면 여기로 온다
+                throw new IllegalArgumentException("사용자를 찾을 수 없습니다.");
+            }
+            dmInbox.onRoomCreated(roomId, pair.low(), pair.high());
+            log.info("DM 채팅방 생성: roomId={}, users=({}, {})", roomId, pair.low(), pair.high());
+        }
+
+        synchronized (roomIds) {
+            roomIds.put(pair, roomId);
+        }
+        return roomId;
+    }
+
+    private Long find(String sql, Pair pair) {
+        List<Long> ids = jdbcTemplate.queryForList(sql, Long.class, pair.low(), pair.high());
+        return ids.isEmpty() ? null : ids.get(0);
+    }
+}
@@ -0,0 +1,192 @@
+package com.studygroup.domain.dm.service;
+
+import com.studygroup.global.security.UserPrincipal;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.stereotype.Service;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * DM 채팅방을 보고 있는 사용자 추적.
+ * /sub/dm/room/{roomId} (압축 형식 포함) 구독을 사용자·채팅방별로 세어, 채팅방 화면을 열어 둔 사용자에게는
+ * 새 메시지 알림을 보내지 않도록 한다. (여러 탭/기기에서 같은 채팅방을 열면 모두 닫을 때까지 보고 있는 것으로 봄)
+ * 다중 서버(app.websocket.fanout=redis)에서는 다른 서버에 연결된 세션도 알 수 있도록, 사용자가 보고 있는 채팅방을
+ * Redis ZSET "dm:viewing:{userId}" (member = "채팅방 ID:노드 ID", score = 만료 시각 ms) 에도 기록한다.
+ * 구독이 살아 있는 동안 30초마다 만료 시각을 연장하므로, 서버가 비정상 종료되어도 VIEWING_TTL 뒤에는 목록에서 빠진다.
+ */
+@Slf4j
+@Service
+public class DmRoomViewerTracker {
+
+    private static final Pattern DM_ROOM_DESTINATION = Pattern.compile("^/sub/dm/room/(\\d{1,18})(/compact)?$");
+    private static final String VIEWING_KEY_PREFIX = "dm:viewing:";
+    private static final long VIEWING_TTL_MS = 90_000;
+
+    private record Viewer(Long userId, Long roomId) {
+    }
+
+    // Key: "세션 ID:구독 ID" (UNSUBSCRIBE/DISCONNECT 프레임에는 destination 이 없음)
+    private final Map<String, Viewer> subscriptions = new ConcurrentHashMap<>();
+    // Key: 사용자·채팅방, Value: 구독 수
+    private final Map<Viewer, AtomicInteger> viewerCounts = new ConcurrentHashMap<>();
+
+    private final StringRedisTemplate redisTemplate;
+    private final boolean shared;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    public DmRoomViewerTracker(StringRedisTemplate redisTemplate,
+                               @Value("${app.websocket.fanout:local}") String fanout) {
+        this.redisTemplate = redisTemplate;
+        this.shared = "redis".equalsIgnoreCase(fanout);
+    }
+
+    public boolean isViewing(Long userId, Long roomId) {
+        if (viewerCounts.containsKey(new Viewer(userId, roomId))) {
+            return true;
+        }
+        if (!shared) {
+            return false;
+        }
+        try {
+            Set<String> rooms = redisTemplate.opsForZSet()
+                    .rangeByScore(VIEWING_KEY_PREFIX + userId, System.currentTimeMillis(), Double.POSITIVE_INFINITY);
+            String prefix = roomId + ":";
+            return rooms != null && rooms.stream().anyMatch(member -> member.startsWith(prefix));
+        } catch (Exception e) {
+            // 확인할 수 없으면 보고 있지 않은 것으로 보고 알림 전송 (알림이 빠지는 것보다 중복이 나음)
+            log.warn("DM 채팅방 조회 여부 확인 실패: userId={}, roomId={}", userId, roomId, e);
+            return false;
+        }
+    }
+
+    @EventListener
+    public void handleSubscribe(SessionSubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        if (accessor.getDestination() == null
+                || !(event.getUser() instanceof UsernamePasswordAuthenticationToken token)
+                || !(token.getPrincipal() instanceof UserPrincipal userPrincipal)) {
+            return;
+        }
+        Matcher matcher = DM_ROOM_DESTINATION.matcher(accessor.getDestination());
+        if (!matcher.matches()) {
+            return;
+        }
+        Viewer viewer = new Viewer(userPrincipal.getId(), Long.valueOf(matcher.group(1)));
+        if (subscriptions.putIfAbsent(subscriptionKey(accessor.getSessionId(), accessor.getSubscriptionId()), viewer) == null
+                && viewerCounts.computeIfAbsent(viewer, key -> new AtomicInteger()).incrementAndGet() == 1) {
+            publishViewing(viewer);
+        }
+    }
+
+    @EventListener
+    public void handleUnsubscribe(SessionUnsubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        release(subscriptions.remove(subscriptionKey(accessor.getSessionId(), accessor.getSubscriptionId())));
+    }
+
+    @EventListener
+    public void handleDisconnect(SessionDisconnectEvent event) {
+        String prefix = event.getSessionId() + ":";
+        subscriptions.entrySet().removeIf(entry -> {
+            if (!entry.getKey().startsWith(prefix)) {
+                return false;
+            }
+            release(entry.getValue());
+            return true;
+        });
+    }
+
+    // 구독이 살아 있는 채팅방의 만료 시각 연장 (파이프라인 1회)
+    @Scheduled(fixedRate = 30000)
+    public void refreshViewing() {
+        if (!shared || viewerCounts.isEmpty()) {
+            return;
+        }
+        List<Viewer> viewers = List.copyOf(viewerCounts.keySet());
+        long expiresAt = System.currentTimeMillis() + VIEWING_TTL_MS;
+        try {
+            redisTemplate.executePipelined((RedisCallback<Object>) (RedisConnection connection) -> {
+                StringRedisConnection stringConnection = (StringRedisConnection) connection;
+                for (Viewer viewer : viewers) {
+                    String key = VIEWING_KEY_PREFIX + viewer.userId();
+                    stringConnection.zAdd(key, expiresAt, member(viewer));
+                    stringConnection.pExpire(key, VIEWING_TTL_MS);
+                }
+                return null;
+            });
+        } catch (Exception e) {
+            log.warn("DM 채팅방 조회 상태 갱신 실패: viewers={}", viewers.size(), e);
+        }
+    }
+
+    private void release(Viewer viewer) {
+        if (viewer == null) {
+            return;
+        }
+        boolean[] last = new boolean[1];
+        viewerCounts.computeIfPresent(viewer, (key, count) -> {
+            if (count.decrementAndGet() > 0) {
+                return count;
+            }
+            last[0] = true;
+            return null;
+        });
+        if (last[0]) {
+            withdrawViewing(viewer);
+        }
+    }
+
+    // 이 서버에서 사용자가 채팅방을 처음 열었을 때
+    private void publishViewing(Viewer viewer) {
+        if (!shared) {
+            return;
+        }
+        try {
+            String key = VIEWING_KEY_PREFIX + viewer.userId();
+            redisTemplate.opsForZSet().add(key, member(viewer), System.currentTimeMillis() + VIEWING_TTL_MS);
+            redisTemplate.expire(key, VIEWING_TTL_MS, TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            log.warn("DM 채팅방 조회 등록 실패: userId={}, roomId={}", viewer.userId(), viewer.roomId(), e);
+        }
+    }
+
+    // 이 서버에서 사용자가 채팅방을 모두 닫았을 때 (다른 서버의 기록은 그대로 둠)
+    private void withdrawViewing(Viewer viewer) {
+        if (!shared) {
+            return;
+        }
+        try {
+            redisTemplate.opsForZSet().remove(VIEWING_KEY_PREFIX + viewer.userId(), member(viewer));
+        } catch (Exception e) {
+            log.warn("DM 채팅방 조회 해제 실패: userId={}, roomId={}", viewer.userId(), viewer.roomId(), e);
+        }
+    }
+
+    private String member(Viewer viewer) {
+        return viewer.roomId() + ":" + nodeId;
+    }
+
+    private static String subscriptionKey(String sessionId, String subscriptionId) {
+        return sessionId + ":" + subscriptionId;
+    }
+}
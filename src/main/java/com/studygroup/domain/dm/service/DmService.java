@@ -1,23 +1,30 @@
 package com.studygroup.domain.dm.service;
 
+import com.studygroup.domain.chat.dto.UserSummaryDto;
+import com.studygroup.domain.chat.service.ChatSenderCache;
 import com.studygroup.domain.dm.dto.DmDto;
 import com.studygroup.domain.dm.entity.DmMessage;
 import com.studygroup.domain.dm.entity.DmRoom;
 import com.studygroup.domain.dm.repository.DmMessageRepository;
 import com.studygroup.domain.dm.repository.DmRoomRepository;
-import com.studygroup.domain.notification.entity.NotificationType;
-import com.studygroup.domain.notification.service.NotificationService;
 import com.studygroup.domain.user.entity.User;
 import com.studygroup.domain.user.repository.UserRepository;
+import com.studygroup.global.websocket.ClusterBroadcaster;
+import com.studygroup.global.websocket.CompactFrames;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.messaging.simp.SimpMessageSendingOperations;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -26,35 +33,59 @@ import java.util.stream.Collectors;
 @Transactional(readOnly = true)
 public class DmService {
 
+    private static final int MAX_CURSOR_LIMIT = 100;
+    private static final int MAX_ROOM_PAGE_SIZE = 100;
+
     private final DmRoomRepository dmRoomRepository;
     private final DmMessageRepository dmMessageRepository;
     private final UserRepository userRepository;
-    private final SimpMessageSendingOperations messagingTemplate;
-    private final NotificationService notificationService;
-
+    private final ClusterBroadcaster clusterBroadcaster;
+    private final DmRoomRegistry dmRoomRegistry;
+    private final DmNotificationCoalescer dmNotificationCoalescer;
+    private final DmInbox dmInbox;
+    private final ChatSenderCache chatSenderCache;
+
+
+    /**
+     * 채팅방 목록 조회 (최근 메시지 순, page 단위).
+     * 받은편지함(DmInbox)에서 페이지만큼의 채팅방 ID 를 읽고, 채팅방과 상대방 정보를 각각 IN 조회 1회로 채운다.
+     * 사용자의 전체 DM 채팅방 수와 관계없이 페이지 크기만큼만 읽는다.
+     */
+    public List<DmDto.RoomResponse> getDmRooms(Long userId, int page, int size) {
+        int pageSize = Math.min(Math.max(size, 1), MAX_ROOM_PAGE_SIZE);
+        List<Long> roomIds = dmInbox.getRoomIds(userId, Math.max(page, 0) * pageSize, pageSize);
+        if (roomIds.isEmpty()) {
+            return List.of();
+        }
 
-    // 채팅방 목록 조회
-    public List<DmDto.RoomResponse> getDmRooms(Long userId) {
-        User user = userRepository.findById(userId).orElseThrow();
-        List<DmRoom> rooms = dmRoomRepository.findByUser1OrUser2OrderByLastMessageTimeDesc(user, user);
-        return rooms.stream()
-                .map(room -> new DmDto.RoomResponse(room, user))
-                .collect(Collectors.toList());
+        Map<Long, DmRoom> rooms = dmRoomRepository.findAllById(roomIds).stream()
+                .collect(Collectors.toMap(DmRoom::getId, room -> room));
+        // 상대방 ID 는 FK 값이라 사용자 엔티티를 로딩하지 않고 읽을 수 있음
+        Map<Long, Long> partnerIds = new HashMap<>();
+        rooms.values().forEach(room -> partnerIds.put(room.getId(),
+                room.getUser1().getId().equals(userId) ? room.getUser2().getId() : room.getUser1().getId()));
+        Map<Long, UserSummaryDto> partners = userRepository.findAllById(new HashSet<>(partnerIds.values())).stream()
+                .collect(Collectors.toMap(User::getId, UserSummaryDto::from));
+
+        List<DmDto.RoomResponse> responses = new ArrayList<>(roomIds.size());
+        for (Long roomId : roomIds) {
+            DmRoom room = rooms.get(roomId);
+            UserSummaryDto partner = room != null ? partners.get(partnerIds.get(roomId)) : null;
+            if (partner != null) { // 삭제된 채팅방/사용자는 제외
+                responses.add(new DmDto.RoomResponse(roomId, partner, room.getLastMessage(), room.getLastMessageTime()));
+            }
+        }
+        return responses;
     }
 
-    // 특정 사용자와의 채팅방 찾기 또는 생성
+    // 특정 사용자와의 채팅방 찾기 또는 생성 (채팅방 ID 는 DmRoomRegistry 캐시, 상대 정보는 ChatSenderCache 에서 조회)
     @Transactional
-    public DmDto.RoomResponse findOrCreateRoom(Long user1Id, Long user2Id) {
-        if (user1Id.equals(user2Id)) throw new IllegalArgumentException("Cannot create a DM room with yourself.");
-        User user1 = userRepository.findById(user1Id).orElseThrow();
-        User user2 = userRepository.findById(user2Id).orElseThrow();
-
-        DmRoom room = dmRoomRepository.findRoomBetweenUsers(user1, user2)
-                .orElseGet(() -> {
-                    DmRoom newRoom = DmRoom.builder().user1(user1).user2(user2).build();
-                    return dmRoomRepository.save(newRoom);
-                });
-        return new DmDto.RoomResponse(room, user1);
+    public DmDto.RoomResponse findOrCreateRoom(Long userId, Long partnerId) {
+        if (userId.equals(partnerId)) throw new IllegalArgumentException("Cannot create a DM room with yourself.");
+        Long roomId = dmRoomRegistry.findOrCreate(userId, partnerId);
+        DmRoom room = dmRoomRepository.findById(roomId).orElseThrow(); // 마지막 메시지 표시용 PK 조회
+        return new DmDto.RoomResponse(room.getId(), chatSenderCache.get(partnerId),
+                room.getLastMessage(), room.getLastMessageTime());
     }
 
     // 이전 메시지 목록 조회
@@ -66,6 +97,44 @@ public class DmService {
         return messages.map(DmDto.MessageResponse::new);
     }
 
+    // 메시지 ID 커서 기반 조회 (count 쿼리 없음). before/after 가 없으면 최신 메시지
+    public DmDto.MessageCursorResponse getMessagesByCursor(Long roomId, Long userId, Long before, Long after, int limit) {
+        if (before != null && after != null) {
+            throw new IllegalArgumentException("before and after cannot be used together.");
+        }
+        DmRoom room = dmRoomRepository.findById(roomId)
+                .orElseThrow(() -> new IllegalArgumentException("DM room not found"));
+        if (!room.getUser1().getId().equals(userId) && !room.getUser2().getId().equals(userId)) {
+            throw new IllegalStateException("You are not a member of this DM room.");
+        }
+
+        int size = Math.min(Math.max(limit, 1), MAX_CURSOR_LIMIT);
+        Pageable window = PageRequest.of(0, size + 1); // 다음 페이지 존재 여부 확인용으로 1개 더 조회
+        List<DmMessage> messages;
+        if (after != null) {
+            messages = dmMessageRepository.findByRoomIdAfter(roomId, after, window);     // 오래된 순
+        } else if (before != null) {
+            messages = dmMessageRepository.findByRoomIdBefore(roomId, before, window);   // 최신 순
+        } else {
+            messages = dmMessageRepository.findLatestByRoomId(roomId, window);           // 최신 순
+        }
+
+        boolean hasNext = messages.size() > size;
+        List<DmDto.MessageResponse> content = new ArrayList<>(size);
+        for (DmMessage message : hasNext ? messages.subList(0, size) : messages) {
+            content.add(new DmDto.MessageResponse(message));
+        }
+        if (after == null) {
+            Collections.reverse(content); // 응답은 항상 오래된 순
+        }
+
+        Long nextCursor = null;
+        if (hasNext) {
+            nextCursor = after != null ? content.get(content.size() - 1).getMessageId() : content.get(0).getMessageId();
+        }
+        return new DmDto.MessageCursorResponse(content, nextCursor, hasNext);
+    }
+
     // 메시지 전송 및 저장
     @Transactional
     public void sendMessage(Long roomId, Long senderId, String content) {
@@ -81,29 +150,21 @@ public class DmService {
 
         // 채팅방의 마지막 메시지 업데이트
         room.updateLastMessage(content, message.getCreatedAt());
+        dmInbox.onMessage(roomId, room.getUser1().getId(), room.getUser2().getId(), message.getCreatedAt());
 
         DmDto.MessageResponse messageDto = new DmDto.MessageResponse(message);
 
         String destination = "/sub/dm/room/" + roomId;
-        messagingTemplate.convertAndSend(destination, messageDto);
+        clusterBroadcaster.broadcast(destination, messageDto);
+        String compactDestination = CompactFrames.destination(destination);
+        if (clusterBroadcaster.hasSubscribers(compactDestination)) { // 압축 형식 구독자가 없으면 직렬화/전송 생략
+            clusterBroadcaster.broadcast(compactDestination, messageDto.toCompactFrame());
+        }
         log.info("Message sent to destination: {}", destination);
 
-        // 1. 메시지 수신자를 찾습니다.
-        User receiver = room.getUser1().getId().equals(senderId) ? room.getUser2() : room.getUser1();
-
-        // 2. 알림 메시지를 생성합니다.
-        String notificationMessage = "'" + sender.getName() + "'님으로부터 새로운 메시지가 도착했습니다.";
-
-        // 3. NotificationService를 호출하여 알림을 생성합니다.
-        //    (DB 저장 및 SSE 전송은 NotificationService가 알아서 처리)
-        //    referenceId에는 채팅방 ID(roomId)를 넣어, 알림 클릭 시 해당 채팅방으로 이동할 수 있도록 합니다.
-        notificationService.createNotification(
-                sender,
-                receiver,
-                notificationMessage,
-                NotificationType.NEW_DM,
-                roomId
-        );
+        // 수신자 알림은 (수신자, 채팅방)별로 묶어서 주기적으로 반영 (채팅방을 보고 있으면 생략)
+        Long receiverId = room.getUser1().getId().equals(senderId) ? room.getUser2().getId() : room.getUser1().getId();
+        dmNotificationCoalescer.record(senderId, receiverId, roomId);
     }
 
     // --- 채팅방 상세 정보 조회 메소드 추가 ---
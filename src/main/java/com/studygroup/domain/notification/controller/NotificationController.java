@@ -52,11 +52,15 @@ public class NotificationController {
         return ResponseEntity.ok().build();
     }
 
-    // SSE 구독 엔드포인트
+    // SSE 구독 엔드포인트 (EventSource 가 재연결 시 보내는 Last-Event-ID 이후의 이벤트를 다시 받음)
     @GetMapping(value = "/subscribe", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
     @PreAuthorize("isAuthenticated()")
-    public SseEmitter subscribe(@CurrentUser UserPrincipal userPrincipal) {
-        return sseEmitterService.subscribe(userPrincipal.getId());
+    public SseEmitter subscribe(@CurrentUser UserPrincipal userPrincipal,
+                                @RequestHeader(value = "Last-Event-ID", required = false) String lastEventIdHeader,
+                                @RequestParam(value = "lastEventId", required = false) String lastEventIdParam) {
+        // 직접 새로 연결하는 경우에는 헤더를 지정할 수 없으므로 쿼리 파라미터도 허용
+        String lastEventId = lastEventIdHeader != null ? lastEventIdHeader : lastEventIdParam;
+        return sseEmitterService.subscribe(userPrincipal.getId(), lastEventId);
     }
 
     // --- DM 알림 그룹 읽음 처리 API 엔드포인트 추가 ---
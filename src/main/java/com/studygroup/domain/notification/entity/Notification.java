@@ -5,6 +5,8 @@ import com.studygroup.global.common.BaseTimeEntity;
 import jakarta.persistence.*;
 import lombok.*;
 
+import java.time.LocalDateTime;
+
 @Entity
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
@@ -36,7 +38,27 @@ public class Notification extends BaseTimeEntity {
 
     private Long referenceId; // 관련 엔티티의 ID (예: 스터디 그룹 ID)
 
+    private Integer messageCount; // NEW_DM 묶음 알림에 포함된 메시지 수 (다른 타입은 null)
+
+    // 목록 정렬 기준 시각: 생성 시각, NEW_DM 묶음 알림은 마지막으로 메시지가 합쳐진 시각 (이 컬럼 추가 전 행은 null)
+    private LocalDateTime lastEventAt;
+
+    @PrePersist
+    void initLastEventAt() {
+        if (lastEventAt == null) {
+            lastEventAt = LocalDateTime.now();
+        }
+    }
+
     public void markAsRead() {
         this.isRead = true;
     }
+
+    // 읽지 않은 NEW_DM 알림에 새 메시지를 합침
+    public void accumulate(User sender, String message, int messageCount) {
+        this.sender = sender;
+        this.message = message;
+        this.messageCount = messageCount;
+        this.lastEventAt = LocalDateTime.now(); // 새 메시지가 온 알림을 목록 맨 위로
+    }
 } 
\ No newline at end of file
@@ -9,10 +9,14 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
 
-    List<Notification> findByReceiverOrderByCreatedAtDesc(User receiver);
+    // 최근 이벤트 순 (묶음 DM 알림은 메시지가 합쳐질 때마다 앞으로 옴)
+    @Query("SELECT n FROM Notification n WHERE n.receiver = :receiver " +
+            "ORDER BY COALESCE(n.lastEventAt, n.createdAt) DESC, n.id DESC")
+    List<Notification> findByReceiverOrderByLastEventAtDesc(@Param("receiver") User receiver);
 
     long countByReceiverAndIsReadFalse(User receiver);
 
@@ -20,6 +24,10 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
     List<Notification> findByReceiverAndReferenceIdAndTypeAndIsReadFalse(
             User receiver, Long referenceId, NotificationType type);
 
+    // DM 알림 묶음용: 수신자·채팅방의 읽지 않은 최신 알림
+    Optional<Notification> findFirstByReceiverIdAndReferenceIdAndTypeAndIsReadFalseOrderByIdDesc(
+            Long receiverId, Long referenceId, NotificationType type);
+
     // --- 특정 사용자의 특정 채팅방 관련 모든 알림을 찾는 메소드 추가 ---
     List<Notification> findByReceiverAndReferenceIdAndType(User receiver, Long referenceId, NotificationType type);
 
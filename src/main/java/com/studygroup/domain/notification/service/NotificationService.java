@@ -12,6 +12,8 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -46,14 +48,69 @@ public class NotificationService {
         // NotificationResponse DTO로 변환하여 전송
         NotificationResponse notificationDto = NotificationResponse.from(savedNotification);
 
-        // "new-notification" 이라는 이름의 이벤트로 알림 데이터 전송
-        sseEmitterService.sendToClient(receiverId, "new-notification", notificationDto);
+        // "new-notification" 이라는 이름의 이벤트로 알림 데이터 전송 (커밋 후)
+        sendAfterCommit(receiverId, notificationDto);
 
         // --- 이메일 발송 로직 추가 ---
         // 특정 타입의 알림에 대해서만 이메일을 발송합니다.
         sendEmailForNotification(savedNotification);
     }
 
+    /**
+     * 새 DM 알림 생성 또는 갱신 (DmNotificationCoalescer 에서 묶어서 호출).
+     * 수신자·채팅방의 읽지 않은 NEW_DM 알림이 있으면 메시지 수와 문구만 갱신하고, 없으면 새로 만든다.
+     * NEW_DM 은 이메일을 보내지 않으므로 SSE 전송만 한다. (커밋 후: 롤백된 알림이 전송되지 않도록)
+     */
+    @Transactional
+    public void upsertDmNotification(Long senderId, Long receiverId, Long roomId, int newMessageCount) {
+        User sender = userRepository.findById(senderId)
+                .orElseThrow(() -> new IllegalArgumentException("User not found with id: " + senderId));
+        Notification notification = notificationRepository
+                .findFirstByReceiverIdAndReferenceIdAndTypeAndIsReadFalseOrderByIdDesc(receiverId, roomId, NotificationType.NEW_DM)
+                .orElse(null);
+
+        if (notification != null) {
+            int messageCount = (notification.getMessageCount() != null ? notification.getMessageCount() : 1) + newMessageCount;
+            notification.accumulate(sender, dmMessage(sender, messageCount), messageCount);
+        } else {
+            notification = notificationRepository.save(Notification.builder()
+                    .sender(sender)
+                    .receiver(userRepository.getReferenceById(receiverId))
+                    .message(dmMessage(sender, newMessageCount))
+                    .type(NotificationType.NEW_DM)
+                    .referenceId(roomId)
+                    .isRead(false)
+                    .messageCount(newMessageCount)
+                    .build());
+        }
+        sendAfterCommit(receiverId, NotificationResponse.from(notification));
+    }
+
+    // DTO 는 트랜잭션 안에서 만들고(지연 로딩), 전송은 커밋된 뒤에 한다
+    private void sendAfterCommit(Long receiverId, NotificationResponse notificationDto) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            sseEmitterService.sendToClient(receiverId, "new-notification", notificationDto);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                try {
+                    sseEmitterService.sendToClient(receiverId, "new-notification", notificationDto);
+                } catch (Exception e) {
+                    log.error("알림 SSE 전송 실패: receiverId={}, notificationId={}", receiverId, notificationDto.getId(), e);
+                }
+            }
+        });
+    }
+
+    private static String dmMessage(User sender, int messageCount) {
+        if (messageCount <= 1) {
+            return "'" + sender.getName() + "'님으로부터 새로운 메시지가 도착했습니다.";
+        }
+        return "'" + sender.getName() + "'님으로부터 새로운 메시지 " + messageCount + "개가 도착했습니다.";
+    }
+
     private void sendEmailForNotification(Notification notification) {
         User receiver = notification.getReceiver();
         User sender = notification.getSender();
@@ -90,7 +147,7 @@ public class NotificationService {
     }
 
     public List<NotificationResponse> getNotifications(User user) {
-        return notificationRepository.findByReceiverOrderByCreatedAtDesc(user)
+        return notificationRepository.findByReceiverOrderByLastEventAtDesc(user)
                 .stream()
                 .map(NotificationResponse::from)
                 .collect(Collectors.toList());
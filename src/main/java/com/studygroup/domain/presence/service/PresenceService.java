@@ -1,9 +1,9 @@
 package com.studygroup.domain.presence.service;
 
+import com.studygroup.global.websocket.ClusterBroadcaster;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.redis.core.StringRedisTemplate;
-import org.springframework.messaging.simp.SimpMessageSendingOperations;
 import org.springframework.stereotype.Service;
 
 import java.util.Set;
@@ -14,7 +14,7 @@ import java.util.Set;
 public class PresenceService {
 
     private final StringRedisTemplate redisTemplate;
-    private final SimpMessageSendingOperations messagingTemplate;
+    private final ClusterBroadcaster clusterBroadcaster;
 
     private String getRedisKey(String channel) {
         return "presence:" + channel.replace('/', ':'); // "post/1" -> "presence:post:1"
@@ -46,7 +46,7 @@ public class PresenceService {
         // 클라이언트가 구독하는 주소는 "/"를 사용하므로, 그대로 전달합니다.
         String destination = "/sub/presence/" + channel; // channel = "post/1"
 
-        messagingTemplate.convertAndSend(destination, viewerCount);
+        clusterBroadcaster.broadcast(destination, viewerCount);
         log.info("Broadcasting viewer count {} to {}", viewerCount, destination);
     }
 
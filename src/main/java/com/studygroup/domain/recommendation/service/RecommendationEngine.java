@@ -0,0 +1,352 @@
+package com.studygroup.domain.recommendation.service;
+
+import com.studygroup.domain.study.dto.StudyGroupChangedEvent;
+import com.studygroup.domain.study.repository.StudyGroupRepository;
+import com.studygroup.domain.study.repository.StudyGroupTagRepository;
+import com.studygroup.domain.study.repository.StudyMemberRepository;
+import com.studygroup.domain.user.dto.UserPreferenceUpdatedEvent;
+import com.studygroup.domain.user.repository.UserTagPreferenceRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * 태그 벡터 기반 스터디 추천 엔진.
+ * - 모집중인 스터디마다 태그 벡터(태그 ID 집합)와 좋아요 수를 메모리에 보관하고, 태그 -> 스터디 역색인으로 후보를 찾는다.
+ * - 사용자 벡터는 UserTagPreference 점수 전체를 사용하며, 흔한 태그의 영향을 줄이기 위해 IDF 가중치를 곱한다.
+ * - 점수 = 코사인 유사도 * 0.85 + 인기도(좋아요 수의 로그 정규화) * 0.15
+ * - 사용자별 상위 K개 스터디 ID를 Redis 에 저장해 두고, 선호도가 바뀌면 해당 사용자만 다시 계산한다.
+ *   스터디가 추가되거나 태그가 바뀌면 그 태그를 선호하는 사용자의 목록을 지워 다음 조회 때 다시 계산하고,
+ *   스터디가 빠지면(모집 마감, 삭제 등) 해당 사용자들의 목록에서 그 ID만 제거한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RecommendationEngine {
+
+    private static final String RESULT_KEY_PREFIX = "recommend:studies:";
+    private static final Duration RESULT_TTL = Duration.ofHours(1);
+    private static final int TOP_K = 20;
+    private static final double SIMILARITY_WEIGHT = 0.85;
+    private static final double POPULARITY_WEIGHT = 0.15;
+    private static final int RESULT_BATCH_SIZE = 500;
+
+    // 저장된 목록("id,id,...")에서 스터디 ID 하나를 제거하고 남은 TTL 은 유지. ARGV[1]: 스터디 ID
+    private static final RedisScript<Long> REMOVE_ID_SCRIPT = new DefaultRedisScript<>(
+            "local removed = 0 " +
+            "for _, key in ipairs(KEYS) do " +
+            "  local value = redis.call('GET', key) " +
+            "  if value then " +
+            "    local ids = {} " +
+            "    local found = false " +
+            "    for id in string.gmatch(value, '[^,]+') do " +
+            "      if id == ARGV[1] then found = true else ids[#ids + 1] = id end " +
+            "    end " +
+            "    if found then " +
+            "      redis.call('SET', key, table.concat(ids, ','), 'KEEPTTL') " +
+            "      removed = removed + 1 " +
+            "    end " +
+            "  end " +
+            "end " +
+            "return removed", Long.class);
+
+    private final StudyGroupRepository studyGroupRepository;
+    private final StudyGroupTagRepository studyGroupTagRepository;
+    private final StudyMemberRepository studyMemberRepository;
+    private final UserTagPreferenceRepository userTagPreferenceRepository;
+    private final StringRedisTemplate redisTemplate;
+
+    // Key: 스터디 ID, Value: 태그 ID 목록 (모집중이고 블라인드되지 않은 스터디만)
+    private final Map<Long, long[]> studyTags = new ConcurrentHashMap<>();
+    // Key: 태그 ID, Value: 해당 태그가 달린 스터디 ID 집합
+    private final Map<Long, Set<Long>> studiesByTag = new ConcurrentHashMap<>();
+    private final Map<Long, Integer> likeCounts = new ConcurrentHashMap<>();
+    private volatile int maxLikeCount = 0;
+    private volatile boolean loaded = false;
+
+    private record Candidate(long studyGroupId, double score) {
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        ensureLoaded();
+    }
+
+    /**
+     * 사용자에게 추천할 스터디 ID 목록(추천 순)을 반환한다.
+     * Redis 에 저장된 목록이 있으면 그대로 사용하고, 없으면 계산 후 저장한다.
+     */
+    public List<Long> getRecommendedIds(Long userId) {
+        try {
+            String cached = redisTemplate.opsForValue().get(RESULT_KEY_PREFIX + userId);
+            if (cached != null) {
+                return parseIds(cached);
+            }
+        } catch (Exception e) {
+            log.warn("추천 결과 조회 실패, 직접 계산합니다: userId={}", userId, e);
+        }
+        return refresh(userId);
+    }
+
+    // 사용자의 추천 목록을 다시 계산해 Redis 에 저장
+    public List<Long> refresh(Long userId) {
+        List<Long> ids = compute(userId);
+        try {
+            String value = ids.stream().map(String::valueOf).collect(Collectors.joining(","));
+            redisTemplate.opsForValue().set(RESULT_KEY_PREFIX + userId, value, RESULT_TTL);
+        } catch (Exception e) {
+            log.warn("추천 결과 저장 실패: userId={}", userId, e);
+        }
+        return ids;
+    }
+
+    // --- 이벤트 처리 ---
+    @Async
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handlePreferenceUpdated(UserPreferenceUpdatedEvent event) {
+        refresh(event.getUserId());
+    }
+
+    @Async
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handleStudyGroupChanged(StudyGroupChangedEvent event) {
+        if (!loaded || event.getChangeType() == StudyGroupChangedEvent.ChangeType.MEMBERS_CHANGED) {
+            return; // 참여한 스터디는 조회 시점에 걸러냄
+        }
+        Long studyGroupId = event.getStudyGroupId();
+        if (event.getChangeType() == StudyGroupChangedEvent.ChangeType.LIKED) {
+            if (studyTags.containsKey(studyGroupId)) {
+                studyGroupRepository.findLikeCountById(studyGroupId).ifPresent(count -> updateLikeCount(studyGroupId, count));
+            }
+            return;
+        }
+        List<Long> tagIds = studyGroupTagRepository.findRecruitingTagIdsByStudyGroupId(studyGroupId);
+        long[] previous = studyTags.get(studyGroupId);
+        if (tagIds.isEmpty()) {
+            removeStudy(studyGroupId); // 모집 마감, 블라인드, 삭제, 태그 없음
+            if (previous != null) {
+                dropFromResults(studyGroupId, previous);
+            }
+        } else {
+            long[] current = tagIds.stream().mapToLong(Long::longValue).distinct().sorted().toArray();
+            putStudy(studyGroupId, current);
+            studyGroupRepository.findLikeCountById(studyGroupId).ifPresent(count -> updateLikeCount(studyGroupId, count));
+            long[] previousSorted = previous != null ? Arrays.stream(previous).sorted().toArray() : null;
+            if (!Arrays.equals(previousSorted, current)) {
+                // 새 스터디이거나 태그가 바뀜: 예전/새 태그를 선호하는 사용자의 목록을 다시 계산하도록 지움
+                Set<Long> affectedTags = new HashSet<>();
+                Arrays.stream(current).forEach(affectedTags::add);
+                if (previous != null) {
+                    Arrays.stream(previous).forEach(affectedTags::add);
+                }
+                invalidateResults(affectedTags);
+            }
+        }
+    }
+
+    // 태그를 선호하는 사용자들의 저장된 추천 목록 삭제 (다음 조회 때 다시 계산)
+    private void invalidateResults(Set<Long> tagIds) {
+        try {
+            List<Long> userIds = userTagPreferenceRepository.findUserIdsByTagIds(tagIds);
+            for (int from = 0; from < userIds.size(); from += RESULT_BATCH_SIZE) {
+                redisTemplate.delete(resultKeys(userIds.subList(from, Math.min(from + RESULT_BATCH_SIZE, userIds.size()))));
+            }
+            log.debug("추천 목록 무효화: tags={}, users={}", tagIds.size(), userIds.size());
+        } catch (Exception e) {
+            log.warn("추천 목록 무효화 실패: tagIds={}", tagIds, e);
+        }
+    }
+
+    // 빠진 스터디를 그 태그를 선호하는 사용자들의 저장된 추천 목록에서 제거
+    private void dropFromResults(Long studyGroupId, long[] tagIds) {
+        try {
+            List<Long> userIds = userTagPreferenceRepository.findUserIdsByTagIds(Arrays.stream(tagIds).boxed().toList());
+            for (int from = 0; from < userIds.size(); from += RESULT_BATCH_SIZE) {
+                redisTemplate.execute(REMOVE_ID_SCRIPT,
+                        resultKeys(userIds.subList(from, Math.min(from + RESULT_BATCH_SIZE, userIds.size()))),
+                        String.valueOf(studyGroupId));
+            }
+        } catch (Exception e) {
+            log.warn("추천 목록에서 스터디 제거 실패: studyGroupId={}", studyGroupId, e);
+        }
+    }
+
+    private static List<String> resultKeys(List<Long> userIds) {
+        return userIds.stream().map(userId -> RESULT_KEY_PREFIX + userId).toList();
+    }
+
+    // 30분마다 전체 스터디 벡터를 다시 구성 (이벤트 유실, 좋아요 수 보정 등 반영)
+    @Scheduled(fixedDelay = 1800000, initialDelay = 1800000)
+    public synchronized void rebuild() {
+        Map<Long, List<Long>> tagsByStudy = new HashMap<>();
+        for (Object[] row : studyGroupTagRepository.findRecruitingStudyTagPairs()) {
+            tagsByStudy.computeIfAbsent((Long) row[0], key -> new ArrayList<>()).add((Long) row[1]);
+        }
+        Map<Long, Integer> counts = new HashMap<>();
+        int max = 0;
+        for (Object[] row : studyGroupRepository.findRecruitingLikeCounts()) {
+            int count = ((Number) row[1]).intValue();
+            counts.put((Long) row[0], count);
+            max = Math.max(max, count);
+        }
+
+        Set<Long> stale = new HashSet<>(studyTags.keySet());
+        stale.removeAll(tagsByStudy.keySet());
+        stale.forEach(this::removeStudy);
+        tagsByStudy.forEach((id, tagIds) -> putStudy(id, tagIds.stream().mapToLong(Long::longValue).toArray()));
+        likeCounts.keySet().retainAll(tagsByStudy.keySet());
+        counts.forEach((id, count) -> {
+            if (tagsByStudy.containsKey(id)) {
+                likeCounts.put(id, count);
+            }
+        });
+        maxLikeCount = max;
+        loaded = true;
+        log.info("추천 엔진 스터디 벡터 구성 완료: studies={}, tags={}", studyTags.size(), studiesByTag.size());
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        synchronized (this) {
+            if (!loaded) {
+                rebuild();
+            }
+        }
+    }
+
+    private List<Long> compute(Long userId) {
+        ensureLoaded();
+
+        // 1. 사용자 벡터 (태그 ID -> 선호 점수 * IDF)
+        int totalStudies = Math.max(studyTags.size(), 1);
+        Map<Long, Double> userVector = new HashMap<>();
+        double userNormSquared = 0;
+        for (Object[] row : userTagPreferenceRepository.findTagScoresByUserId(userId)) {
+            Long tagId = (Long) row[0];
+            double weight = ((Number) row[1]).doubleValue() * idf(tagId, totalStudies);
+            if (weight > 0) {
+                userVector.put(tagId, weight);
+                userNormSquared += weight * weight;
+            }
+        }
+        if (userVector.isEmpty()) {
+            return List.of(); // 선호 태그가 없으면 추천하지 않음 (기존 동작 유지)
+        }
+        double userNorm = Math.sqrt(userNormSquared);
+
+        // 2. 선호 태그가 하나라도 달린 스터디만 후보로 사용 (이미 참여/신청한 스터디 제외)
+        Set<Long> excluded = new HashSet<>(studyMemberRepository.findStudyGroupIdsByUserId(userId));
+        Set<Long> candidates = new HashSet<>();
+        for (Long tagId : userVector.keySet()) {
+            Set<Long> studies = studiesByTag.get(tagId);
+            if (studies != null) {
+                candidates.addAll(studies);
+            }
+        }
+        candidates.removeAll(excluded);
+
+        // 3. 점수 계산 후 상위 K개만 유지 (최소 힙)
+        double popularityScale = Math.log1p(Math.max(maxLikeCount, 1));
+        PriorityQueue<Candidate> top = new PriorityQueue<>((a, b) -> Double.compare(a.score(), b.score()));
+        for (Long studyGroupId : candidates) {
+            long[] tagIds = studyTags.get(studyGroupId);
+            if (tagIds == null) {
+                continue;
+            }
+            double dot = 0;
+            double studyNormSquared = 0;
+            for (long tagId : tagIds) {
+                double weight = idf(tagId, totalStudies);
+                studyNormSquared += weight * weight;
+                Double userWeight = userVector.get(tagId);
+                if (userWeight != null) {
+                    dot += userWeight * weight;
+                }
+            }
+            double similarity = studyNormSquared > 0 ? dot / (userNorm * Math.sqrt(studyNormSquared)) : 0;
+            double popularity = Math.log1p(likeCounts.getOrDefault(studyGroupId, 0)) / popularityScale;
+            double score = SIMILARITY_WEIGHT * similarity + POPULARITY_WEIGHT * popularity;
+
+            if (top.size() < TOP_K) {
+                top.add(new Candidate(studyGroupId, score));
+            } else if (score > top.peek().score()) {
+                top.poll();
+                top.add(new Candidate(studyGroupId, score));
+            }
+        }
+
+        List<Candidate> sorted = new ArrayList<>(top);
+        sorted.sort((a, b) -> Double.compare(b.score(), a.score()));
+        return sorted.stream().map(Candidate::studyGroupId).toList();
+    }
+
+    // 많은 스터디에 달린 흔한 태그일수록 낮은 가중치
+    private double idf(long tagId, int totalStudies) {
+        Set<Long> studies = studiesByTag.get(tagId);
+        int documentFrequency = studies != null ? studies.size() : 0;
+        return Math.log(1 + (double) totalStudies / (documentFrequency + 1));
+    }
+
+    private synchronized void putStudy(Long studyGroupId, long[] tagIds) {
+        removeStudy(studyGroupId);
+        long[] distinct = Arrays.stream(tagIds).distinct().toArray();
+        studyTags.put(studyGroupId, distinct);
+        for (long tagId : distinct) {
+            studiesByTag.computeIfAbsent(tagId, key -> ConcurrentHashMap.newKeySet()).add(studyGroupId);
+        }
+    }
+
+    private synchronized void removeStudy(Long studyGroupId) {
+        long[] previous = studyTags.remove(studyGroupId);
+        likeCounts.remove(studyGroupId);
+        if (previous == null) {
+            return;
+        }
+        for (long tagId : previous) {
+            Set<Long> studies = studiesByTag.get(tagId);
+            if (studies != null) {
+                studies.remove(studyGroupId);
+                if (studies.isEmpty()) {
+                    studiesByTag.remove(tagId);
+                }
+            }
+        }
+    }
+
+    private void updateLikeCount(Long studyGroupId, int count) {
+        likeCounts.put(studyGroupId, count);
+        if (count > maxLikeCount) {
+            maxLikeCount = count;
+        }
+    }
+
+    private static List<Long> parseIds(String value) {
+        if (value.isEmpty()) {
+            return List.of();
+        }
+        return Arrays.stream(value.split(",")).map(Long::valueOf).toList();
+    }
+}
@@ -3,18 +3,18 @@ package com.studygroup.domain.recommendation.service;
 import com.studygroup.domain.study.dto.StudyGroupResponse;
 import com.studygroup.domain.study.entity.StudyGroup;
 import com.studygroup.domain.study.entity.StudyStatus;
-import com.studygroup.domain.study.entity.Tag;
 import com.studygroup.domain.study.repository.StudyGroupRepository;
-import com.studygroup.domain.user.entity.User;
+import com.studygroup.domain.study.service.StudyMembershipIndex;
 import com.studygroup.domain.user.repository.UserRepository;
-import com.studygroup.domain.user.repository.UserTagPreferenceRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -22,38 +22,36 @@ import java.util.stream.Collectors;
 @Transactional(readOnly = true)
 public class RecommendationService {
 
+    private static final int RECOMMENDATION_SIZE = 3; // 추천 개수를 3~4개로 줄여서 '엄선된' 느낌을 줌
+
     private final UserRepository userRepository;
-    private final UserTagPreferenceRepository userTagPreferenceRepository;
     private final StudyGroupRepository studyGroupRepository;
+    private final RecommendationEngine recommendationEngine;
+    private final StudyMembershipIndex studyMembershipIndex;
 
     public List<StudyGroupResponse> getRecommendedStudies(Long userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new IllegalArgumentException("User not found"));
-
-        // 1. 사용자의 상위 5개 선호 태그를 가져옴
-        List<Tag> preferredTags = userTagPreferenceRepository.findTop5ByUserOrderByScoreDesc(user)
-                .stream()
-                .map(p -> p.getTag())
-                .collect(Collectors.toList());
+        if (!userRepository.existsById(userId)) {
+            throw new IllegalArgumentException("User not found");
+        }
 
-        if (preferredTags.isEmpty()) {
+        // 1. 미리 계산된 추천 목록(추천 순 스터디 ID)을 가져옴
+        List<Long> recommendedIds = recommendationEngine.getRecommendedIds(userId);
+        if (recommendedIds.isEmpty()) {
             // 선호 태그가 없으면 빈 목록 반환
             return Collections.emptyList();
         }
 
-        // 수정된 쿼리 호출
-        List<Object[]> results = studyGroupRepository.findRecommendedStudiesWithMatchCount(
-                user,
-                preferredTags,
-                PageRequest.of(0, 3) // 추천 개수를 3~4개로 줄여서 '엄선된' 느낌을 줌
-        );
-
-        // 결과(Object 배열)를 StudyGroup 리스트로 변환
-        List<StudyGroup> recommendedStudies = results.stream()
-                .map(result -> (StudyGroup) result[0])
-                .collect(Collectors.toList());
-
-        return recommendedStudies.stream()
+        // 2. 계산 이후 마감/블라인드되었거나 사용자가 참여한 스터디를 건너뛸 수 있도록 여유 있게 조회
+        List<Long> candidateIds = recommendedIds.subList(0, Math.min(recommendedIds.size(), RECOMMENDATION_SIZE * 2));
+        Map<Long, StudyGroup> studyGroupsById = studyGroupRepository.findAllWithLeaderAndTagsByIdIn(candidateIds).stream()
+                .collect(Collectors.toMap(StudyGroup::getId, Function.identity()));
+
+        return candidateIds.stream()
+                .map(studyGroupsById::get)
+                .filter(Objects::nonNull)
+                .filter(sg -> sg.getStatus() == StudyStatus.RECRUITING && !sg.isBlinded())
+                .filter(sg -> !studyMembershipIndex.hasMembership(sg.getId(), userId))
+                .limit(RECOMMENDATION_SIZE)
                 .map(sg -> StudyGroupResponse.from(sg, false))
                 .collect(Collectors.toList());
     }
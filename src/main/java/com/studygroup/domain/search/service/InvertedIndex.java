@@ -0,0 +1,298 @@
+package com.studygroup.domain.search.service;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * 메모리 기반 역색인(inverted index).
+ * 한글은 형태소 분석 없이도 부분 일치 검색이 되도록 단어를 2-gram 으로 쪼개 색인한다.
+ * (예: "스프링부트" -> "스프", "프링", "링부", "부트")
+ * 검색어의 모든 토큰을 포함하는 문서만 반환하며(AND), BM25 방식으로 점수를 매긴다.
+ * 한 글자 검색어(예: "자")는 그 글자가 들어간 모든 토큰의 문서 목록을 합쳐서 찾는다. ("자바", "독자" 모두 일치)
+ */
+public class InvertedIndex {
+
+    private static final int SNAPSHOT_VERSION = 1;
+    private static final int TITLE_WEIGHT = 3; // 제목에 등장한 토큰은 본문보다 3배 가중치
+    private static final double K1 = 1.2;
+
+    private static final Pattern HTML_TAG = Pattern.compile("<[^>]*>");
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    // 문서별 정보 (삭제/수정 시 기존 토큰을 지우기 위한 정방향 색인)
+    private record Document(String category, String[] terms, int[] weights) {
+    }
+
+    // Key: 토큰, Value: (문서 ID -> 가중치가 적용된 출현 빈도)
+    private final Map<String, Map<Long, Integer>> postings = new HashMap<>();
+    private final Map<Long, Document> documents = new HashMap<>();
+    // Key: 글자(code point), Value: 그 글자가 들어간 토큰들 (한 글자 검색용)
+    private final Map<Integer, Set<String>> termsByCodePoint = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void put(Long id, String category, String title, String body) {
+        Map<String, Integer> termWeights = new LinkedHashMap<>();
+        for (String term : tokenize(title)) {
+            termWeights.merge(term, TITLE_WEIGHT, Integer::sum);
+        }
+        for (String term : tokenize(stripHtml(body))) {
+            termWeights.merge(term, 1, Integer::sum);
+        }
+
+        String[] terms = termWeights.keySet().toArray(new String[0]);
+        int[] weights = new int[terms.length];
+        for (int i = 0; i < terms.length; i++) {
+            weights[i] = termWeights.get(terms[i]);
+        }
+
+        lock.writeLock().lock();
+        try {
+            removeInternal(id);
+            addInternal(id, new Document(category, terms, weights));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documents.clear();
+            termsByCodePoint.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // 새로 구성한 색인으로 내용을 통째로 교체 (source 는 이후 사용하지 않는 것을 전제로 함)
+    public void replaceWith(InvertedIndex source) {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            postings.putAll(source.postings);
+            documents.clear();
+            documents.putAll(source.documents);
+            termsByCodePoint.clear();
+            termsByCodePoint.putAll(source.termsByCodePoint);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 색인된 문서 ID 목록 (복사본)
+    public List<Long> ids() {
+        lock.readLock().lock();
+        try {
+            return new ArrayList<>(documents.keySet());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 검색어의 모든 토큰을 포함하는 문서 ID를 관련도 순으로 반환한다.
+     *
+     * @param category null 이면 카테고리 필터 없음
+     */
+    public List<Long> search(String query, String category) {
+        List<String> queryTerms = tokenize(query).stream().distinct().toList();
+        if (queryTerms.isEmpty()) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            // 가장 희귀한 토큰의 문서 목록을 기준으로 교집합을 구함
+            List<Map<Long, Integer>> termPostings = new ArrayList<>(queryTerms.size());
+            for (String term : queryTerms) {
+                Map<Long, Integer> docs = term.codePointCount(0, term.length()) == 1
+                        ? postingsContaining(term.codePointAt(0))
+                        : postings.get(term);
+                if (docs == null || docs.isEmpty()) {
+                    return List.of();
+                }
+                termPostings.add(docs);
+            }
+            termPostings.sort(Comparator.comparingInt(Map::size));
+
+            int totalDocs = documents.size();
+            Map<Long, Double> scores = new HashMap<>();
+            candidates:
+            for (Long docId : termPostings.get(0).keySet()) {
+                if (category != null && !category.equals(documents.get(docId).category())) {
+                    continue;
+                }
+                double score = 0;
+                for (Map<Long, Integer> docs : termPostings) {
+                    Integer tf = docs.get(docId);
+                    if (tf == null) {
+                        continue candidates;
+                    }
+                    double idf = Math.log(1 + (totalDocs - docs.size() + 0.5) / (docs.size() + 0.5));
+                    score += idf * (tf * (K1 + 1)) / (tf + K1);
+                }
+                scores.put(docId, score);
+            }
+
+            // 점수 내림차순, 동점이면 최신(ID 큰) 문서 우선
+            return scores.entrySet().stream()
+                    .sorted(Map.Entry.<Long, Double>comparingByValue().reversed()
+                            .thenComparing(Map.Entry.<Long, Double>comparingByKey().reversed()))
+                    .map(Map.Entry::getKey)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 글자가 들어간 모든 토큰의 문서 목록을 합침 (출현 빈도는 더함). 읽기 잠금 안에서 호출
+    private Map<Long, Integer> postingsContaining(int codePoint) {
+        Set<String> terms = termsByCodePoint.get(codePoint);
+        if (terms == null) {
+            return null;
+        }
+        Map<Long, Integer> merged = new HashMap<>();
+        for (String term : terms) {
+            postings.get(term).forEach((docId, tf) -> merged.merge(docId, tf, Integer::sum));
+        }
+        return merged;
+    }
+
+    // --- 스냅샷 저장/복원 (정방향 색인만 저장하고, 역색인은 읽으면서 다시 구성) ---
+    public void writeTo(DataOutputStream out) throws IOException {
+        lock.readLock().lock();
+        try {
+            out.writeInt(SNAPSHOT_VERSION);
+            out.writeInt(documents.size());
+            for (Map.Entry<Long, Document> entry : documents.entrySet()) {
+                Document document = entry.getValue();
+                out.writeLong(entry.getKey());
+                out.writeUTF(document.category() != null ? document.category() : "");
+                out.writeInt(document.terms().length);
+                for (int i = 0; i < document.terms().length; i++) {
+                    out.writeUTF(document.terms()[i]);
+                    out.writeInt(document.weights()[i]);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void readFrom(DataInputStream in) throws IOException {
+        if (in.readInt() != SNAPSHOT_VERSION) {
+            throw new IOException("지원하지 않는 검색 색인 스냅샷 버전입니다.");
+        }
+        int count = in.readInt();
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documents.clear();
+            termsByCodePoint.clear();
+            for (int d = 0; d < count; d++) {
+                long id = in.readLong();
+                String category = in.readUTF();
+                int termCount = in.readInt();
+                String[] terms = new String[termCount];
+                int[] weights = new int[termCount];
+                for (int i = 0; i < termCount; i++) {
+                    terms[i] = in.readUTF();
+                    weights[i] = in.readInt();
+                }
+                addInternal(id, new Document(category.isEmpty() ? null : category, terms, weights));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void addInternal(Long id, Document document) {
+        documents.put(id, document);
+        for (int i = 0; i < document.terms().length; i++) {
+            postings.computeIfAbsent(document.terms()[i], key -> {
+                key.codePoints().forEach(cp -> termsByCodePoint.computeIfAbsent(cp, c -> new HashSet<>()).add(key));
+                return new HashMap<>();
+            }).put(id, document.weights()[i]);
+        }
+    }
+
+    private void removeInternal(Long id) {
+        Document previous = documents.remove(id);
+        if (previous == null) {
+            return;
+        }
+        for (String term : previous.terms()) {
+            Map<Long, Integer> docs = postings.get(term);
+            if (docs != null) {
+                docs.remove(id);
+                if (docs.isEmpty()) {
+                    postings.remove(term);
+                    term.codePoints().forEach(cp -> {
+                        Set<String> terms = termsByCodePoint.get(cp);
+                        if (terms != null && terms.remove(term) && terms.isEmpty()) {
+                            termsByCodePoint.remove(cp);
+                        }
+                    });
+                }
+            }
+        }
+    }
+
+    private static String stripHtml(String text) {
+        return text == null ? null : HTML_TAG.matcher(text).replaceAll(" ");
+    }
+
+    // 소문자 변환 후 문자/숫자 단위로 단어를 나누고, 두 글자 이상인 단어는 2-gram 으로 분해
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        List<String> tokens = new ArrayList<>();
+        for (String word : NON_WORD.split(text.toLowerCase(Locale.ROOT))) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            int[] codePoints = word.codePoints().toArray();
+            if (codePoints.length == 1) {
+                tokens.add(word);
+                continue;
+            }
+            for (int i = 0; i + 1 < codePoints.length; i++) {
+                tokens.add(new String(codePoints, i, 2));
+            }
+        }
+        return tokens;
+    }
+}
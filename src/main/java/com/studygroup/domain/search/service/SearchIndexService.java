@@ -0,0 +1,345 @@
+package com.studygroup.domain.search.service;
+
+import com.studygroup.domain.board.dto.BoardPostChangedEvent;
+import com.studygroup.domain.board.repository.BoardPostRepository;
+import com.studygroup.domain.study.dto.StudyGroupChangedEvent;
+import com.studygroup.domain.study.repository.StudyGroupRepository;
+import com.studygroup.global.service.ClusterEventBus;
+import com.studygroup.global.util.LongSet;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 스터디/게시글 키워드 검색용 역색인을 관리하는 서비스.
+ * - 시작 시 로컬 스냅샷을 읽고, 스냅샷 이후 변경분만 DB에서 다시 색인 (스냅샷이 없으면 전체 색인)
+ *   수정 시각이 바뀌지 않는 삭제/블라인드는 변경분 조회로 알 수 없으므로, DB의 검색 대상 ID 목록과 비교해 없는 문서를 지운다.
+ * - 생성/수정/삭제/블라인드 이벤트가 커밋되면 해당 문서만 다시 색인
+ *   전체 재구성 중에 들어온 변경은 새 색인에 빠질 수 있으므로, 문서 ID 를 모아 두었다가 교체 전후에 다시 읽어 반영한다.
+ *   색인은 서버마다 따로 있으므로, 다중 서버(app.websocket.fanout=redis)에서는 다른 서버에도 문서 ID 를 알려 다시 색인하게 한다.
+ * - 색인이 준비되기 전에는 isReady()가 false 이므로 호출 측에서 기존 LIKE 검색으로 대체
+ */
+@Slf4j
+@Service
+public class SearchIndexService {
+
+    private static final int REBUILD_BATCH_SIZE = 500;
+    private static final String STUDY_SNAPSHOT_FILE = "studies.idx";
+    private static final String POST_SNAPSHOT_FILE = "posts.idx";
+    // 스냅샷 직전에 처리 중이던 비동기 색인 이벤트를 놓치지 않도록 여유를 두고 다시 색인
+    private static final long SNAPSHOT_SAFETY_MARGIN_MINUTES = 5;
+    private static final String STUDY_TOPIC = "search:study";
+    private static final String POST_TOPIC = "search:post";
+
+    private final StudyGroupRepository studyGroupRepository;
+    private final BoardPostRepository boardPostRepository;
+    private final ClusterEventBus clusterEventBus;
+    private final Path indexDirectory;
+
+    private final InvertedIndex studyIndex = new InvertedIndex();
+    private final InvertedIndex postIndex = new InvertedIndex();
+    private final AtomicBoolean dirty = new AtomicBoolean(false);
+    // 전체 재구성 중인 색인 -> 재구성하는 동안 변경 이벤트로 다시 색인한 문서 ID
+    private final Map<InvertedIndex, Set<Long>> rebuildChanges = new ConcurrentHashMap<>();
+    private volatile boolean ready = false;
+
+    public SearchIndexService(StudyGroupRepository studyGroupRepository,
+                              BoardPostRepository boardPostRepository,
+                              ClusterEventBus clusterEventBus,
+                              @Value("${app.search.index-dir:./search-index/}") String indexDir) {
+        this.studyGroupRepository = studyGroupRepository;
+        this.boardPostRepository = boardPostRepository;
+        this.clusterEventBus = clusterEventBus;
+        this.indexDirectory = Paths.get(indexDir).toAbsolutePath().normalize();
+        // 다른 서버에서 변경된 문서 (준비 전이면 무시: 초기화 때 DB 기준으로 맞춰짐)
+        clusterEventBus.subscribe(STUDY_TOPIC, payload -> {
+            if (ready) {
+                reindexStudyGroup(Long.valueOf(payload));
+            }
+        });
+        clusterEventBus.subscribe(POST_TOPIC, payload -> {
+            if (ready) {
+                reindexBoardPost(Long.valueOf(payload));
+            }
+        });
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    // category 가 null 이면 전체 카테고리 대상, 반환값은 관련도 순 ID 목록
+    public List<Long> searchStudyGroups(String keyword, String category) {
+        return studyIndex.search(keyword, category);
+    }
+
+    public List<Long> searchBoardPosts(String keyword, String category) {
+        return postIndex.search(keyword, category);
+    }
+
+    // 검색 결과를 조회해 보니 DB에 없거나 블라인드된 문서 (색인에서 지우고 다른 서버에도 알림)
+    public void removeStaleStudyGroups(Collection<Long> ids) {
+        for (Long id : ids) {
+            reindexStudyGroup(id);
+            clusterEventBus.publish(STUDY_TOPIC, String.valueOf(id));
+        }
+    }
+
+    public void removeStaleBoardPosts(Collection<Long> ids) {
+        for (Long id : ids) {
+            reindexBoardPost(id);
+            clusterEventBus.publish(POST_TOPIC, String.valueOf(id));
+        }
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        try {
+            loadOrRebuild(studyIndex, STUDY_SNAPSHOT_FILE, studyGroupRepository::findSearchDocuments,
+                    studyGroupRepository::findSearchDocumentsModifiedSince, studyGroupRepository::findSearchableIds,
+                    studyGroupRepository::findSearchDocumentById);
+            loadOrRebuild(postIndex, POST_SNAPSHOT_FILE, boardPostRepository::findSearchDocuments,
+                    boardPostRepository::findSearchDocumentsModifiedSince, boardPostRepository::findSearchableIds,
+                    boardPostRepository::findSearchDocumentById);
+            ready = true;
+            log.info("검색 색인 준비 완료: studies={}, posts={}", studyIndex.size(), postIndex.size());
+        } catch (Exception e) {
+            log.error("검색 색인 초기화 실패. 키워드 검색은 DB LIKE 검색으로 대체됩니다.", e);
+        }
+    }
+
+    // --- 변경 이벤트 처리: 이벤트 종류와 무관하게 DB의 현재 상태를 다시 읽어 반영 (순서가 뒤바뀌어도 안전) ---
+    @Async
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handleStudyGroupChanged(StudyGroupChangedEvent event) {
+        if (!event.getChangeType().isContentChange()) {
+            return;
+        }
+        reindexStudyGroup(event.getStudyGroupId());
+        clusterEventBus.publish(STUDY_TOPIC, String.valueOf(event.getStudyGroupId()));
+    }
+
+    @Async
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handleBoardPostChanged(BoardPostChangedEvent event) {
+        reindexBoardPost(event.getPostId());
+        clusterEventBus.publish(POST_TOPIC, String.valueOf(event.getPostId()));
+    }
+
+    private void reindexStudyGroup(Long id) {
+        reindex(studyIndex, id, studyGroupRepository::findSearchDocumentById);
+    }
+
+    private void reindexBoardPost(Long id) {
+        reindex(postIndex, id, boardPostRepository::findSearchDocumentById);
+    }
+
+    private void reindex(InvertedIndex index, Long id, Function<Long, List<Object[]>> documentLoader) {
+        // DB를 읽기 전에 기록해야, 재구성 중인 새 색인이 이 변경보다 오래된 내용을 갖게 되는 경우를 놓치지 않음
+        Set<Long> changed = rebuildChanges.get(index);
+        if (changed != null) {
+            changed.add(id);
+        }
+        apply(index, id, documentLoader.apply(id));
+        dirty.set(true);
+    }
+
+    private static void apply(InvertedIndex index, Long id, List<Object[]> rows) {
+        if (rows.isEmpty()) {
+            index.remove(id); // 삭제되었거나 블라인드 처리된 문서
+        } else {
+            put(index, rows.get(0));
+        }
+    }
+
+    // 10분마다 변경된 색인을 디스크에 저장
+    @Scheduled(fixedDelay = 600000)
+    public void saveSnapshotIfDirty() {
+        if (ready && dirty.getAndSet(false)) {
+            saveSnapshots();
+        }
+    }
+
+    // 매일 새벽 4시 전체 재색인 (이벤트 유실 등으로 생긴 차이를 정리)
+    @Scheduled(cron = "0 0 4 * * *")
+    public void rebuildAll() {
+        if (!ready) {
+            return;
+        }
+        rebuild(studyIndex, studyGroupRepository::findSearchDocuments, studyGroupRepository::findSearchDocumentById);
+        rebuild(postIndex, boardPostRepository::findSearchDocuments, boardPostRepository::findSearchDocumentById);
+        saveSnapshots();
+        log.info("검색 색인 전체 재구성 완료: studies={}, posts={}", studyIndex.size(), postIndex.size());
+    }
+
+    @PreDestroy
+    public void saveOnShutdown() {
+        if (ready) {
+            saveSnapshots();
+        }
+    }
+
+    private void loadOrRebuild(InvertedIndex index, String fileName,
+                               BiFunction<Long, Pageable, List<Object[]>> fullLoader,
+                               TriFunction<LocalDateTime, Long, Pageable, List<Object[]>> changedLoader,
+                               BiFunction<Long, Pageable, List<Long>> idLoader,
+                               Function<Long, List<Object[]>> documentLoader) {
+        LocalDateTime snapshotTime = readSnapshot(index, indexDirectory.resolve(fileName));
+        if (snapshotTime == null) {
+            rebuild(index, fullLoader, documentLoader);
+            dirty.set(true);
+            return;
+        }
+        LocalDateTime since = snapshotTime.minusMinutes(SNAPSHOT_SAFETY_MARGIN_MINUTES);
+        int count = loadInBatches(index, (afterId, pageable) -> changedLoader.apply(since, afterId, pageable));
+        int removed = removeMissing(index, idLoader);
+        if (count > 0 || removed > 0) {
+            dirty.set(true);
+        }
+        log.info("검색 색인 스냅샷 로드: file={}, docs={}, 이후 변경분 재색인={}, 삭제={}", fileName, index.size(), count, removed);
+    }
+
+    // 스냅샷 이후 삭제/블라인드되어 DB의 검색 대상에 없는 문서를 색인에서 제거
+    private int removeMissing(InvertedIndex index, BiFunction<Long, Pageable, List<Long>> idLoader) {
+        Pageable batch = PageRequest.of(0, REBUILD_BATCH_SIZE);
+        List<Long> liveIds = new ArrayList<>();
+        long afterId = 0L;
+        while (true) {
+            List<Long> ids = idLoader.apply(afterId, batch);
+            liveIds.addAll(ids);
+            if (ids.size() < REBUILD_BATCH_SIZE) {
+                break;
+            }
+            afterId = ids.get(ids.size() - 1);
+        }
+        LongSet live = LongSet.of(liveIds);
+        int removed = 0;
+        for (Long id : index.ids()) {
+            if (!live.contains(id)) {
+                index.remove(id);
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    private void rebuild(InvertedIndex index, BiFunction<Long, Pageable, List<Object[]>> loader,
+                         Function<Long, List<Object[]>> documentLoader) {
+        Set<Long> changed = ConcurrentHashMap.newKeySet();
+        rebuildChanges.put(index, changed);
+        try {
+            InvertedIndex fresh = new InvertedIndex();
+            loadInBatches(fresh, loader);
+            // 일괄 로드는 이미 지나간 배치를 다시 읽지 않으므로, 그 사이 변경된 문서는 DB에서 다시 읽어 새 색인에 반영
+            applyChanged(fresh, changed, documentLoader);
+            // 재구성하는 동안에도 기존 색인으로 검색이 가능하도록, 완성된 뒤 한 번에 교체
+            index.replaceWith(fresh);
+        } finally {
+            rebuildChanges.remove(index);
+        }
+        // 위 반영과 교체 사이에 기존 색인에만 반영된 변경을 교체된 색인에 다시 반영
+        applyChanged(index, changed, documentLoader);
+    }
+
+    private static void applyChanged(InvertedIndex index, Set<Long> changed, Function<Long, List<Object[]>> documentLoader) {
+        for (Long id : List.copyOf(changed)) {
+            // 다시 읽기 전에 지워야, 읽는 도중 같은 문서가 또 변경되어도 다음 반영에서 빠지지 않음
+            changed.remove(id);
+            apply(index, id, documentLoader.apply(id));
+        }
+    }
+
+    private int loadInBatches(InvertedIndex index, BiFunction<Long, Pageable, List<Object[]>> loader) {
+        Pageable batch = PageRequest.of(0, REBUILD_BATCH_SIZE);
+        long afterId = 0L;
+        int total = 0;
+        while (true) {
+            List<Object[]> rows = loader.apply(afterId, batch);
+            for (Object[] row : rows) {
+                put(index, row);
+            }
+            total += rows.size();
+            if (rows.size() < REBUILD_BATCH_SIZE) {
+                return total;
+            }
+            afterId = (Long) rows.get(rows.size() - 1)[0];
+        }
+    }
+
+    private static void put(InvertedIndex index, Object[] row) {
+        // row: id, category(enum), title, description/content
+        index.put((Long) row[0], row[1] != null ? row[1].toString() : null, (String) row[2], (String) row[3]);
+    }
+
+    private LocalDateTime readSnapshot(InvertedIndex index, Path file) {
+        if (!Files.exists(file)) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new GZIPInputStream(new BufferedInputStream(Files.newInputStream(file))))) {
+            LocalDateTime snapshotTime = LocalDateTime.parse(in.readUTF());
+            index.readFrom(in);
+            return snapshotTime;
+        } catch (Exception e) {
+            log.warn("검색 색인 스냅샷을 읽을 수 없어 전체 재색인합니다: file={}", file, e);
+            index.clear();
+            return null;
+        }
+    }
+
+    private synchronized void saveSnapshots() {
+        writeSnapshot(studyIndex, indexDirectory.resolve(STUDY_SNAPSHOT_FILE));
+        writeSnapshot(postIndex, indexDirectory.resolve(POST_SNAPSHOT_FILE));
+    }
+
+    private void writeSnapshot(InvertedIndex index, Path file) {
+        LocalDateTime snapshotTime = LocalDateTime.now();
+        try {
+            Files.createDirectories(indexDirectory);
+            Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new GZIPOutputStream(new BufferedOutputStream(Files.newOutputStream(temp))))) {
+                out.writeUTF(snapshotTime.toString());
+                index.writeTo(out);
+            }
+            // 쓰다가 중단되더라도 기존 스냅샷이 깨지지 않도록 임시 파일을 원자적으로 교체
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.error("검색 색인 스냅샷 저장 실패: file={}", file, e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface TriFunction<A, B, C, R> {
+        R apply(A a, B b, C c);
+    }
+}
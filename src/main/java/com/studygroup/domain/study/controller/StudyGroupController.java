@@ -37,6 +37,17 @@ public class StudyGroupController {
         return ResponseEntity.ok(response);
     }
 
+    // 커서 기반 목록 조회: after 파라미터가 있으면 이 핸들러가 선택됨 (첫 페이지는 after= 로 요청)
+    @GetMapping(params = "after")
+    public ResponseEntity<StudyGroupCursorResponse> getStudyGroupsByCursor(
+            @RequestParam String after,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) StudyCategory category,
+            @CurrentUser UserPrincipal userPrincipal) {
+        log.debug("스터디 그룹 커서 목록 조회 요청: after={}, size={}, category={}", after, size, category);
+        return ResponseEntity.ok(studyGroupService.getStudyGroupsByCursor(after, category, size, userPrincipal));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<StudyGroupDetailResponse> getStudyGroupDetail(
             @PathVariable Long id,
@@ -180,4 +191,16 @@ public class StudyGroupController {
         List<StudyForMapDto> response = studyGroupService.getStudiesForMap();
         return ResponseEntity.ok(response);
     }
+
+    // 화면 영역(viewport) 기준 조회: 영역 파라미터가 모두 있으면 이 핸들러가 선택됨
+    // zoom 은 카카오맵 level (숫자가 클수록 넓은 영역), 넓은 영역에서는 클러스터로 응답
+    @GetMapping(value = "/map", params = {"minLat", "maxLat", "minLng", "maxLng"})
+    public ResponseEntity<StudyMapResponse> getStudiesForMapViewport(
+            @RequestParam double minLat,
+            @RequestParam double maxLat,
+            @RequestParam double minLng,
+            @RequestParam double maxLng,
+            @RequestParam(required = false) Integer zoom) {
+        return ResponseEntity.ok(studyGroupService.getStudiesForMapViewport(minLat, maxLat, minLng, maxLng, zoom));
+    }
 } 
\ No newline at end of file
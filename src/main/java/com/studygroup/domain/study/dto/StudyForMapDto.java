@@ -17,4 +17,11 @@ public class StudyForMapDto {
         this.latitude = studyGroup.getLatitude();
         this.longitude = studyGroup.getLongitude();
     }
+
+    public StudyForMapDto(Long id, String title, Double latitude, Double longitude) {
+        this.id = id;
+        this.title = title;
+        this.latitude = latitude;
+        this.longitude = longitude;
+    }
 }
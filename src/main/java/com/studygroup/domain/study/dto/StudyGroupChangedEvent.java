@@ -0,0 +1,24 @@
+package com.studygroup.domain.study.dto;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+// 스터디 그룹이 변경되었음을 알리는 이벤트 (검색 색인, 상세 캐시 등 파생 데이터 갱신용)
+@Getter
+@RequiredArgsConstructor
+public class StudyGroupChangedEvent {
+
+    public enum ChangeType {
+        CREATED, UPDATED, DELETED, BLINDED,
+        MEMBERS_CHANGED, // 초대/신청/승인/탈퇴 등 멤버 구성 변경
+        LIKED;           // 좋아요/좋아요 취소
+
+        // 제목, 설명, 위치, 상태 등 스터디 본문 자체가 바뀌는 변경인지 여부
+        public boolean isContentChange() {
+            return this != MEMBERS_CHANGED && this != LIKED;
+        }
+    }
+
+    private final Long studyGroupId;
+    private final ChangeType changeType;
+}
@@ -0,0 +1,15 @@
+package com.studygroup.domain.study.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+// 커서 기반 스터디 목록 응답 (GET /api/studies?after=...)
+@Getter
+@Builder
+public class StudyGroupCursorResponse {
+    private List<StudyGroupResponse> content;
+    private String nextCursor; // 다음 페이지 요청 시 after 파라미터로 전달 ("createdAt,id"), 마지막 페이지면 null
+    private boolean hasNext;
+}
@@ -6,8 +6,10 @@ import com.studygroup.domain.study.entity.StudyStatus;
 import com.studygroup.domain.study.entity.StudyType;
 import com.studygroup.domain.study.repository.StudyLikeRepository;
 import com.studygroup.domain.user.entity.User;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Builder;
 import lombok.Getter;
+import lombok.extern.jackson.Jacksonized;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -16,7 +18,8 @@ import java.util.Set;
 import java.util.stream.Collectors;
 
 @Getter
-@Builder
+@Builder(toBuilder = true)
+@Jacksonized // 상세 캐시(StudyGroupDetailCache)에서 JSON 으로 저장/복원하기 위해 추가
 public class StudyGroupDetailResponse {
     private Long id;
     private String title;
@@ -37,10 +40,12 @@ public class StudyGroupDetailResponse {
     private int viewCount;
     private int likeCount;
     private boolean liked; // 현재 사용자가 좋아요를 눌렀는지 여부
+    @JsonProperty("blinded") // 기존 응답 필드명(blinded) 유지 + 캐시 복원 시 같은 이름 사용
     private boolean isBlinded;
 
     @Getter
     @Builder
+    @Jacksonized
     public static class LeaderInfo {
         private Long id;
         private String name;
@@ -50,6 +55,7 @@ public class StudyGroupDetailResponse {
 
     @Getter
     @Builder
+    @Jacksonized
     public static class MemberInfo {
         private Long id;
         private String name;
@@ -60,6 +66,11 @@ public class StudyGroupDetailResponse {
     }
 
     public static StudyGroupDetailResponse from(StudyGroup studyGroup,  boolean isLikedByCurrentUser) {
+        return from(studyGroup, isLikedByCurrentUser, 0L);
+    }
+
+    // pendingViewCount: 아직 DB에 반영되지 않은 조회수 증가분 (ViewCountService)
+    public static StudyGroupDetailResponse from(StudyGroup studyGroup, boolean isLikedByCurrentUser, long pendingViewCount) {
 
         return StudyGroupDetailResponse.builder()
                 .id(studyGroup.getId())
@@ -95,7 +106,7 @@ public class StudyGroupDetailResponse {
                 .createdAt(studyGroup.getCreatedAt())
                 .modifiedAt(studyGroup.getModifiedAt())
 
-                .viewCount(studyGroup.getViewCount())
+                .viewCount((int) (studyGroup.getViewCount() + pendingViewCount))
                 .likeCount(studyGroup.getLikeCount())
                 .liked(isLikedByCurrentUser)
                 .isBlinded(studyGroup.isBlinded())
@@ -36,6 +36,11 @@ public class StudyGroupResponse {
     private boolean liked; // 현재 사용자가 좋아요를 눌렀는지 여부
 
     public static StudyGroupResponse from(StudyGroup studyGroup, boolean isLiked) {
+        return from(studyGroup, isLiked, 0L);
+    }
+
+    // pendingViewCount: 아직 DB에 반영되지 않은 조회수 증가분 (ViewCountService)
+    public static StudyGroupResponse from(StudyGroup studyGroup, boolean isLiked, long pendingViewCount) {
         return StudyGroupResponse.builder()
                 .id(studyGroup.getId())
                 .title(studyGroup.getTitle())
@@ -55,7 +60,7 @@ public class StudyGroupResponse {
                 .leaderProfile(studyGroup.getLeader().getProfile())
                 .createdAt(studyGroup.getCreatedAt())
                 .modifiedAt(studyGroup.getModifiedAt())
-                .viewCount(studyGroup.getViewCount())
+                .viewCount((int) (studyGroup.getViewCount() + pendingViewCount))
                 .likeCount(studyGroup.getLikeCount())
                 .liked(isLiked)
                 .build();
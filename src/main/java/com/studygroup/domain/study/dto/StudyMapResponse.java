@@ -0,0 +1,24 @@
+package com.studygroup.domain.study.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+// 지도 화면 영역(viewport) 조회 응답
+// 확대 수준이 낮거나 마커가 너무 많으면 개별 스터디 대신 클러스터(개수 + 중심 좌표)로 내려줌
+@Getter
+@Builder
+public class StudyMapResponse {
+    private boolean clustered;
+    private List<StudyForMapDto> studies;   // clustered = false 일 때
+    private List<Cluster> clusters;         // clustered = true 일 때
+
+    @Getter
+    @Builder
+    public static class Cluster {
+        private double latitude;  // 클러스터에 포함된 스터디들의 평균 위도
+        private double longitude; // 평균 경도
+        private int count;
+    }
+}
@@ -16,6 +16,10 @@ import java.util.Set;
 @Entity
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(indexes = {
+        // 커서(keyset) 기반 목록 조회용: WHERE is_blinded = false ORDER BY created_at DESC, study_group_id DESC
+        @Index(name = "idx_study_group_blinded_created", columnList = "is_blinded, created_at, study_group_id")
+})
 public class StudyGroup extends BaseTimeEntity {
 
     @Id
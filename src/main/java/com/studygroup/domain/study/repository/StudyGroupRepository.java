@@ -7,6 +7,8 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -27,6 +29,15 @@ public interface StudyGroupRepository extends JpaRepository<StudyGroup, Long> {
     @EntityGraph(attributePaths = {"leader", "members.user", "tags.tag"})
     Optional<StudyGroup> findById(Long id);
 
+    // 상세 캐시에 포함되지 않는 조회수만 PK 로 조회
+    @Query("SELECT sg.viewCount FROM StudyGroup sg WHERE sg.id = :id")
+    Optional<Integer> findViewCountById(@Param("id") Long id);
+
+    // 멤버/태그 컬렉션 없이 리더만 함께 조회 (수정처럼 컬렉션 전체가 필요 없는 경우)
+    @EntityGraph(attributePaths = {"leader"})
+    @Query("SELECT sg FROM StudyGroup sg WHERE sg.id = :id")
+    Optional<StudyGroup> findWithLeaderById(@Param("id") Long id);
+
     @Query("SELECT DISTINCT sg FROM StudyGroup sg " +
            "LEFT JOIN FETCH sg.tags sgt " +
            "LEFT JOIN FETCH sgt.tag " +
@@ -75,6 +86,20 @@ public interface StudyGroupRepository extends JpaRepository<StudyGroup, Long> {
     @Query("UPDATE StudyGroup sg SET sg.isBlinded = true WHERE sg.id = :id")
     void blindById(@Param("id") Long id);
 
+    // 추천 엔진용: 모집중이고 블라인드되지 않은 스터디의 (ID, 좋아요 수)
+    @Query("SELECT sg.id, sg.likeCount FROM StudyGroup sg " +
+            "WHERE sg.status = 'RECRUITING' AND sg.isBlinded = false")
+    List<Object[]> findRecruitingLikeCounts();
+
+    @Query("SELECT sg.likeCount FROM StudyGroup sg WHERE sg.id = :id")
+    Optional<Integer> findLikeCountById(@Param("id") Long id);
+
+    // 좋아요 수를 DB에서 원자적으로 증감 (엔티티를 읽고 쓰는 사이에 다른 요청의 변경이 덮어써지지 않도록)
+    @Modifying
+    @Query("UPDATE StudyGroup sg SET sg.likeCount = CASE WHEN sg.likeCount + :delta < 0 THEN 0 ELSE sg.likeCount + :delta END " +
+            "WHERE sg.id = :id")
+    int addLikeCount(@Param("id") Long id, @Param("delta") int delta);
+
     @Query(value = "SELECT DISTINCT sg FROM StudyGroup sg " +
             "JOIN FETCH sg.leader " +
             "LEFT JOIN FETCH sg.tags sgt " + // LEFT JOIN FETCH: 태그가 없는 스터디도 조회
@@ -91,4 +116,63 @@ public interface StudyGroupRepository extends JpaRepository<StudyGroup, Long> {
             countQuery = "SELECT count(sg) FROM StudyGroup sg " +
                     "WHERE sg.isBlinded = false AND (sg.title LIKE %:keyword% OR sg.description LIKE %:keyword%)")
     Page<StudyGroup> findByKeywordAndIsBlindedFalse(@Param("keyword") String keyword, Pageable pageable);
+
+    // --- 커서(keyset) 기반 목록 조회 추가 ---
+    // 1단계: 인덱스(is_blinded, created_at, id)만 타는 정렬 키 조회 (limit은 Pageable로 전달, count 쿼리 없음)
+    // row: id, createdAt (다음 커서를 2단계 조회 결과와 무관하게 만들 수 있도록 정렬 키를 함께 반환)
+    @Query("SELECT sg.id, sg.createdAt FROM StudyGroup sg " +
+            "WHERE sg.isBlinded = false " +
+            "AND (:category IS NULL OR sg.category = :category) " +
+            "ORDER BY sg.createdAt DESC, sg.id DESC")
+    List<Object[]> findFirstPageKeys(@Param("category") StudyCategory category, Pageable pageable);
+
+    @Query("SELECT sg.id, sg.createdAt FROM StudyGroup sg " +
+            "WHERE sg.isBlinded = false " +
+            "AND (:category IS NULL OR sg.category = :category) " +
+            "AND (sg.createdAt < :createdAt OR (sg.createdAt = :createdAt AND sg.id < :id)) " +
+            "ORDER BY sg.createdAt DESC, sg.id DESC")
+    List<Object[]> findPageKeysAfterCursor(@Param("category") StudyCategory category,
+                                           @Param("createdAt") LocalDateTime createdAt,
+                                           @Param("id") Long id,
+                                           Pageable pageable);
+
+    // 2단계: 조회한 ID들에 대해서만 리더/태그를 한 번에 로딩 (페이징이 없으므로 메모리 페이징 발생 X)
+    @Query("SELECT DISTINCT sg FROM StudyGroup sg " +
+            "JOIN FETCH sg.leader " +
+            "LEFT JOIN FETCH sg.tags sgt " +
+            "LEFT JOIN FETCH sgt.tag " +
+            "WHERE sg.id IN :ids")
+    List<StudyGroup> findAllWithLeaderAndTagsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // --- 지도 공간 색인 구성을 위한 조회 (id, title, latitude, longitude) ---
+    @Query("SELECT sg.id, sg.title, sg.latitude, sg.longitude FROM StudyGroup sg " +
+            "WHERE sg.status = :status AND sg.studyType IN :studyTypes " +
+            "AND sg.latitude IS NOT NULL AND sg.longitude IS NOT NULL AND sg.isBlinded = false")
+    List<Object[]> findMapLocations(@Param("status") StudyStatus status, @Param("studyTypes") List<StudyType> studyTypes);
+
+    @Query("SELECT sg.id, sg.title, sg.latitude, sg.longitude FROM StudyGroup sg " +
+            "WHERE sg.id = :id AND sg.status = :status AND sg.studyType IN :studyTypes " +
+            "AND sg.latitude IS NOT NULL AND sg.longitude IS NOT NULL AND sg.isBlinded = false")
+    List<Object[]> findMapLocationById(@Param("id") Long id,
+                                       @Param("status") StudyStatus status,
+                                       @Param("studyTypes") List<StudyType> studyTypes);
+
+    // --- 검색 색인 구성을 위한 조회 (id, category, title, description) ---
+    @Query("SELECT sg.id, sg.category, sg.title, sg.description FROM StudyGroup sg " +
+            "WHERE sg.isBlinded = false AND sg.id > :afterId ORDER BY sg.id")
+    List<Object[]> findSearchDocuments(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT sg.id, sg.category, sg.title, sg.description FROM StudyGroup sg " +
+            "WHERE sg.isBlinded = false AND sg.modifiedAt >= :since AND sg.id > :afterId ORDER BY sg.id")
+    List<Object[]> findSearchDocumentsModifiedSince(@Param("since") LocalDateTime since,
+                                                    @Param("afterId") Long afterId,
+                                                    Pageable pageable);
+
+    // 검색 색인 대상(블라인드되지 않은) ID 목록 - 스냅샷 로드 후 삭제/블라인드된 문서를 찾기 위함
+    @Query("SELECT sg.id FROM StudyGroup sg WHERE sg.isBlinded = false AND sg.id > :afterId ORDER BY sg.id")
+    List<Long> findSearchableIds(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT sg.id, sg.category, sg.title, sg.description FROM StudyGroup sg " +
+            "WHERE sg.id = :id AND sg.isBlinded = false")
+    List<Object[]> findSearchDocumentById(@Param("id") Long id);
 } 
\ No newline at end of file
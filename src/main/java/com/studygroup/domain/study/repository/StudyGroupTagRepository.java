@@ -0,0 +1,34 @@
+package com.studygroup.domain.study.repository;
+
+import com.studygroup.domain.study.entity.StudyGroupTag;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface StudyGroupTagRepository extends JpaRepository<StudyGroupTag, Long> {
+
+    // 스터디에 연결된 태그 ID만 조회 (태그 변경 시 diff 계산용)
+    @Query("SELECT sgt.tag.id FROM StudyGroupTag sgt WHERE sgt.studyGroup.id = :studyGroupId")
+    List<Long> findTagIdsByStudyGroupId(@Param("studyGroupId") Long studyGroupId);
+
+    // 추천 엔진용: 모집중이고 블라인드되지 않은 스터디의 (스터디 ID, 태그 ID) 목록
+    @Query("SELECT sgt.studyGroup.id, sgt.tag.id FROM StudyGroupTag sgt " +
+            "WHERE sgt.studyGroup.status = 'RECRUITING' " +
+            "AND sgt.studyGroup.isBlinded = false")
+    List<Object[]> findRecruitingStudyTagPairs();
+
+    @Query("SELECT sgt.tag.id FROM StudyGroupTag sgt " +
+            "WHERE sgt.studyGroup.id = :studyGroupId " +
+            "AND sgt.studyGroup.status = 'RECRUITING' " +
+            "AND sgt.studyGroup.isBlinded = false")
+    List<Long> findRecruitingTagIdsByStudyGroupId(@Param("studyGroupId") Long studyGroupId);
+
+    // 빠진 태그 연결을 한 번의 DELETE 로 제거
+    @Modifying
+    @Query("DELETE FROM StudyGroupTag sgt WHERE sgt.studyGroup.id = :studyGroupId AND sgt.tag.id IN :tagIds")
+    int deleteByStudyGroupIdAndTagIdIn(@Param("studyGroupId") Long studyGroupId, @Param("tagIds") Collection<Long> tagIds);
+}
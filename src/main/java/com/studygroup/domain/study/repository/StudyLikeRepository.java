@@ -6,7 +6,11 @@ import com.studygroup.domain.user.entity.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface StudyLikeRepository extends JpaRepository<StudyLike, Long> {
@@ -19,4 +23,10 @@ public interface StudyLikeRepository extends JpaRepository<StudyLike, Long> {
 
     // 사용자가 좋아요 한 스터디 목록을 페이징하여 조회하는 메소드 (최신순)
     Page<StudyLike> findByUserOrderByCreatedAtDesc(User user, Pageable pageable);
+
+    // --- 목록 페이지의 '좋아요 여부'를 한 번에 조회하기 위한 메소드 추가 ---
+    @Query("SELECT sl.studyGroup.id FROM StudyLike sl " +
+            "WHERE sl.user.id = :userId AND sl.studyGroup.id IN :studyGroupIds")
+    List<Long> findLikedStudyGroupIds(@Param("userId") Long userId,
+                                      @Param("studyGroupIds") Collection<Long> studyGroupIds);
 }
@@ -6,6 +6,10 @@ import com.studygroup.domain.user.entity.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
 
 public interface StudyMemberRepository extends JpaRepository<StudyMember, Long> {
 
@@ -13,4 +17,12 @@ public interface StudyMemberRepository extends JpaRepository<StudyMember, Long>
 
     // 사용자가 참여중(승인된)인 스터디 멤버 정보를 페이징하여 조회하는 메소드 (최신순)
     Page<StudyMember> findByUserAndStatusOrderByCreatedAtDesc(User user, StudyMemberStatus status, Pageable pageable);
+
+    // 사용자가 멤버로 속한(상태 무관) 스터디 ID 목록
+    @Query("SELECT sm.studyGroup.id FROM StudyMember sm WHERE sm.user.id = :userId")
+    List<Long> findStudyGroupIdsByUserId(@Param("userId") Long userId);
+
+    // 멤버 색인(StudyMembershipIndex)용: 엔티티 없이 (사용자 ID, 역할, 상태)만 조회
+    @Query("SELECT sm.user.id, sm.role, sm.status FROM StudyMember sm WHERE sm.studyGroup.id = :studyGroupId")
+    List<Object[]> findMembershipRows(@Param("studyGroupId") Long studyGroupId);
 }
@@ -4,16 +4,30 @@ import com.studygroup.domain.study.entity.Tag;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface TagRepository extends JpaRepository<Tag, Long> {
     Optional<Tag> findByName(String name);
 
+    // 태그 사전(TagDictionary)용 이름 -> ID 조회
+    @Query("SELECT t.id, t.name FROM Tag t WHERE t.name IN :names")
+    List<Object[]> findIdAndNameByNameIn(@Param("names") Collection<String> names);
+
+    // 시작 시 태그 사전 적재용 (최근 생성된 태그부터)
+    @Query("SELECT t.id, t.name FROM Tag t ORDER BY t.id DESC")
+    List<Object[]> findRecentIdAndNames(Pageable pageable);
+
     // 가장 많이 사용된 태그 상위 5개를 조회하는 쿼리
     @Query("SELECT t.name, COUNT(sgt.id) as tagCount " +
             "FROM Tag t JOIN t.studyGroups sgt " +
             "GROUP BY t.id ORDER BY tagCount DESC")
     List<Object[]> findPopularTags(Pageable pageable);
+
+    // 특정 스터디에 달린 태그 조회 (엔티티 그래프 없이 태그만 필요할 때)
+    @Query("SELECT sgt.tag FROM StudyGroupTag sgt WHERE sgt.studyGroup.id = :studyGroupId")
+    List<Tag> findByStudyGroupId(@Param("studyGroupId") Long studyGroupId);
 } 
\ No newline at end of file
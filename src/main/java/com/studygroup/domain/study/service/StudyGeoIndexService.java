@@ -0,0 +1,258 @@
+package com.studygroup.domain.study.service;
+
+import com.studygroup.domain.study.dto.StudyForMapDto;
+import com.studygroup.domain.study.dto.StudyGroupChangedEvent;
+import com.studygroup.domain.study.dto.StudyMapResponse;
+import com.studygroup.domain.study.entity.StudyStatus;
+import com.studygroup.domain.study.entity.StudyType;
+import com.studygroup.domain.study.repository.StudyGroupRepository;
+import com.studygroup.global.service.ClusterEventBus;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 지도에 표시할 스터디(모집중 + 오프라인/하이브리드 + 좌표 있음)의 메모리 공간 색인.
+ * 위도/경도를 0.01도(약 1km) 격자로 나눠 저장하고, 화면 영역에 걸친 격자만 확인하므로
+ * 조회 비용이 전체 스터디 수가 아니라 화면 영역에 비례한다.
+ * 스터디 변경 이벤트가 커밋되면 해당 스터디만 다시 읽어 색인을 갱신한다.
+ * 색인은 서버마다 따로 있으므로, 다중 서버(app.websocket.fanout=redis)에서는 다른 서버에도 스터디 ID 를 알려 다시 읽게 하고,
+ * 알림이 유실되어 생긴 차이는 주기적인 전체 재적재로 정리한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StudyGeoIndexService {
+
+    private static final double CELL_SIZE = 0.01;
+    private static final long CELLS_PER_ROW = 36_000L; // 경도 360도 / 0.01
+    private static final List<StudyType> MAP_STUDY_TYPES = List.of(StudyType.OFFLINE, StudyType.HYBRID);
+
+    // 카카오맵 level 기준 (숫자가 클수록 넓은 지역). 이 레벨 이상이면 서버에서 클러스터링
+    private static final int CLUSTER_MIN_ZOOM_LEVEL = 8;
+    private static final int MAX_MARKERS = 300;  // 이보다 많으면 확대 수준과 무관하게 클러스터링
+    private static final int CLUSTER_GRID = 8;   // 화면을 8 x 8 칸으로 나눠 클러스터 생성
+    private static final String CHANGED_TOPIC = "geo:study";
+
+    private record Location(Long id, String title, double latitude, double longitude) {
+    }
+
+    private final StudyGroupRepository studyGroupRepository;
+    private final ClusterEventBus clusterEventBus;
+
+    // Key: 격자 셀 번호, Value: (스터디 ID -> 위치). 전체 재적재 시 새 맵으로 통째로 교체
+    private volatile Map<Long, Map<Long, Location>> cells = new ConcurrentHashMap<>();
+    private volatile Map<Long, Location> locations = new ConcurrentHashMap<>();
+    private volatile boolean loaded = false;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        ensureLoaded();
+    }
+
+    // 다른 서버에서 변경된 스터디 (적재 전이면 무시: 최초 적재 때 DB 기준으로 맞춰짐)
+    @PostConstruct
+    public void subscribeClusterChanges() {
+        clusterEventBus.subscribe(CHANGED_TOPIC, payload -> {
+            if (loaded) {
+                reload(Long.valueOf(payload));
+            }
+        });
+    }
+
+    @Async
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handleStudyGroupChanged(StudyGroupChangedEvent event) {
+        if (!loaded || !event.getChangeType().isContentChange()) {
+            return; // 최초 적재 시 DB의 최신 상태가 반영됨 / 멤버·좋아요 변경은 지도와 무관
+        }
+        reload(event.getStudyGroupId());
+        clusterEventBus.publish(CHANGED_TOPIC, String.valueOf(event.getStudyGroupId()));
+    }
+
+    // 30분마다 DB 기준으로 전체를 다시 적재 (다른 서버의 변경 알림 유실 등으로 생긴 차이를 정리)
+    @Scheduled(fixedDelay = 1800000, initialDelay = 1800000)
+    public void reloadAll() {
+        if (!loaded) {
+            return;
+        }
+        synchronized (this) {
+            // 조회~교체 동안 이벤트의 put/remove 가 기다리도록 잠근 채로 읽어, 교체로 변경이 사라지지 않게 함
+            Map<Long, Map<Long, Location>> freshCells = new ConcurrentHashMap<>();
+            Map<Long, Location> freshLocations = new ConcurrentHashMap<>();
+            for (Object[] row : studyGroupRepository.findMapLocations(StudyStatus.RECRUITING, MAP_STUDY_TYPES)) {
+                Location location = toLocation(row);
+                freshLocations.put(location.id(), location);
+                freshCells.computeIfAbsent(cellKey(location), key -> new ConcurrentHashMap<>()).put(location.id(), location);
+            }
+            cells = freshCells;
+            locations = freshLocations;
+            log.info("지도 공간 색인 재적재 완료: studies={}, cells={}", freshLocations.size(), freshCells.size());
+        }
+    }
+
+    private void reload(Long studyGroupId) {
+        List<Object[]> rows = studyGroupRepository.findMapLocationById(
+                studyGroupId, StudyStatus.RECRUITING, MAP_STUDY_TYPES);
+        if (rows.isEmpty()) {
+            remove(studyGroupId); // 모집 종료, 온라인 전환, 좌표 삭제, 블라인드, 삭제 등
+        } else {
+            put(toLocation(rows.get(0)));
+        }
+    }
+
+    // 지도에 표시할 전체 스터디 (기존 /api/studies/map 응답과 동일)
+    public List<StudyForMapDto> findAll() {
+        ensureLoaded();
+        return locations.values().stream()
+                .map(StudyGeoIndexService::toDto)
+                .toList();
+    }
+
+    public StudyMapResponse findInViewport(double minLat, double maxLat, double minLng, double maxLng, Integer zoomLevel) {
+        if (minLat > maxLat || minLng > maxLng) {
+            throw new IllegalArgumentException("잘못된 지도 영역입니다. (min 값은 max 값보다 클 수 없습니다)");
+        }
+        ensureLoaded();
+
+        List<Location> found = new ArrayList<>();
+        long minRow = row(minLat), maxRow = row(maxLat);
+        long minCol = col(minLng), maxCol = col(maxLng);
+        long viewportCells = (maxRow - minRow + 1) * (maxCol - minCol + 1);
+        Map<Long, Map<Long, Location>> cells = this.cells; // 조회 도중 전체 재적재로 교체되어도 같은 맵을 읽음
+
+        // 화면에 걸친 셀 수와 실제 데이터가 있는 셀 수 중 적은 쪽을 순회
+        if (viewportCells <= cells.size()) {
+            for (long r = minRow; r <= maxRow; r++) {
+                for (long c = minCol; c <= maxCol; c++) {
+                    Map<Long, Location> cell = cells.get(r * CELLS_PER_ROW + c);
+                    if (cell != null) {
+                        collect(cell.values(), minLat, maxLat, minLng, maxLng, found);
+                    }
+                }
+            }
+        } else {
+            for (Map<Long, Location> cell : cells.values()) {
+                collect(cell.values(), minLat, maxLat, minLng, maxLng, found);
+            }
+        }
+
+        boolean cluster = (zoomLevel != null && zoomLevel >= CLUSTER_MIN_ZOOM_LEVEL) || found.size() > MAX_MARKERS;
+        if (!cluster) {
+            return StudyMapResponse.builder()
+                    .clustered(false)
+                    .studies(found.stream().map(StudyGeoIndexService::toDto).toList())
+                    .clusters(List.of())
+                    .build();
+        }
+        return StudyMapResponse.builder()
+                .clustered(true)
+                .studies(List.of())
+                .clusters(clusterize(found, minLat, maxLat, minLng, maxLng))
+                .build();
+    }
+
+    private static List<StudyMapResponse.Cluster> clusterize(List<Location> found, double minLat, double maxLat,
+                                                             double minLng, double maxLng) {
+        double latStep = Math.max((maxLat - minLat) / CLUSTER_GRID, 1e-9);
+        double lngStep = Math.max((maxLng - minLng) / CLUSTER_GRID, 1e-9);
+
+        // Key: 클러스터 칸 번호, Value: {위도 합, 경도 합, 개수}
+        Map<Integer, double[]> buckets = new HashMap<>();
+        for (Location location : found) {
+            int r = Math.min((int) ((location.latitude() - minLat) / latStep), CLUSTER_GRID - 1);
+            int c = Math.min((int) ((location.longitude() - minLng) / lngStep), CLUSTER_GRID - 1);
+            double[] sum = buckets.computeIfAbsent(r * CLUSTER_GRID + c, key -> new double[3]);
+            sum[0] += location.latitude();
+            sum[1] += location.longitude();
+            sum[2]++;
+        }
+        return buckets.values().stream()
+                .map(sum -> StudyMapResponse.Cluster.builder()
+                        .latitude(sum[0] / sum[2])
+                        .longitude(sum[1] / sum[2])
+                        .count((int) sum[2])
+                        .build())
+                .toList();
+    }
+
+    private static void collect(Collection<Location> candidates, double minLat, double maxLat,
+                                double minLng, double maxLng, List<Location> result) {
+        for (Location location : candidates) {
+            if (location.latitude() >= minLat && location.latitude() <= maxLat
+                    && location.longitude() >= minLng && location.longitude() <= maxLng) {
+                result.add(location);
+            }
+        }
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        synchronized (this) {
+            if (loaded) {
+                return;
+            }
+            List<Object[]> rows = studyGroupRepository.findMapLocations(StudyStatus.RECRUITING, MAP_STUDY_TYPES);
+            rows.forEach(row -> put(toLocation(row)));
+            loaded = true;
+            log.info("지도 공간 색인 적재 완료: studies={}, cells={}", locations.size(), cells.size());
+        }
+    }
+
+    private synchronized void put(Location location) {
+        remove(location.id());
+        locations.put(location.id(), location);
+        cells.computeIfAbsent(cellKey(location), key -> new ConcurrentHashMap<>()).put(location.id(), location);
+    }
+
+    private synchronized void remove(Long studyGroupId) {
+        Location previous = locations.remove(studyGroupId);
+        if (previous == null) {
+            return;
+        }
+        long key = cellKey(previous);
+        Map<Long, Location> cell = cells.get(key);
+        if (cell != null) {
+            cell.remove(studyGroupId);
+            if (cell.isEmpty()) {
+                cells.remove(key);
+            }
+        }
+    }
+
+    private static Location toLocation(Object[] row) {
+        // row: id, title, latitude, longitude
+        return new Location((Long) row[0], (String) row[1], (Double) row[2], (Double) row[3]);
+    }
+
+    private static StudyForMapDto toDto(Location location) {
+        return new StudyForMapDto(location.id(), location.title(), location.latitude(), location.longitude());
+    }
+
+    private static long cellKey(Location location) {
+        return row(location.latitude()) * CELLS_PER_ROW + col(location.longitude());
+    }
+
+    private static long row(double latitude) {
+        return (long) Math.floor((Math.max(-90, Math.min(90, latitude)) + 90) / CELL_SIZE);
+    }
+
+    private static long col(double longitude) {
+        return Math.min((long) Math.floor((Math.max(-180, Math.min(180, longitude)) + 180) / CELL_SIZE), CELLS_PER_ROW - 1);
+    }
+}
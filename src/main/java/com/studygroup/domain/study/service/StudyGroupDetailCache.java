@@ -0,0 +1,161 @@
+package com.studygroup.domain.study.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.studygroup.domain.study.dto.StudyGroupChangedEvent;
+import com.studygroup.domain.study.dto.StudyGroupDetailResponse;
+import com.studygroup.domain.study.repository.StudyMemberRepository;
+import com.studygroup.domain.user.dto.UserProfileUpdatedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * 스터디 상세 응답 중 사용자와 무관한 부분(좋아요 여부 제외)을 캐싱하는 2단계 캐시.
+ * - 1단계: 서버 메모리의 LRU 캐시 (짧은 시간 동안은 Redis 확인 없이 바로 사용)
+ * - 2단계: Redis (서버 간 공유)
+ * 스터디마다 Redis 에 버전 번호를 두고, 변경이 커밋되면 버전을 올려 이전 버전의 캐시를 모두 무효화한다.
+ * 응답에 리더/멤버의 이름·프로필이 포함되므로, 사용자가 프로필을 수정하면 그 사용자가 속한 스터디의 버전도 올린다.
+ * 데이터 키에 버전이 포함되어 있으므로, 변경 전에 읽은 값이 늦게 저장되더라도 새 버전을 읽는 요청에는 보이지 않는다.
+ * 조회수는 3초마다 바뀌므로 캐시하지 않는다. (호출 측에서 요청마다 DB 값 + 미반영 증가분을 합침)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StudyGroupDetailCache {
+
+    private static final String VERSION_KEY_PREFIX = "study:detail:version:";
+    private static final String DATA_KEY_PREFIX = "study:detail:";
+    private static final Duration DATA_TTL = Duration.ofMinutes(30);
+
+    private static final int LOCAL_MAX_ENTRIES = 1000;
+    private static final long LOCAL_TRUST_MILLIS = 3_000;  // 이 시간 안에는 Redis 버전 확인 없이 메모리 값 사용
+    private static final long LOCAL_TTL_MILLIS = 60_000;
+
+    private record LocalEntry(long version, StudyGroupDetailResponse response, long verifiedAt, long loadedAt) {
+    }
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final StudyMemberRepository studyMemberRepository;
+
+    // 접근 순서 기반 LRU (최대 LOCAL_MAX_ENTRIES 개)
+    private final Map<Long, LocalEntry> localCache = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, LocalEntry> eldest) {
+            return size() > LOCAL_MAX_ENTRIES;
+        }
+    };
+
+    /**
+     * 캐시된 상세 응답을 반환하고, 없으면 loader 로 만들어 저장한다.
+     * Redis 장애 시에는 로컬 캐시와 loader 만으로 동작한다.
+     */
+    public StudyGroupDetailResponse get(Long studyGroupId, Supplier<StudyGroupDetailResponse> loader) {
+        long now = System.currentTimeMillis();
+        LocalEntry local = getLocal(studyGroupId);
+        if (local != null && now - local.loadedAt() < LOCAL_TTL_MILLIS && now - local.verifiedAt() < LOCAL_TRUST_MILLIS) {
+            return local.response();
+        }
+
+        Long version = readVersion(studyGroupId);
+        if (version == null) {
+            // Redis 를 사용할 수 없으면 DB에서 직접 조회 (로컬 캐시는 버전을 알 수 없으므로 사용하지 않음)
+            return loader.get();
+        }
+        if (local != null && local.version() == version && now - local.loadedAt() < LOCAL_TTL_MILLIS) {
+            putLocal(studyGroupId, new LocalEntry(version, local.response(), now, local.loadedAt()));
+            return local.response();
+        }
+
+        String dataKey = dataKey(studyGroupId, version);
+        StudyGroupDetailResponse response = readData(dataKey);
+        if (response == null) {
+            response = loader.get();
+            writeData(dataKey, response);
+        }
+        putLocal(studyGroupId, new LocalEntry(version, response, now, now));
+        return response;
+    }
+
+    // 스터디 내용, 멤버, 블라인드, 좋아요 등 모든 변경은 커밋 직후 동기적으로 버전을 올림
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handleStudyGroupChanged(StudyGroupChangedEvent event) {
+        invalidate(event.getStudyGroupId());
+    }
+
+    // 리더도 LEADER 역할의 멤버로 저장되므로, 멤버십(상태 무관)이 있는 스터디만 무효화하면 됨
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handleUserProfileUpdated(UserProfileUpdatedEvent event) {
+        try {
+            studyMemberRepository.findStudyGroupIdsByUserId(event.getUserId()).forEach(this::invalidate);
+        } catch (Exception e) {
+            log.warn("프로필 변경에 따른 스터디 상세 캐시 무효화 실패: userId={}", event.getUserId(), e);
+        }
+    }
+
+    public void invalidate(Long studyGroupId) {
+        removeLocal(studyGroupId);
+        try {
+            redisTemplate.opsForValue().increment(VERSION_KEY_PREFIX + studyGroupId);
+        } catch (Exception e) {
+            log.warn("스터디 상세 캐시 버전 갱신 실패: studyId={}", studyGroupId, e);
+        }
+    }
+
+    private Long readVersion(Long studyGroupId) {
+        try {
+            String value = redisTemplate.opsForValue().get(VERSION_KEY_PREFIX + studyGroupId);
+            return value != null ? Long.parseLong(value) : 0L;
+        } catch (Exception e) {
+            log.warn("스터디 상세 캐시 버전 조회 실패: studyId={}", studyGroupId, e);
+            return null;
+        }
+    }
+
+    private StudyGroupDetailResponse readData(String dataKey) {
+        try {
+            String json = redisTemplate.opsForValue().get(dataKey);
+            return json != null ? objectMapper.readValue(json, StudyGroupDetailResponse.class) : null;
+        } catch (Exception e) {
+            log.warn("스터디 상세 캐시 조회 실패: key={}", dataKey, e);
+            return null;
+        }
+    }
+
+    private void writeData(String dataKey, StudyGroupDetailResponse response) {
+        try {
+            redisTemplate.opsForValue().set(dataKey, objectMapper.writeValueAsString(response), DATA_TTL);
+        } catch (Exception e) {
+            log.warn("스터디 상세 캐시 저장 실패: key={}", dataKey, e);
+        }
+    }
+
+    private static String dataKey(Long studyGroupId, long version) {
+        return DATA_KEY_PREFIX + studyGroupId + ":v" + version;
+    }
+
+    private LocalEntry getLocal(Long studyGroupId) {
+        synchronized (localCache) {
+            return localCache.get(studyGroupId);
+        }
+    }
+
+    private void putLocal(Long studyGroupId, LocalEntry entry) {
+        synchronized (localCache) {
+            localCache.put(studyGroupId, entry);
+        }
+    }
+
+    private void removeLocal(Long studyGroupId) {
+        synchronized (localCache) {
+            localCache.remove(studyGroupId);
+        }
+    }
+}
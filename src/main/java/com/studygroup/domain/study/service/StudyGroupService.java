@@ -4,6 +4,7 @@ import com.studygroup.domain.notification.entity.Notification;
 import com.studygroup.domain.notification.entity.NotificationType;
 import com.studygroup.domain.notification.repository.NotificationRepository;
 import com.studygroup.domain.notification.service.NotificationService;
+import com.studygroup.domain.search.service.SearchIndexService;
 import com.studygroup.domain.study.dto.*;
 import com.studygroup.domain.study.entity.*;
 import com.studygroup.domain.study.repository.*;
@@ -14,10 +15,14 @@ import com.studygroup.domain.user.entity.InteractionType;
 import com.studygroup.domain.user.entity.User;
 import com.studygroup.domain.user.repository.UserRepository;
 import com.studygroup.global.security.UserPrincipal;
+import com.studygroup.global.service.ViewCountService;
+import com.studygroup.global.util.LongSet;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
@@ -25,10 +30,13 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.transaction.annotation.Isolation;
 import jakarta.servlet.http.HttpSession;
 
-import java.util.Arrays;
-import java.util.HashSet;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
-import java.util.Set;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -39,58 +47,73 @@ public class StudyGroupService {
 
     private final StudyGroupRepository studyGroupRepository;
     private final TagRepository tagRepository;
+    private final TagDictionary tagDictionary;
     private final UserRepository userRepository;
     private final HttpSession httpSession;
     private static final String VIEW_COUNT_KEY = "VIEW_COUNT_";
     private static final long VIEW_COUNT_INTERVAL = 1000; // 1초
+    private static final int MAX_CURSOR_PAGE_SIZE = 50;
     private final NotificationService notificationService;
     private final StudyMemberRepository studyMemberRepository;
     private final NotificationRepository notificationRepository;
     private final StudyLikeRepository studyLikeRepository;
     private final ApplicationEventPublisher eventPublisher;
-
-    @Transactional
+    private final ViewCountService viewCountService;
+    private final SearchIndexService searchIndexService;
+    private final StudyGeoIndexService studyGeoIndexService;
+    private final StudyGroupDetailCache studyGroupDetailCache;
+    private final StudyMembershipIndex studyMembershipIndex;
+
+    // 조회수는 ViewCountService에 버퍼링되므로 읽기 전용 트랜잭션으로 처리
+    // 사용자와 무관한 부분은 StudyGroupDetailCache 에서 가져오고, 좋아요 여부와 조회수만 요청마다 합침
+    // (조회수는 캐시하지 않음: 3초마다 반영되는 값 때문에 많이 조회되는 스터디의 캐시가 계속 무효화되지 않도록)
     public StudyGroupDetailResponse getStudyGroupDetail(Long id, UserPrincipal currentUserPrincipal) {
-        StudyGroup studyGroup = studyGroupRepository.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException("Study group not found with id: " + id));
-        
-        incrementViewCountIfNeeded(studyGroup);
+        StudyGroupDetailResponse cached = studyGroupDetailCache.get(id, () -> StudyGroupDetailResponse.from(
+                studyGroupRepository.findById(id)
+                        .orElseThrow(() -> new IllegalArgumentException("Study group not found with id: " + id)),
+                false).toBuilder().viewCount(0).build());
+
+        incrementViewCountIfNeeded(id);
 
-        // --- '조회' 이벤트 발행 ---
+        // --- '조회' 이벤트 발행 (태그는 리스너에서 ID로 다시 조회하므로 프록시만 전달) ---
         if (currentUserPrincipal != null) {
-            User user = userRepository.findById(currentUserPrincipal.getId()).orElse(null);
-            if (user != null) {
-                eventPublisher.publishEvent(new TagInteractionEvent(user, studyGroup, InteractionType.VIEW_STUDY));
-            }
+            eventPublisher.publishEvent(new TagInteractionEvent(
+                    userRepository.getReferenceById(currentUserPrincipal.getId()),
+                    studyGroupRepository.getReferenceById(id),
+                    InteractionType.VIEW_STUDY));
         }
 
-        boolean isLiked = false;
-        if (currentUserPrincipal != null) {
-            User user = userRepository.findById(currentUserPrincipal.getId())
-                    .orElse(null); // 실제 User 객체 필요
-            if (user != null) {
-                isLiked = studyLikeRepository.existsByUserAndStudyGroup(user, studyGroup);
-            }
+        boolean isLiked = findLikedStudyGroupIds(currentUserPrincipal, List.of(id)).contains(id);
+        return cached.toBuilder()
+                .liked(isLiked)
+                .viewCount((int) (studyGroupRepository.findViewCountById(id).orElse(0) + pendingViewCount(id)))
+                .build();
+    }
+
+    private long pendingViewCount(Long studyGroupId) {
+        return viewCountService.getPendingCount(ViewCountService.Target.STUDY_GROUP, studyGroupId);
+    }
+
+    // 현재 사용자가 좋아요를 누른 스터디 ID를 한 번의 IN 쿼리로 조회 (비로그인 시 빈 집합)
+    private LongSet findLikedStudyGroupIds(UserPrincipal currentUserPrincipal, Collection<Long> studyGroupIds) {
+        if (currentUserPrincipal == null || studyGroupIds.isEmpty()) {
+            return LongSet.EMPTY;
         }
-        // StudyGroupDetailResponse.from() 메소드를 수정하여 isLiked 값을 받도록 하거나,
-        // 여기서 DTO를 직접 채우는 것이 더 나을 수 있음.
-        // 아래는 from 메소드가 isLiked를 받는다고 가정한 예시 (또는 from 메소드 내에서 처리)
-        return StudyGroupDetailResponse.from(studyGroup, isLiked); // StudyGroupDetailResponse.from 수정 필요
+        return LongSet.of(studyLikeRepository.findLikedStudyGroupIds(currentUserPrincipal.getId(), studyGroupIds));
     }
 
-    private void incrementViewCountIfNeeded(StudyGroup studyGroup) {
-        String viewKey = VIEW_COUNT_KEY + studyGroup.getId();
+    private void incrementViewCountIfNeeded(Long studyGroupId) {
+        String viewKey = VIEW_COUNT_KEY + studyGroupId;
         Long lastViewTime = (Long) httpSession.getAttribute(viewKey);
         long currentTime = System.currentTimeMillis();
 
         if (lastViewTime == null || currentTime - lastViewTime > VIEW_COUNT_INTERVAL) {
-            studyGroup.incrementViewCount();
+            viewCountService.increment(ViewCountService.Target.STUDY_GROUP, studyGroupId);
             httpSession.setAttribute(viewKey, currentTime);
-            log.info("조회수 증가: studyId={}, 현재 조회수={}", 
-                studyGroup.getId(), studyGroup.getViewCount());
+            log.info("조회수 증가: studyId={}, 미반영 조회수={}", studyGroupId, pendingViewCount(studyGroupId));
         } else {
             log.info("조회수 증가 제외 (중복 요청): studyId={}, 마지막 조회 시간과의 차이={}ms", 
-                studyGroup.getId(), currentTime - lastViewTime);
+                studyGroupId, currentTime - lastViewTime);
         }
     }
 
@@ -117,18 +140,13 @@ public class StudyGroupService {
                 .endDate(request.getEndDate())
                 .build();
 
-        // 태그 처리
+        // 태그 처리 (태그 사전으로 한 번에 ID를 확보하고, 엔티티는 프록시로만 참조)
         if (request.getTags() != null && !request.getTags().isEmpty()) {
-            Set<StudyGroupTag> studyGroupTags = new HashSet<>();
-            for (String tagName : request.getTags()) {
-                Tag tag = tagRepository.findByName(tagName)
-                        .orElseGet(() -> tagRepository.save(Tag.builder().name(tagName).build()));
-                
+            for (Long tagId : tagDictionary.resolveIds(request.getTags()).values()) {
                 StudyGroupTag studyGroupTag = StudyGroupTag.builder()
-                        .tag(tag)
+                        .tag(tagRepository.getReferenceById(tagId))
                         .studyGroup(studyGroup)
                         .build();
-                studyGroupTags.add(studyGroupTag);
                 studyGroup.addTag(studyGroupTag);
             }
         }
@@ -152,6 +170,7 @@ public class StudyGroupService {
 
         // --- 스터디 생성 이벤트 발행 로직 추가 ---
         //eventPublisher.publishEvent(new UserActivityEvent(user, ActivityType.CREATE_STUDY, savedStudyGroup.getId()));
+        eventPublisher.publishEvent(new StudyGroupChangedEvent(savedStudyGroup.getId(), StudyGroupChangedEvent.ChangeType.CREATED));
         eventPublisher.publishEvent(new UserActivityEvent(
                 user,
                 ActivityType.CREATE_STUDY,
@@ -175,7 +194,10 @@ public class StudyGroupService {
         // 1. Specification 관련 코드를 모두 제거합니다.
         // 2. if-else 문으로 4가지 경우의 수를 모두 처리합니다.
 
-        if (hasKeyword && category != null) {
+        if (hasKeyword && searchIndexService.isReady()) {
+            // 경우 0: 검색 색인이 준비되어 있으면 역색인으로 관련도 순 검색 (제목 + 설명, 정렬 파라미터는 무시)
+            studyGroups = searchStudyGroups(keyword.trim(), category, pageable);
+        } else if (hasKeyword && category != null) {
             // 경우 1: 키워드와 카테고리 둘 다 있을 때
             studyGroups = studyGroupRepository.findByCategoryAndIsBlindedFalseAndTitleContaining(category, keyword, pageable);
         } else if (hasKeyword) {
@@ -190,27 +212,102 @@ public class StudyGroupService {
         }
         // ---------------------------------------------
 
-        User currentUser = null;
-        if (currentUserPrincipal != null) {
-            currentUser = userRepository.findById(currentUserPrincipal.getId()).orElse(null);
+        LongSet likedIds = findLikedStudyGroupIds(currentUserPrincipal,
+                studyGroups.map(StudyGroup::getId).getContent());
+        return studyGroups.map(studyGroup -> StudyGroupResponse.from(studyGroup,
+                likedIds.contains(studyGroup.getId()), pendingViewCount(studyGroup.getId())));
+    }
+
+    private Page<StudyGroup> searchStudyGroups(String keyword, StudyCategory category, Pageable pageable) {
+        List<Long> rankedIds = searchIndexService.searchStudyGroups(keyword, category != null ? category.name() : null);
+        int from = (int) Math.min(pageable.getOffset(), rankedIds.size());
+        int to = Math.min(from + pageable.getPageSize(), rankedIds.size());
+        List<Long> pageIds = rankedIds.subList(from, to);
+        if (pageIds.isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, rankedIds.size());
+        }
+
+        Map<Long, StudyGroup> studyGroupsById = studyGroupRepository.findAllWithLeaderAndTagsByIdIn(pageIds).stream()
+                .filter(studyGroup -> !studyGroup.isBlinded())
+                .collect(Collectors.toMap(StudyGroup::getId, Function.identity()));
+        List<StudyGroup> content = pageIds.stream()
+                .map(studyGroupsById::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        // 조회되지 않은(삭제/블라인드된) ID 는 색인에서 지우고 전체 개수에서도 뺀다
+        List<Long> staleIds = pageIds.stream().filter(id -> !studyGroupsById.containsKey(id)).toList();
+        if (!staleIds.isEmpty()) {
+            searchIndexService.removeStaleStudyGroups(staleIds);
         }
+        return new PageImpl<>(content, pageable, rankedIds.size() - staleIds.size());
+    }
+
+    // 커서(keyset) 기반 목록 조회: 몇 번째 페이지든 동일한 비용으로 조회
+    // after 형식: "createdAt,id" (예: 2024-05-01T10:00:00.123456,42), 비어 있으면 첫 페이지
+    public StudyGroupCursorResponse getStudyGroupsByCursor(String after, StudyCategory category, int size, UserPrincipal currentUserPrincipal) {
+        int pageSize = Math.min(Math.max(size, 1), MAX_CURSOR_PAGE_SIZE);
+        Pageable limit = PageRequest.of(0, pageSize + 1); // 다음 페이지 존재 여부 확인용으로 1개 더 조회
 
-        User finalCurrentUser = currentUser;
-        return studyGroups.map(studyGroup -> {
-            boolean isLiked = false;
-            if (finalCurrentUser != null) {
-                isLiked = studyLikeRepository.existsByUserAndStudyGroup(finalCurrentUser, studyGroup);
+        List<Object[]> keys;
+        if (after == null || after.isBlank()) {
+            keys = studyGroupRepository.findFirstPageKeys(category, limit);
+        } else {
+            int separator = after.lastIndexOf(',');
+            LocalDateTime cursorCreatedAt;
+            Long cursorId;
+            try {
+                cursorCreatedAt = LocalDateTime.parse(after.substring(0, separator).trim());
+                cursorId = Long.parseLong(after.substring(separator + 1).trim());
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("잘못된 커서 형식입니다: " + after);
             }
-            return StudyGroupResponse.from(studyGroup, isLiked);
-        });
+            keys = studyGroupRepository.findPageKeysAfterCursor(category, cursorCreatedAt, cursorId, limit);
+        }
+
+        boolean hasNext = keys.size() > pageSize;
+        if (hasNext) {
+            keys = keys.subList(0, pageSize);
+        }
+        if (keys.isEmpty()) {
+            return StudyGroupCursorResponse.builder().content(List.of()).hasNext(false).build();
+        }
+
+        List<Long> ids = keys.stream().map(key -> (Long) key[0]).toList();
+        // ID 순서(정렬 순서)를 유지하면서 엔티티를 배치하기 위해 Map으로 변환
+        Map<Long, StudyGroup> studyGroupsById = studyGroupRepository.findAllWithLeaderAndTagsByIdIn(ids).stream()
+                .collect(Collectors.toMap(StudyGroup::getId, Function.identity()));
+        LongSet likedIds = findLikedStudyGroupIds(currentUserPrincipal, ids);
+
+        List<StudyGroupResponse> content = new ArrayList<>(ids.size());
+        for (Long studyGroupId : ids) {
+            StudyGroup studyGroup = studyGroupsById.get(studyGroupId);
+            if (studyGroup != null) { // 두 쿼리 사이에 삭제된 경우는 건너뜀
+                content.add(StudyGroupResponse.from(studyGroup, likedIds.contains(studyGroupId), pendingViewCount(studyGroupId)));
+            }
+        }
+
+        // 다음 커서는 1단계에서 읽은 정렬 키로 생성 (마지막 스터디가 두 쿼리 사이에 삭제되어도 목록이 끊기지 않음)
+        String nextCursor = null;
+        if (hasNext) {
+            Object[] last = keys.get(keys.size() - 1);
+            nextCursor = last[1] + "," + last[0];
+        }
+        return StudyGroupCursorResponse.builder()
+                .content(content)
+                .nextCursor(nextCursor)
+                .hasNext(hasNext)
+                .build();
     }
 
     @Transactional
     public void likeStudy(Long studyId, Long userId) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new IllegalArgumentException("User not found: " + userId));
-        StudyGroup studyGroup = studyGroupRepository.findById(studyId)
-                .orElseThrow(() -> new IllegalArgumentException("Study group not found: " + studyId));
+        // 좋아요 수는 원자적 UPDATE 로 증가시키므로 멤버/태그까지 불러올 필요 없이 프록시만 사용
+        if (!studyGroupRepository.existsById(studyId)) {
+            throw new IllegalArgumentException("Study group not found: " + studyId);
+        }
+        StudyGroup studyGroup = studyGroupRepository.getReferenceById(studyId);
 
         if (studyLikeRepository.existsByUserAndStudyGroup(user, studyGroup)) {
             throw new IllegalStateException("이미 좋아요를 누른 스터디입니다.");
@@ -221,12 +318,13 @@ public class StudyGroupService {
                 .studyGroup(studyGroup)
                 .build();
         studyLikeRepository.save(studyLike);
-        studyGroup.incrementLikeCount();
 
         // --- '좋아요' 이벤트 발행 ---
         eventPublisher.publishEvent(new TagInteractionEvent(user, studyGroup, InteractionType.LIKE_STUDY));
+        eventPublisher.publishEvent(new StudyGroupChangedEvent(studyId, StudyGroupChangedEvent.ChangeType.LIKED));
 
-        // studyGroupRepository.save(studyGroup); // 변경 감지로 저장됨 (likeCount 필드)
+        // 행 잠금 시간을 줄이기 위해 카운터 UPDATE 는 트랜잭션의 마지막 쿼리로 실행
+        studyGroupRepository.addLikeCount(studyId, 1);
         log.info("스터디 좋아요 추가: userId={}, studyId={}", userId, studyId);
     }
 
@@ -234,15 +332,17 @@ public class StudyGroupService {
     public void unlikeStudy(Long studyId, Long userId) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new IllegalArgumentException("User not found: " + userId));
-        StudyGroup studyGroup = studyGroupRepository.findById(studyId)
-                .orElseThrow(() -> new IllegalArgumentException("Study group not found: " + studyId));
+        if (!studyGroupRepository.existsById(studyId)) {
+            throw new IllegalArgumentException("Study group not found: " + studyId);
+        }
+        StudyGroup studyGroup = studyGroupRepository.getReferenceById(studyId);
 
         StudyLike studyLike = studyLikeRepository.findByUserAndStudyGroup(user, studyGroup)
                 .orElseThrow(() -> new IllegalStateException("좋아요를 누르지 않은 스터디입니다."));
 
         studyLikeRepository.delete(studyLike);
-        studyGroup.decrementLikeCount();
-        // studyGroupRepository.save(studyGroup); // 변경 감지로 저장됨
+        eventPublisher.publishEvent(new StudyGroupChangedEvent(studyId, StudyGroupChangedEvent.ChangeType.LIKED));
+        studyGroupRepository.addLikeCount(studyId, -1);
         log.info("스터디 좋아요 취소: userId={}, studyId={}", userId, studyId);
     }
 
@@ -256,6 +356,7 @@ public class StudyGroupService {
         }
 
         studyGroupRepository.delete(studyGroup);
+        eventPublisher.publishEvent(new StudyGroupChangedEvent(groupId, StudyGroupChangedEvent.ChangeType.DELETED));
     }
 
     @Transactional
@@ -303,6 +404,7 @@ public class StudyGroupService {
             
             studyGroup.addMember(newMember);
         }
+        eventPublisher.publishEvent(new StudyGroupChangedEvent(groupId, StudyGroupChangedEvent.ChangeType.MEMBERS_CHANGED));
     }
 
     @Transactional
@@ -372,34 +474,22 @@ public class StudyGroupService {
             log.warn("읽음 처리할 STUDY_INVITE 알림을 찾지 못했습니다 (이미 읽었거나 없음): receiverId={}, studyId={}", userId, groupId);
         }
         // -----------------------------------------------------------------
+        eventPublisher.publishEvent(new StudyGroupChangedEvent(groupId, StudyGroupChangedEvent.ChangeType.MEMBERS_CHANGED));
         log.info("스터디 초대 응답 전체 처리 완료: groupId={}, userId={}, accept={}", groupId, userId, accept);
     }
 
     @Transactional
     public StudyGroupResponse updateStudyGroup(Long groupId, StudyGroupUpdateRequest request, Long userId) {
-        StudyGroup studyGroup = studyGroupRepository.findById(groupId)
+        // 태그는 벌크 연산으로 변경하므로 tags 컬렉션을 미리 불러오지 않음
+        StudyGroup studyGroup = studyGroupRepository.findWithLeaderById(groupId)
                 .orElseThrow(() -> new IllegalArgumentException("Study group not found with id: " + groupId));
 
         if (!studyGroup.getLeader().getId().equals(userId)) {
             throw new IllegalStateException("Only the leader can update the study group");
         }
 
-        // 기존 태그 삭제
-        studyGroup.getTags().clear();
-
-        // 새로운 태그 추가
-        if (request.getTags() != null) {
-            request.getTags().forEach(tagName -> {
-                Tag tag = tagRepository.findByName(tagName)
-                        .orElseGet(() -> tagRepository.save(Tag.builder().name(tagName).build()));
-                
-                StudyGroupTag studyGroupTag = StudyGroupTag.builder()
-                        .tag(tag)
-                        .studyGroup(studyGroup)
-                        .build();
-                studyGroup.addTag(studyGroupTag);
-            });
-        }
+        // 태그 변경: 추가/삭제된 태그만 반영 (요청 태그가 null 이면 모두 제거하던 기존 동작 유지)
+        tagDictionary.syncStudyGroupTags(groupId, request.getTags() != null ? request.getTags() : List.of());
 
         // 기본 정보 업데이트
         studyGroup.update(
@@ -415,6 +505,7 @@ public class StudyGroupService {
             request.getStartDate(),
             request.getEndDate()
         );
+        eventPublisher.publishEvent(new StudyGroupChangedEvent(groupId, StudyGroupChangedEvent.ChangeType.UPDATED));
 
         return StudyGroupResponse.from(studyGroup, false);
     }
@@ -423,7 +514,8 @@ public class StudyGroupService {
     public void applyToStudyGroup(Long groupId, Long applicantUserId) {
         log.info("스터디 참여 신청 처리 시작: groupId={}, applicantUserId={}", groupId, applicantUserId);
 
-        StudyGroup studyGroup = studyGroupRepository.findById(groupId)
+        // 멤버 확인은 StudyMembershipIndex 로 하므로 멤버/태그 컬렉션은 불러오지 않음
+        StudyGroup studyGroup = studyGroupRepository.findWithLeaderById(groupId)
                 .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 스터디 그룹입니다. ID: " + groupId));
 
         User applicant = userRepository.findById(applicantUserId)
@@ -442,19 +534,18 @@ public class StudyGroupService {
         }
 
         // 3. 이미 멤버이거나 신청 대기 중인지 확인
-        boolean alreadyMemberOrPending = studyGroup.getMembers().stream()
-                .anyMatch(member -> member.getUser().getId().equals(applicantUserId));
-        if (alreadyMemberOrPending) {
-            StudyMember existingMember = studyGroup.getMembers().stream()
-                    .filter(member -> member.getUser().getId().equals(applicantUserId)).findFirst().get(); // status 확인용
-            log.warn("스터디 참여 신청 실패 (이미 멤버 또는 신청 대기): groupId={}, applicantUserId={}, status={}", groupId, applicantUserId, existingMember.getStatus());
+        StudyMembershipIndex.Membership membership = studyMembershipIndex.get(groupId);
+        StudyMemberStatus existingStatus = membership.status(applicantUserId);
+        if (existingStatus != null) {
+            log.warn("스터디 참여 신청 실패 (이미 멤버 또는 신청 대기): groupId={}, applicantUserId={}, status={}", groupId, applicantUserId, existingStatus);
             throw new IllegalStateException("이미 해당 스터디의 멤버이거나 참여 신청 처리 중입니다.");
         }
 
-        // 4. 정원 확인 (APPROVED 된 멤버 기준)
-        if (studyGroup.getCurrentMembers() >= studyGroup.getMaxMembers()) {
+        // 4. 정원 확인 (APPROVED 된 멤버 기준, 색인의 승인 멤버 수를 사용해 members 컬렉션을 불러오지 않음)
+        int currentMembers = membership.approvedCount();
+        if (currentMembers >= studyGroup.getMaxMembers()) {
             log.warn("스터디 참여 신청 실패 (정원 초과): groupId={}, currentMembers={}, maxMembers={}",
-                    groupId, studyGroup.getCurrentMembers(), studyGroup.getMaxMembers());
+                    groupId, currentMembers, studyGroup.getMaxMembers());
             throw new IllegalStateException("스터디 정원이 이미 가득 찼습니다.");
         }
 
@@ -466,10 +557,8 @@ public class StudyGroupService {
                 .status(StudyMemberStatus.PENDING) // 참여 신청은 PENDING 상태
                 .build();
 
-        studyGroup.addMember(newMember); // StudyGroup 엔티티의 members 컬렉션에 추가
-        // StudyGroup 엔티티의 members 필드에 cascade=CascadeType.ALL이 설정되어 있으므로
-        // studyGroup을 저장하면 StudyMember도 함께 저장됩니다.
-        studyGroupRepository.save(studyGroup);
+        // PENDING 멤버는 currentMembers 에 영향이 없으므로 members 컬렉션을 불러오지 않고 직접 저장
+        studyMemberRepository.save(newMember);
         log.info("스터디 멤버 추가 (신청): groupId={}, applicantUserId={}, memberStatus=PENDING", groupId, applicantUserId);
 
 
@@ -484,6 +573,7 @@ public class StudyGroupService {
         );
         log.info("스터디 참여 신청 알림 생성: senderId={}, receiverId={}, studyGroupId={}",
                 applicant.getId(), studyGroup.getLeader().getId(), studyGroup.getId());
+        eventPublisher.publishEvent(new StudyGroupChangedEvent(groupId, StudyGroupChangedEvent.ChangeType.MEMBERS_CHANGED));
     }
 
     @Transactional
@@ -517,9 +607,10 @@ public class StudyGroupService {
 
         // 4. 정원 초과 확인 (승인 시에만)
         if (newStatus == StudyMemberStatus.APPROVED) {
-            if (studyGroup.getCurrentMembers() >= studyGroup.getMaxMembers()) {
+            int currentMembers = studyMembershipIndex.get(studyId).approvedCount();
+            if (currentMembers >= studyGroup.getMaxMembers()) {
                 log.warn("정원 초과로 멤버 승인 불가: studyId={}, currentMembers={}, maxMembers={}",
-                        studyId, studyGroup.getCurrentMembers(), studyGroup.getMaxMembers());
+                        studyId, currentMembers, studyGroup.getMaxMembers());
                 throw new IllegalStateException("스터디 정원이 이미 가득 찼습니다.");
             }
         }
@@ -543,6 +634,7 @@ public class StudyGroupService {
 
         log.info("멤버 상태 업데이트 완료: studyId={}, memberUserId={}, oldStatus={}, newStatus={}",
                 studyId, memberUserId, oldStatus, newStatus);
+        eventPublisher.publishEvent(new StudyGroupChangedEvent(studyId, StudyGroupChangedEvent.ChangeType.MEMBERS_CHANGED));
 
         // 7. 알림 생성 (승인/거절 알림)
         User applicant = memberToUpdate.getUser();
@@ -629,6 +721,7 @@ public class StudyGroupService {
         );
         log.info("스터디 멤버 탈퇴 알림 생성: senderId={}, receiverId={}, studyGroupId={}",
                 memberUser.getId(), studyGroup.getLeader().getId(), studyGroup.getId());
+        eventPublisher.publishEvent(new StudyGroupChangedEvent(studyId, StudyGroupChangedEvent.ChangeType.MEMBERS_CHANGED));
     }
 
     @Transactional
@@ -697,6 +790,7 @@ public class StudyGroupService {
         );
         log.info("스터디장에게 멤버 내보내기 완료 알림 생성: senderId={}, receiverId={}, studyGroupId={}",
                 removedUser.getId(), leader.getId(), studyGroup.getId());
+        eventPublisher.publishEvent(new StudyGroupChangedEvent(studyId, StudyGroupChangedEvent.ChangeType.MEMBERS_CHANGED));
     }
 
     @Transactional(readOnly = true)
@@ -720,21 +814,25 @@ public class StudyGroupService {
 
         Page<StudyMember> participatingStudiesPage = studyMemberRepository.findByUserAndStatusOrderByCreatedAtDesc(user, StudyMemberStatus.APPROVED, pageable);
 
+        // 해당 페이지의 스터디들에 대해 현재 사용자가 좋아요를 눌렀는지 한 번에 확인
+        List<Long> studyGroupIds = participatingStudiesPage.map(studyMember -> studyMember.getStudyGroup().getId()).getContent();
+        LongSet likedIds = studyGroupIds.isEmpty()
+                ? LongSet.EMPTY
+                : LongSet.of(studyLikeRepository.findLikedStudyGroupIds(user.getId(), studyGroupIds));
+
         return participatingStudiesPage.map(studyMember -> {
             StudyGroup studyGroup = studyMember.getStudyGroup();
-            // 해당 스터디에 대해 현재 사용자가 좋아요를 눌렀는지 확인
-            boolean isLiked = studyLikeRepository.existsByUserAndStudyGroup(user, studyGroup);
-            return StudyGroupResponse.from(studyGroup, isLiked);
+            return StudyGroupResponse.from(studyGroup, likedIds.contains(studyGroup.getId()));
         });
     }
 
     public List<StudyForMapDto> getStudiesForMap() {
-        // 모집중인 오프라인, 하이브리드 스터디를 조회
-        List<StudyType> types = Arrays.asList(StudyType.OFFLINE, StudyType.HYBRID);
-        List<StudyGroup> studies = studyGroupRepository.findByStatusAndStudyTypeInAndLatitudeIsNotNull(StudyStatus.RECRUITING, types);
+        // 모집중인 오프라인, 하이브리드 스터디를 조회 (DB 대신 메모리 공간 색인 사용)
+        return studyGeoIndexService.findAll();
+    }
 
-        return studies.stream()
-                .map(StudyForMapDto::new)
-                .collect(Collectors.toList());
+    // 지도 화면 영역 안의 스터디 조회 (확대 수준이 낮으면 클러스터로 반환)
+    public StudyMapResponse getStudiesForMapViewport(double minLat, double maxLat, double minLng, double maxLng, Integer zoom) {
+        return studyGeoIndexService.findInViewport(minLat, maxLat, minLng, maxLng, zoom);
     }
 }
@@ -0,0 +1,171 @@
+package com.studygroup.domain.study.service;
+
+import com.studygroup.domain.study.dto.StudyGroupChangedEvent;
+import com.studygroup.domain.study.entity.StudyMemberRole;
+import com.studygroup.domain.study.entity.StudyMemberStatus;
+import com.studygroup.domain.study.repository.StudyMemberRepository;
+import com.studygroup.global.service.ClusterEventBus;
+import com.studygroup.global.util.LongSet;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 스터디별 멤버 목록(사용자 ID, 역할, 상태)의 메모리 색인.
+ * 권한 확인처럼 "사용자 X가 스터디 Y의 멤버인가"만 알면 되는 곳에서 StudyGroup.members 컬렉션을 불러오지 않도록,
+ * (user_id, role, status) 세 컬럼만 조회해 LongSet + 병렬 배열로 보관한다.
+ * 멤버 변경 이벤트가 커밋되면 해당 스터디의 색인을 버리고, 다음 조회 때 다시 만든다.
+ * 다중 서버(app.websocket.fanout=redis)에서는 무효화를 Redis 채널로 다른 서버에도 알린다. (강퇴/탈퇴가 다른 서버에 TTL 동안 남지 않도록)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StudyMembershipIndex {
+
+    private static final int MAX_ENTRIES = 5_000;
+    private static final long TTL_MILLIS = 10 * 60 * 1000; // 이벤트 유실에 대비한 최대 보관 시간
+    private static final String INVALIDATE_TOPIC = "study:membership";
+    private static final StudyMemberRole[] ROLES = StudyMemberRole.values();
+    private static final StudyMemberStatus[] STATUSES = StudyMemberStatus.values();
+
+    /**
+     * 한 스터디의 멤버 목록 스냅샷 (불변).
+     */
+    public static final class Membership {
+        private final LongSet userIds;
+        private final byte[] roles;    // userIds.indexOf(userId) 위치의 역할 (enum ordinal)
+        private final byte[] statuses; // userIds.indexOf(userId) 위치의 상태 (enum ordinal)
+        private final int approvedCount;
+
+        private Membership(LongSet userIds, byte[] roles, byte[] statuses) {
+            this.userIds = userIds;
+            this.roles = roles;
+            this.statuses = statuses;
+            int approved = 0;
+            for (byte status : statuses) {
+                if (status == StudyMemberStatus.APPROVED.ordinal()) {
+                    approved++;
+                }
+            }
+            this.approvedCount = approved;
+        }
+
+        // 승인된 멤버 수 (StudyGroup.getCurrentMembers 와 같은 기준, 정원 확인용)
+        public int approvedCount() {
+            return approvedCount;
+        }
+
+        // 상태와 무관하게 멤버 행이 있는지 (신청 대기, 거절 포함)
+        public boolean contains(Long userId) {
+            return userId != null && userIds.contains(userId);
+        }
+
+        // 승인된 멤버인지
+        public boolean isApprovedMember(Long userId) {
+            return status(userId) == StudyMemberStatus.APPROVED;
+        }
+
+        public StudyMemberRole role(Long userId) {
+            int index = userId != null ? userIds.indexOf(userId) : -1;
+            return index >= 0 ? ROLES[roles[index]] : null;
+        }
+
+        public StudyMemberStatus status(Long userId) {
+            int index = userId != null ? userIds.indexOf(userId) : -1;
+            return index >= 0 ? STATUSES[statuses[index]] : null;
+        }
+    }
+
+    private record Entry(Membership membership, long loadedAt) {
+    }
+
+    private final StudyMemberRepository studyMemberRepository;
+    private final ClusterEventBus clusterEventBus;
+
+    // 무효화가 일어날 때마다 증가. 조회 도중 무효화가 있었다면 조회 결과를 캐시에 넣지 않음 (오래된 값 방지)
+    private final AtomicLong invalidations = new AtomicLong();
+
+    // 접근 순서 기반 LRU (최대 MAX_ENTRIES 개)
+    private final Map<Long, Entry> cache = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    @PostConstruct
+    public void subscribeClusterInvalidations() {
+        clusterEventBus.subscribe(INVALIDATE_TOPIC, payload -> invalidate(Long.valueOf(payload)));
+    }
+
+    public Membership get(Long studyGroupId) {
+        Entry entry;
+        synchronized (cache) {
+            entry = cache.get(studyGroupId);
+        }
+        if (entry != null && System.currentTimeMillis() - entry.loadedAt() < TTL_MILLIS) {
+            return entry.membership();
+        }
+
+        long invalidationsBefore = invalidations.get();
+        Membership membership = load(studyGroupId);
+        synchronized (cache) {
+            if (invalidations.get() == invalidationsBefore) {
+                cache.put(studyGroupId, new Entry(membership, System.currentTimeMillis()));
+            }
+        }
+        return membership;
+    }
+
+    public boolean isApprovedMember(Long studyGroupId, Long userId) {
+        return get(studyGroupId).isApprovedMember(userId);
+    }
+
+    public boolean hasMembership(Long studyGroupId, Long userId) {
+        return get(studyGroupId).contains(userId);
+    }
+
+    // 멤버 변경, 스터디 삭제 시 커밋 직후 동기적으로 무효화
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handleStudyGroupChanged(StudyGroupChangedEvent event) {
+        StudyGroupChangedEvent.ChangeType changeType = event.getChangeType();
+        if (changeType == StudyGroupChangedEvent.ChangeType.MEMBERS_CHANGED
+                || changeType == StudyGroupChangedEvent.ChangeType.DELETED) {
+            invalidate(event.getStudyGroupId());
+            clusterEventBus.publish(INVALIDATE_TOPIC, String.valueOf(event.getStudyGroupId()));
+        }
+    }
+
+    public void invalidate(Long studyGroupId) {
+        synchronized (cache) {
+            invalidations.incrementAndGet();
+            cache.remove(studyGroupId);
+        }
+    }
+
+    private Membership load(Long studyGroupId) {
+        // row: userId, role, status
+        List<Object[]> rows = studyMemberRepository.findMembershipRows(studyGroupId);
+        long[] userIds = new long[rows.size()];
+        for (int i = 0; i < rows.size(); i++) {
+            userIds[i] = (Long) rows.get(i)[0];
+        }
+        LongSet set = LongSet.of(userIds);
+        byte[] roles = new byte[set.size()];
+        byte[] statuses = new byte[set.size()];
+        for (Object[] row : rows) {
+            int index = set.indexOf((Long) row[0]);
+            roles[index] = (byte) ((StudyMemberRole) row[1]).ordinal();
+            statuses[index] = (byte) ((StudyMemberStatus) row[2]).ordinal();
+        }
+        log.debug("스터디 멤버 색인 적재: studyId={}, members={}", studyGroupId, set.size());
+        return new Membership(set, roles, statuses);
+    }
+}
@@ -19,16 +19,16 @@ public class StudyScheduleService {
 
     private final StudyScheduleRepository studyScheduleRepository;
     private final StudyGroupRepository studyGroupRepository;
+    private final StudyMembershipIndex studyMembershipIndex;
 
+    // 권한 확인에는 리더만 필요하므로 멤버/태그 컬렉션은 불러오지 않음
     private StudyGroup findStudyGroup(Long studyGroupId) {
-        return studyGroupRepository.findById(studyGroupId)
+        return studyGroupRepository.findWithLeaderById(studyGroupId)
                 .orElseThrow(() -> new IllegalArgumentException("Study group not found"));
     }
 
     private void checkMemberPermission(StudyGroup studyGroup, Long memberId) {
-        boolean isMember = studyGroup.getMembers().stream()
-                .anyMatch(member -> member.getUser().getId().equals(memberId));
-        if (!isMember) {
+        if (!studyMembershipIndex.hasMembership(studyGroup.getId(), memberId)) {
             throw new IllegalStateException("You are not a member of this study group");
         }
     }
@@ -0,0 +1,184 @@
+package com.studygroup.domain.study.service;
+
+import com.studygroup.domain.study.repository.StudyGroupTagRepository;
+import com.studygroup.domain.study.repository.TagRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 태그 이름 -> ID 메모리 사전.
+ * 태그는 생성 후 이름이 바뀌거나 삭제되지 않으므로 한 번 알게 된 ID는 계속 유효하다.
+ * 사전에 없는 태그만 모아서 한 번에 조회하고, 그래도 없는 태그는 INSERT IGNORE 로 한 번에 생성한다.
+ * (DB 콜레이션이 대소문자를 구분하지 않으므로 사전의 키도 소문자로 정규화)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TagDictionary {
+
+    private static final int MAX_ENTRIES = 10_000;
+
+    private final TagRepository tagRepository;
+    private final StudyGroupTagRepository studyGroupTagRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    // Key: 소문자 태그 이름, Value: 태그 ID
+    private final Map<String, Long> idsByName = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        try {
+            tagRepository.findRecentIdAndNames(PageRequest.of(0, MAX_ENTRIES))
+                    .forEach(row -> remember((String) row[1], (Long) row[0]));
+            log.info("태그 사전 적재 완료: tags={}", idsByName.size());
+        } catch (Exception e) {
+            log.warn("태그 사전 적재 실패. 요청 시점에 DB에서 조회합니다.", e);
+        }
+    }
+
+    /**
+     * 태그 이름 목록을 ID로 변환한다. 없는 태그는 생성한다.
+     * 동시에 같은 태그를 만드는 요청이 있어도 INSERT IGNORE 후 잠금 읽기로 다시 조회하므로 중복 키 오류가 나지 않는다.
+     *
+     * @return 입력 순서를 유지한 (원래 이름 -> 태그 ID), 빈 이름과 중복은 제외
+     */
+    @Transactional
+    public Map<String, Long> resolveIds(Collection<String> tagNames) {
+        Map<String, Long> result = new LinkedHashMap<>();
+        if (tagNames == null || tagNames.isEmpty()) {
+            return result;
+        }
+
+        Map<String, String> missing = new LinkedHashMap<>(); // 소문자 이름 -> 원래 이름
+        Set<String> seen = new HashSet<>();
+        for (String tagName : tagNames) {
+            String name = tagName != null ? tagName.trim() : "";
+            String key = name.toLowerCase(Locale.ROOT);
+            if (name.isEmpty() || !seen.add(key)) {
+                continue;
+            }
+            Long id = idsByName.get(key);
+            if (id != null) {
+                result.put(name, id);
+            } else {
+                missing.put(key, name);
+            }
+        }
+        if (missing.isEmpty()) {
+            return result;
+        }
+
+        // 1. 사전에 없는 태그를 한 번에 조회
+        tagRepository.findIdAndNameByNameIn(missing.values())
+                .forEach(row -> resolved(missing, result, (String) row[1], (Long) row[0]));
+
+        // 2. DB에도 없는 태그는 한 번에 생성 (다른 요청이 먼저 만든 이름은 무시됨)
+        if (!missing.isEmpty()) {
+            List<Object[]> batchArgs = missing.values().stream()
+                    .map(name -> new Object[]{name})
+                    .toList();
+            jdbcTemplate.batchUpdate("INSERT IGNORE INTO tag (name) VALUES (?)", batchArgs);
+
+            // 다른 트랜잭션이 커밋한 행도 보이도록 잠금 읽기로 다시 조회
+            // 방금 생성한 태그는 롤백될 수 있으므로 커밋된 뒤에 사전에 등록
+            Map<String, Long> created = new HashMap<>();
+            List<String> names = new ArrayList<>(missing.values());
+            String placeholders = String.join(", ", Collections.nCopies(names.size(), "?"));
+            jdbcTemplate.query("SELECT id, name FROM tag WHERE name IN (" + placeholders + ") LOCK IN SHARE MODE",
+                    rs -> {
+                        String dbName = rs.getString("name");
+                        String requestedName = missing.remove(dbName.toLowerCase(Locale.ROOT));
+                        if (requestedName != null) {
+                            result.put(requestedName, rs.getLong("id"));
+                            created.put(dbName, rs.getLong("id"));
+                        }
+                    },
+                    names.toArray());
+            rememberAfterCommit(created);
+        }
+
+        if (!missing.isEmpty()) {
+            throw new IllegalStateException("태그를 생성하지 못했습니다: " + missing.values());
+        }
+        return result;
+    }
+
+    /**
+     * 스터디의 태그를 요청된 목록과 같아지도록 맞춘다.
+     * 추가/삭제된 태그만 반영하며, 태그 개수와 무관하게 조회 1회 + DELETE 1회 + 배치 INSERT 1회로 끝난다.
+     * 벌크 연산이므로 호출 시점에 해당 스터디의 tags 컬렉션이 초기화되어 있지 않아야 한다.
+     */
+    @Transactional
+    public void syncStudyGroupTags(Long studyGroupId, Collection<String> tagNames) {
+        Set<Long> desired = new LinkedHashSet<>(resolveIds(tagNames).values());
+        Set<Long> current = new HashSet<>(studyGroupTagRepository.findTagIdsByStudyGroupId(studyGroupId));
+
+        Set<Long> removed = new HashSet<>(current);
+        removed.removeAll(desired);
+        List<Long> added = desired.stream().filter(id -> !current.contains(id)).toList();
+
+        if (!removed.isEmpty()) {
+            studyGroupTagRepository.deleteByStudyGroupIdAndTagIdIn(studyGroupId, removed);
+        }
+        if (!added.isEmpty()) {
+            List<Object[]> batchArgs = added.stream()
+                    .map(tagId -> new Object[]{studyGroupId, tagId})
+                    .toList();
+            jdbcTemplate.batchUpdate("INSERT INTO study_group_tag (study_group_id, tag_id) VALUES (?, ?)", batchArgs);
+        }
+        log.debug("스터디 태그 변경: studyId={}, added={}, removed={}", studyGroupId, added, removed);
+    }
+
+    private void rememberAfterCommit(Map<String, Long> created) {
+        if (created.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            created.forEach(this::remember);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                created.forEach(TagDictionary.this::remember);
+            }
+        });
+    }
+
+    // DB에서 찾은 태그를 결과와 사전에 반영 (DB 콜레이션 때문에 대소문자가 다를 수 있으므로 소문자로 매칭)
+    private void resolved(Map<String, String> missing, Map<String, Long> result, String dbName, Long id) {
+        String key = dbName.toLowerCase(Locale.ROOT);
+        String requestedName = missing.remove(key);
+        if (requestedName != null) {
+            result.put(requestedName, id);
+        }
+        remember(dbName, id);
+    }
+
+    private void remember(String name, Long id) {
+        if (idsByName.size() < MAX_ENTRIES) {
+            idsByName.put(name.toLowerCase(Locale.ROOT), id);
+        }
+    }
+}
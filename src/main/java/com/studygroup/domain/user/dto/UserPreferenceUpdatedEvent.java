@@ -0,0 +1,12 @@
+package com.studygroup.domain.user.dto;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+// 사용자의 태그 선호도 점수가 바뀌었음을 알리는 이벤트 (추천 목록 갱신용)
+@Getter
+@RequiredArgsConstructor
+public class UserPreferenceUpdatedEvent {
+
+    private final Long userId;
+}
@@ -0,0 +1,12 @@
+package com.studygroup.domain.user.dto;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+// 사용자의 이름/프로필 이미지가 바뀌었음을 알리는 이벤트 (프로필을 담아 둔 캐시 갱신용)
+@Getter
+@RequiredArgsConstructor
+public class UserProfileUpdatedEvent {
+
+    private final Long userId;
+}
@@ -4,7 +4,10 @@ import com.studygroup.domain.study.entity.Tag;
 import com.studygroup.domain.user.entity.User;
 import com.studygroup.domain.user.entity.UserTagPreference;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,4 +17,12 @@ public interface UserTagPreferenceRepository extends JpaRepository<UserTagPrefer
 
     // 사용자의 상위 선호 태그 목록을 가져오기 위한 메소드
     List<UserTagPreference> findTop5ByUserOrderByScoreDesc(User user);
+
+    // 추천 엔진용: 사용자의 전체 선호 태그 벡터 (태그 ID, 점수)
+    @Query("SELECT p.tag.id, p.score FROM UserTagPreference p WHERE p.user.id = :userId AND p.score > 0")
+    List<Object[]> findTagScoresByUserId(@Param("userId") Long userId);
+
+    // 추천 엔진용: 태그 중 하나라도 선호하는 사용자 ID (스터디 추가/태그 변경 시 추천 목록을 갱신할 대상)
+    @Query("SELECT DISTINCT p.user.id FROM UserTagPreference p WHERE p.tag.id IN :tagIds AND p.score > 0")
+    List<Long> findUserIdsByTagIds(@Param("tagIds") Collection<Long> tagIds);
 }
@@ -1,23 +1,30 @@
 package com.studygroup.domain.user.service;
 
 import com.studygroup.domain.study.entity.Tag;
+import com.studygroup.domain.study.repository.TagRepository;
 import com.studygroup.domain.user.dto.TagInteractionEvent;
+import com.studygroup.domain.user.dto.UserPreferenceUpdatedEvent;
 import com.studygroup.domain.user.entity.UserTagPreference;
 import com.studygroup.domain.user.repository.UserTagPreferenceRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.transaction.event.TransactionalEventListener;
 
+import java.util.List;
+
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class UserPreferenceService {
 
     private final UserTagPreferenceRepository userTagPreferenceRepository;
+    private final TagRepository tagRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Async
     @TransactionalEventListener
@@ -25,13 +32,13 @@ public class UserPreferenceService {
     public void handleTagInteraction(TagInteractionEvent event) {
         log.info("Handling tag interaction for user: {}, type: {}", event.getUser().getId(), event.getInteractionType());
 
-        if (event.getStudyGroup().getTags().isEmpty()) {
+        // 이벤트의 StudyGroup은 캐시 조회 경로에서 프록시(getReferenceById)일 수 있으므로, 태그는 ID로 다시 조회
+        List<Tag> tags = tagRepository.findByStudyGroupId(event.getStudyGroup().getId());
+        if (tags.isEmpty()) {
             return; // 태그가 없는 콘텐츠는 처리하지 않음
         }
 
-        for (var studyGroupTag : event.getStudyGroup().getTags()) {
-            Tag tag = studyGroupTag.getTag();
-
+        for (Tag tag : tags) {
             UserTagPreference preference = userTagPreferenceRepository.findByUserAndTag(event.getUser(), tag)
                     .orElseGet(() -> UserTagPreference.builder()
                             .user(event.getUser())
@@ -44,5 +51,6 @@ public class UserPreferenceService {
 
             log.info("Updated preference for user: {}, tag: '{}', new score: {}", event.getUser().getId(), tag.getName(), preference.getScore());
         }
+        eventPublisher.publishEvent(new UserPreferenceUpdatedEvent(event.getUser().getId()));
     }
 }
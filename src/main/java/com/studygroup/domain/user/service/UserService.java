@@ -1,16 +1,19 @@
 package com.studygroup.domain.user.service;
 
 import com.studygroup.domain.board.repository.BoardPostRepository;
+import com.studygroup.domain.chat.service.ChatSenderCache;
 import com.studygroup.domain.study.entity.StudyMemberStatus;
 import com.studygroup.domain.study.repository.StudyGroupRepository;
 import com.studygroup.domain.study.repository.StudyMemberRepository;
 import com.studygroup.domain.user.dto.UserActivitySummaryResponse;
 import com.studygroup.domain.user.dto.UserProfileResponse;
+import com.studygroup.domain.user.dto.UserProfileUpdatedEvent;
 import com.studygroup.domain.user.dto.UserSearchResponse;
 import com.studygroup.domain.user.entity.User;
 import com.studygroup.domain.user.repository.UserRepository;
 import com.studygroup.global.service.FileStorageService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
@@ -29,6 +32,8 @@ public class UserService {
     private final StudyGroupRepository studyGroupRepository;
     private final StudyMemberRepository studyMemberRepository;
     private final FileStorageService fileStorageService;
+    private final ChatSenderCache chatSenderCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     public List<UserSearchResponse> searchUsers(String keyword) {
         return userRepository.searchUsers(keyword)
@@ -88,6 +93,8 @@ public class UserService {
             // 이미지는 변경 없고 이름만 변경된 경우
             user.updateProfile(name, user.getProfile());
         }
+        chatSenderCache.invalidate(userId); // 채팅 메시지에 표시되는 이름/프로필 갱신
+        eventPublisher.publishEvent(new UserProfileUpdatedEvent(userId)); // 스터디 상세 캐시의 리더/멤버 프로필 갱신
 
         // userRepository.save(user); // @Transactional에 의해 변경 감지로 자동 저장됨
     }
@@ -2,22 +2,48 @@ package com.studygroup.global.config;
 
 import com.studygroup.global.handler.StompErrorHandler;
 import com.studygroup.global.interceptor.StompAuthChannelInterceptor;
+import com.studygroup.global.websocket.WebSocketTransportMonitor;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.scheduling.TaskScheduler;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
 
 @Configuration
 @EnableWebSocketMessageBroker // STOMP 메시징 활성화
 @RequiredArgsConstructor
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    // --- 전송 설정: 느린 클라이언트 하나가 outbound 스레드와 메모리를 붙잡지 않도록 세션별 한도 지정 ---
+    private static final int SEND_TIME_LIMIT_MS = 10_000;          // 한 세션으로의 전송이 이 시간 이상 막히면 연결 종료
+    private static final int SEND_BUFFER_SIZE_LIMIT = 512 * 1024;  // 전송 대기 중인 데이터가 이 크기를 넘으면 연결 종료
+    private static final int MESSAGE_SIZE_LIMIT = 64 * 1024;       // 수신 메시지 최대 크기
+    private static final int TIME_TO_FIRST_MESSAGE_MS = 30_000;    // 연결 후 CONNECT 프레임을 보내지 않는 연결 정리
+    private static final long HEARTBEAT_INTERVAL_MS = 10_000;      // 브로커 하트비트 (서버 -> 클라이언트, 클라이언트 -> 서버)
+
+    // --- 채널 스레드 풀: 큐 크기를 제한해 적체 시 메모리가 무한히 늘지 않도록 함 ---
+    private static final int CHANNEL_CORE_POOL_SIZE = Runtime.getRuntime().availableProcessors() * 2;
+    private static final int CHANNEL_MAX_POOL_SIZE = CHANNEL_CORE_POOL_SIZE * 2;
+    private static final int CHANNEL_QUEUE_CAPACITY = 10_000;
+
     private final StompAuthChannelInterceptor stompAuthChannelInterceptor;
     private final StompErrorHandler stompErrorHandler;
+    private final WebSocketTransportMonitor transportMonitor;
 
+    private TaskScheduler messageBrokerTaskScheduler;
+
+    // 브로커 하트비트용 스케줄러 (WebSocket 설정이 만드는 빈이므로 순환 참조를 피하려고 @Lazy 로 주입)
+    @Autowired
+    public void setMessageBrokerTaskScheduler(@Lazy @Qualifier("messageBrokerTaskScheduler") TaskScheduler taskScheduler) {
+        this.messageBrokerTaskScheduler = taskScheduler;
+    }
 
     @Override
     public void configureMessageBroker(MessageBrokerRegistry registry) {
@@ -27,7 +53,9 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
         // 클라이언트가 메시지를 구독(subscribe)할 때 사용할 prefix (메시지 브로커 라우팅)
         // 예: /sub/chat/room/1 -> 1번 채팅방 구독
-        registry.enableSimpleBroker("/sub"); // 내장 Simple Broker 사용
+        registry.enableSimpleBroker("/sub") // 내장 Simple Broker 사용
+                .setHeartbeatValue(new long[]{HEARTBEAT_INTERVAL_MS, HEARTBEAT_INTERVAL_MS}) // 끊긴 연결을 빨리 감지
+                .setTaskScheduler(messageBrokerTaskScheduler);
         // 외부 메시지 브로커(RabbitMQ, Kafka 등) 사용 시 enableStompBrokerRelay() 설정
     }
 
@@ -45,5 +73,27 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
     @Override
     public void configureClientInboundChannel(ChannelRegistration registration) {
         registration.interceptors(stompAuthChannelInterceptor);
+        registration.taskExecutor()
+                .corePoolSize(CHANNEL_CORE_POOL_SIZE)
+                .maxPoolSize(CHANNEL_MAX_POOL_SIZE)
+                .queueCapacity(CHANNEL_QUEUE_CAPACITY);
+    }
+
+    // 서버 -> 클라이언트 전송 스레드 풀 (세션별 전송은 아래 전송 한도로 보호)
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        registration.taskExecutor()
+                .corePoolSize(CHANNEL_CORE_POOL_SIZE)
+                .maxPoolSize(CHANNEL_MAX_POOL_SIZE)
+                .queueCapacity(CHANNEL_QUEUE_CAPACITY);
+    }
+
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        registration.setSendTimeLimit(SEND_TIME_LIMIT_MS)
+                .setSendBufferSizeLimit(SEND_BUFFER_SIZE_LIMIT)
+                .setMessageSizeLimit(MESSAGE_SIZE_LIMIT)
+                .setTimeToFirstMessage(TIME_TO_FIRST_MESSAGE_MS)
+                .addDecoratorFactory(transportMonitor); // 연결 수 / 느린 클라이언트 강제 종료 집계
     }
 }
@@ -1,7 +1,9 @@
 package com.studygroup.global.interceptor;
 
+import com.studygroup.domain.chat.service.ChatSessionAcl;
 import com.studygroup.global.jwt.TokenProvider;
 import com.studygroup.global.security.UserPrincipal;
+import com.studygroup.global.websocket.CompactFrames;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.messaging.Message;
@@ -16,13 +18,19 @@ import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 
 import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class StompAuthChannelInterceptor implements ChannelInterceptor {
 
+    // 채팅방 구독 경로: /sub/chat/room/{roomId} 및 그 하위 경로 (예: /typing)
+    private static final Pattern CHAT_ROOM_DESTINATION = Pattern.compile("^/sub/chat/room/(\\d{1,18})(/.*)?$");
+
     private final TokenProvider tokenProvider; // JWT 토큰 공급자
+    private final ChatSessionAcl chatSessionAcl;
 
     @Override
     public Message<?> preSend(Message<?> message, MessageChannel channel) {
@@ -32,7 +40,7 @@ public class StompAuthChannelInterceptor implements ChannelInterceptor {
         log.debug("STOMP Command: {}, Headers: {}", accessor.getCommand(), accessor.toNativeHeaderMap());
 
         StompCommand command = accessor.getCommand();
-        log.info("STOMP Command Received: {}", command); // 모든 STOMP 명령어를 로그로 출력
+        log.debug("STOMP Command Received: {}", command); // 모든 STOMP 명령어를 로그로 출력 (프레임마다 호출되므로 debug)
 
         // CONNECT 요청일 때만 토큰 검증 (또는 SEND, SUBSCRIBE 등 필요에 따라)
         if (StompCommand.CONNECT.equals(accessor.getCommand())) {
@@ -45,6 +53,7 @@ public class StompAuthChannelInterceptor implements ChannelInterceptor {
                 UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
                         userPrincipal, null, userPrincipal.getAuthorities());
                 accessor.setUser(authentication); // SimpMessageHeaderAccessor에 Principal 설정
+                CompactFrames.negotiate(accessor, accessor.getFirstNativeHeader(CompactFrames.FORMAT_HEADER)); // 압축 전송 형식 요청 여부
                 log.info("STOMP User authenticated: {}", userPrincipal.getUsername());
             } else {
                 log.warn("STOMP CONNECT: Invalid or missing JWT token. Access Denied.");
@@ -63,12 +72,39 @@ public class StompAuthChannelInterceptor implements ChannelInterceptor {
                 log.error("Unauthorized {} attempt: No user in STOMP session.", command);
                 throw new AccessDeniedException("Unauthorized STOMP request: Not connected or authenticated.");
             }
-            log.info("Authorized {} from user: {}", command, accessor.getUser().getName());
+            log.debug("Authorized {} from user: {}", command, accessor.getUser().getName());
+
+            // 채팅방 구독은 해당 채팅방 멤버(JOINED/INVITED)만 허용. 거부 시 연결은 유지하고 구독 프레임만 버린다
+            if (StompCommand.SUBSCRIBE.equals(command) && !canSubscribe(accessor)) {
+                log.warn("채팅방 구독 거부: destination={}, user={}", accessor.getDestination(), accessor.getUser().getName());
+                return null;
+            }
+            // 압축 형식 세션은 같은 경로를 구독해도 압축 형식 메시지를 받도록 구독 경로 변경 (구독 ID 는 그대로)
+            if (StompCommand.SUBSCRIBE.equals(command) && CompactFrames.shouldRewrite(accessor)) {
+                accessor.setDestination(CompactFrames.destination(accessor.getDestination()));
+            }
         }
 
         return message;
     }
 
+    private boolean canSubscribe(StompHeaderAccessor accessor) {
+        String destination = accessor.getDestination();
+        if (destination == null) {
+            return true;
+        }
+        Matcher matcher = CHAT_ROOM_DESTINATION.matcher(destination);
+        if (!matcher.matches()) {
+            return true; // 채팅방 외 경로 (DM, 알림 등)는 기존 동작 유지
+        }
+        if (!(accessor.getUser() instanceof UsernamePasswordAuthenticationToken authentication)
+                || !(authentication.getPrincipal() instanceof UserPrincipal userPrincipal)) {
+            return false;
+        }
+        return chatSessionAcl.canSubscribe(accessor.getSessionId(), userPrincipal.getId(), Long.valueOf(matcher.group(1)),
+                accessor.getSubscriptionId());
+    }
+
     private String extractJwtFromHeader(StompHeaderAccessor accessor) {
         // 프론트엔드에서 STOMP 연결 시 헤더에 'Authorization': 'Bearer <token>' 형태로 전달 가정
         String authHeader = accessor.getFirstNativeHeader("Authorization");
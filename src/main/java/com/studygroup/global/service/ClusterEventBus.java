@@ -0,0 +1,73 @@
+package com.studygroup.global.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * 서버 로컬 캐시/인덱스의 변경을 다른 서버에 알리는 Redis pub/sub 채널.
+ * 채널 이름은 "cluster:{topic}", 메시지 본문은 "{nodeId}\n{payload}" 이며 자기가 보낸 메시지는 무시한다.
+ * app.websocket.fanout=local(기본값, 단일 서버)이면 publish/subscribe 모두 아무것도 하지 않는다.
+ */
+@Slf4j
+@Component
+public class ClusterEventBus {
+
+    private static final String CHANNEL_PREFIX = "cluster:";
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final boolean enabled;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    public ClusterEventBus(StringRedisTemplate redisTemplate,
+                           RedisMessageListenerContainer listenerContainer,
+                           @Value("${app.websocket.fanout:local}") String fanout) {
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.enabled = "redis".equalsIgnoreCase(fanout);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // 다른 서버가 보낸 topic 메시지를 handler 로 받는다. (Redis 리스너 스레드에서 호출)
+    public void subscribe(String topic, Consumer<String> handler) {
+        if (!enabled) {
+            return;
+        }
+        String prefix = nodeId + "\n";
+        listenerContainer.addMessageListener((message, pattern) -> {
+            String body = new String(message.getBody(), StandardCharsets.UTF_8);
+            int separator = body.indexOf('\n');
+            if (separator < 0 || body.startsWith(prefix)) {
+                return;
+            }
+            try {
+                handler.accept(body.substring(separator + 1));
+            } catch (Exception e) {
+                log.warn("클러스터 이벤트 처리 실패: topic={}, body={}", topic, body, e);
+            }
+        }, new ChannelTopic(CHANNEL_PREFIX + topic));
+    }
+
+    // 실패해도 예외를 던지지 않는다. (각 서버의 주기적 재검증/TTL 로 결국 맞춰진다)
+    public void publish(String topic, String payload) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            redisTemplate.convertAndSend(CHANNEL_PREFIX + topic, nodeId + "\n" + payload);
+        } catch (Exception e) {
+            log.warn("클러스터 이벤트 발행 실패: topic={}, payload={}", topic, payload, e);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.studygroup.global.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * 좋아요/추천 수 보정 작업.
+ * 카운터는 투표 시 원자적 UPDATE 로 증감하지만, 장애나 수동 데이터 수정으로 실제 투표 행 수와 어긋날 수 있으므로
+ * 매일 한 번 study_like / post_like / comment_like 의 실제 개수로 다시 맞춘다. (값이 다른 행만 UPDATE)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LikeCountReconciliationService {
+
+    private static final String RECONCILE_STUDY_GROUP_SQL =
+            "UPDATE study_group sg " +
+            "LEFT JOIN (SELECT study_group_id, COUNT(*) AS cnt FROM study_like GROUP BY study_group_id) l " +
+            "ON l.study_group_id = sg.study_group_id " +
+            "SET sg.like_count = COALESCE(l.cnt, 0) " +
+            "WHERE sg.like_count <> COALESCE(l.cnt, 0)";
+
+    private static final String RECONCILE_BOARD_POST_SQL =
+            "UPDATE board_post p " +
+            "LEFT JOIN (SELECT board_post_id, " +
+            "                  SUM(CASE WHEN vote_type = 'LIKE' THEN 1 ELSE 0 END) AS likes, " +
+            "                  SUM(CASE WHEN vote_type = 'DISLIKE' THEN 1 ELSE 0 END) AS dislikes " +
+            "           FROM post_like GROUP BY board_post_id) v " +
+            "ON v.board_post_id = p.board_post_id " +
+            "SET p.like_count = COALESCE(v.likes, 0), p.dislike_count = COALESCE(v.dislikes, 0) " +
+            "WHERE p.like_count <> COALESCE(v.likes, 0) OR p.dislike_count <> COALESCE(v.dislikes, 0)";
+
+    private static final String RECONCILE_BOARD_COMMENT_SQL =
+            "UPDATE board_comment c " +
+            "LEFT JOIN (SELECT board_comment_id, " +
+            "                  SUM(CASE WHEN vote_type = 'LIKE' THEN 1 ELSE 0 END) AS likes, " +
+            "                  SUM(CASE WHEN vote_type = 'DISLIKE' THEN 1 ELSE 0 END) AS dislikes " +
+            "           FROM comment_like GROUP BY board_comment_id) v " +
+            "ON v.board_comment_id = c.board_comment_id " +
+            "SET c.like_count = COALESCE(v.likes, 0), c.dislike_count = COALESCE(v.dislikes, 0) " +
+            "WHERE c.like_count <> COALESCE(v.likes, 0) OR c.dislike_count <> COALESCE(v.dislikes, 0)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // 매일 새벽 4시 30분 실행 (트래픽이 적은 시간대)
+    @Scheduled(cron = "0 30 4 * * *")
+    public void reconcile() {
+        reconcile("study_group", RECONCILE_STUDY_GROUP_SQL);
+        reconcile("board_post", RECONCILE_BOARD_POST_SQL);
+        reconcile("board_comment", RECONCILE_BOARD_COMMENT_SQL);
+    }
+
+    private void reconcile(String table, String sql) {
+        try {
+            int updated = jdbcTemplate.update(sql);
+            if (updated > 0) {
+                log.warn("좋아요 수 보정: table={}, 보정된 행={}", table, updated);
+            } else {
+                log.info("좋아요 수 보정: table={}, 차이 없음", table);
+            }
+        } catch (Exception e) {
+            log.error("좋아요 수 보정 실패: table={}", table, e);
+        }
+    }
+}
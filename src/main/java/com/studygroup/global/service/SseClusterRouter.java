@@ -0,0 +1,169 @@
+package com.studygroup.global.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 다중 서버 SSE 전달.
+ * SSE 연결은 사용자가 접속한 서버에만 있으므로, 사용자 -> 서버 목록을 Redis ZSET "sse:nodes:{userId}"
+ * (member = 노드 ID, score = 만료 시각 ms) 에 두고, 다른 서버에 연결된 사용자에게 보낼 이벤트는
+ * 그 서버의 채널 "sse:node:{nodeId}" 로 PUBLISH 한다. 각 서버는 자기 채널만 구독해 받은 이벤트를 로컬로 전달한다.
+ * 연결이 살아 있는 동안 하트비트(30초)마다 만료 시각을 연장하므로, 서버가 비정상 종료되어도 REGISTRATION_TTL 뒤에는 목록에서 빠진다.
+ * app.sse.routing=local(기본값)이면 아무것도 하지 않는다. (단일 서버)
+ */
+@Slf4j
+@Component
+public class SseClusterRouter implements MessageListener {
+
+    private static final String NODES_KEY_PREFIX = "sse:nodes:";
+    private static final String CHANNEL_PREFIX = "sse:node:";
+    private static final long REGISTRATION_TTL_MS = 90_000;
+
+    // 다른 서버에서 받은 이벤트를 이 서버의 SSE 연결로 전달하는 콜백 (SseEmitterService 가 등록)
+    @FunctionalInterface
+    public interface LocalDelivery {
+        boolean deliver(Long userId, String eventId, String eventName, Object data);
+    }
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final String nodeId = UUID.randomUUID().toString();
+    private volatile LocalDelivery localDelivery;
+
+    public SseClusterRouter(StringRedisTemplate redisTemplate,
+                            RedisMessageListenerContainer listenerContainer,
+                            ObjectMapper objectMapper,
+                            @Value("${app.sse.routing:local}") String routing) {
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.objectMapper = objectMapper;
+        this.enabled = "redis".equalsIgnoreCase(routing);
+    }
+
+    public void listen(LocalDelivery delivery) {
+        this.localDelivery = delivery;
+        if (enabled) {
+            listenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL_PREFIX + nodeId));
+            log.info("SSE 다중 서버 전달 사용: nodeId={}", nodeId);
+        }
+    }
+
+    // 이 서버에 사용자의 SSE 연결이 생겼을 때
+    public void register(Long userId) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            String key = NODES_KEY_PREFIX + userId;
+            redisTemplate.opsForZSet().add(key, nodeId, System.currentTimeMillis() + REGISTRATION_TTL_MS);
+            redisTemplate.expire(key, REGISTRATION_TTL_MS, TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            log.warn("SSE 연결 등록 실패: userId={}", userId, e);
+        }
+    }
+
+    // 이 서버의 SSE 연결이 끊겼을 때
+    public void unregister(Long userId) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            redisTemplate.opsForZSet().remove(NODES_KEY_PREFIX + userId, nodeId);
+        } catch (Exception e) {
+            log.warn("SSE 연결 해제 실패: userId={}", userId, e);
+        }
+    }
+
+    // 하트비트마다 이 서버에 연결된 사용자들의 만료 시각 연장 (파이프라인 1회)
+    public void refresh(Collection<Long> userIds) {
+        if (!enabled || userIds.isEmpty()) {
+            return;
+        }
+        long expiresAt = System.currentTimeMillis() + REGISTRATION_TTL_MS;
+        try {
+            redisTemplate.executePipelined((RedisCallback<Object>) (RedisConnection connection) -> {
+                StringRedisConnection stringConnection = (StringRedisConnection) connection;
+                for (Long userId : userIds) {
+                    String key = NODES_KEY_PREFIX + userId;
+                    stringConnection.zAdd(key, expiresAt, nodeId);
+                    stringConnection.pExpire(key, REGISTRATION_TTL_MS);
+                }
+                return null;
+            });
+        } catch (Exception e) {
+            log.warn("SSE 연결 갱신 실패: users={}", userIds.size(), e);
+        }
+    }
+
+    // 다른 서버에 연결된 사용자에게 이벤트 전달. 전달한 서버 수를 반환
+    public int forward(Long userId, String eventId, String eventName, Object data) {
+        if (!enabled) {
+            return 0;
+        }
+        try {
+            Set<String> nodes = redisTemplate.opsForZSet()
+                    .rangeByScore(NODES_KEY_PREFIX + userId, System.currentTimeMillis(), Double.POSITIVE_INFINITY);
+            if (nodes == null || nodes.isEmpty() || (nodes.size() == 1 && nodes.contains(nodeId))) {
+                return 0;
+            }
+            ObjectNode envelope = objectMapper.createObjectNode();
+            envelope.put("userId", userId);
+            envelope.put("id", eventId);
+            envelope.put("event", eventName);
+            envelope.set("data", objectMapper.valueToTree(data));
+            String body = objectMapper.writeValueAsString(envelope); // 한 번만 직렬화
+            int forwarded = 0;
+            for (String node : nodes) {
+                if (!node.equals(nodeId)) {
+                    redisTemplate.convertAndSend(CHANNEL_PREFIX + node, body);
+                    forwarded++;
+                }
+            }
+            return forwarded;
+        } catch (Exception e) {
+            log.warn("SSE 이벤트 전달 실패: userId={}, event={}", userId, eventName, e);
+            return 0;
+        }
+    }
+
+    // 다른 서버가 이 서버 채널로 보낸 이벤트 수신
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        LocalDelivery delivery = localDelivery;
+        if (delivery == null) {
+            return;
+        }
+        try {
+            JsonNode envelope = objectMapper.readTree(new String(message.getBody(), StandardCharsets.UTF_8));
+            JsonNode data = envelope.get("data");
+            // 문자열 데이터는 원래처럼 따옴표 없이 전송
+            Object payload = data.isTextual() ? data.asText() : data;
+            JsonNode eventId = envelope.get("id");
+            delivery.deliver(envelope.get("userId").asLong(),
+                    eventId == null || eventId.isNull() ? null : eventId.asText(),
+                    envelope.get("event").asText(), payload);
+        } catch (Exception e) {
+            log.warn("다른 서버에서 받은 SSE 이벤트 처리 실패", e);
+        }
+    }
+}
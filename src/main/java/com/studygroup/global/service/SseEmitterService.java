@@ -1,32 +1,45 @@
 package com.studygroup.global.service;
 
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.io.IOException;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
 @Service
 @Slf4j
+@RequiredArgsConstructor
 public class SseEmitterService {
 
+    private final SseClusterRouter clusterRouter; // 다른 서버에 연결된 사용자에게 전달
+    private final SseReplayBuffer replayBuffer;   // 재연결 시 놓친 이벤트 재전송
+
     // 각 사용자별 Emitter를 관리하기 위한 Map
     // Key: userId, Value: SseEmitter
     private final Map<Long, SseEmitter> emitters = new ConcurrentHashMap<>();
     private static final Long DEFAULT_TIMEOUT = 60L * 1000 * 60; // 1시간 타임아웃
 
-    // SSE 구독을 시작하는 메소드
-    public SseEmitter subscribe(Long userId) {
+    @PostConstruct
+    public void init() {
+        clusterRouter.listen(this::deliverLocally);
+    }
+
+    // SSE 구독을 시작하는 메소드 (lastEventId: 재연결 시 클라이언트가 마지막으로 받은 이벤트 ID, 없으면 null)
+    public SseEmitter subscribe(Long userId, String lastEventId) {
         SseEmitter emitter = new SseEmitter(DEFAULT_TIMEOUT);
         emitters.put(userId, emitter);
+        clusterRouter.register(userId);
 
         // 연결이 완료되거나 타임아웃 시 emitters 맵에서 제거
         emitter.onCompletion(() -> {
             log.info("SSE onCompletion for userId: {}", userId);
-            emitters.remove(userId);
+            removeEmitter(userId, emitter);
         });
         emitter.onTimeout(() -> {
             log.info("SSE onTimeout for userId: {}", userId);
@@ -34,12 +47,33 @@ public class SseEmitterService {
         });
         emitter.onError(e -> {
             log.error("SSE onError for userId: {}", userId, e);
-            emitters.remove(userId);
+            removeEmitter(userId, emitter);
         });
 
-        // 연결 직후, 더미 데이터를 보내 연결이 수립되었음을 클라이언트에게 알림
+        // 연결 직후, 더미 데이터를 보내 연결이 수립되었음을 클라이언트에게 알림 (재전송 대상이 아니므로 ID 없이 전송)
         // 503 Service Unavailable 방지
-        sendToClient(userId, "sse-connection", "SSE connected successfully for user " + userId);
+        if (!sendEvent(userId, emitter, null, "sse-connection", "SSE connected successfully for user " + userId)) {
+            return emitter;
+        }
+
+        // 끊겨 있던 동안 놓친 이벤트 재전송. Emitter 를 먼저 등록했으므로 그 사이 이벤트가 중복될 수는 있어도 빠지지는 않는다.
+        SseReplayBuffer.Replay replay = replayBuffer.eventsAfter(userId, lastEventId);
+        if (replay.gap()) {
+            // 버퍼에서 이미 밀려난 이벤트가 있으므로 클라이언트가 GET /api/notifications 로 목록을 다시 읽도록 알림
+            if (!sendEvent(userId, emitter, null, "resync", "notifications")) {
+                return emitter;
+            }
+            log.info("SSE replay gap, requested resync: userId={}, lastEventId={}", userId, lastEventId);
+        }
+        List<SseReplayBuffer.SseEvent> missed = replay.events();
+        for (SseReplayBuffer.SseEvent event : missed) {
+            if (!sendEvent(userId, emitter, event.id(), event.name(), event.data())) {
+                return emitter;
+            }
+        }
+        if (!missed.isEmpty()) {
+            log.info("Replayed {} SSE events to userId: {}", missed.size(), userId);
+        }
 
         log.info("New SSE subscriber: userId={}", userId);
         return emitter;
@@ -54,29 +88,57 @@ public class SseEmitterService {
                 emitter.send(SseEmitter.event().name("heartbeat").data("keep-alive"));
             } catch (IOException e) {
                 log.warn("Failed to send heartbeat to userId: {}. Removing emitter.", userId);
-                emitters.remove(userId);
+                removeEmitter(userId, emitter);
             }
         });
+        clusterRouter.refresh(emitters.keySet()); // 연결이 살아 있는 사용자의 서버 등록 연장
     }
 
-    // 특정 사용자에게 이벤트를 전송하는 메소드
+    // 특정 사용자에게 이벤트를 전송하는 메소드 (이 서버의 연결 + 다른 서버에 있는 연결)
     public void sendToClient(Long userId, String eventName, Object data) {
+        String eventId = replayBuffer.append(userId, eventName, data); // 사용자별 증가 ID (Last-Event-ID 로 재전송)
+        boolean delivered = deliverLocally(userId, eventId, eventName, data);
+        int forwarded = clusterRouter.forward(userId, eventId, eventName, data);
+        if (!delivered && forwarded == 0) {
+            log.debug("No SSE emitter found for userId: {}", userId);
+        }
+    }
+
+    private boolean deliverLocally(Long userId, String eventId, String eventName, Object data) {
         SseEmitter emitter = emitters.get(userId);
-        if (emitter != null) {
-            try {
-                // SseEmitter.SseEventBuilder를 사용하여 이벤트 이름과 데이터를 전송
-                emitter.send(SseEmitter.event()
-                        .id(String.valueOf(userId)) // 이벤트 ID
-                        .name(eventName)           // 이벤트 이름 (클라이언트에서 event listener 이름으로 사용)
-                        .data(data));              // 전송할 데이터
-                log.info("Sent SSE event '{}' to userId: {}", eventName, userId);
-            } catch (IOException e) {
-                // 전송 중 에러 발생 시 (클라이언트 연결 끊김 등), emitters 맵에서 제거
-                log.error("Failed to send SSE event to userId: {}. Removing emitter.", userId, e);
-                emitters.remove(userId);
+        if (emitter == null) {
+            return false;
+        }
+        boolean sent = sendEvent(userId, emitter, eventId, eventName, data);
+        if (sent) {
+            log.info("Sent SSE event '{}' to userId: {}", eventName, userId);
+        }
+        return sent;
+    }
+
+    private boolean sendEvent(Long userId, SseEmitter emitter, String eventId, String eventName, Object data) {
+        try {
+            // SseEmitter.SseEventBuilder를 사용하여 이벤트 이름과 데이터를 전송
+            SseEmitter.SseEventBuilder event = SseEmitter.event()
+                    .name(eventName)           // 이벤트 이름 (클라이언트에서 event listener 이름으로 사용)
+                    .data(data);               // 전송할 데이터
+            if (eventId != null) {
+                event.id(eventId);             // 이벤트 ID (재연결 시 Last-Event-ID 로 돌아옴)
             }
-        } else {
-            log.warn("No SSE emitter found for userId: {}", userId);
+            emitter.send(event);
+            return true;
+        } catch (IOException e) {
+            // 전송 중 에러 발생 시 (클라이언트 연결 끊김 등), emitters 맵에서 제거
+            log.error("Failed to send SSE event to userId: {}. Removing emitter.", userId, e);
+            removeEmitter(userId, emitter);
+            return false;
+        }
+    }
+
+    // 같은 사용자가 새로 연결한 Emitter 는 지우지 않도록 현재 Emitter 일 때만 제거
+    private void removeEmitter(Long userId, SseEmitter emitter) {
+        if (emitters.remove(userId, emitter)) {
+            clusterRouter.unregister(userId);
         }
     }
 }
@@ -0,0 +1,169 @@
+package com.studygroup.global.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 사용자별 SSE 이벤트 재전송 버퍼.
+ * 이벤트마다 사용자별로 증가하는 ID("{epoch}-{seq}")를 붙이고 최근 CAPACITY 개를 보관해, 재연결 시
+ * 클라이언트가 보낸 Last-Event-ID 이후의 이벤트만 다시 보낸다. (재연결할 때마다 알림 목록 전체를 다시 읽지 않도록)
+ * app.sse.routing=local 이면 메모리에 보관한다. epoch 는 서버 시작 시각이므로, 재시작 전 ID 를 받으면 보관된 이벤트를 모두 보낸다.
+ * app.sse.routing=redis 이면 다른 서버로 재연결될 수 있으므로 Redis Stream "sse:events:{userId}" 에 보관하고 스트림 ID 를 그대로 쓴다.
+ * Last-Event-ID 가 보관 범위보다 오래되어 그 사이 이벤트가 잘려 나갔으면 Replay.gap 이 true 이며,
+ * 이때 호출 측은 클라이언트가 알림 목록을 다시 조회하도록 알려야 한다.
+ */
+@Slf4j
+@Component
+public class SseReplayBuffer {
+
+    private static final int CAPACITY = 100;         // 사용자당 보관 이벤트 수
+    private static final int MAX_USERS = 10_000;     // 메모리 모드에서 버퍼를 유지할 사용자 수 (LRU)
+    private static final long STREAM_TTL_SECONDS = 24 * 60 * 60;
+    private static final String KEY_PREFIX = "sse:events:";
+    private static final Pattern EVENT_ID = Pattern.compile("^(\\d{1,19})-(\\d{1,19})$");
+
+    // 스트림 추가 + 길이 제한 + 만료 시간을 한 번에
+    private static final RedisScript<String> APPEND_SCRIPT = new DefaultRedisScript<>(
+            "local id = redis.call('XADD', KEYS[1], 'MAXLEN', '~', ARGV[1], '*', 'event', ARGV[2], 'data', ARGV[3]) " +
+            "redis.call('EXPIRE', KEYS[1], ARGV[4]) " +
+            "return id", String.class);
+
+    public record SseEvent(String id, String name, Object data) {
+    }
+
+    // gap: Last-Event-ID 이후 이벤트 중 일부가 이미 버퍼에서 밀려나 events 만으로는 빠진 이벤트를 모두 복구할 수 없음
+    public record Replay(List<SseEvent> events, boolean gap) {
+        private static final Replay NONE = new Replay(List.of(), false);
+        private static final Replay LOST = new Replay(List.of(), true);
+    }
+
+    private static final class UserEvents {
+        private long lastSeq;
+        private final ArrayDeque<SseEvent> events = new ArrayDeque<>();
+    }
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final boolean useRedis;
+    private final long epoch = System.currentTimeMillis();
+
+    // 메모리 모드 버퍼 (접근 순서 LRU, 이 객체로 동기화)
+    private final Map<Long, UserEvents> buffers = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, UserEvents> eldest) {
+            return size() > MAX_USERS;
+        }
+    };
+
+    public SseReplayBuffer(StringRedisTemplate redisTemplate,
+                           ObjectMapper objectMapper,
+                           @Value("${app.sse.routing:local}") String routing) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.useRedis = "redis".equalsIgnoreCase(routing);
+    }
+
+    // 이벤트를 보관하고 ID 를 반환 (보관 실패 시 null: ID 없이 전송)
+    public String append(Long userId, String eventName, Object data) {
+        if (useRedis) {
+            try {
+                return redisTemplate.execute(APPEND_SCRIPT, List.of(KEY_PREFIX + userId),
+                        String.valueOf(CAPACITY), eventName, objectMapper.writeValueAsString(data),
+                        String.valueOf(STREAM_TTL_SECONDS));
+            } catch (Exception e) {
+                log.warn("SSE 이벤트 보관 실패: userId={}, event={}", userId, eventName, e);
+                return null;
+            }
+        }
+        synchronized (buffers) {
+            UserEvents userEvents = buffers.computeIfAbsent(userId, key -> new UserEvents());
+            String id = epoch + "-" + (++userEvents.lastSeq);
+            userEvents.events.addLast(new SseEvent(id, eventName, data));
+            if (userEvents.events.size() > CAPACITY) {
+                userEvents.events.removeFirst();
+            }
+            return id;
+        }
+    }
+
+    // lastEventId 이후에 보관된 이벤트 (ID 가 없거나 형식이 잘못되었으면 빈 목록, 재전송할 것이 없는 첫 연결로 취급)
+    public Replay eventsAfter(Long userId, String lastEventId) {
+        if (lastEventId == null) {
+            return Replay.NONE;
+        }
+        Matcher matcher = EVENT_ID.matcher(lastEventId.trim());
+        if (!matcher.matches()) {
+            return Replay.NONE;
+        }
+        String lastId = matcher.group();
+        return useRedis ? readStream(userId, lastId) : readMemory(userId, matcher);
+    }
+
+    private Replay readMemory(Long userId, Matcher lastId) {
+        synchronized (buffers) {
+            UserEvents userEvents = buffers.get(userId);
+            if (userEvents == null) {
+                return Replay.LOST; // LRU 에서 밀려났거나 재시작됨
+            }
+            // 다른 epoch(재시작 전)의 ID 면 보관된 이벤트는 모두 그 이후에 발생한 것 (재시작 전 이벤트는 알 수 없음)
+            boolean sameEpoch = lastId.group(1).equals(String.valueOf(epoch));
+            long lastSeq = sameEpoch ? Long.parseLong(lastId.group(2)) : 0L;
+            List<SseEvent> result = new ArrayList<>();
+            for (SseEvent event : userEvents.events) {
+                if (seqOf(event.id()) > lastSeq) {
+                    result.add(event);
+                }
+            }
+            SseEvent oldest = userEvents.events.peekFirst();
+            boolean gap = !sameEpoch || (oldest != null && seqOf(oldest.id()) > lastSeq + 1);
+            return new Replay(result, gap);
+        }
+    }
+
+    private Replay readStream(Long userId, String lastId) {
+        try {
+            List<MapRecord<String, Object, Object>> records = redisTemplate.opsForStream().range(
+                    KEY_PREFIX + userId, Range.rightUnbounded(Range.Bound.inclusive(lastId)));
+            if (records == null || records.isEmpty()) {
+                return Replay.LOST; // 스트림이 만료되었거나 lastId 까지 잘려 나감
+            }
+            // 클라이언트가 마지막으로 받은 이벤트가 스트림에 남아 있어야 그 이후가 빠짐없이 남아 있음
+            boolean gap = !records.get(0).getId().getValue().equals(lastId);
+            List<SseEvent> result = new ArrayList<>();
+            for (MapRecord<String, Object, Object> record : records) {
+                String id = record.getId().getValue();
+                if (id.equals(lastId)) {
+                    continue; // 클라이언트가 이미 받은 이벤트
+                }
+                JsonNode data = objectMapper.readTree(String.valueOf(record.getValue().get("data")));
+                // 문자열 데이터는 원래처럼 따옴표 없이 전송
+                result.add(new SseEvent(id, String.valueOf(record.getValue().get("event")),
+                        data.isTextual() ? data.asText() : data));
+            }
+            return new Replay(result, gap);
+        } catch (Exception e) {
+            log.warn("SSE 이벤트 재전송 목록 조회 실패: userId={}, lastEventId={}", userId, lastId, e);
+            return Replay.LOST;
+        }
+    }
+
+    private static long seqOf(String id) {
+        return Long.parseLong(id.substring(id.indexOf('-') + 1));
+    }
+}
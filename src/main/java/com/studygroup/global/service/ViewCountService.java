@@ -0,0 +1,108 @@
+package com.studygroup.global.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 조회수 쓰기 지연(write-behind) 버퍼.
+ * 조회 시점에는 엔티티 ID별 메모리 카운터(ConcurrentHashMap, 버킷 단위 잠금)만 증가시키고, 주기적으로 모아서
+ * "view_count = view_count + ?" 배치 UPDATE 로 DB에 반영한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ViewCountService {
+
+    public enum Target {
+        STUDY_GROUP("study_group", "study_group_id"),
+        BOARD_POST("board_post", "board_post_id");
+
+        private final String updateSql;
+
+        Target(String table, String idColumn) {
+            this.updateSql = "UPDATE " + table + " SET view_count = view_count + ? WHERE " + idColumn + " = ?";
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Key: 대상 종류, Value: (엔티티 ID -> 아직 DB에 반영되지 않은 조회수)
+    private final Map<Target, ConcurrentHashMap<Long, Long>> pendingCounts = createPendingCounts();
+    // DB에 반영 중인 증가분 (UPDATE 완료 전까지 조회 결과에 합산하여 조회수가 잠깐 줄어 보이는 것을 방지)
+    private final Map<Target, ConcurrentHashMap<Long, Long>> flushingCounts = createPendingCounts();
+
+    private static Map<Target, ConcurrentHashMap<Long, Long>> createPendingCounts() {
+        Map<Target, ConcurrentHashMap<Long, Long>> map = new EnumMap<>(Target.class);
+        for (Target target : Target.values()) {
+            map.put(target, new ConcurrentHashMap<>());
+        }
+        return map;
+    }
+
+    public void increment(Target target, Long id) {
+        pendingCounts.get(target).merge(id, 1L, Long::sum);
+    }
+
+    // 화면에 표시할 조회수 = DB 값 + 아직 반영되지 않은 증가분
+    public long getPendingCount(Target target, Long id) {
+        return pendingCounts.get(target).getOrDefault(id, 0L)
+                + flushingCounts.get(target).getOrDefault(id, 0L);
+    }
+
+    // 3초마다 누적된 조회수를 DB에 반영
+    @Scheduled(fixedDelay = 3000)
+    public synchronized void flush() {
+        for (Target target : Target.values()) {
+            flush(target);
+        }
+    }
+
+    private void flush(Target target) {
+        ConcurrentHashMap<Long, Long> counts = pendingCounts.get(target);
+        ConcurrentHashMap<Long, Long> flushing = flushingCounts.get(target);
+        if (counts.isEmpty()) {
+            return;
+        }
+
+        // 키 단위로 원자적으로 꺼내므로, 그 사이 들어온 증가분은 새 엔트리로 쌓여 다음 주기에 반영됨
+        List<Object[]> batchArgs = new ArrayList<>();
+        for (Long id : counts.keySet()) {
+            Long delta = counts.remove(id);
+            if (delta != null && delta > 0) {
+                flushing.put(id, delta);
+                batchArgs.add(new Object[]{delta, id});
+            }
+        }
+        if (batchArgs.isEmpty()) {
+            return;
+        }
+
+        try {
+            jdbcTemplate.batchUpdate(target.updateSql, batchArgs);
+            log.debug("조회수 반영 완료: target={}, rows={}", target, batchArgs.size());
+        } catch (Exception e) {
+            // 실패한 증가분은 버리지 않고 다시 버퍼에 되돌려 다음 주기에 재시도
+            log.error("조회수 반영 실패, 다음 주기에 재시도합니다: target={}, rows={}", target, batchArgs.size(), e);
+            for (Object[] args : batchArgs) {
+                counts.merge((Long) args[1], (Long) args[0], Long::sum);
+            }
+        } finally {
+            flushing.clear();
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+}
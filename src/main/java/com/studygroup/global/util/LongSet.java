@@ -0,0 +1,101 @@
+package com.studygroup.global.util;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * 박싱 없이 long 값을 담는 불변(immutable) 집합.
+ * 오픈 어드레싱 해시 테이블로 contains/indexOf 를 O(1)에 처리한다.
+ * indexOf 는 생성 시 입력 순서(중복 제거 후) 기준의 위치를 돌려주므로,
+ * 같은 길이의 병렬 배열에 부가 정보를 담아 함께 사용할 수 있다.
+ */
+public final class LongSet {
+
+    public static final LongSet EMPTY = new LongSet(new long[0], new int[1]);
+
+    private final long[] values; // 입력 순서대로 저장된 값 (중복 제거)
+    private final int[] table;   // values 의 인덱스 + 1 (0 은 빈 슬롯)
+
+    private LongSet(long[] values, int[] table) {
+        this.values = values;
+        this.table = table;
+    }
+
+    public static LongSet of(Collection<Long> source) {
+        if (source == null || source.isEmpty()) {
+            return EMPTY;
+        }
+        long[] raw = new long[source.size()];
+        int i = 0;
+        for (Long value : source) {
+            raw[i++] = value;
+        }
+        return of(raw);
+    }
+
+    public static LongSet of(long... source) {
+        if (source == null || source.length == 0) {
+            return EMPTY;
+        }
+        // 부하율 0.5 이하가 되도록 2의 거듭제곱 크기로 테이블 생성
+        int capacity = Integer.highestOneBit(Math.max(2, source.length) * 2 - 1) << 1;
+        int[] table = new int[capacity];
+        long[] values = new long[source.length];
+        int size = 0;
+        for (long value : source) {
+            int slot = slotOf(table, values, value);
+            if (table[slot] == 0) {
+                values[size] = value;
+                table[slot] = ++size;
+            }
+        }
+        return new LongSet(size == values.length ? values : Arrays.copyOf(values, size), table);
+    }
+
+    public boolean contains(long value) {
+        return indexOf(value) >= 0;
+    }
+
+    /**
+     * 값이 있으면 입력 순서 기준 위치를, 없으면 -1 을 반환한다.
+     */
+    public int indexOf(long value) {
+        int slot = slotOf(table, values, value);
+        return table[slot] - 1;
+    }
+
+    public int size() {
+        return values.length;
+    }
+
+    public boolean isEmpty() {
+        return values.length == 0;
+    }
+
+    public long get(int index) {
+        return values[index];
+    }
+
+    public long[] toArray() {
+        return values.clone();
+    }
+
+    private static int slotOf(int[] table, long[] values, long value) {
+        int mask = table.length - 1;
+        int slot = mix(value) & mask;
+        while (table[slot] != 0 && values[table[slot] - 1] != value) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private static int mix(long value) {
+        long h = value * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(values);
+    }
+}
@@ -0,0 +1,18 @@
+package com.studygroup.global.websocket;
+
+/**
+ * STOMP 구독자에게 메시지를 보내는 통로.
+ * SimpleBroker 는 같은 JVM 에 연결된 클라이언트에게만 전달하므로, 서버가 여러 대일 때는 구현체가 다른 노드로도 전달한다.
+ * app.websocket.fanout 설정으로 구현체를 선택한다. (local: 단일 서버, redis: Redis pub/sub 으로 전체 노드에 전달)
+ */
+public interface ClusterBroadcaster {
+
+    void broadcast(String destination, Object payload);
+
+    /**
+     * destination 을 구독 중인 클라이언트가 (어느 서버에든) 있는지.
+     * 형식별로 따로 보내는 메시지(압축 형식 등)를 아무도 받지 않을 때 직렬화/전송을 건너뛰는 데 사용한다.
+     * 확실하지 않으면 true 를 반환한다.
+     */
+    boolean hasSubscribers(String destination);
+}
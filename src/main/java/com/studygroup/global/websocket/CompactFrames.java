@@ -0,0 +1,53 @@
+package com.studygroup.global.websocket;
+
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * 압축 전송 형식 (STOMP CONNECT 헤더 "x-frame-format: compact" 로 선택).
+ * SockJS 는 텍스트 프레임만 전달하므로 바이너리 대신 필드 이름이 없는 JSON 배열을 사용하고,
+ * 발신자 정보는 ID 만 보낸다. (클라이언트가 /api/users/{id}/profile 결과를 캐시해서 표시)
+ * 압축 형식 세션이 채팅방/DM 을 구독하면 구독 경로가 "{destination}/compact" 로 바뀌어 등록되므로
+ * 서버는 메시지마다 형식별로 한 번씩만 직렬화해 보낸다.
+ */
+public final class CompactFrames {
+
+    public static final String FORMAT_HEADER = "x-frame-format";
+    public static final String COMPACT = "compact";
+    private static final String SESSION_ATTRIBUTE = "frameFormat";
+    private static final String DESTINATION_SUFFIX = "/compact";
+
+    // 압축 형식을 지원하는 구독 경로 (채팅방/DM 메시지)
+    private static final Pattern SUPPORTED_DESTINATION = Pattern.compile("^/sub/(chat|dm)/room/\\d{1,18}$");
+
+    private CompactFrames() {
+    }
+
+    // CONNECT 시 협상 결과를 세션 속성에 저장
+    public static void negotiate(SimpMessageHeaderAccessor accessor, String requestedFormat) {
+        Map<String, Object> attributes = accessor.getSessionAttributes();
+        if (attributes != null && COMPACT.equalsIgnoreCase(requestedFormat)) {
+            attributes.put(SESSION_ATTRIBUTE, COMPACT);
+        }
+    }
+
+    // 이 세션의 구독을 압축 형식 경로로 바꿔야 하는지
+    public static boolean shouldRewrite(SimpMessageHeaderAccessor accessor) {
+        Map<String, Object> attributes = accessor.getSessionAttributes();
+        return attributes != null && COMPACT.equals(attributes.get(SESSION_ATTRIBUTE))
+                && accessor.getDestination() != null
+                && SUPPORTED_DESTINATION.matcher(accessor.getDestination()).matches();
+    }
+
+    public static String destination(String destination) {
+        return destination + DESTINATION_SUFFIX;
+    }
+
+    public static long epochMillis(LocalDateTime dateTime) {
+        return dateTime == null ? 0L : dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,26 @@
+package com.studygroup.global.websocket;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.messaging.simp.SimpMessageSendingOperations;
+import org.springframework.stereotype.Component;
+
+// 단일 서버용: 이 JVM 의 SimpleBroker 로만 전달 (기존 동작)
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.websocket.fanout", havingValue = "local", matchIfMissing = true)
+public class LocalClusterBroadcaster implements ClusterBroadcaster {
+
+    private final SimpMessageSendingOperations messagingTemplate;
+    private final StompSubscriptionRegistry subscriptionRegistry;
+
+    @Override
+    public void broadcast(String destination, Object payload) {
+        messagingTemplate.convertAndSend(destination, payload);
+    }
+
+    @Override
+    public boolean hasSubscribers(String destination) {
+        return subscriptionRegistry.hasSubscribers(destination);
+    }
+}
@@ -0,0 +1,142 @@
+package com.studygroup.global.websocket;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageSendingOperations;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Redis pub/sub 기반 다중 서버 전달.
+ * - 메시지는 한 번만 JSON 으로 직렬화해 "ws:{destination}" 채널에 PUBLISH 하고, 이 노드의 구독자에게는 바로 전달한다.
+ * - 각 노드는 로컬 구독자가 1명 이상인 destination 의 채널만 SUBSCRIBE 하므로, 아무도 보고 있지 않은 채널의 메시지는 받지 않는다.
+ *   (로컬 구독 수는 StompSubscriptionRegistry 가 관리)
+ * - 자기 자신이 보낸 메시지는 노드 ID 로 걸러 중복 전달하지 않는다.
+ * 채널 본문 형식: "{노드 ID}\n{JSON payload}"
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.websocket.fanout", havingValue = "redis")
+public class RedisClusterBroadcaster implements ClusterBroadcaster, MessageListener, StompSubscriptionRegistry.Listener {
+
+    private static final String CHANNEL_PREFIX = "ws:";
+    // 채널을 구독 중인 연결(노드) 수
+    private static final RedisScript<Long> NUMSUB_SCRIPT = new DefaultRedisScript<>(
+            "return redis.call('PUBSUB', 'NUMSUB', KEYS[1])[2]", Long.class);
+    private static final long REMOTE_SUBSCRIBERS_CACHE_MS = 1000;
+
+    private final SimpMessageSendingOperations messagingTemplate;
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final ObjectMapper objectMapper;
+    private final StompSubscriptionRegistry subscriptionRegistry;
+    private final String nodeId = UUID.randomUUID().toString();
+    // Key: destination, Value: 다른 노드에 구독자가 있음을 마지막으로 확인한 시각
+    private final Map<String, Long> remoteSubscribersCheckedAt = new ConcurrentHashMap<>();
+
+    public RedisClusterBroadcaster(SimpMessageSendingOperations messagingTemplate,
+                                   StringRedisTemplate redisTemplate,
+                                   RedisMessageListenerContainer listenerContainer,
+                                   ObjectMapper objectMapper,
+                                   StompSubscriptionRegistry subscriptionRegistry) {
+        this.messagingTemplate = messagingTemplate;
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.objectMapper = objectMapper;
+        this.subscriptionRegistry = subscriptionRegistry;
+        subscriptionRegistry.addListener(this);
+    }
+
+    @Override
+    public void broadcast(String destination, Object payload) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("WebSocket 메시지를 직렬화할 수 없습니다: " + destination, e);
+        }
+        if (subscriptionRegistry.hasSubscribers(destination)) {
+            deliverLocally(destination, json);
+        }
+        try {
+            redisTemplate.convertAndSend(CHANNEL_PREFIX + destination, nodeId + "\n" + json);
+        } catch (Exception e) {
+            log.warn("다른 노드로 WebSocket 메시지 전달 실패: destination={}", destination, e);
+        }
+    }
+
+    // 다른 노드가 PUBLISH 한 메시지 수신
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String channel = new String(message.getChannel(), StandardCharsets.UTF_8);
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = body.indexOf('\n');
+        if (separator < 0 || body.startsWith(nodeId + "\n")) {
+            return; // 형식 오류 또는 자기 자신이 보낸 메시지 (이미 로컬 전달됨)
+        }
+        deliverLocally(channel.substring(CHANNEL_PREFIX.length()), body.substring(separator + 1));
+    }
+
+    // 이미 직렬화된 JSON 을 그대로 SimpleBroker 에 전달 (노드마다 다시 직렬화하지 않음)
+    private void deliverLocally(String destination, String json) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create();
+        accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        accessor.setLeaveMutable(true);
+        messagingTemplate.send(destination,
+                MessageBuilder.createMessage(json.getBytes(StandardCharsets.UTF_8), accessor.getMessageHeaders()));
+    }
+
+    // 이 노드에 구독자가 있거나, 이 destination 채널을 구독한 다른 노드가 있으면 true (조회 실패 시 true)
+    // 다른 노드에 구독자가 있다는 결과는 REMOTE_SUBSCRIBERS_CACHE_MS 동안 재사용 (메시지마다 Redis 를 조회하지 않도록)
+    @Override
+    public boolean hasSubscribers(String destination) {
+        if (subscriptionRegistry.hasSubscribers(destination)) {
+            return true;
+        }
+        long now = System.currentTimeMillis();
+        Long checkedAt = remoteSubscribersCheckedAt.get(destination);
+        if (checkedAt != null && now - checkedAt < REMOTE_SUBSCRIBERS_CACHE_MS) {
+            return true;
+        }
+        try {
+            Long subscribers = redisTemplate.execute(NUMSUB_SCRIPT, List.of(CHANNEL_PREFIX + destination));
+            if (subscribers != null && subscribers == 0) {
+                remoteSubscribersCheckedAt.remove(destination);
+                return false;
+            }
+            remoteSubscribersCheckedAt.put(destination, now);
+            return true;
+        } catch (Exception e) {
+            log.warn("다른 노드 구독 여부 조회 실패: destination={}", destination, e);
+            return true;
+        }
+    }
+
+    // --- 이 노드의 구독 수가 0 -> 1 이면 Redis 채널 구독, 1 -> 0 이면 구독 해제 ---
+    @Override
+    public void firstSubscribed(String destination) {
+        listenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL_PREFIX + destination));
+    }
+
+    @Override
+    public void lastUnsubscribed(String destination) {
+        listenerContainer.removeMessageListener(this, new ChannelTopic(CHANNEL_PREFIX + destination));
+    }
+}
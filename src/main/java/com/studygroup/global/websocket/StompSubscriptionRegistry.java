@@ -0,0 +1,106 @@
+package com.studygroup.global.websocket;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 이 서버에 연결된 세션들의 destination 별 구독 수.
+ * ClusterBroadcaster 가 구독자가 없는 destination 으로의 전송을 건너뛰거나(hasSubscribers),
+ * 구독자가 생기고 사라질 때 Redis 채널을 구독/해제하는 데(Listener) 사용한다.
+ * 구독 이벤트는 채널 인터셉터보다 먼저 발행되므로, 압축 형식 세션의 구독은 인터셉터와 같은 규칙으로 "/compact" 경로로 센다.
+ */
+@Component
+public class StompSubscriptionRegistry {
+
+    private static final String BROKER_PREFIX = "/sub/";
+
+    // destination 의 첫 구독 / 마지막 구독 해제 시 호출 (구독 수 갱신과 원자적으로 실행되므로 짧게 처리할 것)
+    public interface Listener {
+        void firstSubscribed(String destination);
+
+        void lastUnsubscribed(String destination);
+    }
+
+    // Key: destination, Value: 이 노드의 구독 수
+    private final Map<String, AtomicInteger> subscriberCounts = new ConcurrentHashMap<>();
+    // Key: "세션 ID:구독 ID", Value: destination (UNSUBSCRIBE/DISCONNECT 프레임에는 destination 이 없음)
+    private final Map<String, String> subscriptions = new ConcurrentHashMap<>();
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    public boolean hasSubscribers(String destination) {
+        return subscriberCounts.containsKey(destination);
+    }
+
+    // --- 구독 수 관리: 0 -> 1, 1 -> 0 일 때 Listener 호출 ---
+    @EventListener
+    public void handleSubscribe(SessionSubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        String destination = accessor.getDestination();
+        if (destination == null || !destination.startsWith(BROKER_PREFIX)) {
+            return;
+        }
+        if (CompactFrames.shouldRewrite(accessor)) {
+            destination = CompactFrames.destination(destination);
+        }
+        if (subscriptions.putIfAbsent(subscriptionKey(accessor.getSessionId(), accessor.getSubscriptionId()), destination) != null) {
+            return; // 같은 구독 ID 로 중복 SUBSCRIBE
+        }
+        subscriberCounts.compute(destination, (key, count) -> {
+            if (count == null) {
+                listeners.forEach(listener -> listener.firstSubscribed(key));
+                return new AtomicInteger(1);
+            }
+            count.incrementAndGet();
+            return count;
+        });
+    }
+
+    @EventListener
+    public void handleUnsubscribe(SessionUnsubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        release(subscriptions.remove(subscriptionKey(accessor.getSessionId(), accessor.getSubscriptionId())));
+    }
+
+    @EventListener
+    public void handleDisconnect(SessionDisconnectEvent event) {
+        String prefix = event.getSessionId() + ":";
+        subscriptions.entrySet().removeIf(entry -> {
+            if (!entry.getKey().startsWith(prefix)) {
+                return false;
+            }
+            release(entry.getValue());
+            return true;
+        });
+    }
+
+    private void release(String destination) {
+        if (destination == null) {
+            return;
+        }
+        subscriberCounts.computeIfPresent(destination, (key, count) -> {
+            if (count.decrementAndGet() > 0) {
+                return count;
+            }
+            listeners.forEach(listener -> listener.lastUnsubscribed(key));
+            return null;
+        });
+    }
+
+    private static String subscriptionKey(String sessionId, String subscriptionId) {
+        return sessionId + ":" + subscriptionId;
+    }
+}
@@ -0,0 +1,67 @@
+package com.studygroup.global.websocket;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+import org.springframework.web.socket.handler.WebSocketHandlerDecoratorFactory;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * WebSocket 연결 수와 느린 클라이언트 강제 종료 횟수 집계.
+ * 전송 버퍼(sendBufferSizeLimit)나 전송 시간(sendTimeLimit) 한도를 넘긴 세션은 Spring 이
+ * SESSION_NOT_RELIABLE 상태로 닫으므로, 그 종료 상태를 느린 클라이언트 강제 종료로 센다.
+ * 1분마다 강제 종료가 있었을 때만 로그를 남긴다.
+ */
+@Slf4j
+@Component
+public class WebSocketTransportMonitor implements WebSocketHandlerDecoratorFactory {
+
+    private final AtomicInteger openSessions = new AtomicInteger();
+    private final AtomicLong evictedSessions = new AtomicLong();
+    private long lastReportedEvictions = 0; // report() 에서만 사용
+
+    @Override
+    public WebSocketHandler decorate(WebSocketHandler handler) {
+        return new WebSocketHandlerDecorator(handler) {
+            @Override
+            public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+                openSessions.incrementAndGet();
+                super.afterConnectionEstablished(session);
+            }
+
+            @Override
+            public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+                openSessions.decrementAndGet();
+                if (CloseStatus.SESSION_NOT_RELIABLE.equalsCode(closeStatus)) {
+                    evictedSessions.incrementAndGet();
+                    log.debug("느린 WebSocket 클라이언트 연결 종료: sessionId={}, reason={}", session.getId(), closeStatus.getReason());
+                }
+                super.afterConnectionClosed(session, closeStatus);
+            }
+        };
+    }
+
+    public int getOpenSessions() {
+        return openSessions.get();
+    }
+
+    public long getEvictedSessions() {
+        return evictedSessions.get();
+    }
+
+    @Scheduled(fixedRate = 60_000)
+    public synchronized void report() {
+        long evicted = evictedSessions.get();
+        if (evicted > lastReportedEvictions) {
+            log.warn("느린 WebSocket 클라이언트 강제 종료: 최근 1분 {}건, 누적 {}건, 현재 연결 {}개",
+                    evicted - lastReportedEvictions, evicted, openSessions.get());
+        }
+        lastReportedEvictions = evicted;
+    }
+}
@@ -0,0 +1,149 @@
+package com.studygroup.domain.chat.service;
+
+import com.studygroup.domain.chat.entity.MessageType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ChatArchiveStoreTest {
+
+    private static final long ROOM_ID = 7L;
+
+    @TempDir
+    Path archiveDir;
+
+    private ChatArchiveStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = newStore();
+    }
+
+    @Test
+    void appendedBlocksDecodeToTheSameMessages() throws IOException {
+        PendingChatMessage korean = new PendingChatMessage(1L, ROOM_ID, 100L, "안녕하세요 👋", MessageType.TALK,
+                LocalDateTime.of(2024, 5, 1, 10, 0, 0, 123_456_789), false);
+        PendingChatMessage enter = new PendingChatMessage(2L, ROOM_ID, 200L, "", MessageType.ENTER,
+                LocalDateTime.of(2024, 5, 1, 10, 1), false);
+        store.append(ROOM_ID, List.of(korean, enter));
+
+        assertThat(store.findBefore(ROOM_ID, null, 10)).containsExactly(enter, korean);
+        assertThat(store.findAfter(ROOM_ID, 0L, 10)).containsExactly(korean, enter);
+        assertThat(store.getLastArchivedId(ROOM_ID)).isEqualTo(2L);
+    }
+
+    @Test
+    void cursorsCrossBlockBoundaries() throws IOException {
+        store.append(ROOM_ID, messages(1, 2, 3));
+        store.append(ROOM_ID, messages(5, 6, 7));
+        store.append(ROOM_ID, messages(10, 11, 12));
+
+        assertThat(ids(store.findBefore(ROOM_ID, 6L, 3))).containsExactly(5L, 3L, 2L);
+        assertThat(ids(store.findBefore(ROOM_ID, 1L, 3))).isEmpty();
+        assertThat(ids(store.findBefore(ROOM_ID, null, 2))).containsExactly(12L, 11L);
+        assertThat(ids(store.findAfter(ROOM_ID, 3L, 4))).containsExactly(5L, 6L, 7L, 10L);
+        assertThat(ids(store.findAfter(ROOM_ID, 8L, 10))).containsExactly(10L, 11L, 12L);
+        assertThat(ids(store.findAfter(ROOM_ID, 12L, 10))).isEmpty();
+    }
+
+    @Test
+    void unknownRoomHasNoArchivedMessages() {
+        assertThat(store.findBefore(99L, null, 10)).isEmpty();
+        assertThat(store.findAfter(99L, 0L, 10)).isEmpty();
+        assertThat(store.getLastArchivedId(99L)).isZero();
+    }
+
+    @Test
+    void anotherServerSeesNewlyAppendedBlocks() throws IOException {
+        ChatArchiveStore other = newStore(); // 같은 디렉터리를 공유하는 다른 서버
+        store.append(ROOM_ID, messages(1, 2));
+        assertThat(ids(other.findAfter(ROOM_ID, 0L, 10))).containsExactly(1L, 2L);
+
+        store.append(ROOM_ID, messages(3, 4));
+
+        assertThat(ids(other.findAfter(ROOM_ID, 0L, 10))).containsExactly(1L, 2L, 3L, 4L);
+    }
+
+    @Test
+    void recoverTruncatesTornDataAndIndexTails() throws IOException {
+        store.append(ROOM_ID, messages(1, 2, 3));
+        store.append(ROOM_ID, messages(4, 5, 6));
+        long dataBytes = Files.size(dataFile());
+        long indexBytes = Files.size(indexFile());
+        // .seg 기록 도중 중단 + 인덱스 항목 일부만 기록된 상태
+        Files.write(dataFile(), new byte[]{1, 2, 3, 4, 5}, StandardOpenOption.APPEND);
+        Files.write(indexFile(), new byte[]{0, 0, 0, 0, 0, 0, 0, 9}, StandardOpenOption.APPEND);
+
+        store.recoverAll();
+
+        assertThat(Files.size(dataFile())).isEqualTo(dataBytes);
+        assertThat(Files.size(indexFile())).isEqualTo(indexBytes);
+        store.append(ROOM_ID, messages(7, 8));
+        assertThat(ids(store.findAfter(ROOM_ID, 0L, 10))).containsExactly(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L);
+    }
+
+    @Test
+    void recoverDropsIndexEntriesWhoseBlockWasNeverWritten() throws IOException {
+        store.append(ROOM_ID, messages(1, 2, 3));
+        long dataBytes = Files.size(dataFile());
+        long indexBytes = Files.size(indexFile());
+        // 인덱스 항목은 완전하지만 가리키는 블록이 .seg 에 없는 경우
+        ByteBuffer entry = ByteBuffer.allocate(32).putLong(4L).putLong(6L).putLong(dataBytes).putInt(64).putInt(3);
+        Files.write(indexFile(), entry.array(), StandardOpenOption.APPEND);
+
+        ChatArchiveStore restarted = newStore();
+        restarted.recoverAll();
+
+        assertThat(Files.size(indexFile())).isEqualTo(indexBytes);
+        assertThat(restarted.getLastArchivedId(ROOM_ID)).isEqualTo(3L);
+        assertThat(ids(restarted.findBefore(ROOM_ID, null, 10))).containsExactly(3L, 2L, 1L);
+    }
+
+    @Test
+    void recoverLeavesIntactFilesUntouched() throws IOException {
+        List<PendingChatMessage> messages = messages(LongStream.rangeClosed(1, ChatArchiveStore.BLOCK_SIZE).toArray());
+        store.append(ROOM_ID, messages);
+        long dataBytes = Files.size(dataFile());
+
+        store.recoverAll();
+
+        assertThat(Files.size(dataFile())).isEqualTo(dataBytes);
+        assertThat(store.findAfter(ROOM_ID, 0L, ChatArchiveStore.BLOCK_SIZE)).isEqualTo(messages);
+    }
+
+    private ChatArchiveStore newStore() {
+        ChatArchiveStore archiveStore = new ChatArchiveStore(archiveDir.toString());
+        archiveStore.init();
+        return archiveStore;
+    }
+
+    private Path dataFile() {
+        return archiveDir.resolve(ROOM_ID + ".seg");
+    }
+
+    private Path indexFile() {
+        return archiveDir.resolve(ROOM_ID + ".idx");
+    }
+
+    private static List<PendingChatMessage> messages(long... ids) {
+        return LongStream.of(ids)
+                .mapToObj(id -> new PendingChatMessage(id, ROOM_ID, 100L + id % 3, "보관 메시지 " + id, MessageType.TALK,
+                        LocalDateTime.of(2024, 1, 1, 0, 0).plusMinutes(id), false))
+                .toList();
+    }
+
+    private static List<Long> ids(List<PendingChatMessage> messages) {
+        return messages.stream().map(PendingChatMessage::id).toList();
+    }
+}
@@ -0,0 +1,271 @@
+package com.studygroup.domain.chat.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.studygroup.domain.chat.entity.MessageType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+class ChatMessageWriterTest {
+
+    private static final String INSERT_PREFIX = "INSERT INTO chat_message";
+
+    @TempDir
+    Path journalDir;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private JdbcTemplate jdbcTemplate;
+    private ChatMessageIdAllocator idAllocator;
+    private ChatMessageWriter writer;
+
+    // INSERT 배치마다 저장된 메시지 ID 목록
+    private final List<List<Long>> insertedBatches = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        idAllocator = mock(ChatMessageIdAllocator.class);
+        writer = new ChatMessageWriter(jdbcTemplate, new TransactionTemplate(mock(PlatformTransactionManager.class)),
+                objectMapper, idAllocator, journalDir.toString());
+    }
+
+    @AfterEach
+    void tearDown() {
+        writer.stop();
+    }
+
+    @Test
+    void rejectsMessagesBeforeStart() {
+        assertThat(writer.enqueue(message(1L, 10L))).isFalse();
+    }
+
+    @Test
+    void writesQueuedMessagesAndReleasesTheirIds() throws Exception {
+        recordInserts();
+        writer.start();
+
+        assertThat(writer.enqueue(message(1L, 10L))).isTrue();
+        assertThat(writer.enqueue(message(2L, 10L))).isTrue();
+
+        awaitTrue(() -> insertedIds().containsAll(List.of(1L, 2L)));
+        verify(idAllocator, timeout(1000).atLeastOnce()).release(any());
+        verify(jdbcTemplate, timeout(1000).atLeastOnce())
+                .batchUpdate(startsWith("UPDATE chat_room"), anyList());
+    }
+
+    @Test
+    void findUnwrittenIncludesQueuedAndInFlightMessages() throws Exception {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            writing.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return new int[0];
+        }).when(jdbcTemplate).batchUpdate(startsWith(INSERT_PREFIX), anyList());
+        writer.start();
+
+        writer.enqueue(message(1L, 10L));
+        assertThat(writing.await(5, TimeUnit.SECONDS)).isTrue(); // 1번은 저장 중 (inFlight)
+        writer.enqueue(message(2L, 10L));
+        writer.enqueue(message(3L, 20L));
+
+        assertThat(writer.findUnwritten(10L)).extracting(PendingChatMessage::id).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(writer.findUnwritten(20L)).extracting(PendingChatMessage::id).containsExactly(3L);
+        release.countDown();
+    }
+
+    @Test
+    void journalsBatchAfterRepeatedFailures() throws Exception {
+        doAnswer(invocation -> {
+            throw new IllegalStateException("DB down");
+        }).when(jdbcTemplate).batchUpdate(startsWith(INSERT_PREFIX), anyList());
+        writer.start();
+
+        writer.enqueue(message(7L, 10L));
+
+        Path journal = journalDir.resolve("chat-messages.journal");
+        awaitTrue(() -> Files.exists(journal));
+        List<String> lines = Files.readAllLines(journal, StandardCharsets.UTF_8);
+        assertThat(lines).hasSize(1);
+        assertThat(objectMapper.readValue(lines.get(0), PendingChatMessage.class)).isEqualTo(message(7L, 10L));
+        verify(idAllocator, never()).release(any());
+    }
+
+    @Test
+    void replayJournalWritesJournaledMessagesAndDeletesTheFile() throws Exception {
+        recordInserts();
+        writeJournal(message(1L, 10L), message(2L, 10L));
+
+        writer.replayJournal();
+
+        assertThat(insertedIds()).containsExactly(1L, 2L);
+        assertThat(Files.exists(journalDir.resolve("chat-messages.journal"))).isFalse();
+        assertThat(Files.exists(journalDir.resolve("chat-messages.journal.replaying"))).isFalse();
+    }
+
+    @Test
+    void replayJournalKeepsMessagesWhenDatabaseIsDown() throws Exception {
+        doAnswer(invocation -> {
+            throw new IllegalStateException("DB down");
+        }).when(jdbcTemplate).batchUpdate(startsWith(INSERT_PREFIX), anyList());
+        writeJournal(message(1L, 10L));
+
+        writer.replayJournal();
+
+        List<String> lines = Files.readAllLines(journalDir.resolve("chat-messages.journal"), StandardCharsets.UTF_8);
+        assertThat(lines).hasSize(1);
+        assertThat(objectMapper.readValue(lines.get(0), PendingChatMessage.class).id()).isEqualTo(1L);
+    }
+
+    @Test
+    void integrityViolationDropsOnlyTheInvalidMessage() throws Exception {
+        doAnswer(invocation -> {
+            List<Object[]> rows = invocation.getArgument(1);
+            List<Long> ids = idsOf(rows);
+            if (ids.contains(2L)) {
+                throw new DataIntegrityViolationException("chat_room_id foreign key");
+            }
+            insertedBatches.add(ids);
+            return new int[rows.size()];
+        }).when(jdbcTemplate).batchUpdate(startsWith(INSERT_PREFIX), anyList());
+        writeJournal(message(1L, 10L), message(2L, 99L), message(3L, 10L));
+
+        writer.replayJournal();
+
+        assertThat(insertedIds()).containsExactly(1L, 3L);
+        assertThat(Files.exists(journalDir.resolve("chat-messages.journal"))).isFalse(); // 다시 저널에 남기지 않음
+        verify(idAllocator).release(argThat(batch -> batch.size() == 3));
+    }
+
+    @Test
+    void acceptedMessageIsInTheWalBeforeItIsWritten() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return new int[0];
+        }).when(jdbcTemplate).batchUpdate(startsWith(INSERT_PREFIX), anyList());
+        writer.start();
+
+        assertThat(writer.enqueue(message(1L, 10L))).isTrue();
+
+        // DB 저장 전이라도 수락된 메시지는 WAL 에 있음
+        List<String> lines = Files.readAllLines(journalDir.resolve("chat-messages.wal.0"), StandardCharsets.UTF_8);
+        assertThat(lines).hasSize(1);
+        assertThat(objectMapper.readValue(lines.get(0), PendingChatMessage.class)).isEqualTo(message(1L, 10L));
+        release.countDown();
+    }
+
+    @Test
+    void walIsClearedOnceMessagesAreWritten() throws Exception {
+        recordInserts();
+        writer.start();
+
+        writer.enqueue(message(1L, 10L));
+        awaitTrue(() -> insertedIds().contains(1L));
+
+        Path wal = journalDir.resolve("chat-messages.wal.0");
+        awaitTrue(() -> Files.size(wal) == 0);
+        writer.stop();
+        assertThat(Files.exists(wal)).isFalse();
+    }
+
+    @Test
+    void startReplaysWalLeftByACrash() throws Exception {
+        recordInserts();
+        // 비정상 종료 전에 수락되었지만 저장되지 않은 메시지 (마지막 줄은 기록 도중 끊김)
+        Files.write(journalDir.resolve("chat-messages.wal.3"), List.of(
+                objectMapper.writeValueAsString(message(1L, 10L)),
+                objectMapper.writeValueAsString(message(2L, 10L)),
+                "{\"id\":3,\"chatRo"), StandardCharsets.UTF_8);
+
+        writer.start();
+
+        assertThat(insertedIds()).containsExactly(1L, 2L);
+        assertThat(Files.exists(journalDir.resolve("chat-messages.wal.3"))).isFalse();
+        // 새 메시지는 다음 세그먼트에 기록
+        writer.enqueue(message(4L, 10L));
+        assertThat(Files.exists(journalDir.resolve("chat-messages.wal.4"))).isTrue();
+    }
+
+    @Test
+    void walReplayJournalsMessagesWhenDatabaseIsDown() throws Exception {
+        doAnswer(invocation -> {
+            throw new IllegalStateException("DB down");
+        }).when(jdbcTemplate).batchUpdate(startsWith(INSERT_PREFIX), anyList());
+        Files.write(journalDir.resolve("chat-messages.wal.0"),
+                List.of(objectMapper.writeValueAsString(message(1L, 10L))), StandardCharsets.UTF_8);
+
+        writer.start();
+
+        assertThat(Files.exists(journalDir.resolve("chat-messages.wal.0"))).isFalse(); // 저널로 옮겨짐
+        List<String> journal = Files.readAllLines(journalDir.resolve("chat-messages.journal"), StandardCharsets.UTF_8);
+        assertThat(journal).hasSize(1);
+        assertThat(objectMapper.readValue(journal.get(0), PendingChatMessage.class).id()).isEqualTo(1L);
+    }
+
+    private void recordInserts() {
+        doAnswer(invocation -> {
+            List<Object[]> rows = invocation.getArgument(1);
+            insertedBatches.add(idsOf(rows));
+            return new int[rows.size()];
+        }).when(jdbcTemplate).batchUpdate(startsWith(INSERT_PREFIX), anyList());
+    }
+
+    private List<Long> insertedIds() {
+        List<Long> ids = new ArrayList<>();
+        insertedBatches.forEach(ids::addAll);
+        return ids;
+    }
+
+    private static List<Long> idsOf(List<Object[]> rows) {
+        return rows.stream().map(row -> (Long) row[0]).toList();
+    }
+
+    private void writeJournal(PendingChatMessage... messages) throws Exception {
+        List<String> lines = new ArrayList<>();
+        for (PendingChatMessage message : messages) {
+            lines.add(objectMapper.writeValueAsString(message));
+        }
+        Files.write(journalDir.resolve("chat-messages.journal"), lines, StandardCharsets.UTF_8);
+    }
+
+    private static PendingChatMessage message(long id, long chatRoomId) {
+        return new PendingChatMessage(id, chatRoomId, 100L, "메시지 " + id, MessageType.TALK,
+                LocalDateTime.of(2024, 5, 1, 10, 0).plusSeconds(id), true);
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.currentTimeMillis()).as("조건 대기 시간 초과").isLessThan(deadline);
+            Thread.sleep(20);
+        }
+    }
+}
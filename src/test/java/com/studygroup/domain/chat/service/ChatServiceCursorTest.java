@@ -0,0 +1,184 @@
+package com.studygroup.domain.chat.service;
+
+import com.studygroup.domain.chat.dto.ChatMessageCursorResponse;
+import com.studygroup.domain.chat.dto.ChatMessageResponse;
+import com.studygroup.domain.chat.dto.UserSummaryDto;
+import com.studygroup.domain.chat.entity.ChatMessage;
+import com.studygroup.domain.chat.entity.ChatRoom;
+import com.studygroup.domain.chat.entity.MessageType;
+import com.studygroup.domain.chat.repository.ChatMessageRepository;
+import com.studygroup.domain.chat.repository.ChatRoomMemberRepository;
+import com.studygroup.domain.chat.repository.ChatRoomRepository;
+import com.studygroup.domain.notification.repository.NotificationRepository;
+import com.studygroup.domain.notification.service.NotificationService;
+import com.studygroup.domain.study.repository.StudyGroupRepository;
+import com.studygroup.domain.study.service.StudyMembershipIndex;
+import com.studygroup.domain.user.entity.User;
+import com.studygroup.domain.user.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ChatServiceCursorTest {
+
+    private static final long ROOM_ID = 1L;
+    private static final long USER_ID = 100L;
+
+    @Mock private ChatRoomRepository chatRoomRepository;
+    @Mock private ChatMessageRepository chatMessageRepository;
+    @Mock private ChatRoomMemberRepository chatRoomMemberRepository;
+    @Mock private UserRepository userRepository;
+    @Mock private StudyGroupRepository studyGroupRepository;
+    @Mock private NotificationService notificationService;
+    @Mock private NotificationRepository notificationRepository;
+    @Mock private StudyMembershipIndex studyMembershipIndex;
+    @Mock private ChatMessagePipeline chatMessagePipeline;
+    @Mock private ApplicationEventPublisher eventPublisher;
+    @Mock private ChatRoomMemberCache chatRoomMemberCache;
+    @Mock private ChatMessageWriter chatMessageWriter;
+    @Mock private ChatSenderCache chatSenderCache;
+    @Mock private ChatUnreadCounter chatUnreadCounter;
+    @Mock private ChatArchiveStore chatArchiveStore;
+    @Mock private ChatMessageIdAllocator chatMessageIdAllocator;
+
+    @InjectMocks
+    private ChatService chatService;
+
+    private final ChatRoom room = ChatRoom.builder().id(ROOM_ID).build();
+    private final User sender = User.builder().id(USER_ID).name("작성자").build();
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(chatRoomMemberCache.canRead(ROOM_ID, USER_ID)).thenReturn(true);
+        lenient().when(chatSenderCache.get(anyLong()))
+                .thenReturn(UserSummaryDto.builder().id(USER_ID).name("작성자").build());
+    }
+
+    @Test
+    void latestPageMergesTableQueueAndArchive() {
+        when(chatMessageIdAllocator.visibleBefore(ROOM_ID)).thenReturn(12L);
+        when(chatMessageWriter.findUnwritten(ROOM_ID)).thenReturn(pending(11, 10));
+        when(chatMessageRepository.findByChatRoomIdBefore(eq(ROOM_ID), eq(12L), any(Pageable.class)))
+                .thenReturn(stored(9, 8));
+        // 테이블 결과(2개)가 모자라므로 가장 오래된 테이블 메시지(8) 이전을 보관 파일에서 이어서 읽음
+        when(chatArchiveStore.findBefore(ROOM_ID, 8L, 4)).thenReturn(pending(7, 6));
+
+        ChatMessageCursorResponse response = chatService.getChatMessagesByCursor(ROOM_ID, USER_ID, null, null, 5);
+
+        assertThat(ids(response)).containsExactly(7L, 8L, 9L, 10L, 11L);
+        assertThat(response.isHasNext()).isTrue();
+        assertThat(response.getNextCursor()).isEqualTo(7L);
+        verify(chatUnreadCounter).reset(ROOM_ID, USER_ID);
+    }
+
+    @Test
+    void beforePageUsesTheSmallerOfCursorAndVisibleBound() {
+        when(chatMessageIdAllocator.visibleBefore(ROOM_ID)).thenReturn(50L);
+        when(chatMessageWriter.findUnwritten(ROOM_ID)).thenReturn(pending(51));
+        when(chatMessageRepository.findByChatRoomIdBefore(eq(ROOM_ID), eq(8L), any(Pageable.class)))
+                .thenReturn(stored(7, 6, 5));
+        when(chatArchiveStore.findBefore(ROOM_ID, 5L, 1)).thenReturn(pending(4));
+
+        ChatMessageCursorResponse response = chatService.getChatMessagesByCursor(ROOM_ID, USER_ID, 8L, null, 3);
+
+        assertThat(ids(response)).containsExactly(5L, 6L, 7L);
+        assertThat(response.isHasNext()).isTrue();
+        assertThat(response.getNextCursor()).isEqualTo(5L);
+    }
+
+    @Test
+    void afterPageStopsBelowTheLowestUncommittedId() {
+        // 9 는 다른 서버에서 발급되었지만 아직 커밋되지 않음: 8 까지만 내보내고 9 이후는 다음 after 조회에서
+        when(chatMessageIdAllocator.visibleBefore(ROOM_ID)).thenReturn(9L);
+        when(chatMessageWriter.findUnwritten(ROOM_ID)).thenReturn(pending(10, 8));
+        when(chatMessageRepository.findByChatRoomIdAfter(eq(ROOM_ID), eq(5L), any(Pageable.class)))
+                .thenReturn(stored(6, 7));
+        when(chatArchiveStore.findAfter(ROOM_ID, 5L, 11)).thenReturn(List.of());
+
+        ChatMessageCursorResponse response = chatService.getChatMessagesByCursor(ROOM_ID, USER_ID, null, 5L, 10);
+
+        assertThat(ids(response)).containsExactly(6L, 7L, 8L);
+        assertThat(response.isHasNext()).isFalse();
+        assertThat(response.getNextCursor()).isNull();
+    }
+
+    @Test
+    void afterPageReadsArchivedMessagesFirst() {
+        when(chatMessageIdAllocator.visibleBefore(ROOM_ID)).thenReturn(null); // Redis 장애: 상한 없이 조회
+        when(chatMessageWriter.findUnwritten(ROOM_ID)).thenReturn(List.of());
+        when(chatMessageRepository.findByChatRoomIdAfter(eq(ROOM_ID), eq(0L), any(Pageable.class)))
+                .thenReturn(stored(4, 5));
+        when(chatArchiveStore.findAfter(ROOM_ID, 0L, 4)).thenReturn(pending(1, 2, 3));
+
+        ChatMessageCursorResponse response = chatService.getChatMessagesByCursor(ROOM_ID, USER_ID, null, 0L, 3);
+
+        assertThat(ids(response)).containsExactly(1L, 2L, 3L);
+        assertThat(response.isHasNext()).isTrue();
+        assertThat(response.getNextCursor()).isEqualTo(3L);
+    }
+
+    @Test
+    void duplicateIdsAcrossSourcesAppearOnce() {
+        // 커밋 직후라 큐(inFlight)와 테이블 양쪽에서 보이는 메시지
+        when(chatMessageIdAllocator.visibleBefore(ROOM_ID)).thenReturn(null);
+        when(chatMessageWriter.findUnwritten(ROOM_ID)).thenReturn(pending(3));
+        when(chatMessageRepository.findLatestByChatRoomId(eq(ROOM_ID), any(Pageable.class)))
+                .thenReturn(stored(3, 2, 1));
+        when(chatArchiveStore.findBefore(ROOM_ID, 1L, 8)).thenReturn(List.of());
+
+        ChatMessageCursorResponse response = chatService.getChatMessagesByCursor(ROOM_ID, USER_ID, null, null, 10);
+
+        assertThat(ids(response)).containsExactly(1L, 2L, 3L);
+        assertThat(response.isHasNext()).isFalse();
+    }
+
+    @Test
+    void rejectsNonMembers() {
+        when(chatRoomMemberCache.canRead(ROOM_ID, 999L)).thenReturn(false);
+
+        assertThatThrownBy(() -> chatService.getChatMessagesByCursor(ROOM_ID, 999L, null, null, 10))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void rejectsBeforeAndAfterTogether() {
+        assertThatThrownBy(() -> chatService.getChatMessagesByCursor(ROOM_ID, USER_ID, 10L, 1L, 10))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private List<ChatMessage> stored(long... ids) {
+        return Arrays.stream(ids)
+                .mapToObj(id -> ChatMessage.builder().id(id).chatRoom(room).sender(sender).content("db " + id).build())
+                .toList();
+    }
+
+    private static List<PendingChatMessage> pending(long... ids) {
+        return Arrays.stream(ids)
+                .mapToObj(id -> new PendingChatMessage(id, ROOM_ID, USER_ID, "pending " + id, MessageType.TALK,
+                        LocalDateTime.of(2024, 5, 1, 10, 0), true))
+                .toList();
+    }
+
+    private static List<Long> ids(ChatMessageCursorResponse response) {
+        return response.getContent().stream().map(ChatMessageResponse::getMessageId).toList();
+    }
+}
@@ -0,0 +1,86 @@
+package com.studygroup.domain.dm.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.endsWith;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DmRoomRegistryTest {
+
+    private static final String FIND_SQL = "SELECT id FROM dm_room WHERE user1_id = ? AND user2_id = ?";
+    private static final String LOCKING_SUFFIX = "LOCK IN SHARE MODE";
+    private static final String INSERT_PREFIX = "INSERT IGNORE INTO dm_room";
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private DmInbox dmInbox;
+
+    @InjectMocks
+    private DmRoomRegistry registry;
+
+    @Test
+    void findsExistingRoomWithTheNormalizedPair() {
+        when(jdbcTemplate.queryForList(eq(FIND_SQL), eq(Long.class), eq(3L), eq(5L))).thenReturn(List.of(42L));
+
+        assertThat(registry.findOrCreate(5L, 3L)).isEqualTo(42L);
+
+        verify(jdbcTemplate, never()).update(startsWith(INSERT_PREFIX), anyLong(), anyLong(), any(), any());
+        verifyNoInteractions(dmInbox);
+    }
+
+    @Test
+    void cachedPairSkipsTheDatabaseInEitherOrder() {
+        when(jdbcTemplate.queryForList(eq(FIND_SQL), eq(Long.class), eq(3L), eq(5L))).thenReturn(List.of(42L));
+
+        registry.findOrCreate(3L, 5L);
+        assertThat(registry.findOrCreate(3L, 5L)).isEqualTo(42L);
+        assertThat(registry.findOrCreate(5L, 3L)).isEqualTo(42L);
+
+        verify(jdbcTemplate, times(1)).queryForList(eq(FIND_SQL), eq(Long.class), anyLong(), anyLong());
+    }
+
+    @Test
+    void createsMissingRoomAndReadsItBackWithALockingRead() {
+        when(jdbcTemplate.queryForList(eq(FIND_SQL), eq(Long.class), eq(3L), eq(5L))).thenReturn(List.of());
+        when(jdbcTemplate.queryForList(endsWith(LOCKING_SUFFIX), eq(Long.class), eq(3L), eq(5L))).thenReturn(List.of(77L));
+
+        assertThat(registry.findOrCreate(5L, 3L)).isEqualTo(77L);
+
+        verify(jdbcTemplate).update(startsWith(INSERT_PREFIX), eq(3L), eq(5L), any(), any());
+        verify(dmInbox).onRoomCreated(77L, 3L, 5L);
+        // 만든 채팅방도 캐시됨
+        assertThat(registry.findOrCreate(3L, 5L)).isEqualTo(77L);
+        verify(jdbcTemplate, times(1)).queryForList(eq(FIND_SQL), eq(Long.class), anyLong(), anyLong());
+    }
+
+    @Test
+    void unknownUserIsRejectedAndNotCached() {
+        when(jdbcTemplate.queryForList(eq(FIND_SQL), eq(Long.class), eq(3L), eq(999L))).thenReturn(List.of());
+        when(jdbcTemplate.queryForList(endsWith(LOCKING_SUFFIX), eq(Long.class), eq(3L), eq(999L))).thenReturn(List.of());
+
+        assertThatThrownBy(() -> registry.findOrCreate(3L, 999L)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> registry.findOrCreate(999L, 3L)).isInstanceOf(IllegalArgumentException.class);
+
+        verify(jdbcTemplate, times(2)).queryForList(eq(FIND_SQL), eq(Long.class), anyLong(), anyLong());
+        verifyNoInteractions(dmInbox);
+    }
+}
@@ -0,0 +1,117 @@
+package com.studygroup.domain.dm.service;
+
+import com.studygroup.domain.user.entity.User;
+import com.studygroup.global.security.UserPrincipal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DmRoomViewerTrackerTest {
+
+    private static final String VIEWING_KEY = "dm:viewing:1";
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+    @Mock
+    private ZSetOperations<String, String> zSetOperations;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+    }
+
+    @Test
+    void localTrackingCountsSubscriptionsUntilAllAreClosed() {
+        DmRoomViewerTracker tracker = new DmRoomViewerTracker(redisTemplate, "local");
+
+        tracker.handleSubscribe(subscribe("s1", "sub-0", "/sub/dm/room/7"));
+        tracker.handleSubscribe(subscribe("s2", "sub-0", "/sub/dm/room/7/compact"));
+        tracker.handleDisconnect(disconnect("s1"));
+
+        assertThat(tracker.isViewing(1L, 7L)).isTrue();
+        assertThat(tracker.isViewing(1L, 8L)).isFalse();
+        tracker.handleDisconnect(disconnect("s2"));
+        assertThat(tracker.isViewing(1L, 7L)).isFalse();
+        verifyNoInteractions(redisTemplate);
+    }
+
+    @Test
+    void sharedTrackingRegistersOnFirstSubscriptionAndRemovesOnLast() {
+        DmRoomViewerTracker tracker = new DmRoomViewerTracker(redisTemplate, "redis");
+
+        tracker.handleSubscribe(subscribe("s1", "sub-0", "/sub/dm/room/7"));
+        tracker.handleSubscribe(subscribe("s2", "sub-0", "/sub/dm/room/7"));
+        ArgumentCaptor<String> member = ArgumentCaptor.forClass(String.class);
+        verify(zSetOperations, times(1)).add(eq(VIEWING_KEY), member.capture(), anyDouble());
+        assertThat(member.getValue()).startsWith("7:");
+
+        tracker.handleDisconnect(disconnect("s1"));
+        verify(zSetOperations, never()).remove(anyString(), eq(member.getValue()));
+        tracker.handleDisconnect(disconnect("s2"));
+        verify(zSetOperations).remove(VIEWING_KEY, member.getValue());
+    }
+
+    @Test
+    void viewerOnAnotherServerCountsAsViewing() {
+        DmRoomViewerTracker tracker = new DmRoomViewerTracker(redisTemplate, "redis");
+        when(zSetOperations.rangeByScore(eq(VIEWING_KEY), anyDouble(), anyDouble())).thenReturn(Set.of("7:node-a"));
+
+        assertThat(tracker.isViewing(1L, 7L)).isTrue();
+        assertThat(tracker.isViewing(1L, 70L)).isFalse();
+    }
+
+    @Test
+    void redisFailureFallsBackToNotViewing() {
+        DmRoomViewerTracker tracker = new DmRoomViewerTracker(redisTemplate, "redis");
+        when(zSetOperations.rangeByScore(eq(VIEWING_KEY), anyDouble(), anyDouble()))
+                .thenThrow(new IllegalStateException("Redis down"));
+
+        assertThat(tracker.isViewing(1L, 7L)).isFalse();
+    }
+
+    private static SessionSubscribeEvent subscribe(String sessionId, String subscriptionId, String destination) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.SUBSCRIBE);
+        accessor.setSessionId(sessionId);
+        accessor.setSubscriptionId(subscriptionId);
+        accessor.setDestination(destination);
+        Message<byte[]> message = MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+        UserPrincipal principal = UserPrincipal.create(User.builder().id(1L).build(), List.of());
+        return new SessionSubscribeEvent(DmRoomViewerTrackerTest.class, message,
+                new UsernamePasswordAuthenticationToken(principal, null, List.of()));
+    }
+
+    private static SessionDisconnectEvent disconnect(String sessionId) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.DISCONNECT);
+        accessor.setSessionId(sessionId);
+        Message<byte[]> message = MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+        return new SessionDisconnectEvent(DmRoomViewerTrackerTest.class, message, sessionId, CloseStatus.NORMAL);
+    }
+}
@@ -0,0 +1,126 @@
+package com.studygroup.domain.search.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InvertedIndexTest {
+
+    @Test
+    void tokenizeSplitsWordsIntoBigrams() {
+        assertThat(InvertedIndex.tokenize("스프링부트 JPA"))
+                .containsExactly("스프", "프링", "링부", "부트", "jp", "pa");
+        assertThat(InvertedIndex.tokenize("<b>자</b>")).containsExactly("b", "자", "b");
+        assertThat(InvertedIndex.tokenize("  ")).isEmpty();
+    }
+
+    @Test
+    void searchRequiresEveryQueryToken() {
+        InvertedIndex index = new InvertedIndex();
+        index.put(1L, "IT", "스프링 스터디", "자바와 스프링을 공부합니다");
+        index.put(2L, "IT", "자바 스터디", "기초 문법");
+
+        assertThat(index.search("스프링", null)).containsExactly(1L);
+        assertThat(index.search("자바 스터디", null)).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(index.search("스프링 문법", null)).isEmpty();
+        assertThat(index.search("파이썬", null)).isEmpty();
+    }
+
+    @Test
+    void searchFiltersByCategory() {
+        InvertedIndex index = new InvertedIndex();
+        index.put(1L, "IT", "영어 회화", "");
+        index.put(2L, "LANGUAGE", "영어 회화", "");
+
+        assertThat(index.search("영어", "LANGUAGE")).containsExactly(2L);
+        assertThat(index.search("영어", null)).containsExactlyInAnyOrder(1L, 2L);
+    }
+
+    @Test
+    void titleMatchesRankAboveBodyMatches() {
+        InvertedIndex index = new InvertedIndex();
+        index.put(1L, null, "알고리즘", "코딩 테스트 준비");
+        index.put(2L, null, "코딩 테스트", "알고리즘 문제 풀이");
+        index.put(3L, null, "운동", "아침 달리기");
+
+        assertThat(index.search("코딩", null)).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void equalScoresPreferNewerDocuments() {
+        InvertedIndex index = new InvertedIndex();
+        index.put(1L, null, "독서 모임", "");
+        index.put(2L, null, "독서 모임", "");
+
+        assertThat(index.search("독서", null)).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void singleCharacterQueryMatchesAnyTokenContainingIt() {
+        InvertedIndex index = new InvertedIndex();
+        index.put(1L, null, "자바", "");
+        index.put(2L, null, "독자 모임", "");
+        index.put(3L, null, "파이썬", "");
+        index.put(4L, null, "자", "");
+
+        assertThat(index.search("자", null)).containsExactlyInAnyOrder(1L, 2L, 4L);
+        assertThat(index.search("자 모임", null)).containsExactly(2L);
+    }
+
+    @Test
+    void putReplacesAndRemoveDropsPreviousTokens() {
+        InvertedIndex index = new InvertedIndex();
+        index.put(1L, null, "리액트", "");
+        index.put(1L, null, "뷰", "");
+
+        assertThat(index.search("리액트", null)).isEmpty();
+        assertThat(index.search("리", null)).isEmpty();
+        assertThat(index.search("뷰", null)).containsExactly(1L);
+
+        index.remove(1L);
+        assertThat(index.search("뷰", null)).isEmpty();
+        assertThat(index.size()).isZero();
+        assertThat(index.ids()).isEmpty();
+    }
+
+    @Test
+    void snapshotRoundTripRestoresPostings() throws IOException {
+        InvertedIndex index = new InvertedIndex();
+        index.put(1L, "IT", "스프링 스터디", "<p>자바</p>");
+        index.put(2L, null, "토익", "영어");
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            index.writeTo(out);
+        }
+        InvertedIndex restored = new InvertedIndex();
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            restored.readFrom(in);
+        }
+
+        assertThat(restored.size()).isEqualTo(2);
+        assertThat(restored.ids()).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(restored.search("자바", "IT")).containsExactly(1L);
+        assertThat(restored.search("토", null)).containsExactly(2L);
+    }
+
+    @Test
+    void replaceWithSwapsContents() {
+        InvertedIndex index = new InvertedIndex();
+        index.put(1L, null, "오래된 문서", "");
+        InvertedIndex fresh = new InvertedIndex();
+        fresh.put(2L, null, "새 문서", "");
+
+        index.replaceWith(fresh);
+
+        assertThat(index.ids()).containsExactly(2L);
+        assertThat(index.search("오래된", null)).isEmpty();
+        assertThat(index.search("새", null)).containsExactly(2L);
+    }
+}
@@ -0,0 +1,94 @@
+package com.studygroup.domain.search.service;
+
+import com.studygroup.domain.board.repository.BoardPostRepository;
+import com.studygroup.domain.study.dto.StudyGroupChangedEvent;
+import com.studygroup.domain.study.dto.StudyGroupChangedEvent.ChangeType;
+import com.studygroup.domain.study.repository.StudyGroupRepository;
+import com.studygroup.global.service.ClusterEventBus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SearchIndexServiceTest {
+
+    @Mock
+    private StudyGroupRepository studyGroupRepository;
+    @Mock
+    private BoardPostRepository boardPostRepository;
+    @Mock
+    private ClusterEventBus clusterEventBus;
+
+    @TempDir
+    Path indexDir;
+
+    private SearchIndexService service;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(boardPostRepository.findSearchDocuments(anyLong(), any(Pageable.class))).thenReturn(List.of());
+        service = new SearchIndexService(studyGroupRepository, boardPostRepository, clusterEventBus, indexDir.toString());
+    }
+
+    @Test
+    void changesDuringRebuildSurviveTheSwap() {
+        when(studyGroupRepository.findSearchDocuments(eq(0L), any(Pageable.class)))
+                .thenReturn(rows(doc(1L, "자바 스터디"), doc(2L, "영어 회화")))
+                .thenAnswer(invocation -> {
+                    // 일괄 로드가 이미 읽은 문서가 로드 도중 수정/삭제됨
+                    service.handleStudyGroupChanged(new StudyGroupChangedEvent(1L, ChangeType.UPDATED));
+                    service.handleStudyGroupChanged(new StudyGroupChangedEvent(2L, ChangeType.DELETED));
+                    return rows(doc(1L, "자바 스터디"), doc(2L, "영어 회화"));
+                });
+        when(studyGroupRepository.findSearchDocumentById(1L)).thenReturn(rows(doc(1L, "파이썬 스터디")));
+        when(studyGroupRepository.findSearchDocumentById(2L)).thenReturn(List.of());
+        service.initialize();
+
+        service.rebuildAll();
+
+        assertThat(service.searchStudyGroups("파이썬", null)).containsExactly(1L);
+        assertThat(service.searchStudyGroups("자바", null)).isEmpty();
+        assertThat(service.searchStudyGroups("영어", null)).isEmpty();
+    }
+
+    @Test
+    void changesOutsideRebuildAreNotReplayed() {
+        when(studyGroupRepository.findSearchDocuments(eq(0L), any(Pageable.class)))
+                .thenReturn(rows(doc(1L, "자바 스터디")))
+                .thenReturn(rows(doc(1L, "파이썬 스터디")));
+        when(studyGroupRepository.findSearchDocumentById(1L)).thenReturn(rows(doc(1L, "파이썬 스터디")));
+        service.initialize();
+        service.handleStudyGroupChanged(new StudyGroupChangedEvent(1L, ChangeType.UPDATED));
+
+        service.rebuildAll();
+
+        assertThat(service.searchStudyGroups("파이썬", null)).containsExactly(1L);
+        // 재구성 전의 변경은 새 색인을 만들 때 이미 반영되므로 다시 읽지 않음
+        verify(studyGroupRepository, times(1)).findSearchDocumentById(1L);
+    }
+
+    private static Object[] doc(Long id, String title) {
+        return new Object[]{id, "IT", title, "설명"};
+    }
+
+    private static List<Object[]> rows(Object[]... docs) {
+        return new ArrayList<>(List.of(docs));
+    }
+}
@@ -0,0 +1,182 @@
+package com.studygroup.global.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.listener.Topic;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SseClusterRouterTest {
+
+    private static final String NODES_KEY = "sse:nodes:1";
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+    @Mock
+    private ZSetOperations<String, String> zSetOperations;
+    @Mock
+    private RedisMessageListenerContainer listenerContainer;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<Delivered> delivered = new ArrayList<>();
+
+    private record Delivered(Long userId, String eventId, String eventName, Object data) {
+    }
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+    }
+
+    @Test
+    void localRoutingTouchesNothing() {
+        SseClusterRouter router = router("local");
+        router.listen(this::deliver);
+
+        router.register(1L);
+        router.refresh(List.of(1L));
+        router.unregister(1L);
+
+        assertThat(router.forward(1L, "e1", "notification", "data")).isZero();
+        verifyNoInteractions(redisTemplate, listenerContainer);
+    }
+
+    @Test
+    void registerAddsThisNodeWithAnExpiry() {
+        SseClusterRouter router = router("redis");
+        String nodeId = listen(router);
+
+        router.register(1L);
+
+        verify(zSetOperations).add(eq(NODES_KEY), eq(nodeId), anyDouble());
+        verify(redisTemplate).expire(eq(NODES_KEY), anyLong(), eq(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void forwardPublishesOnlyToOtherNodes() throws Exception {
+        SseClusterRouter router = router("redis");
+        String nodeId = listen(router);
+        when(zSetOperations.rangeByScore(eq(NODES_KEY), anyDouble(), anyDouble()))
+                .thenReturn(new LinkedHashSet<>(List.of(nodeId, "node-a", "node-b")));
+
+        int forwarded = router.forward(1L, "3:17", "notification", Map.of("message", "새 댓글"));
+
+        assertThat(forwarded).isEqualTo(2);
+        ArgumentCaptor<String> body = ArgumentCaptor.forClass(String.class);
+        verify(redisTemplate).convertAndSend(eq("sse:node:node-a"), body.capture());
+        verify(redisTemplate).convertAndSend(eq("sse:node:node-b"), eq(body.getValue()));
+        verify(redisTemplate, never()).convertAndSend(eq("sse:node:" + nodeId), anyString());
+        JsonNode envelope = objectMapper.readTree(body.getValue());
+        assertThat(envelope.get("userId").asLong()).isEqualTo(1L);
+        assertThat(envelope.get("id").asText()).isEqualTo("3:17");
+        assertThat(envelope.get("event").asText()).isEqualTo("notification");
+        assertThat(envelope.get("data").get("message").asText()).isEqualTo("새 댓글");
+    }
+
+    @Test
+    void forwardSkipsUsersConnectedOnlyHere() {
+        SseClusterRouter router = router("redis");
+        String nodeId = listen(router);
+        when(zSetOperations.rangeByScore(eq(NODES_KEY), anyDouble(), anyDouble())).thenReturn(Set.of(nodeId));
+
+        assertThat(router.forward(1L, null, "notification", "data")).isZero();
+        verify(redisTemplate, never()).convertAndSend(anyString(), anyString());
+    }
+
+    @Test
+    void forwardFailureIsSwallowed() {
+        SseClusterRouter router = router("redis");
+        listen(router);
+        when(zSetOperations.rangeByScore(eq(NODES_KEY), anyDouble(), anyDouble()))
+                .thenThrow(new IllegalStateException("Redis down"));
+
+        assertThat(router.forward(1L, "e1", "notification", "data")).isZero();
+    }
+
+    @Test
+    void receivedEnvelopeIsDeliveredLocally() {
+        SseClusterRouter sender = router("redis");
+        listen(sender);
+        SseClusterRouter receiver = router("redis");
+        listen(receiver);
+        when(zSetOperations.rangeByScore(eq(NODES_KEY), anyDouble(), anyDouble())).thenReturn(Set.of("node-a"));
+
+        sender.forward(1L, "3:17", "notification", Map.of("message", "새 댓글"));
+        sender.forward(1L, null, "connect", "connected");
+        ArgumentCaptor<String> bodies = ArgumentCaptor.forClass(String.class);
+        verify(redisTemplate, times(2)).convertAndSend(eq("sse:node:node-a"), bodies.capture());
+        bodies.getAllValues().forEach(body -> receiver.onMessage(message(body), null));
+
+        assertThat(delivered).hasSize(2);
+        Delivered notification = delivered.get(0);
+        assertThat(notification.userId()).isEqualTo(1L);
+        assertThat(notification.eventId()).isEqualTo("3:17");
+        assertThat(notification.eventName()).isEqualTo("notification");
+        assertThat(notification.data()).isEqualTo(objectMapper.valueToTree(Map.of("message", "새 댓글")));
+        // 문자열 데이터는 JSON 문자열이 아닌 원래 문자열로 전달
+        assertThat(delivered.get(1)).isEqualTo(new Delivered(1L, null, "connect", "connected"));
+    }
+
+    @Test
+    void malformedMessageIsIgnored() {
+        SseClusterRouter router = router("redis");
+        listen(router);
+
+        router.onMessage(message("not json"), null);
+        router.onMessage(message("{\"userId\":1}"), null);
+
+        assertThat(delivered).isEmpty();
+    }
+
+    private SseClusterRouter router(String routing) {
+        return new SseClusterRouter(redisTemplate, listenerContainer, objectMapper, routing);
+    }
+
+    // 로컬 전달 콜백을 등록하고, 구독한 채널 이름에서 이 노드의 ID 를 반환
+    private String listen(SseClusterRouter router) {
+        router.listen(this::deliver);
+        ArgumentCaptor<Topic> topic = ArgumentCaptor.forClass(Topic.class);
+        verify(listenerContainer).addMessageListener(eq(router), topic.capture());
+        assertThat(topic.getValue()).isInstanceOf(ChannelTopic.class);
+        return topic.getValue().getTopic().substring("sse:node:".length());
+    }
+
+    private boolean deliver(Long userId, String eventId, String eventName, Object data) {
+        delivered.add(new Delivered(userId, eventId, eventName, data));
+        return true;
+    }
+
+    private static DefaultMessage message(String body) {
+        return new DefaultMessage("sse:node:self".getBytes(StandardCharsets.UTF_8), body.getBytes(StandardCharsets.UTF_8));
+    }
+}
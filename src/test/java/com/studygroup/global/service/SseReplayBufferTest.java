@@ -0,0 +1,163 @@
+package com.studygroup.global.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.studygroup.global.service.SseReplayBuffer.Replay;
+import com.studygroup.global.service.SseReplayBuffer.SseEvent;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.core.StreamOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SseReplayBufferTest {
+
+    private static final String STREAM_KEY = "sse:events:1";
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+    @Mock
+    private StreamOperations<String, Object, Object> streamOperations;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void replaysOnlyEventsAfterLastEventId() {
+        SseReplayBuffer buffer = memoryBuffer();
+        List<String> ids = appendAll(buffer, 1L, 3);
+
+        Replay replay = buffer.eventsAfter(1L, ids.get(0));
+
+        assertThat(replay.gap()).isFalse();
+        assertThat(replay.events()).extracting(SseEvent::id).containsExactly(ids.get(1), ids.get(2));
+        assertThat(replay.events()).extracting(SseEvent::data).containsExactly("event 2", "event 3");
+        assertThat(buffer.eventsAfter(1L, ids.get(2))).isEqualTo(new Replay(List.of(), false));
+    }
+
+    @Test
+    void replayAfterEvictionReportsGap() {
+        SseReplayBuffer buffer = memoryBuffer();
+        List<String> ids = appendAll(buffer, 1L, 105); // 보관 한도(100)를 넘겨 1~5번이 밀려남
+
+        Replay evicted = buffer.eventsAfter(1L, ids.get(1)); // 3~5번을 잃음
+        assertThat(evicted.gap()).isTrue();
+        assertThat(evicted.events()).hasSize(100);
+        assertThat(evicted.events().get(0).id()).isEqualTo(ids.get(5));
+
+        Replay complete = buffer.eventsAfter(1L, ids.get(4)); // 5번까지 받았으면 6번부터 모두 남아 있음
+        assertThat(complete.gap()).isFalse();
+        assertThat(complete.events()).hasSize(100);
+    }
+
+    @Test
+    void idFromAnotherEpochReplaysEverythingWithGap() {
+        SseReplayBuffer buffer = memoryBuffer();
+        appendAll(buffer, 1L, 2);
+
+        Replay replay = buffer.eventsAfter(1L, "1-50"); // 재시작 전 서버가 발급한 ID
+
+        assertThat(replay.gap()).isTrue();
+        assertThat(replay.events()).hasSize(2);
+    }
+
+    @Test
+    void unknownUserIsReportedAsLost() {
+        SseReplayBuffer buffer = memoryBuffer();
+        String otherUsersId = appendAll(buffer, 2L, 1).get(0);
+
+        assertThat(buffer.eventsAfter(1L, otherUsersId)).isEqualTo(new Replay(List.of(), true));
+    }
+
+    @Test
+    void missingOrMalformedIdIsTreatedAsFirstConnection() {
+        SseReplayBuffer buffer = memoryBuffer();
+        appendAll(buffer, 1L, 2);
+
+        assertThat(buffer.eventsAfter(1L, null)).isEqualTo(new Replay(List.of(), false));
+        assertThat(buffer.eventsAfter(1L, "abc")).isEqualTo(new Replay(List.of(), false));
+        assertThat(buffer.eventsAfter(1L, "1-2-3")).isEqualTo(new Replay(List.of(), false));
+    }
+
+    @Test
+    void sequencesArePerUser() {
+        SseReplayBuffer buffer = memoryBuffer();
+        String first = buffer.append(1L, "notification", "a");
+        String second = buffer.append(2L, "notification", "b");
+
+        assertThat(first.substring(first.indexOf('-'))).isEqualTo("-1");
+        assertThat(second.substring(second.indexOf('-'))).isEqualTo("-1");
+    }
+
+    @Test
+    void streamReplaySkipsTheLastReceivedEventAndUnquotesText() {
+        SseReplayBuffer buffer = redisBuffer();
+        when(streamOperations.range(eq(STREAM_KEY), any())).thenReturn(List.of(
+                record("100-0", "notification", "\"이미 받음\""),
+                record("101-0", "notification", "{\"message\":\"새 댓글\"}"),
+                record("102-0", "notification", "\"텍스트\"")));
+
+        Replay replay = buffer.eventsAfter(1L, "100-0");
+
+        assertThat(replay.gap()).isFalse();
+        assertThat(replay.events()).extracting(SseEvent::id).containsExactly("101-0", "102-0");
+        assertThat(replay.events().get(0).data()).isEqualTo(objectMapper.createObjectNode().put("message", "새 댓글"));
+        assertThat(replay.events().get(1).data()).isEqualTo("텍스트");
+    }
+
+    @Test
+    void streamTrimmedPastLastEventIdReportsGap() {
+        SseReplayBuffer buffer = redisBuffer();
+        when(streamOperations.range(eq(STREAM_KEY), any())).thenReturn(List.of(
+                record("105-0", "notification", "\"a\"")));
+
+        Replay replay = buffer.eventsAfter(1L, "100-0");
+
+        assertThat(replay.gap()).isTrue();
+        assertThat(replay.events()).extracting(SseEvent::id).containsExactly("105-0");
+    }
+
+    @Test
+    void expiredOrUnreadableStreamIsReportedAsLost() {
+        SseReplayBuffer buffer = redisBuffer();
+        when(streamOperations.range(eq(STREAM_KEY), any()))
+                .thenReturn(List.of())
+                .thenThrow(new IllegalStateException("Redis down"));
+
+        assertThat(buffer.eventsAfter(1L, "100-0")).isEqualTo(new Replay(List.of(), true));
+        assertThat(buffer.eventsAfter(1L, "100-0")).isEqualTo(new Replay(List.of(), true));
+    }
+
+    private SseReplayBuffer memoryBuffer() {
+        return new SseReplayBuffer(redisTemplate, objectMapper, "local");
+    }
+
+    private SseReplayBuffer redisBuffer() {
+        when(redisTemplate.<Object, Object>opsForStream()).thenReturn(streamOperations);
+        return new SseReplayBuffer(redisTemplate, objectMapper, "redis");
+    }
+
+    private static List<String> appendAll(SseReplayBuffer buffer, Long userId, int count) {
+        List<String> ids = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            ids.add(buffer.append(userId, "notification", "event " + i));
+        }
+        return ids;
+    }
+
+    private static MapRecord<String, Object, Object> record(String id, String event, String data) {
+        return MapRecord.create(STREAM_KEY, Map.<Object, Object>of("event", event, "data", data))
+                .withId(RecordId.of(id));
+    }
+}